@@ -10,7 +10,6 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
-import java.sql.Types;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -18,9 +17,12 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.ToString.Exclude;
-import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UuidGenerator;
 
+/**
+ * Metadata of a file uploaded to the Negotiator. The content of the file is kept by an {@link
+ * AttachmentStorage} and is never loaded together with the entity.
+ */
 @ToString
 @Entity
 @NoArgsConstructor
@@ -49,10 +51,6 @@ public class Attachment extends AuditEntity {
 
   private String name;
 
-  @JdbcTypeCode(Types.VARBINARY)
-  @Column(columnDefinition = "BYTEA")
-  private byte[] payload;
-
   private Long size;
 
   private String contentType;
@@ -5,6 +5,7 @@ import eu.bbmri_eric.negotiator.attachment.dto.AttachmentMetadataDTO;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.util.List;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -71,7 +72,7 @@ public class AttachmentController {
 
   @GetMapping(value = "/attachments/{id}", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
   @ResponseStatus(HttpStatus.OK)
-  public ResponseEntity<byte[]> retrieve(@PathVariable String id) {
+  public ResponseEntity<Resource> retrieve(@PathVariable String id) {
     AttachmentDTO attachmentInfo = storageService.findById(id);
     return ResponseEntity.ok()
         .header(
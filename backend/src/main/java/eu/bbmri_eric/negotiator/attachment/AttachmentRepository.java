@@ -1,8 +1,13 @@
 package eu.bbmri_eric.negotiator.attachment;
 
+import eu.bbmri_eric.negotiator.negotiation.Negotiation;
+import eu.bbmri_eric.negotiator.user.Person;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -16,14 +21,6 @@ public interface AttachmentRepository extends JpaRepository<Attachment, String>
           + "WHERE a.negotiation.id = :negotiationId")
   List<MetadataAttachmentViewDTO> findByNegotiationId(String negotiationId);
 
-  @Query(
-      "SELECT new eu.bbmri_eric.negotiator.attachment.AttachmentViewDTO("
-          + "a.id, a.name, a.size, a.contentType, a.payload, o.id, o.externalId, a.negotiation.id, a.createdBy.id) "
-          + "FROM Attachment a "
-          + "LEFT JOIN a.organization o "
-          + "WHERE a.id = :attachmentId")
-  Optional<AttachmentViewDTO> findAllById(String attachmentId);
-
   @Query(
       "SELECT new eu.bbmri_eric.negotiator.attachment.MetadataAttachmentViewDTO("
           + "a.id, a.name, a.size, a.contentType, o.id, o.externalId, a.negotiation.id, a.createdBy.id) "
@@ -40,4 +37,15 @@ public interface AttachmentRepository extends JpaRepository<Attachment, String>
           + "LEFT JOIN a.organization o "
           + "WHERE a.id = :attachmentId")
   Optional<MetadataAttachmentViewDTO> findMetadataById(String attachmentId);
+
+  @Modifying(flushAutomatically = true)
+  @Query(
+      "UPDATE Attachment a "
+          + "SET a.negotiation = :negotiation, a.modifiedBy = :modifiedBy, a.modifiedDate = :modifiedDate "
+          + "WHERE a.id IN :attachmentIds")
+  int linkToNegotiation(
+      Collection<String> attachmentIds,
+      Negotiation negotiation,
+      Person modifiedBy,
+      LocalDateTime modifiedDate);
 }
@@ -0,0 +1,50 @@
+package eu.bbmri_eric.negotiator.attachment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.core.io.AbstractResource;
+
+/**
+ * Resource exposing the content of an attachment kept in an {@link AttachmentStorage}. Each call to
+ * {@link #getInputStream()} opens a new stream, and the length is known upfront, so Spring MVC can
+ * stream the content and answer HTTP Range requests without buffering the file.
+ */
+class AttachmentResource extends AbstractResource {
+
+  private final AttachmentStorage storage;
+  private final String attachmentId;
+  private final String filename;
+  private final long size;
+
+  AttachmentResource(AttachmentStorage storage, String attachmentId, String filename, long size) {
+    this.storage = storage;
+    this.attachmentId = attachmentId;
+    this.filename = filename;
+    this.size = size;
+  }
+
+  @Override
+  public String getDescription() {
+    return "Attachment [%s]".formatted(attachmentId);
+  }
+
+  @Override
+  public InputStream getInputStream() throws IOException {
+    return storage.open(attachmentId);
+  }
+
+  @Override
+  public boolean exists() {
+    return true;
+  }
+
+  @Override
+  public long contentLength() {
+    return size;
+  }
+
+  @Override
+  public String getFilename() {
+    return filename;
+  }
+}
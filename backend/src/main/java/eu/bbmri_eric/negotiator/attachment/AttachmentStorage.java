@@ -0,0 +1,30 @@
+package eu.bbmri_eric.negotiator.attachment;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Backend holding the binary content of attachments. The metadata of an attachment is always kept
+ * in the {@link Attachment} entity, while the bytes are written and read as streams so that they
+ * never have to be fully materialised in memory.
+ */
+public interface AttachmentStorage {
+
+  /**
+   * Stores the content of an attachment.
+   *
+   * @param attachmentId the id of the attachment the content belongs to
+   * @param content the stream to read the content from. It is read to the end but not closed
+   * @return the number of bytes stored
+   */
+  long store(String attachmentId, InputStream content) throws IOException;
+
+  /**
+   * Opens a stream over the stored content of an attachment. The caller is responsible for closing
+   * it.
+   *
+   * @param attachmentId the id of the attachment
+   * @return a new stream positioned at the first byte of the content
+   */
+  InputStream open(String attachmentId) throws IOException;
+}
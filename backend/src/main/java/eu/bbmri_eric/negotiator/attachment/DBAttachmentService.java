@@ -14,6 +14,7 @@ import eu.bbmri_eric.negotiator.negotiation.NegotiationRepository;
 import eu.bbmri_eric.negotiator.negotiation.NegotiationService;
 import eu.bbmri_eric.negotiator.user.PersonService;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import org.modelmapper.ModelMapper;
 import org.springframework.lang.Nullable;
@@ -30,6 +31,7 @@ public class DBAttachmentService implements AttachmentService {
   private final OrganizationRepository organizationRepository;
   private final PersonService personService;
   private final NegotiationService negotiationService;
+  private final AttachmentStorage attachmentStorage;
 
   public DBAttachmentService(
       AttachmentRepository attachmentRepository,
@@ -37,13 +39,15 @@ public class DBAttachmentService implements AttachmentService {
       NegotiationRepository negotiationRepository,
       OrganizationRepository organizationRepository,
       PersonService personService,
-      NegotiationService negotiationService) {
+      NegotiationService negotiationService,
+      AttachmentStorage attachmentStorage) {
     this.attachmentRepository = attachmentRepository;
     this.modelMapper = modelMapper;
     this.negotiationRepository = negotiationRepository;
     this.organizationRepository = organizationRepository;
     this.personService = personService;
     this.negotiationService = negotiationService;
+    this.attachmentStorage = attachmentStorage;
   }
 
   @Override
@@ -75,12 +79,18 @@ public class DBAttachmentService implements AttachmentService {
   @Override
   @Transactional
   public AttachmentDTO findById(String id) {
-    AttachmentViewDTO attachment =
-        attachmentRepository.findAllById(id).orElseThrow(() -> new EntityNotFoundException(id));
+    MetadataAttachmentViewDTO attachment =
+        attachmentRepository
+            .findMetadataById(id)
+            .orElseThrow(() -> new EntityNotFoundException(id));
     if (!isAuthorizedForAttachment(attachment)) {
       throw new ForbiddenRequestException();
     }
-    return modelMapper.map(attachment, AttachmentDTO.class);
+    AttachmentDTO attachmentDTO = modelMapper.map(attachment, AttachmentDTO.class);
+    attachmentDTO.setPayload(
+        new AttachmentResource(
+            attachmentStorage, attachment.getId(), attachment.getName(), attachment.getSize()));
+    return attachmentDTO;
   }
 
   @Override
@@ -131,19 +141,17 @@ public class DBAttachmentService implements AttachmentService {
 
   private AttachmentMetadataDTO saveAttachment(
       MultipartFile file, Negotiation negotiation, Organization organization) {
-    Attachment attachment;
-    try {
-      attachment =
-          Attachment.builder()
-              .name(file.getOriginalFilename())
-              .payload(file.getBytes())
-              .contentType(file.getContentType())
-              .size(file.getSize())
-              .negotiation(negotiation)
-              .organization(organization)
-              .build();
-
-      Attachment saved = attachmentRepository.save(attachment);
+    Attachment attachment =
+        Attachment.builder()
+            .name(file.getOriginalFilename())
+            .contentType(file.getContentType())
+            .size(file.getSize())
+            .negotiation(negotiation)
+            .organization(organization)
+            .build();
+    Attachment saved = attachmentRepository.saveAndFlush(attachment);
+    try (InputStream content = file.getInputStream()) {
+      saved.setSize(attachmentStorage.store(saved.getId(), content));
       return modelMapper.map(saved, AttachmentMetadataDTO.class);
     } catch (IOException e) {
       throw new EntityNotStorableException("The attachment could not be stored.");
@@ -0,0 +1,145 @@
+package eu.bbmri_eric.negotiator.attachment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Stores attachments in the database, split in fixed-size chunks in the attachment_chunk table.
+ * Reading loads one chunk at a time, so the memory needed to serve a download is bounded by the
+ * chunk size regardless of the size of the file.
+ */
+@Component
+@ConditionalOnProperty(
+    name = "negotiator.attachments.storage",
+    havingValue = "database",
+    matchIfMissing = true)
+public class DatabaseAttachmentStorage implements AttachmentStorage {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final int chunkSize;
+
+  public DatabaseAttachmentStorage(
+      JdbcTemplate jdbcTemplate,
+      @Value("${negotiator.attachments.chunk-size:1MB}") DataSize chunkSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.chunkSize = Math.toIntExact(chunkSize.toBytes());
+  }
+
+  @Override
+  public long store(String attachmentId, InputStream content) throws IOException {
+    byte[] buffer = new byte[chunkSize];
+    long total = 0;
+    int index = 0;
+    int read;
+    while ((read = content.readNBytes(buffer, 0, chunkSize)) > 0) {
+      jdbcTemplate.update(
+          "INSERT INTO attachment_chunk (attachment_id, chunk_index, data) VALUES (?, ?, ?)",
+          attachmentId,
+          index++,
+          read == chunkSize ? buffer : Arrays.copyOf(buffer, read));
+      total += read;
+    }
+    return total;
+  }
+
+  @Override
+  public InputStream open(String attachmentId) {
+    List<Integer> chunkLengths =
+        jdbcTemplate.queryForList(
+            "SELECT octet_length(data) FROM attachment_chunk "
+                + "WHERE attachment_id = ? ORDER BY chunk_index",
+            Integer.class,
+            attachmentId);
+    return new ChunkInputStream(attachmentId, chunkLengths);
+  }
+
+  private byte[] fetchChunk(String attachmentId, int index) {
+    return jdbcTemplate.queryForObject(
+        "SELECT data FROM attachment_chunk WHERE attachment_id = ? AND chunk_index = ?",
+        byte[].class,
+        attachmentId,
+        index);
+  }
+
+  /**
+   * Stream that fetches chunks lazily. Skipping over whole chunks does not load them, which keeps
+   * HTTP range requests on large files cheap.
+   */
+  private class ChunkInputStream extends InputStream {
+    private final String attachmentId;
+    private final List<Integer> chunkLengths;
+    private int nextChunk = 0;
+    private byte[] current = new byte[0];
+    private int position = 0;
+
+    ChunkInputStream(String attachmentId, List<Integer> chunkLengths) {
+      this.attachmentId = attachmentId;
+      this.chunkLengths = chunkLengths;
+    }
+
+    @Override
+    public int read() {
+      if (!ensureAvailable()) {
+        return -1;
+      }
+      return current[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      if (!ensureAvailable()) {
+        return -1;
+      }
+      int count = Math.min(len, current.length - position);
+      System.arraycopy(current, position, b, off, count);
+      position += count;
+      return count;
+    }
+
+    @Override
+    public long skip(long n) {
+      if (n <= 0) {
+        return 0;
+      }
+      long skipped = Math.min(n, current.length - position);
+      position += (int) skipped;
+      while (skipped < n
+          && nextChunk < chunkLengths.size()
+          && chunkLengths.get(nextChunk) <= n - skipped) {
+        skipped += chunkLengths.get(nextChunk++);
+      }
+      if (skipped < n && ensureAvailable()) {
+        int rest = (int) Math.min(n - skipped, current.length - position);
+        position += rest;
+        skipped += rest;
+      }
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      return current.length - position;
+    }
+
+    private boolean ensureAvailable() {
+      while (position >= current.length) {
+        if (nextChunk >= chunkLengths.size()) {
+          return false;
+        }
+        current = fetchChunk(attachmentId, nextChunk++);
+        position = 0;
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package eu.bbmri_eric.negotiator.attachment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import lombok.extern.apachecommons.CommonsLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Stores attachments as files in a local directory, one file per attachment named after its id. The
+ * directory can be a mount of a shared volume or of an object store.
+ */
+@Component
+@ConditionalOnProperty(name = "negotiator.attachments.storage", havingValue = "filesystem")
+@CommonsLog
+public class FileSystemAttachmentStorage implements AttachmentStorage {
+
+  private final Path directory;
+
+  public FileSystemAttachmentStorage(@Value("${negotiator.attachments.directory}") String directory)
+      throws IOException {
+    this.directory = Files.createDirectories(Path.of(directory).toAbsolutePath().normalize());
+  }
+
+  @Override
+  public long store(String attachmentId, InputStream content) throws IOException {
+    Path target = resolve(attachmentId);
+    Path temporary = Files.createTempFile(directory, attachmentId, ".part");
+    try {
+      long size = Files.copy(content, temporary, StandardCopyOption.REPLACE_EXISTING);
+      Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+      deleteOnRollback(target);
+      return size;
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  @Override
+  public InputStream open(String attachmentId) throws IOException {
+    return Files.newInputStream(resolve(attachmentId));
+  }
+
+  private Path resolve(String attachmentId) {
+    Path path = directory.resolve(attachmentId).normalize();
+    if (!path.getParent().equals(directory)) {
+      throw new IllegalArgumentException("Invalid attachment id: " + attachmentId);
+    }
+    return path;
+  }
+
+  /** Avoids leaving orphan files when the transaction that created the attachment rolls back. */
+  private void deleteOnRollback(Path file) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            if (status == STATUS_ROLLED_BACK) {
+              try {
+                Files.deleteIfExists(file);
+              } catch (IOException e) {
+                log.warn("Could not delete attachment file %s".formatted(file), e);
+              }
+            }
+          }
+        });
+  }
+}
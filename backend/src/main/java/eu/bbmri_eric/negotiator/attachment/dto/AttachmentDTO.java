@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.core.io.Resource;
 import org.springframework.lang.Nullable;
 
 @Getter
@@ -24,5 +25,5 @@ public class AttachmentDTO {
 
   @NotNull private Long size;
 
-  private byte[] payload;
+  private Resource payload;
 }
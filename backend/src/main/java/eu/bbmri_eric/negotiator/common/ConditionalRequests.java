@@ -0,0 +1,139 @@
+package eu.bbmri_eric.negotiator.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Answers conditional GET requests before the representation is loaded. The validators are derived
+ * from the modification date of an entity or from a {@link ContentVersion}, which are read before
+ * the representation, and from anything else the representation depends on, such as the user it is
+ * built for. Since they do not depend on the bytes of the body, the entity tags are weak. The
+ * outcome of each request is counted by resource, to follow the ratio of requests answered with 304
+ * Not Modified.
+ */
+@Component
+public class ConditionalRequests {
+
+  private static final String METRIC = "negotiator.http.conditional-requests";
+
+  private final ContentVersionRepository contentVersionRepository;
+  private final MeterRegistry registry;
+
+  public ConditionalRequests(
+      ContentVersionRepository contentVersionRepository, MeterRegistry registry) {
+    this.contentVersionRepository = contentVersionRepository;
+    this.registry = registry;
+  }
+
+  /**
+   * Checks whether the representation cached by the client is still current, for a representation
+   * of an entity with a modification date. Sets the ETag and Last-Modified headers of the response.
+   *
+   * @param request the request
+   * @param resource the name of the resource, used in the metrics
+   * @param lastModified the modification date of the entity, or null if unknown
+   * @param parts anything else the representation depends on
+   * @return true if the response status has been set to 304 Not Modified and the handler must
+   *     return without a body
+   */
+  public boolean isNotModified(
+      @NonNull ServletWebRequest request,
+      @NonNull String resource,
+      @Nullable LocalDateTime lastModified,
+      Object... parts) {
+    String etag = etag(lastModified, parts);
+    boolean notModified =
+        lastModified == null
+            ? request.checkNotModified(etag)
+            : request.checkNotModified(
+                etag, lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    return record(request, resource, notModified);
+  }
+
+  /**
+   * Checks whether the representation cached by the client is still current, for a representation
+   * belonging to a group of contents versioned together. Sets the ETag header of the response.
+   *
+   * @param request the request
+   * @param resource the name of the resource, used in the metrics
+   * @param scope the group of contents the representation belongs to
+   * @param parts anything else the representation depends on
+   * @return true if the response status has been set to 304 Not Modified and the handler must
+   *     return without a body
+   */
+  public boolean isNotModified(
+      @NonNull ServletWebRequest request,
+      @NonNull String resource,
+      @NonNull ContentScope scope,
+      Object... parts) {
+    long version = contentVersionRepository.findVersion(scope).orElse(0L);
+    return record(request, resource, request.checkNotModified(etag(scope + ":" + version, parts)));
+  }
+
+  /**
+   * Checks whether the representation cached by the client is still current, for a representation
+   * of an entity with a modification date that also depends on groups of contents versioned
+   * together. Sets the ETag header of the response only, since the modification date of the entity
+   * does not change with the contents.
+   *
+   * @param request the request
+   * @param resource the name of the resource, used in the metrics
+   * @param lastModified the modification date of the entity, or null if unknown
+   * @param scopes the groups of contents the representation depends on
+   * @param parts anything else the representation depends on
+   * @return true if the response status has been set to 304 Not Modified and the handler must
+   *     return without a body
+   */
+  public boolean isNotModified(
+      @NonNull ServletWebRequest request,
+      @NonNull String resource,
+      @Nullable LocalDateTime lastModified,
+      @NonNull Collection<ContentScope> scopes,
+      Object... parts) {
+    String versions =
+        scopes.stream()
+            .map(scope -> scope + ":" + contentVersionRepository.findVersion(scope).orElse(0L))
+            .collect(Collectors.joining(",", lastModified + "|", ""));
+    return record(request, resource, request.checkNotModified(etag(versions, parts)));
+  }
+
+  private boolean record(ServletWebRequest request, String resource, boolean notModified) {
+    HttpServletResponse response = request.getResponse();
+    if (response != null) {
+      response.setHeader(
+          HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+    }
+    String outcome;
+    if (notModified) {
+      outcome = "not_modified";
+    } else if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+        || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+      outcome = "modified";
+    } else {
+      outcome = "unconditional";
+    }
+    registry.counter(METRIC, "resource", resource, "outcome", outcome).increment();
+    return notModified;
+  }
+
+  private static String etag(Object validator, Object... parts) {
+    String value =
+        Arrays.stream(parts)
+            .map(String::valueOf)
+            .collect(Collectors.joining("|", validator + "|", ""));
+    return "W/\"" + DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8)) + "\"";
+  }
+}
@@ -0,0 +1,11 @@
+package eu.bbmri_eric.negotiator.common;
+
+/** Groups of representations that share a single {@link ContentVersion}. */
+public enum ContentScope {
+  /** The access forms with their sections and elements, and the value sets. */
+  ACCESS_FORMS,
+  /** The parameters of the UI configuration. */
+  UI_CONFIG,
+  /** The information requirements. */
+  INFORMATION_REQUIREMENTS
+}
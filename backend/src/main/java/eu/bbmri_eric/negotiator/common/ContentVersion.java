@@ -0,0 +1,26 @@
+package eu.bbmri_eric.negotiator.common;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Version counter of a group of representations that have no modification date of their own. It is
+ * incremented by every change to the group, in the same transaction, and used to validate
+ * conditional requests.
+ */
+@Entity
+@Table(name = "content_version")
+@Getter
+@NoArgsConstructor
+public class ContentVersion {
+  @Id
+  @Enumerated(EnumType.STRING)
+  private ContentScope scope;
+
+  private long version;
+}
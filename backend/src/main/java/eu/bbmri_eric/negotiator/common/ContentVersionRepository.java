@@ -0,0 +1,21 @@
+package eu.bbmri_eric.negotiator.common;
+
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ContentVersionRepository extends JpaRepository<ContentVersion, ContentScope> {
+
+  @Query("SELECT v.version FROM ContentVersion v WHERE v.scope = :scope")
+  Optional<Long> findVersion(ContentScope scope);
+
+  /** Records a change to the scope. It joins the transaction of the change, if any. */
+  @Transactional
+  @Modifying
+  @Query("UPDATE ContentVersion v SET v.version = v.version + 1 WHERE v.scope = :scope")
+  void increment(ContentScope scope);
+}
@@ -1,22 +1,33 @@
 package eu.bbmri_eric.negotiator.common;
 
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
 import java.lang.reflect.Field;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 import lombok.NonNull;
 import lombok.extern.apachecommons.CommonsLog;
 import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.server.mvc.BasicLinkBuilder;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
 
 @Component
 @CommonsLog
 public class LinkBuilder {
+  private static final String BASE_URI_ATTRIBUTE = LinkBuilder.class.getName() + ".BASE_URI";
+
   /**
    * Get page links for HATEOAS response models
    *
@@ -49,6 +60,18 @@ public class LinkBuilder {
     return links;
   }
 
+  /**
+   * Get a link to the request with the given filter parameters
+   *
+   * @param baseUri base uri of the request, e.g. /api/resources
+   * @param filterDTO filter DTO containing the filter parameters
+   * @param relation the relation of the link
+   * @return the link
+   */
+  public static @NonNull Link getLink(URI baseUri, FilterDTO filterDTO, LinkRelation relation) {
+    return Link.of(createBaseUriBuilder(baseUri, filterDTO)).withRel(relation);
+  }
+
   private static String createBaseUriBuilder(URI baseUri, FilterDTO filterDTO) {
     return UriComponentsBuilder.fromUri(baseUri)
         .queryParams(getQueryParams(filterDTO))
@@ -74,4 +97,131 @@ public class LinkBuilder {
 
     return queryParams;
   }
+
+  /**
+   * Resolves the template of the link to a controller method.
+   *
+   * @param invocation the invocation of the method on {@code methodOn(Controller.class)}, with
+   *     {@code null} for the path variables
+   * @return the template
+   * @throws IllegalArgumentException if the link has request parameters without value
+   */
+  public static Template template(@NonNull Object invocation) {
+    return Template.parse(resolve(() -> linkTo(invocation).withSelfRel().getHref()));
+  }
+
+  /**
+   * Resolves the template of the link to the root mapping of a controller.
+   *
+   * @param controller the controller class
+   * @return the template
+   */
+  public static Template template(@NonNull Class<?> controller) {
+    return Template.parse(resolve(() -> linkTo(controller).withSelfRel().getHref()));
+  }
+
+  /** Resolves a link outside the current request, so that it does not contain its base URI. */
+  private static String resolve(Supplier<String> link) {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    RequestContextHolder.resetRequestAttributes();
+    try {
+      return link.get();
+    } finally {
+      RequestContextHolder.setRequestAttributes(attributes);
+    }
+  }
+
+  /**
+   * The base URI of the current request, resolved once per request. Outside a request, the links
+   * are relative.
+   */
+  private static String getBaseUri() {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes == null) {
+      return "";
+    }
+    Object cached = attributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    if (cached instanceof String baseUri) {
+      return baseUri;
+    }
+    String baseUri = BasicLinkBuilder.linkToCurrentMapping().toUri().toString();
+    if (baseUri.endsWith("/")) {
+      baseUri = baseUri.substring(0, baseUri.length() - 1);
+    }
+    attributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+    return baseUri;
+  }
+
+  /**
+   * URI template of a link to a controller, resolved once with {@link #template} and expanded for
+   * each entity. Resolving a link with {@link
+   * org.springframework.hateoas.server.mvc.WebMvcLinkBuilder#methodOn} creates a proxy of the
+   * controller and inspects its mappings on every call, so assemblers keep the templates of the
+   * links they add to each entity in constants and only expand them. The base URI of the current
+   * request is prepended when expanding, as {@link
+   * org.springframework.hateoas.server.mvc.WebMvcLinkBuilder} does.
+   */
+  public static final class Template {
+    /** The literal parts of the path, between and around its variables. */
+    private final String[] literals;
+
+    private Template(String[] literals) {
+      this.literals = literals;
+    }
+
+    /**
+     * Appends segments to the template.
+     *
+     * @param path the segments to append, which may contain variables in curly braces
+     * @return the new template
+     */
+    public Template slash(@NonNull String path) {
+      return parse(String.join("{}", literals) + (path.startsWith("/") ? path : "/" + path));
+    }
+
+    /**
+     * Expands the template.
+     *
+     * @param values the values of the variables, in the order in which they appear in the path. All
+     *     characters but the unreserved ones are encoded, as done by {@code methodOn}.
+     * @return a link without relation, to be set by the caller
+     * @throws IllegalArgumentException if the number of values does not match the template
+     */
+    public Link expand(Object... values) {
+      if (values.length != literals.length - 1) {
+        throw new IllegalArgumentException(
+            "Expected %d values, got %d".formatted(literals.length - 1, values.length));
+      }
+      StringBuilder href = new StringBuilder(getBaseUri()).append(literals[0]);
+      for (int i = 0; i < values.length; i++) {
+        href.append(UriUtils.encode(format(values[i]), StandardCharsets.UTF_8))
+            .append(literals[i + 1]);
+      }
+      return Link.of(href.toString());
+    }
+
+    private static String format(Object value) {
+      return value instanceof Enum<?> constant ? constant.name() : String.valueOf(value);
+    }
+
+    private static Template parse(String template) {
+      if (template.contains("{?") || template.contains("{&")) {
+        throw new IllegalArgumentException(
+            "Links with request parameter variables are not supported: " + template);
+      }
+      List<String> literals = new ArrayList<>();
+      int start = 0;
+      int open;
+      while ((open = template.indexOf('{', start)) >= 0) {
+        int close = template.indexOf('}', open);
+        if (close < 0) {
+          throw new IllegalArgumentException("Unclosed variable in " + template);
+        }
+        literals.add(template.substring(start, open));
+        start = close + 1;
+      }
+      literals.add(template.substring(start));
+      return new Template(literals.toArray(String[]::new));
+    }
+  }
 }
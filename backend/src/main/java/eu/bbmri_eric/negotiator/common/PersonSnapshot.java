@@ -0,0 +1,39 @@
+package eu.bbmri_eric.negotiator.common;
+
+import eu.bbmri_eric.negotiator.user.Person;
+
+/**
+ * Immutable view of an authenticated {@link Person} taken when the principal is resolved. It holds
+ * only the scalar attributes of the person, so it can be cached and shared between requests without
+ * keeping the entity graph attached.
+ */
+public record PersonSnapshot(
+    Long id, String subjectId, String name, String email, boolean admin, boolean serviceAccount) {
+
+  public static PersonSnapshot of(Person person) {
+    return new PersonSnapshot(
+        person.getId(),
+        person.getSubjectId(),
+        person.getName(),
+        person.getEmail(),
+        person.isAdmin(),
+        person.isServiceAccount());
+  }
+
+  /**
+   * Creates a detached Person carrying only the scalar attributes of the snapshot. It is meant to
+   * be used as a reference to the person (e.g., for auditing) and has no resources or networks.
+   *
+   * @return a new detached Person
+   */
+  public Person toPerson() {
+    return Person.builder()
+        .id(id)
+        .subjectId(subjectId)
+        .name(name)
+        .email(email)
+        .admin(admin)
+        .isServiceAccount(serviceAccount)
+        .build();
+  }
+}
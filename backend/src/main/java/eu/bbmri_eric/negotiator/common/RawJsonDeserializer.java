@@ -0,0 +1,42 @@
+package eu.bbmri_eric.negotiator.common;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Deserializes a JSON object into its compact textual form. The tokens are copied from the parser
+ * to the output as they are read, so the object is validated and serialized in a single pass
+ * without building a tree, and numbers keep their original text. Used together with {@link
+ * com.fasterxml.jackson.annotation.JsonRawValue} to store and return JSON documents as they are.
+ */
+public class RawJsonDeserializer extends JsonDeserializer<String> {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  @Override
+  public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+    if (!parser.isExpectedStartObjectToken()) {
+      return (String) context.handleUnexpectedToken(String.class, parser);
+    }
+    StringWriter writer = new StringWriter();
+    try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+      int depth = 0;
+      do {
+        JsonToken token = parser.currentToken();
+        generator.copyCurrentEventExact(parser);
+        if (token.isStructStart()) {
+          depth++;
+        } else if (token.isStructEnd()) {
+          depth--;
+        }
+      } while (depth > 0 && parser.nextToken() != null);
+    }
+    return writer.toString();
+  }
+}
@@ -6,14 +6,17 @@ import lombok.Getter;
 @Getter
 public class UserPrincipal implements NegotiatorPrincipal {
 
+  private final PersonSnapshot snapshot;
+
   private final Person person;
 
-  public UserPrincipal(Person person) {
-    this.person = person;
+  public UserPrincipal(PersonSnapshot snapshot) {
+    this.snapshot = snapshot;
+    this.person = snapshot.toPerson();
   }
 
   @Override
   public String getName() {
-    return person.getName();
+    return snapshot.name();
   }
 }
@@ -1,18 +1,18 @@
 package eu.bbmri_eric.negotiator.common.configuration;
 
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.ApplicationEventMulticaster;
-import org.springframework.context.event.SimpleApplicationEventMulticaster;
-import org.springframework.core.task.SimpleAsyncTaskExecutor;
 
 @Configuration
 public class AsynchronousSpringEventsConfig {
   @Bean(name = "applicationEventMulticaster")
-  public ApplicationEventMulticaster simpleApplicationEventMulticaster() {
-    SimpleApplicationEventMulticaster eventMulticaster = new SimpleApplicationEventMulticaster();
-
-    eventMulticaster.setTaskExecutor(new SimpleAsyncTaskExecutor());
-    return eventMulticaster;
+  public ApplicationEventMulticaster simpleApplicationEventMulticaster(
+      @Value("${negotiator.events.pool-size:8}") int poolSize,
+      @Value("${negotiator.events.queue-capacity:1000}") int queueCapacity,
+      @Value("${negotiator.events.shutdown-timeout:30s}") Duration shutdownTimeout) {
+    return new BoundedApplicationEventMulticaster(poolSize, queueCapacity, shutdownTimeout);
   }
 }
@@ -0,0 +1,175 @@
+package eu.bbmri_eric.negotiator.common.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.apachecommons.CommonsLog;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Multicaster delivering application events to their listeners on a bounded thread pool. When all
+ * threads are busy and the queue is full, the listener runs on the publishing thread, which slows
+ * down publishers instead of spawning more threads. The number of pending deliveries and their
+ * duration are published per event type, and pending deliveries are drained when the application
+ * stops.
+ */
+@CommonsLog
+public class BoundedApplicationEventMulticaster extends SimpleApplicationEventMulticaster
+    implements MeterBinder, SmartLifecycle {
+
+  private static final String METRIC_PREFIX = "negotiator.events";
+
+  private final ThreadPoolTaskExecutor executor;
+  private final Map<String, EventTypeMetrics> metrics = new ConcurrentHashMap<>();
+  private volatile MeterRegistry registry;
+  private volatile boolean running;
+
+  public BoundedApplicationEventMulticaster(
+      int poolSize, int queueCapacity, Duration shutdownTimeout) {
+    executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("application-event-");
+    executor.setDaemon(true);
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationMillis(shutdownTimeout.toMillis());
+    executor.initialize();
+    setTaskExecutor(executor);
+  }
+
+  @Override
+  public void multicastEvent(@NonNull ApplicationEvent event, @Nullable ResolvableType eventType) {
+    ResolvableType type = eventType != null ? eventType : ResolvableType.forInstance(event);
+    for (ApplicationListener<?> listener : getApplicationListeners(event, type)) {
+      if (!listener.supportsAsyncExecution()) {
+        invokeListener(listener, event);
+        continue;
+      }
+      EventTypeMetrics typeMetrics = metricsFor(event);
+      typeMetrics.pending.incrementAndGet();
+      try {
+        executor.execute(() -> deliver(typeMetrics, listener, event));
+      } catch (RejectedExecutionException e) {
+        typeMetrics.callerRun();
+        deliver(typeMetrics, listener, event);
+      }
+    }
+  }
+
+  private void deliver(
+      EventTypeMetrics typeMetrics, ApplicationListener<?> listener, ApplicationEvent event) {
+    typeMetrics.pending.decrementAndGet();
+    Timer duration = typeMetrics.duration;
+    if (duration == null) {
+      invokeListener(listener, event);
+    } else {
+      duration.record(() -> invokeListener(listener, event));
+    }
+  }
+
+  public int getPending(String eventType) {
+    EventTypeMetrics typeMetrics = metrics.get(eventType);
+    return typeMetrics == null ? 0 : typeMetrics.pending.get();
+  }
+
+  @Override
+  public void bindTo(@NonNull MeterRegistry registry) {
+    this.registry = registry;
+    ExecutorServiceMetrics.monitor(
+        registry, executor.getThreadPoolExecutor(), "application-events");
+    metrics.forEach((eventType, typeMetrics) -> typeMetrics.register(registry));
+  }
+
+  @Override
+  public void start() {
+    running = true;
+  }
+
+  /** Stops accepting new deliveries and waits for the pending ones to complete. */
+  @Override
+  public void stop() {
+    log.info("Draining pending application event deliveries.");
+    running = false;
+    executor.shutdown();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /** Stops after the web server stopped accepting requests, but before other components. */
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 2048;
+  }
+
+  private EventTypeMetrics metricsFor(ApplicationEvent event) {
+    String eventType =
+        event instanceof PayloadApplicationEvent<?> payloadEvent
+            ? payloadEvent.getPayload().getClass().getSimpleName()
+            : event.getClass().getSimpleName();
+    return metrics.computeIfAbsent(
+        eventType,
+        name -> {
+          EventTypeMetrics typeMetrics = new EventTypeMetrics(name);
+          MeterRegistry current = registry;
+          if (current != null) {
+            typeMetrics.register(current);
+          }
+          return typeMetrics;
+        });
+  }
+
+  private static class EventTypeMetrics {
+    private final String eventType;
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile Timer duration;
+    private volatile Counter callerRuns;
+
+    EventTypeMetrics(String eventType) {
+      this.eventType = eventType;
+    }
+
+    void callerRun() {
+      Counter counter = callerRuns;
+      if (counter != null) {
+        counter.increment();
+      }
+    }
+
+    void register(MeterRegistry registry) {
+      Gauge.builder(METRIC_PREFIX + ".pending", pending, AtomicInteger::get)
+          .description("Events waiting for a thread to be delivered to a listener")
+          .tag("type", eventType)
+          .register(registry);
+      duration =
+          Timer.builder(METRIC_PREFIX + ".duration")
+              .description("Time spent by listeners handling events")
+              .tag("type", eventType)
+              .register(registry);
+      callerRuns =
+          Counter.builder(METRIC_PREFIX + ".caller-runs")
+              .description("Events handled on the publishing thread because the queue was full")
+              .tag("type", eventType)
+              .register(registry);
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package eu.bbmri_eric.negotiator.common.configuration.security.oauth2;
 
+import eu.bbmri_eric.negotiator.common.PersonSnapshot;
 import eu.bbmri_eric.negotiator.common.exceptions.WrongJWTException;
 import eu.bbmri_eric.negotiator.user.Person;
 import eu.bbmri_eric.negotiator.user.PersonRepository;
@@ -9,7 +10,7 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Objects;
 import lombok.AllArgsConstructor;
 import lombok.extern.apachecommons.CommonsLog;
 import org.springframework.core.convert.converter.Converter;
@@ -45,8 +46,9 @@ public class CustomJWTAuthConverter implements Converter<Jwt, AbstractAuthentica
 
   private final String authzBiobankerValue;
 
-  private static final Map<String, LinkedHashMap<String, Object>> userInfoCache =
-      new ConcurrentHashMap<>();
+  private final TokenCache<Map<String, Object>> userInfoCache;
+
+  private final PrincipalCache principalCache;
 
   @Override
   public final AbstractAuthenticationToken convert(Jwt jwt) {
@@ -64,22 +66,37 @@ public class CustomJWTAuthConverter implements Converter<Jwt, AbstractAuthentica
   private NegotiatorJwtAuthenticationToken parseJWTAsUserToken(Jwt jwt) {
     String subjectIdentifier = jwt.getClaimAsString("sub");
     Map<String, Object> userInfo = getClaims(jwt);
-    Person person =
-        personRepository
-            .findBySubjectId(subjectIdentifier)
-            .map(existingPerson -> updatePersonIfNecessary(existingPerson, userInfo))
-            .orElseGet(() -> saveNewUserAsPerson(userInfo));
-
+    PersonSnapshot person = principalCache.get(subjectIdentifier, this::loadPerson);
+    if (person == null || isOutdated(person, userInfo)) {
+      person =
+          principalCache.put(
+              PersonSnapshot.of(
+                  personRepository
+                      .findBySubjectId(subjectIdentifier)
+                      .map(existingPerson -> updatePersonIfNecessary(existingPerson, userInfo))
+                      .orElseGet(() -> saveNewUserAsPerson(userInfo))));
+    }
     return new NegotiatorJwtAuthenticationToken(person, jwt, parseUserAuthorities(userInfo));
   }
 
   private NegotiatorJwtAuthenticationToken parseJWTAsMachineToken(Jwt jwt) {
     String clientId = jwt.getClaimAsString("client_id");
-    Person person =
-        personRepository.findBySubjectId(clientId).orElseGet(() -> saveNewClientAsPerson(jwt));
+    PersonSnapshot person = principalCache.get(clientId, this::loadPerson);
+    if (person == null) {
+      person = principalCache.put(PersonSnapshot.of(saveNewClientAsPerson(jwt)));
+    }
     return new NegotiatorJwtAuthenticationToken(person, jwt, getAuthoritiesFromScope(jwt));
   }
 
+  private PersonSnapshot loadPerson(String subjectIdentifier) {
+    return personRepository.findBySubjectId(subjectIdentifier).map(PersonSnapshot::of).orElse(null);
+  }
+
+  private static boolean isOutdated(PersonSnapshot person, Map<String, Object> userInfo) {
+    return !Objects.equals(person.name(), String.valueOf(userInfo.get("name")))
+        || !Objects.equals(person.email(), String.valueOf(userInfo.get("email")));
+  }
+
   private Person saveNewClientAsPerson(Jwt jwt) {
     String clientId = jwt.getClaimAsString("client_id");
     log.info(String.format("Client with id %s not in the database, adding...", clientId));
@@ -140,13 +157,11 @@ public class CustomJWTAuthConverter implements Converter<Jwt, AbstractAuthentica
   }
 
   private Map<String, Object> getClaims(Jwt jwt) {
-    if (userInfoCache.containsKey(jwt.getSubject())) {
-      return userInfoCache.get(jwt.getSubject());
-    }
     if (userInfoEndpoint != null
         && !userInfoEndpoint.isBlank()
         && jwt.getClaimAsString("scope").contains("openid")) {
-      return getClaimsFromUserEndpoints(jwt);
+      Map<String, Object> claims = userInfoCache.get(jwt, this::getClaimsFromUserEndpoints);
+      return claims != null ? claims : new LinkedHashMap<>();
     } else {
       return jwt.getClaims();
     }
@@ -158,9 +173,8 @@ public class CustomJWTAuthConverter implements Converter<Jwt, AbstractAuthentica
     try {
       mappedClaims = (LinkedHashMap<String, Object>) claims;
     } catch (ClassCastException ex) {
-      return new LinkedHashMap<>();
+      return null;
     }
-    userInfoCache.put(jwt.getSubject(), mappedClaims);
     log.info("USER_LOGIN: User %s logged in.".formatted(mappedClaims.get("name")));
     return mappedClaims;
   }
@@ -224,9 +238,4 @@ public class CustomJWTAuthConverter implements Converter<Jwt, AbstractAuthentica
 
     return person;
   }
-
-  static void cleanCache() {
-    log.debug("Clearing userInfo cache.");
-    userInfoCache.clear();
-  }
 }
@@ -6,9 +6,7 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.Base64;
-import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.apachecommons.CommonsLog;
 import org.springframework.security.oauth2.core.OAuth2Error;
 import org.springframework.security.oauth2.core.OAuth2TokenValidator;
@@ -21,14 +19,19 @@ public class IntrospectionValidator implements OAuth2TokenValidator<Jwt> {
   private final String introspectionUri;
   private final String clientId;
   private final String clientSecret;
-  private static final Map<String, Jwt> jwtCache = new ConcurrentHashMap<>();
+  private final TokenCache<Boolean> introspectionCache;
 
-  public IntrospectionValidator(String introspectionUri, String clientId, String clientSecret) {
+  public IntrospectionValidator(
+      String introspectionUri,
+      String clientId,
+      String clientSecret,
+      TokenCache<Boolean> introspectionCache) {
     Objects.requireNonNull(
         introspectionUri, "Introspection URI must not be null but can be empty!");
     this.introspectionUri = introspectionUri;
     this.clientId = clientId;
     this.clientSecret = clientSecret;
+    this.introspectionCache = introspectionCache;
   }
 
   @Override
@@ -45,7 +48,7 @@ public class IntrospectionValidator implements OAuth2TokenValidator<Jwt> {
     if (Objects.isNull(subject)) {
       subject = token.getClaimAsString("client_id");
     }
-    if (jwtCache.containsKey(subject) || isRequestSuccessful(sendHttpRequest(token))) {
+    if (introspectionCache.get(token, this::isActive) != null) {
       log.debug("Introspection for subject %s was successful!".formatted(subject));
       return OAuth2TokenValidatorResult.success();
     } else {
@@ -54,6 +57,11 @@ public class IntrospectionValidator implements OAuth2TokenValidator<Jwt> {
     }
   }
 
+  /** Only active tokens are cached, a failed introspection is retried on the next request. */
+  private Boolean isActive(Jwt token) {
+    return isRequestSuccessful(sendHttpRequest(token)) ? Boolean.TRUE : null;
+  }
+
   private boolean isRequestSuccessful(HttpResponse<String> response) {
     if (Objects.isNull(response)) return false;
     return response.statusCode() == 200 && response.body().contains("\"active\":true");
@@ -84,9 +92,4 @@ public class IntrospectionValidator implements OAuth2TokenValidator<Jwt> {
         .POST(HttpRequest.BodyPublishers.ofString("token=" + token.getTokenValue()))
         .build();
   }
-
-  static void cleanCache() {
-    log.debug("Clearing JWT cache.");
-    jwtCache.clear();
-  }
 }
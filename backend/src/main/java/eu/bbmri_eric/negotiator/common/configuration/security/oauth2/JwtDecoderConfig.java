@@ -4,6 +4,7 @@ import static org.springframework.security.oauth2.core.OAuth2TokenIntrospectionC
 
 import com.nimbusds.jose.JOSEObjectType;
 import com.nimbusds.jose.proc.DefaultJOSEObjectTypeVerifier;
+import java.time.Duration;
 import java.util.List;
 import lombok.NonNull;
 import org.springframework.beans.factory.annotation.Value;
@@ -41,6 +42,12 @@ public class JwtDecoderConfig {
   @Value("${spring.security.oauth2.resourceserver.jwt.type}")
   private String jwtType;
 
+  @Value("${negotiator.authorization.token-cache.maximum-size:10000}")
+  private long tokenCacheMaximumSize;
+
+  @Value("${negotiator.authorization.token-cache.maximum-ttl:5m}")
+  private Duration tokenCacheMaximumTtl;
+
   @Bean
   public JwtDecoder jwtDecoder() {
     NimbusJwtDecoder decoder = setupJWTDecoder();
@@ -70,7 +77,13 @@ public class JwtDecoderConfig {
 
   @Bean
   public OAuth2TokenValidator<Jwt> introspectionValidator() {
-    return new IntrospectionValidator(introspectionEndpoint, clientId, clientSecret);
+    return new IntrospectionValidator(
+        introspectionEndpoint, clientId, clientSecret, introspectionCache());
+  }
+
+  @Bean
+  public TokenCache<Boolean> introspectionCache() {
+    return new TokenCache<>("oidc.introspection", tokenCacheMaximumSize, tokenCacheMaximumTtl);
   }
 
   private OAuth2TokenValidator<Jwt> audienceValidator() {
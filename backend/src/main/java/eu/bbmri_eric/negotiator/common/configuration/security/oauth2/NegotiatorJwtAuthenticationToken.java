@@ -1,8 +1,8 @@
 package eu.bbmri_eric.negotiator.common.configuration.security.oauth2;
 
 import eu.bbmri_eric.negotiator.common.NegotiatorPrincipal;
+import eu.bbmri_eric.negotiator.common.PersonSnapshot;
 import eu.bbmri_eric.negotiator.common.UserPrincipal;
-import eu.bbmri_eric.negotiator.user.Person;
 import java.util.Collection;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -18,7 +18,7 @@ public class NegotiatorJwtAuthenticationToken extends JwtAuthenticationToken {
   private final NegotiatorPrincipal principal;
 
   public NegotiatorJwtAuthenticationToken(
-      Person person, Jwt jwt, Collection<? extends GrantedAuthority> authorities) {
+      PersonSnapshot person, Jwt jwt, Collection<? extends GrantedAuthority> authorities) {
     super(jwt, authorities);
     this.principal = new UserPrincipal(person);
   }
@@ -1,7 +1,10 @@
 package eu.bbmri_eric.negotiator.common.configuration.security.oauth2;
 
 import eu.bbmri_eric.negotiator.user.PersonRepository;
+import java.time.Duration;
+import java.util.Map;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.oauth2.server.resource.OAuth2ResourceServerConfigurer;
@@ -33,6 +36,18 @@ public class OAuth2Configuration {
   @Value("${negotiator.authorization.biobanker-claim-value}")
   private String authzBiobankerValue;
 
+  @Value("${negotiator.authorization.token-cache.maximum-size:10000}")
+  private long tokenCacheMaximumSize;
+
+  @Value("${negotiator.authorization.token-cache.maximum-ttl:5m}")
+  private Duration tokenCacheMaximumTtl;
+
+  @Value("${negotiator.authorization.principal-cache.maximum-size:10000}")
+  private long principalCacheMaximumSize;
+
+  @Value("${negotiator.authorization.principal-cache.maximum-ttl:10m}")
+  private Duration principalCacheMaximumTtl;
+
   public OAuth2Configuration(
       PersonRepository personRepository,
       JwtDecoder jwtDecoder,
@@ -53,7 +68,20 @@ public class OAuth2Configuration {
                         authzClaim,
                         authzAdminValue,
                         authzResearcherValue,
-                        authzBiobankerValue))
+                        authzBiobankerValue,
+                        userInfoCache(),
+                        principalCache()))
                 .decoder(jwtDecoder));
   }
+
+  @Bean
+  public TokenCache<Map<String, Object>> userInfoCache() {
+    return new TokenCache<>("oidc.userinfo", tokenCacheMaximumSize, tokenCacheMaximumTtl);
+  }
+
+  @Bean
+  public PrincipalCache principalCache() {
+    return new PrincipalCache(
+        "oidc.principal", principalCacheMaximumSize, principalCacheMaximumTtl);
+  }
 }
@@ -0,0 +1,70 @@
+package eu.bbmri_eric.negotiator.common.configuration.security.oauth2;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.bbmri_eric.negotiator.common.PersonSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.function.Function;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Bounded cache of the {@link PersonSnapshot} of authenticated users, keyed on their subject id, so
+ * that resolving the principal of a request does not query the database once the cache is warm. The
+ * snapshots hold no authorizations, which are checked against the database, so entries only expire
+ * after a maximum TTL.
+ */
+public class PrincipalCache implements MeterBinder {
+
+  private final String name;
+  private final Cache<String, PersonSnapshot> cache;
+
+  public PrincipalCache(String name, long maximumSize, Duration maximumTtl) {
+    this.name = name;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(maximumTtl)
+            .recordStats()
+            .build();
+  }
+
+  /**
+   * Returns the snapshot cached for the subject, loading it if absent. Snapshots loaded as null are
+   * not cached.
+   *
+   * @param subjectId the subject id of the person
+   * @param loader function loading the snapshot of the person with the subject id
+   * @return the cached or newly loaded snapshot
+   */
+  @Nullable
+  public PersonSnapshot get(String subjectId, Function<String, PersonSnapshot> loader) {
+    return cache.get(subjectId, loader);
+  }
+
+  /**
+   * Caches the snapshot, replacing the one of the same subject. Snapshots of persons that have not
+   * been stored yet are not cached.
+   *
+   * @param snapshot the snapshot to cache
+   * @return the snapshot
+   */
+  public PersonSnapshot put(PersonSnapshot snapshot) {
+    if (snapshot.id() != null) {
+      cache.put(snapshot.subjectId(), snapshot);
+    }
+    return snapshot;
+  }
+
+  public long size() {
+    return cache.estimatedSize();
+  }
+
+  @Override
+  public void bindTo(@NonNull MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, name);
+  }
+}
@@ -0,0 +1,124 @@
+package eu.bbmri_eric.negotiator.common.configuration.security.oauth2;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.security.oauth2.core.AbstractOAuth2Token;
+
+/**
+ * Bounded cache for values obtained from the authorization server for an access token (e.g.,
+ * user-info claims or introspection results). Entries are keyed on a hash of the token and expire
+ * together with it, or after a maximum TTL if that comes first. Concurrent lookups for the same
+ * token wait for a single upstream call. Hit, miss and eviction metrics are published when the
+ * cache is bound to a {@link MeterRegistry}.
+ *
+ * @param <V> type of the cached values
+ */
+public class TokenCache<V> implements MeterBinder {
+
+  private final String name;
+  private final Duration maximumTtl;
+  private final AsyncCache<String, Entry<V>> cache;
+
+  public TokenCache(String name, long maximumSize, Duration maximumTtl) {
+    this.name = name;
+    this.maximumTtl = maximumTtl;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new EntryExpiry<V>())
+            .recordStats()
+            .buildAsync();
+  }
+
+  /**
+   * Returns the value cached for the token, loading it if absent. Values loaded as null are not
+   * cached.
+   *
+   * @param token the access token the value belongs to
+   * @param loader function computing the value from the token
+   * @return the cached or newly loaded value
+   */
+  @Nullable
+  public <T extends AbstractOAuth2Token> V get(T token, Function<T, V> loader) {
+    Duration ttl = timeToLive(token);
+    if (ttl.isNegative() || ttl.isZero()) {
+      return loader.apply(token);
+    }
+    CompletableFuture<Entry<V>> created = new CompletableFuture<>();
+    CompletableFuture<Entry<V>> future =
+        cache.get(hash(token.getTokenValue()), (key, executor) -> created);
+    if (future == created) {
+      try {
+        V value = loader.apply(token);
+        created.complete(value == null ? null : new Entry<>(value, ttl));
+      } catch (RuntimeException e) {
+        created.completeExceptionally(e);
+        throw e;
+      }
+    }
+    Entry<V> entry = future.join();
+    return entry == null ? null : entry.value();
+  }
+
+  public long size() {
+    return cache.synchronous().estimatedSize();
+  }
+
+  @Override
+  public void bindTo(@NonNull MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, name);
+  }
+
+  private Duration timeToLive(AbstractOAuth2Token token) {
+    Instant expiresAt = token.getExpiresAt();
+    if (expiresAt == null) {
+      return maximumTtl;
+    }
+    Duration untilExpiry = Duration.between(Instant.now(), expiresAt);
+    return untilExpiry.compareTo(maximumTtl) < 0 ? untilExpiry : maximumTtl;
+  }
+
+  private static String hash(String tokenValue) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(tokenValue.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private record Entry<V>(V value, Duration ttl) {}
+
+  private static class EntryExpiry<V> implements Expiry<String, Entry<V>> {
+    @Override
+    public long expireAfterCreate(String key, Entry<V> entry, long currentTime) {
+      return entry.ttl().toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String key, Entry<V> entry, long currentTime, long currentDuration) {
+      return entry.ttl().toNanos();
+    }
+
+    @Override
+    public long expireAfterRead(
+        String key, Entry<V> entry, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
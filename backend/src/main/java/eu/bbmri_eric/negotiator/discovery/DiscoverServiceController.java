@@ -75,6 +75,13 @@ public class DiscoverServiceController {
     return discoverySynchronizationJobService.createSyncJob(id);
   }
 
+  @GetMapping(
+      value = "/discovery-services/{serviceId}/sync-jobs/{jobId}",
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  DiscoverySyncJobServiceDTO retrieve(@PathVariable Long serviceId, @PathVariable String jobId) {
+    return discoverySynchronizationJobService.findSyncJob(serviceId, jobId);
+  }
+
   @PatchMapping(
       value = "/discovery-services/{serviceId}/sync-jobs/{jobId}",
       consumes = MediaType.APPLICATION_JSON_VALUE,
@@ -0,0 +1,22 @@
+package eu.bbmri_eric.negotiator.discovery.synchronization;
+
+import java.util.Set;
+
+/**
+ * A network as published by a discovery service.
+ *
+ * @param id the external id of the network
+ * @param resourceIds the source ids of the resources of the network
+ */
+public record DiscoveryNetwork(
+    String id,
+    String name,
+    String description,
+    String contactEmail,
+    String uri,
+    Set<String> resourceIds) {
+
+  public DiscoveryNetwork {
+    resourceIds = resourceIds == null ? Set.of() : Set.copyOf(resourceIds);
+  }
+}
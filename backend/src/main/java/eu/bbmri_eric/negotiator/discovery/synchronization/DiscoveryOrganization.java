@@ -0,0 +1,14 @@
+package eu.bbmri_eric.negotiator.discovery.synchronization;
+
+/**
+ * An organization as published by a discovery service.
+ *
+ * @param id the external id of the organization
+ */
+public record DiscoveryOrganization(
+    String id,
+    String name,
+    String description,
+    String contactEmail,
+    String uri,
+    boolean withdrawn) {}
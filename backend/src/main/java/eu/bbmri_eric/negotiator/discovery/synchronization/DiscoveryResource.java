@@ -0,0 +1,16 @@
+package eu.bbmri_eric.negotiator.discovery.synchronization;
+
+/**
+ * A resource as published by a discovery service.
+ *
+ * @param id the source id of the resource
+ * @param organizationId the external id of the organization of the resource
+ */
+public record DiscoveryResource(
+    String id,
+    String name,
+    String description,
+    String contactEmail,
+    String uri,
+    String organizationId,
+    boolean withdrawn) {}
@@ -0,0 +1,18 @@
+package eu.bbmri_eric.negotiator.discovery.synchronization;
+
+import eu.bbmri_eric.negotiator.discovery.DiscoveryService;
+import java.util.List;
+
+/**
+ * Client fetching the organizations, resources and networks published by a discovery service. The
+ * complete content is fetched at each synchronization: the differences with the stored entities are
+ * computed by the {@link DiscoverySynchronizationEngine}.
+ */
+public interface DiscoveryServiceClient {
+
+  List<DiscoveryOrganization> fetchOrganizations(DiscoveryService discoveryService);
+
+  List<DiscoveryResource> fetchResources(DiscoveryService discoveryService);
+
+  List<DiscoveryNetwork> fetchNetworks(DiscoveryService discoveryService);
+}
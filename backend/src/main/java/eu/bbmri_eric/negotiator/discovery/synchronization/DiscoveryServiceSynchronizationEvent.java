@@ -13,7 +13,7 @@ public class DiscoveryServiceSynchronizationEvent extends ApplicationEvent {
   private Long discoveryServiceId;
 
   public DiscoveryServiceSynchronizationEvent(
-      Object source, String jobId, Long discoveryServiceName) {
+      Object source, String jobId, Long discoveryServiceId) {
     super(source);
     this.jobId = jobId;
     this.discoveryServiceId = discoveryServiceId;
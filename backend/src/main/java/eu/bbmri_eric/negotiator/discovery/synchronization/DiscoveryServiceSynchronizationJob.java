@@ -43,4 +43,22 @@ public class DiscoveryServiceSynchronizationJob {
 
   @Enumerated(EnumType.STRING)
   private DiscoveryServiceSyncronizationJobStatus status;
+
+  /** The number of organizations, resources and networks fetched from the discovery service. */
+  private int total;
+
+  /** The number of fetched entities compared with the stored ones so far. */
+  private int processed;
+
+  private int inserted;
+
+  private int updated;
+
+  private int withdrawn;
+
+  /** The number of fetched entities that could not be stored, e.g. of an unknown organization. */
+  private int skipped;
+
+  @Column(columnDefinition = "VARCHAR(5000)")
+  private String errorMessage;
 }
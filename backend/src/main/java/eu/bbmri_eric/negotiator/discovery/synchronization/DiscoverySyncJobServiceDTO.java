@@ -19,4 +19,12 @@ public class DiscoverySyncJobServiceDTO {
   @NotNull private String discoveryServiceName;
   @NotNull private LocalDateTime creationDate;
   @NotNull private LocalDateTime modifiedDate;
+  private DiscoveryServiceSyncronizationJobStatus status;
+  private int total;
+  private int processed;
+  private int inserted;
+  private int updated;
+  private int withdrawn;
+  private int skipped;
+  private String errorMessage;
 }
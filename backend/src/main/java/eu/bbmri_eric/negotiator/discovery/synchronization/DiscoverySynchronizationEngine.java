@@ -0,0 +1,295 @@
+package eu.bbmri_eric.negotiator.discovery.synchronization;
+
+import eu.bbmri_eric.negotiator.common.exceptions.EntityNotFoundException;
+import eu.bbmri_eric.negotiator.discovery.DiscoveryService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import lombok.extern.apachecommons.CommonsLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Synchronizes the organizations, resources and networks of a discovery service. The entities are
+ * fetched with the {@link DiscoveryServiceClient}, compared with the stored ones and only the
+ * differences are written, in batches. Each kind of entity is applied in its own transaction, after
+ * which the counts of the job are updated, so that the progress of a running job can be followed.
+ * Since the differences are computed again at each run, a failed job can simply be submitted again.
+ *
+ * <p>Stored entities that are no longer fetched are withdrawn, unless the fetched entities look
+ * incomplete: the job fails instead when none of a kind is fetched, or when more than
+ * synchronization.max-withdrawn-ratio of the active ones would be withdrawn. The ratio is only
+ * checked from synchronization.min-active-for-withdrawn-ratio active entities, so that the few
+ * entities of a small catalog can still be withdrawn. Organizations that also have resources of
+ * other discovery services are never withdrawn by one of them.
+ *
+ * <p>Source ids are unique across discovery services: a fetched resource whose source id is used by
+ * a resource of another discovery service, or of none, is skipped.
+ */
+@Service
+@CommonsLog
+public class DiscoverySynchronizationEngine {
+
+  private final DiscoveryServiceSynchronizationJobRepository jobRepository;
+  private final DiscoverySynchronizationRepository synchronizationRepository;
+  private final DiscoveryServiceClient client;
+  private final TransactionTemplate transactionTemplate;
+  private final double maxWithdrawnRatio;
+  private final int minActiveForWithdrawnRatio;
+
+  public DiscoverySynchronizationEngine(
+      DiscoveryServiceSynchronizationJobRepository jobRepository,
+      DiscoverySynchronizationRepository synchronizationRepository,
+      DiscoveryServiceClient client,
+      TransactionTemplate transactionTemplate,
+      @Value("${synchronization.max-withdrawn-ratio:0.5}") double maxWithdrawnRatio,
+      @Value("${synchronization.min-active-for-withdrawn-ratio:10}")
+          int minActiveForWithdrawnRatio) {
+    this.jobRepository = jobRepository;
+    this.synchronizationRepository = synchronizationRepository;
+    this.client = client;
+    this.transactionTemplate = transactionTemplate;
+    this.maxWithdrawnRatio = maxWithdrawnRatio;
+    this.minActiveForWithdrawnRatio = minActiveForWithdrawnRatio;
+  }
+
+  /**
+   * Runs the synchronization job, which ends up COMPLETED or FAILED with the reason of the failure.
+   *
+   * @param jobId the id of the job
+   */
+  public void synchronize(String jobId) {
+    DiscoveryServiceSynchronizationJob job =
+        jobRepository.findById(jobId).orElseThrow(() -> new EntityNotFoundException(jobId));
+    DiscoveryService discoveryService = job.getService();
+    log.info("Synchronizing discovery service %s".formatted(discoveryService.getUrl()));
+    job.setStatus(DiscoveryServiceSyncronizationJobStatus.IN_PROGRESS);
+    save(job);
+    try {
+      List<DiscoveryOrganization> organizations = client.fetchOrganizations(discoveryService);
+      List<DiscoveryResource> resources = client.fetchResources(discoveryService);
+      List<DiscoveryNetwork> networks = client.fetchNetworks(discoveryService);
+      job.setTotal(organizations.size() + resources.size() + networks.size());
+      save(job);
+      transactionTemplate.executeWithoutResult(
+          status -> synchronizeOrganizations(job, discoveryService.getId(), organizations));
+      save(job);
+      transactionTemplate.executeWithoutResult(
+          status -> synchronizeResources(job, discoveryService.getId(), resources));
+      save(job);
+      transactionTemplate.executeWithoutResult(
+          status -> synchronizeNetworks(job, discoveryService.getId(), networks));
+      job.setStatus(DiscoveryServiceSyncronizationJobStatus.COMPLETED);
+      save(job);
+      log.info(
+          "Discovery service %s synchronized: %d inserted, %d updated, %d withdrawn, %d skipped"
+              .formatted(
+                  discoveryService.getUrl(),
+                  job.getInserted(),
+                  job.getUpdated(),
+                  job.getWithdrawn(),
+                  job.getSkipped()));
+    } catch (RuntimeException e) {
+      log.error(
+          "Synchronization of discovery service %s failed".formatted(discoveryService.getUrl()), e);
+      job.setStatus(DiscoveryServiceSyncronizationJobStatus.FAILED);
+      job.setErrorMessage(Objects.requireNonNullElse(e.getMessage(), e.getClass().getName()));
+      save(job);
+    }
+  }
+
+  private void synchronizeOrganizations(
+      DiscoveryServiceSynchronizationJob job,
+      Long discoveryServiceId,
+      List<DiscoveryOrganization> organizations) {
+    synchronizationRepository.lockDiscoveryService(discoveryServiceId);
+    Map<String, DiscoveryOrganization> stored =
+        synchronizationRepository.findOrganizations(discoveryServiceId);
+    SynchronizationPlan<DiscoveryOrganization> plan =
+        SynchronizationPlan.of(stored, organizations, DiscoveryOrganization::id);
+    // Organizations of other services are not known to the plan: they are updated, not inserted.
+    Map<String, Long> existing =
+        synchronizationRepository.findOrganizationIds(
+            plan.inserts().stream().map(DiscoveryOrganization::id).toList());
+    List<DiscoveryOrganization> inserts = new ArrayList<>();
+    List<DiscoveryOrganization> updates = new ArrayList<>(plan.updates());
+    plan.inserts()
+        .forEach(
+            organization ->
+                (existing.containsKey(organization.id()) ? updates : inserts).add(organization));
+    Set<String> shared = synchronizationRepository.findSharedOrganizations(discoveryServiceId);
+    List<String> withdrawals =
+        plan.missing().stream()
+            .filter(externalId -> !stored.get(externalId).withdrawn())
+            .filter(externalId -> !shared.contains(externalId))
+            .toList();
+    verifyWithdrawals(
+        "organizations",
+        organizations.size(),
+        stored.values().stream().filter(organization -> !organization.withdrawn()).count(),
+        withdrawals.size());
+
+    synchronizationRepository.insertOrganizations(inserts);
+    synchronizationRepository.updateOrganizations(updates);
+    synchronizationRepository.withdrawOrganizations(withdrawals);
+    count(job, organizations.size(), inserts.size(), updates.size(), withdrawals.size(), 0);
+  }
+
+  private void synchronizeResources(
+      DiscoveryServiceSynchronizationJob job,
+      Long discoveryServiceId,
+      List<DiscoveryResource> resources) {
+    synchronizationRepository.lockDiscoveryService(discoveryServiceId);
+    Map<String, DiscoveryResource> stored =
+        synchronizationRepository.findResources(discoveryServiceId);
+    SynchronizationPlan<DiscoveryResource> plan =
+        SynchronizationPlan.of(stored, resources, DiscoveryResource::id);
+    Map<String, Long> organizationIds =
+        synchronizationRepository.findOrganizationIds(
+            resources.stream().map(DiscoveryResource::organizationId).distinct().toList());
+    List<DiscoveryResource> inserts =
+        withKnownOrganization(
+            withFreeSourceId(
+                plan.inserts(),
+                synchronizationRepository.findExistingSourceIds(
+                    plan.inserts().stream().map(DiscoveryResource::id).toList())),
+            organizationIds);
+    List<DiscoveryResource> updates = withKnownOrganization(plan.updates(), organizationIds);
+    List<String> withdrawals =
+        plan.missing().stream().filter(sourceId -> !stored.get(sourceId).withdrawn()).toList();
+    verifyWithdrawals(
+        "resources",
+        resources.size(),
+        stored.values().stream().filter(resource -> !resource.withdrawn()).count(),
+        withdrawals.size());
+
+    synchronizationRepository.insertResources(discoveryServiceId, inserts, organizationIds);
+    synchronizationRepository.updateResources(discoveryServiceId, updates, organizationIds);
+    synchronizationRepository.withdrawResources(discoveryServiceId, withdrawals);
+    int skipped = plan.inserts().size() + plan.updates().size() - inserts.size() - updates.size();
+    count(job, resources.size(), inserts.size(), updates.size(), withdrawals.size(), skipped);
+  }
+
+  /**
+   * Inserts and updates the networks. Networks are never withdrawn, since they have managers of
+   * their own: the ones no longer published by the service are left as they are.
+   */
+  private void synchronizeNetworks(
+      DiscoveryServiceSynchronizationJob job,
+      Long discoveryServiceId,
+      List<DiscoveryNetwork> networks) {
+    synchronizationRepository.lockDiscoveryService(discoveryServiceId);
+    Map<String, DiscoveryNetwork> fetched = new LinkedHashMap<>();
+    Set<String> sourceIds = new HashSet<>();
+    networks.forEach(
+        network -> {
+          fetched.put(network.id(), network);
+          sourceIds.addAll(network.resourceIds());
+        });
+    SynchronizationPlan<DiscoveryNetwork> plan =
+        SynchronizationPlan.of(
+            synchronizationRepository.findNetworks(discoveryServiceId, fetched.keySet()),
+            networks,
+            DiscoveryNetwork::id);
+    synchronizationRepository.insertNetworks(plan.inserts());
+    synchronizationRepository.updateNetworks(plan.updates());
+
+    List<DiscoveryNetwork> changed = new ArrayList<>(plan.inserts());
+    changed.addAll(plan.updates());
+    Map<String, Long> networkIds =
+        synchronizationRepository.findNetworkIds(
+            changed.stream().map(DiscoveryNetwork::id).toList());
+    Map<String, Long> resourceIds =
+        synchronizationRepository.findResourceIds(discoveryServiceId, sourceIds);
+    Map<Long, Set<Long>> links = new LinkedHashMap<>();
+    for (DiscoveryNetwork network : changed) {
+      Set<Long> resourcesOfNetwork = new HashSet<>();
+      network.resourceIds().stream()
+          .map(resourceIds::get)
+          .filter(Objects::nonNull)
+          .forEach(resourcesOfNetwork::add);
+      links.put(networkIds.get(network.id()), resourcesOfNetwork);
+    }
+    synchronizationRepository.replaceNetworkResources(discoveryServiceId, links);
+    count(job, networks.size(), plan.inserts().size(), plan.updates().size(), 0, 0);
+  }
+
+  /**
+   * Refuses to withdraw entities when the fetched ones look incomplete, e.g. because the discovery
+   * service returned an empty or truncated response.
+   *
+   * @param kind the kind of entities, used in the message
+   * @param fetched the number of entities fetched
+   * @param active the number of stored entities that are not withdrawn
+   * @param withdrawals the number of entities that would be withdrawn
+   */
+  private void verifyWithdrawals(String kind, int fetched, long active, int withdrawals) {
+    if (withdrawals == 0) {
+      return;
+    }
+    if (fetched == 0) {
+      throw new SynchronizationRefusedException(
+          "No %s fetched, refusing to withdraw the %d stored ones".formatted(kind, withdrawals));
+    }
+    if (active >= minActiveForWithdrawnRatio && withdrawals > active * maxWithdrawnRatio) {
+      throw new SynchronizationRefusedException(
+          "Refusing to withdraw %d of the %d active %s, more than the maximum ratio of %s"
+              .formatted(withdrawals, active, kind, maxWithdrawnRatio));
+    }
+  }
+
+  private static List<DiscoveryResource> withFreeSourceId(
+      List<DiscoveryResource> resources, Set<String> existingSourceIds) {
+    List<DiscoveryResource> free = new ArrayList<>();
+    for (DiscoveryResource resource : resources) {
+      if (existingSourceIds.contains(resource.id())) {
+        log.warn(
+            "Resource %s skipped: source id used by another discovery service"
+                .formatted(resource.id()));
+      } else {
+        free.add(resource);
+      }
+    }
+    return free;
+  }
+
+  private static List<DiscoveryResource> withKnownOrganization(
+      List<DiscoveryResource> resources, Map<String, Long> organizationIds) {
+    List<DiscoveryResource> known = new ArrayList<>();
+    for (DiscoveryResource resource : resources) {
+      if (organizationIds.containsKey(resource.organizationId())) {
+        known.add(resource);
+      } else {
+        log.warn(
+            "Resource %s skipped: organization %s not found"
+                .formatted(resource.id(), resource.organizationId()));
+      }
+    }
+    return known;
+  }
+
+  private static void count(
+      DiscoveryServiceSynchronizationJob job,
+      int processed,
+      int inserted,
+      int updated,
+      int withdrawn,
+      int skipped) {
+    job.setProcessed(job.getProcessed() + processed);
+    job.setInserted(job.getInserted() + inserted);
+    job.setUpdated(job.getUpdated() + updated);
+    job.setWithdrawn(job.getWithdrawn() + withdrawn);
+    job.setSkipped(job.getSkipped() + skipped);
+  }
+
+  private void save(DiscoveryServiceSynchronizationJob job) {
+    job.setModifiedDate(LocalDateTime.now());
+    jobRepository.save(job);
+  }
+}
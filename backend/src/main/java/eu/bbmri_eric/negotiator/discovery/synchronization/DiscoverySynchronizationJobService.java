@@ -4,6 +4,17 @@ public interface DiscoverySynchronizationJobService {
 
   DiscoverySyncJobServiceDTO createSyncJob(Long discoveryServiceId);
 
+  /**
+   * Retrieves a synchronization job of a discovery service, with its progress.
+   *
+   * @param discoveryServiceId the id of the discovery service
+   * @param jobId the id of the job
+   * @return the job
+   * @throws eu.bbmri_eric.negotiator.common.exceptions.EntityNotFoundException if the service has
+   *     no job with the id
+   */
+  DiscoverySyncJobServiceDTO findSyncJob(Long discoveryServiceId, String jobId);
+
   DiscoverySyncJobServiceDTO updateSyncJob(
       Long discoveryServiceId, String jobId, DiscoverySyncJobServiceUpdateDTO request);
 }
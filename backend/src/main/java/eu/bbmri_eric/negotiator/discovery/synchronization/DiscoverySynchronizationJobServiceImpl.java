@@ -7,6 +7,9 @@ import java.time.LocalDateTime;
 import lombok.extern.apachecommons.CommonsLog;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 @CommonsLog
@@ -18,6 +21,11 @@ public class DiscoverySynchronizationJobServiceImpl implements DiscoverySynchron
   @Autowired
   DiscoveryServiceSynchronizationJobRepository discoveryServiceSynchronizationJobRepository;
 
+  @Autowired ApplicationEventPublisher eventPublisher;
+
+  @Value("${synchronization.discoveryServiceId:}")
+  Long scheduledDiscoveryServiceId;
+
   ModelMapper modelMapper = new ModelMapper();
 
   @Override
@@ -29,17 +37,45 @@ public class DiscoverySynchronizationJobServiceImpl implements DiscoverySynchron
     LocalDateTime creationDate, modifyDate;
     creationDate = modifyDate = LocalDateTime.now();
     DiscoveryServiceSynchronizationJob job =
-        new DiscoveryServiceSynchronizationJob(
-            null,
-            discoveryService,
-            creationDate,
-            modifyDate,
-            DiscoveryServiceSyncronizationJobStatus.SUBMITTED);
+        DiscoveryServiceSynchronizationJob.builder()
+            .service(discoveryService)
+            .creationDate(creationDate)
+            .modifiedDate(modifyDate)
+            .status(DiscoveryServiceSyncronizationJobStatus.SUBMITTED)
+            .build();
     log.debug("Saving new job entity....");
-    discoveryServiceSynchronizationJobRepository.save(job);
+    job = discoveryServiceSynchronizationJobRepository.save(job);
+    eventPublisher.publishEvent(
+        new DiscoveryServiceSynchronizationEvent(this, job.getId(), serviceId));
     return modelMapper.map(job, DiscoverySyncJobServiceDTO.class);
   }
 
+  @Override
+  public DiscoverySyncJobServiceDTO findSyncJob(Long discoveryServiceId, String jobId) {
+    DiscoveryServiceSynchronizationJob job =
+        discoveryServiceSynchronizationJobRepository
+            .findById(jobId)
+            .filter(found -> found.getService().getId().equals(discoveryServiceId))
+            .orElseThrow(() -> new EntityNotFoundException(jobId));
+    return modelMapper.map(job, DiscoverySyncJobServiceDTO.class);
+  }
+
+  /**
+   * Submits a synchronization job for the discovery service configured in
+   * synchronization.discoveryServiceId, at the times of the synchronization.frequency cron. Both
+   * are unset by default, so that no synchronization runs unless a deployment opts in.
+   */
+  @Scheduled(cron = "${synchronization.frequency:-}")
+  public void scheduleSyncJob() {
+    if (scheduledDiscoveryServiceId == null) {
+      return;
+    }
+    log.info(
+        "Submitting scheduled synchronization of discovery service %s"
+            .formatted(scheduledDiscoveryServiceId));
+    createSyncJob(scheduledDiscoveryServiceId);
+  }
+
   @Override
   public DiscoverySyncJobServiceDTO updateSyncJob(
       Long discoveryServiceId, String jobId, DiscoverySyncJobServiceUpdateDTO request) {
@@ -0,0 +1,19 @@
+package eu.bbmri_eric.negotiator.discovery.synchronization;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/** Runs the synchronization jobs when they are submitted. */
+@Component
+public class DiscoverySynchronizationListener {
+  private final DiscoverySynchronizationEngine synchronizationEngine;
+
+  public DiscoverySynchronizationListener(DiscoverySynchronizationEngine synchronizationEngine) {
+    this.synchronizationEngine = synchronizationEngine;
+  }
+
+  @EventListener(value = DiscoveryServiceSynchronizationEvent.class)
+  public void onApplicationEvent(DiscoveryServiceSynchronizationEvent event) {
+    synchronizationEngine.synchronize(event.getJobId());
+  }
+}
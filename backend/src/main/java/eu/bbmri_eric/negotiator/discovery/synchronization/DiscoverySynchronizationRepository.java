@@ -0,0 +1,412 @@
+package eu.bbmri_eric.negotiator.discovery.synchronization;
+
+import eu.bbmri_eric.negotiator.governance.resource.ResourceRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads and writes the organizations, resources and networks synchronized from a discovery service
+ * with JDBC batches, so that applying thousands of changes takes a few round trips. The entities
+ * are written with SQL and bypass the persistence context: callers must not hold managed instances
+ * of them.
+ */
+@Repository
+public class DiscoverySynchronizationRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ResourceRepository resourceRepository;
+  private final int batchSize;
+
+  public DiscoverySynchronizationRepository(
+      JdbcTemplate jdbcTemplate,
+      ResourceRepository resourceRepository,
+      @Value("${synchronization.batch-size:500}") int batchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.resourceRepository = resourceRepository;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Locks the discovery service until the end of the transaction, so that the synchronizations of a
+   * service, e.g. started by different instances, are applied one at a time.
+   */
+  public void lockDiscoveryService(Long discoveryServiceId) {
+    jdbcTemplate.queryForList(
+        "SELECT id FROM discovery_service WHERE id = ? FOR UPDATE", Long.class, discoveryServiceId);
+  }
+
+  /**
+   * Finds the organizations of the resources of the discovery service, i.e. the ones it can
+   * withdraw, by external id.
+   */
+  public Map<String, DiscoveryOrganization> findOrganizations(Long discoveryServiceId) {
+    Map<String, DiscoveryOrganization> organizations = new LinkedHashMap<>();
+    jdbcTemplate.query(
+        """
+        SELECT o.external_id, o.name, o.description, o.contact_email, o.uri,
+               COALESCE(o.withdrawn, false) AS withdrawn
+        FROM organization o
+        WHERE EXISTS (SELECT 1 FROM resource r
+                      WHERE r.organization_id = o.id AND r.discovery_service_id = ?)
+        """,
+        rs -> {
+          organizations.put(
+              rs.getString("external_id"),
+              new DiscoveryOrganization(
+                  rs.getString("external_id"),
+                  rs.getString("name"),
+                  rs.getString("description"),
+                  rs.getString("contact_email"),
+                  rs.getString("uri"),
+                  rs.getBoolean("withdrawn")));
+        },
+        discoveryServiceId);
+    return organizations;
+  }
+
+  /**
+   * Finds the organizations of the resources of the discovery service that also have resources of
+   * other discovery services, or of none, by external id. The discovery service cannot withdraw
+   * them on its own.
+   */
+  public Set<String> findSharedOrganizations(Long discoveryServiceId) {
+    return new HashSet<>(
+        jdbcTemplate.queryForList(
+            """
+            SELECT o.external_id
+            FROM organization o
+            WHERE EXISTS (SELECT 1 FROM resource r
+                          WHERE r.organization_id = o.id AND r.discovery_service_id = ?)
+              AND EXISTS (SELECT 1 FROM resource r
+                          WHERE r.organization_id = o.id
+                            AND r.discovery_service_id IS DISTINCT FROM ?)
+            """,
+            String.class,
+            discoveryServiceId,
+            discoveryServiceId));
+  }
+
+  /** Finds the ids of the organizations with the external ids, by external id. */
+  public Map<String, Long> findOrganizationIds(Collection<String> externalIds) {
+    return findIds("organization", "external_id", null, externalIds);
+  }
+
+  public void insertOrganizations(List<DiscoveryOrganization> organizations) {
+    jdbcTemplate.batchUpdate(
+        """
+        INSERT INTO organization (id, external_id, name, description, contact_email, uri,
+                                  withdrawn, creation_date, modified_date)
+        VALUES (?, ?, ?, ?, ?, ?, ?, now(), now())
+        """,
+        withIds(organizations),
+        batchSize,
+        (ps, row) -> {
+          DiscoveryOrganization organization = row.entity();
+          ps.setLong(1, row.id());
+          ps.setString(2, organization.id());
+          ps.setString(3, organization.name());
+          ps.setString(4, organization.description());
+          ps.setString(5, organization.contactEmail());
+          ps.setString(6, organization.uri());
+          ps.setBoolean(7, organization.withdrawn());
+        });
+  }
+
+  public void updateOrganizations(List<DiscoveryOrganization> organizations) {
+    jdbcTemplate.batchUpdate(
+        """
+        UPDATE organization
+        SET name = ?, description = ?, contact_email = ?, uri = ?, withdrawn = ?,
+            modified_date = now()
+        WHERE external_id = ?
+        """,
+        organizations,
+        batchSize,
+        (ps, organization) -> {
+          ps.setString(1, organization.name());
+          ps.setString(2, organization.description());
+          ps.setString(3, organization.contactEmail());
+          ps.setString(4, organization.uri());
+          ps.setBoolean(5, organization.withdrawn());
+          ps.setString(6, organization.id());
+        });
+  }
+
+  public void withdrawOrganizations(List<String> externalIds) {
+    jdbcTemplate.batchUpdate(
+        "UPDATE organization SET withdrawn = true, modified_date = now() WHERE external_id = ?",
+        externalIds,
+        batchSize,
+        (ps, externalId) -> ps.setString(1, externalId));
+  }
+
+  /** Finds the resources of the discovery service, by source id. */
+  public Map<String, DiscoveryResource> findResources(Long discoveryServiceId) {
+    Map<String, DiscoveryResource> resources = new LinkedHashMap<>();
+    jdbcTemplate.query(
+        """
+        SELECT r.source_id, r.name, r.description, r.contact_email, r.uri,
+               o.external_id AS organization_id, COALESCE(r.withdrawn, false) AS withdrawn
+        FROM resource r
+        JOIN organization o ON o.id = r.organization_id
+        WHERE r.discovery_service_id = ?
+        """,
+        rs -> {
+          resources.put(
+              rs.getString("source_id"),
+              new DiscoveryResource(
+                  rs.getString("source_id"),
+                  rs.getString("name"),
+                  rs.getString("description"),
+                  rs.getString("contact_email"),
+                  rs.getString("uri"),
+                  rs.getString("organization_id"),
+                  rs.getBoolean("withdrawn")));
+        },
+        discoveryServiceId);
+    return resources;
+  }
+
+  /** Finds the ids of the resources of the discovery service with the source ids, by source id. */
+  public Map<String, Long> findResourceIds(Long discoveryServiceId, Collection<String> sourceIds) {
+    return findIds("resource", "source_id", discoveryServiceId, sourceIds);
+  }
+
+  /**
+   * Finds which of the source ids are already used by resources, whatever their discovery service.
+   * Source ids are unique across discovery services.
+   */
+  public Set<String> findExistingSourceIds(Collection<String> sourceIds) {
+    return findIds("resource", "source_id", null, sourceIds).keySet();
+  }
+
+  /**
+   * Inserts resources of the discovery service.
+   *
+   * @param organizationIds the ids of the organizations of the resources, by external id
+   */
+  public void insertResources(
+      Long discoveryServiceId,
+      List<DiscoveryResource> resources,
+      Map<String, Long> organizationIds) {
+    jdbcTemplate.batchUpdate(
+        """
+        INSERT INTO resource (id, source_id, name, description, contact_email, uri,
+                              organization_id, discovery_service_id, withdrawn)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """,
+        withIds(resources),
+        batchSize,
+        (ps, row) -> {
+          DiscoveryResource resource = row.entity();
+          ps.setLong(1, row.id());
+          ps.setString(2, resource.id());
+          ps.setString(3, resource.name());
+          ps.setString(4, resource.description());
+          ps.setString(5, resource.contactEmail());
+          ps.setString(6, resource.uri());
+          ps.setLong(7, organizationIds.get(resource.organizationId()));
+          ps.setLong(8, discoveryServiceId);
+          ps.setBoolean(9, resource.withdrawn());
+        });
+  }
+
+  /**
+   * Updates resources of the discovery service.
+   *
+   * @param organizationIds the ids of the organizations of the resources, by external id
+   */
+  public void updateResources(
+      Long discoveryServiceId,
+      List<DiscoveryResource> resources,
+      Map<String, Long> organizationIds) {
+    jdbcTemplate.batchUpdate(
+        """
+        UPDATE resource
+        SET name = ?, description = ?, contact_email = ?, uri = ?, organization_id = ?,
+            withdrawn = ?
+        WHERE discovery_service_id = ? AND source_id = ?
+        """,
+        resources,
+        batchSize,
+        (ps, resource) -> {
+          ps.setString(1, resource.name());
+          ps.setString(2, resource.description());
+          ps.setString(3, resource.contactEmail());
+          ps.setString(4, resource.uri());
+          ps.setLong(5, organizationIds.get(resource.organizationId()));
+          ps.setBoolean(6, resource.withdrawn());
+          ps.setLong(7, discoveryServiceId);
+          ps.setString(8, resource.id());
+        });
+  }
+
+  public void withdrawResources(Long discoveryServiceId, List<String> sourceIds) {
+    jdbcTemplate.batchUpdate(
+        "UPDATE resource SET withdrawn = true WHERE discovery_service_id = ? AND source_id = ?",
+        sourceIds,
+        batchSize,
+        (ps, sourceId) -> {
+          ps.setLong(1, discoveryServiceId);
+          ps.setString(2, sourceId);
+        });
+  }
+
+  /**
+   * Finds the networks with the external ids, by external id. The resources of the networks are
+   * limited to the ones of the discovery service.
+   */
+  public Map<String, DiscoveryNetwork> findNetworks(
+      Long discoveryServiceId, Collection<String> externalIds) {
+    Map<String, DiscoveryNetwork> networks = new HashMap<>();
+    if (externalIds.isEmpty()) {
+      return networks;
+    }
+    jdbcTemplate.query(
+        """
+        SELECT n.external_id, n.name, n.description, n.contact_email, n.uri,
+               ARRAY(SELECT r.source_id
+                     FROM network_resources_link l JOIN resource r ON r.id = l.resource_id
+                     WHERE l.network_id = n.id AND r.discovery_service_id = ?) AS resource_ids
+        FROM network n
+        WHERE n.external_id = ANY (?)
+        """,
+        rs -> {
+          networks.put(
+              rs.getString("external_id"),
+              new DiscoveryNetwork(
+                  rs.getString("external_id"),
+                  rs.getString("name"),
+                  rs.getString("description"),
+                  rs.getString("contact_email"),
+                  rs.getString("uri"),
+                  Set.of((String[]) rs.getArray("resource_ids").getArray())));
+        },
+        discoveryServiceId,
+        externalIds.toArray(String[]::new));
+    return networks;
+  }
+
+  /** Finds the ids of the networks with the external ids, by external id. */
+  public Map<String, Long> findNetworkIds(Collection<String> externalIds) {
+    return findIds("network", "external_id", null, externalIds);
+  }
+
+  public void insertNetworks(List<DiscoveryNetwork> networks) {
+    jdbcTemplate.batchUpdate(
+        """
+        INSERT INTO network (id, external_id, name, description, contact_email, uri)
+        VALUES (nextval('network_id_seq'), ?, ?, ?, ?, COALESCE(?, ''))
+        """,
+        networks,
+        batchSize,
+        (ps, network) -> {
+          ps.setString(1, network.id());
+          ps.setString(2, network.name());
+          ps.setString(3, network.description());
+          ps.setString(4, network.contactEmail());
+          ps.setString(5, network.uri());
+        });
+  }
+
+  public void updateNetworks(List<DiscoveryNetwork> networks) {
+    jdbcTemplate.batchUpdate(
+        """
+        UPDATE network
+        SET name = ?, description = ?, contact_email = ?, uri = COALESCE(?, '')
+        WHERE external_id = ?
+        """,
+        networks,
+        batchSize,
+        (ps, network) -> {
+          ps.setString(1, network.name());
+          ps.setString(2, network.description());
+          ps.setString(3, network.contactEmail());
+          ps.setString(4, network.uri());
+          ps.setString(5, network.id());
+        });
+  }
+
+  /**
+   * Replaces the links of the networks to the resources of the discovery service: the links to the
+   * resources of other services are kept.
+   *
+   * @param links the ids of the resources of the discovery service per network id
+   */
+  public void replaceNetworkResources(Long discoveryServiceId, Map<Long, Set<Long>> links) {
+    List<Long> networkIds = new ArrayList<>(links.keySet());
+    jdbcTemplate.batchUpdate(
+        """
+        DELETE FROM network_resources_link l
+        USING resource r
+        WHERE l.resource_id = r.id AND l.network_id = ? AND r.discovery_service_id = ?
+        """,
+        networkIds,
+        batchSize,
+        (ps, networkId) -> {
+          ps.setLong(1, networkId);
+          ps.setLong(2, discoveryServiceId);
+        });
+    List<long[]> rows = new ArrayList<>();
+    links.forEach(
+        (networkId, resourceIds) ->
+            resourceIds.forEach(resourceId -> rows.add(new long[] {networkId, resourceId})));
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO network_resources_link (network_id, resource_id) VALUES (?, ?)",
+        rows,
+        batchSize,
+        (ps, row) -> {
+          ps.setLong(1, row[0]);
+          ps.setLong(2, row[1]);
+        });
+  }
+
+  /**
+   * Pairs the entities with new ids of the sequence shared by organizations and resources, reserved
+   * a block at a time instead of one call of the sequence per entity.
+   */
+  private <T> List<WithId<T>> withIds(List<T> entities) {
+    if (entities.isEmpty()) {
+      return List.of();
+    }
+    List<Long> ids = resourceRepository.allocateIds(entities.size());
+    List<WithId<T>> rows = new ArrayList<>(entities.size());
+    for (int i = 0; i < entities.size(); i++) {
+      rows.add(new WithId<>(ids.get(i), entities.get(i)));
+    }
+    return rows;
+  }
+
+  private Map<String, Long> findIds(
+      String table, String keyColumn, Long discoveryServiceId, Collection<String> keys) {
+    Map<String, Long> ids = new HashMap<>();
+    if (keys.isEmpty()) {
+      return ids;
+    }
+    String sql =
+        "SELECT %s, id FROM %s WHERE %s = ANY (?)".formatted(keyColumn, table, keyColumn)
+            + (discoveryServiceId == null ? "" : " AND discovery_service_id = ?");
+    Object[] args =
+        discoveryServiceId == null
+            ? new Object[] {keys.toArray(String[]::new)}
+            : new Object[] {keys.toArray(String[]::new), discoveryServiceId};
+    jdbcTemplate.query(
+        sql,
+        rs -> {
+          ids.put(rs.getString(1), rs.getLong(2));
+        },
+        args);
+    return ids;
+  }
+
+  private record WithId<T>(Long id, T entity) {}
+}
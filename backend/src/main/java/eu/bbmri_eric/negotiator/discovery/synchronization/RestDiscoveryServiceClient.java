@@ -0,0 +1,56 @@
+package eu.bbmri_eric.negotiator.discovery.synchronization;
+
+import eu.bbmri_eric.negotiator.discovery.DiscoveryService;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Fetches the entities of a discovery service as JSON arrays from the {@code organizations}, {@code
+ * resources} and {@code networks} endpoints under its URL.
+ */
+@Component
+public class RestDiscoveryServiceClient implements DiscoveryServiceClient {
+
+  private final RestTemplate restTemplate;
+
+  public RestDiscoveryServiceClient(
+      RestTemplateBuilder restTemplateBuilder,
+      @Value("${synchronization.timeout:30s}") Duration timeout) {
+    this.restTemplate = restTemplateBuilder.connectTimeout(timeout).readTimeout(timeout).build();
+  }
+
+  @Override
+  public List<DiscoveryOrganization> fetchOrganizations(DiscoveryService discoveryService) {
+    return fetch(discoveryService, "organizations", new ParameterizedTypeReference<>() {});
+  }
+
+  @Override
+  public List<DiscoveryResource> fetchResources(DiscoveryService discoveryService) {
+    return fetch(discoveryService, "resources", new ParameterizedTypeReference<>() {});
+  }
+
+  @Override
+  public List<DiscoveryNetwork> fetchNetworks(DiscoveryService discoveryService) {
+    return fetch(discoveryService, "networks", new ParameterizedTypeReference<>() {});
+  }
+
+  private <T> List<T> fetch(
+      DiscoveryService discoveryService,
+      String path,
+      ParameterizedTypeReference<List<T>> responseType) {
+    String url =
+        UriComponentsBuilder.fromUriString(discoveryService.getUrl())
+            .pathSegment(path)
+            .toUriString();
+    List<T> entities = restTemplate.exchange(url, HttpMethod.GET, null, responseType).getBody();
+    return Objects.requireNonNullElse(entities, List.of());
+  }
+}
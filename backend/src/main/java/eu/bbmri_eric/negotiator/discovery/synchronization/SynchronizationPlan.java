@@ -0,0 +1,51 @@
+package eu.bbmri_eric.negotiator.discovery.synchronization;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The differences between the stored entities of a kind and the ones fetched from a discovery
+ * service, compared by key and value.
+ *
+ * @param inserts the fetched entities that are not stored
+ * @param updates the fetched entities that differ from the stored ones with the same key
+ * @param missing the keys of the stored entities that were not fetched
+ * @param unchanged the number of fetched entities equal to the stored ones
+ */
+public record SynchronizationPlan<T>(
+    List<T> inserts, List<T> updates, List<String> missing, int unchanged) {
+
+  /**
+   * Compares the fetched entities with the stored ones. When several fetched entities have the same
+   * key, the last one is kept.
+   *
+   * @param stored the stored entities by key
+   * @param fetched the entities fetched from the discovery service
+   * @param key function returning the key of an entity
+   */
+  public static <T> SynchronizationPlan<T> of(
+      Map<String, T> stored, List<T> fetched, Function<T, String> key) {
+    Map<String, T> fetchedByKey = new LinkedHashMap<>();
+    fetched.forEach(entity -> fetchedByKey.put(key.apply(entity), entity));
+    List<T> inserts = new ArrayList<>();
+    List<T> updates = new ArrayList<>();
+    int unchanged = 0;
+    for (Map.Entry<String, T> entity : fetchedByKey.entrySet()) {
+      T current = stored.get(entity.getKey());
+      if (current == null) {
+        inserts.add(entity.getValue());
+      } else if (!Objects.equals(current, entity.getValue())) {
+        updates.add(entity.getValue());
+      } else {
+        unchanged++;
+      }
+    }
+    List<String> missing =
+        stored.keySet().stream().filter(storedKey -> !fetchedByKey.containsKey(storedKey)).toList();
+    return new SynchronizationPlan<>(inserts, updates, missing, unchanged);
+  }
+}
@@ -0,0 +1,12 @@
+package eu.bbmri_eric.negotiator.discovery.synchronization;
+
+/**
+ * Thrown when the entities fetched from a discovery service look incomplete, so that applying them
+ * would withdraw entities that are most likely still published.
+ */
+public class SynchronizationRefusedException extends RuntimeException {
+
+  public SynchronizationRefusedException(String message) {
+    super(message);
+  }
+}
@@ -1,5 +1,7 @@
 package eu.bbmri_eric.negotiator.form;
 
+import eu.bbmri_eric.negotiator.common.ConditionalRequests;
+import eu.bbmri_eric.negotiator.common.ContentScope;
 import eu.bbmri_eric.negotiator.form.assembler.AccessFormElementAssembler;
 import eu.bbmri_eric.negotiator.form.assembler.AccessFormModelAssembler;
 import eu.bbmri_eric.negotiator.form.assembler.AccessFormSectionAssembler;
@@ -23,6 +25,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.hateoas.CollectionModel;
@@ -40,6 +43,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @RestController
 @RequestMapping(value = "/v3", produces = MediaTypes.HAL_JSON_VALUE)
@@ -56,6 +60,7 @@ public class AccessFormController {
   private final AccessFormElementAssembler accessFormElementAssembler;
   private final AccessFormSectionAssembler accessFormSectionAssembler;
   private final ValueSetAssembler valueSetAssembler;
+  private final ConditionalRequests conditionalRequests;
 
   public AccessFormController(
       AccessCriteriaSetService accessCriteriaSetService,
@@ -66,7 +71,8 @@ public class AccessFormController {
       AccessFormElementAssembler accessFormElementAssembler,
       AccessFormSectionAssembler accessFormSectionAssembler,
       ValueSetService valueSetService,
-      ValueSetAssembler valueSetAssembler) {
+      ValueSetAssembler valueSetAssembler,
+      ConditionalRequests conditionalRequests) {
     this.accessCriteriaSetService = accessCriteriaSetService;
     this.elementService = elementService;
     this.sectionService = sectionService;
@@ -76,6 +82,7 @@ public class AccessFormController {
     this.accessFormElementAssembler = accessFormElementAssembler;
     this.accessFormSectionAssembler = accessFormSectionAssembler;
     this.valueSetAssembler = valueSetAssembler;
+    this.conditionalRequests = conditionalRequests;
   }
 
   @GetMapping(value = "/access-forms")
@@ -97,9 +104,13 @@ public class AccessFormController {
   }
 
   @GetMapping(value = "/access-forms/{formId}")
-  @ResponseStatus(HttpStatus.OK)
   @Operation(summary = "Get an access form by id", description = "Returns an access form by id")
-  public EntityModel<AccessFormDTO> getAccessFormById(@PathVariable Long formId) {
+  public EntityModel<AccessFormDTO> getAccessFormById(
+      @PathVariable Long formId, ServletWebRequest request) {
+    if (conditionalRequests.isNotModified(
+        request, "access-form", ContentScope.ACCESS_FORMS, formId)) {
+      return null;
+    }
     return accessFormModelAssembler.toModel(accessFormService.getAccessForm(formId));
   }
 
@@ -153,13 +164,19 @@ public class AccessFormController {
   }
 
   @GetMapping(value = "/negotiations/{id}/access-form")
-  @ResponseStatus(HttpStatus.OK)
   @Operation(
       summary = "Get an access form for a negotiation",
       description =
           "Returns an access form with sections and"
               + " elements that are relevant for the given resources being requested.")
-  public EntityModel<AccessFormDTO> combineForNegotiation(@PathVariable String id) {
+  public EntityModel<AccessFormDTO> combineForNegotiation(
+      @PathVariable String id, ServletWebRequest request) {
+    List<Long> accessFormIds = accessFormService.getAccessFormIdsForNegotiation(id);
+    if (!accessFormIds.isEmpty()
+        && conditionalRequests.isNotModified(
+            request, "negotiation-access-form", ContentScope.ACCESS_FORMS, accessFormIds)) {
+      return null;
+    }
     return accessFormModelAssembler.toModel(accessFormService.getAccessFormForNegotiation(id));
   }
 
@@ -224,16 +241,21 @@ public class AccessFormController {
   }
 
   @GetMapping(value = "/value-sets")
-  @ResponseStatus(HttpStatus.OK)
   @Operation(summary = "List all available value sets")
-  public CollectionModel<EntityModel<ValueSetDTO>> getAllValueSets() {
+  public CollectionModel<EntityModel<ValueSetDTO>> getAllValueSets(ServletWebRequest request) {
+    if (conditionalRequests.isNotModified(request, "value-sets", ContentScope.ACCESS_FORMS)) {
+      return null;
+    }
     return valueSetAssembler.toCollectionModel(valueSetService.getAllValueSets());
   }
 
   @GetMapping(value = "/value-sets/{id}")
-  @ResponseStatus(HttpStatus.OK)
   @Operation(summary = "Get a value set by id")
-  public EntityModel<ValueSetDTO> getValueSetById(@PathVariable Long id) {
+  public EntityModel<ValueSetDTO> getValueSetById(
+      @PathVariable Long id, ServletWebRequest request) {
+    if (conditionalRequests.isNotModified(request, "value-set", ContentScope.ACCESS_FORMS, id)) {
+      return null;
+    }
     return valueSetAssembler.toModel(valueSetService.getValueSetById(id));
   }
 
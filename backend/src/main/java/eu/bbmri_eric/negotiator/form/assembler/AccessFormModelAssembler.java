@@ -3,6 +3,7 @@ package eu.bbmri_eric.negotiator.form.assembler;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import eu.bbmri_eric.negotiator.common.LinkBuilder;
 import eu.bbmri_eric.negotiator.form.AccessFormController;
 import eu.bbmri_eric.negotiator.form.dto.AccessFormDTO;
 import eu.bbmri_eric.negotiator.form.dto.AccessFormElementDTO;
@@ -24,53 +25,55 @@ import org.springframework.stereotype.Component;
 public class AccessFormModelAssembler
     implements RepresentationModelAssembler<AccessFormDTO, EntityModel<AccessFormDTO>> {
 
+  private static final LinkBuilder.Template ACCESS_FORMS =
+      LinkBuilder.template(AccessFormController.class).slash("access-forms");
+  private static final LinkBuilder.Template FORM =
+      LinkBuilder.template(methodOn(AccessFormController.class).getAccessFormById(null, null));
+  private static final LinkBuilder.Template ADD_SECTIONS =
+      LinkBuilder.template(methodOn(AccessFormController.class).linkSection(null, null));
+  private static final LinkBuilder.Template SECTIONS =
+      LinkBuilder.template(methodOn(AccessFormController.class).getAllSections());
+  private static final LinkBuilder.Template REMOVE_SECTION =
+      LinkBuilder.template(methodOn(AccessFormController.class).unlinkSection(null, null));
+  private static final LinkBuilder.Template ADD_ELEMENTS =
+      LinkBuilder.template(methodOn(AccessFormController.class).linkElement(null, null, null));
+  private static final LinkBuilder.Template SECTION =
+      LinkBuilder.template(methodOn(AccessFormController.class).getSectionById(null));
+  private static final LinkBuilder.Template ELEMENTS =
+      LinkBuilder.template(methodOn(AccessFormController.class).getAllElements());
+  private static final LinkBuilder.Template REMOVE_ELEMENT =
+      LinkBuilder.template(
+          methodOn(AccessFormController.class).unlinkElementFromSection(null, null, null));
+  private static final LinkBuilder.Template ELEMENT =
+      LinkBuilder.template(methodOn(AccessFormController.class).getElementById(null));
+  private static final LinkBuilder.Template VALUE_SET =
+      LinkBuilder.template(methodOn(AccessFormController.class).getValueSetById(null, null));
+
   @Override
   public @NonNull EntityModel<AccessFormDTO> toModel(@NonNull AccessFormDTO entity) {
     List<Link> formLinks = new ArrayList<>();
-    formLinks.add(linkTo(AccessFormController.class).slash("access-forms").withRel("access-forms"));
-    formLinks.add(
-        linkTo(methodOn(AccessFormController.class).getAccessFormById(entity.getId()))
-            .withSelfRel());
-    formLinks.add(
-        linkTo(methodOn(AccessFormController.class).linkSection(entity.getId(), null))
-            .withRel("add_sections"));
+    formLinks.add(ACCESS_FORMS.expand().withRel("access-forms"));
+    formLinks.add(FORM.expand(entity.getId()).withSelfRel());
+    formLinks.add(ADD_SECTIONS.expand(entity.getId()).withRel("add_sections"));
     for (AccessFormSectionDTO section : entity.getSections()) {
       List<Link> sectionLinks = new ArrayList<>();
+      sectionLinks.add(SECTIONS.expand().withRel("sections"));
+      sectionLinks.add(REMOVE_SECTION.expand(entity.getId(), section.getId()).withRel("remove"));
       sectionLinks.add(
-          linkTo(methodOn(AccessFormController.class).getAllSections()).withRel("sections"));
-      sectionLinks.add(
-          linkTo(
-                  methodOn(AccessFormController.class)
-                      .unlinkSection(entity.getId(), section.getId()))
-              .withRel("remove"));
-      sectionLinks.add(
-          linkTo(
-                  methodOn(AccessFormController.class)
-                      .linkElement(entity.getId(), section.getId(), null))
-              .withRel("add_elements"));
-      sectionLinks.add(
-          linkTo(methodOn(AccessFormController.class).getSectionById(entity.getId()))
-              .withSelfRel());
+          ADD_ELEMENTS.expand(entity.getId(), section.getId()).withRel("add_elements"));
+      sectionLinks.add(SECTION.expand(entity.getId()).withSelfRel());
       section.add(sectionLinks);
       for (AccessFormElementDTO elementDTO : section.getElements()) {
         List<Link> elementLinks = new ArrayList<>();
+        elementLinks.add(ELEMENTS.expand().withRel("elements"));
         elementLinks.add(
-            linkTo(methodOn(AccessFormController.class).getAllElements()).withRel("elements"));
-        elementLinks.add(
-            linkTo(
-                    methodOn(AccessFormController.class)
-                        .unlinkElementFromSection(
-                            entity.getId(), section.getId(), elementDTO.getId()))
+            REMOVE_ELEMENT
+                .expand(entity.getId(), section.getId(), elementDTO.getId())
                 .withRel("remove"));
-        elementLinks.add(
-            linkTo(methodOn(AccessFormController.class).getElementById(entity.getId()))
-                .withSelfRel());
+        elementLinks.add(ELEMENT.expand(entity.getId()).withSelfRel());
         if (Objects.nonNull(elementDTO.getLinkedValueSet())) {
           elementLinks.add(
-              linkTo(
-                      methodOn(AccessFormController.class)
-                          .getValueSetById(elementDTO.getLinkedValueSet().getId()))
-                  .withRel("value-set"));
+              VALUE_SET.expand(elementDTO.getLinkedValueSet().getId()).withRel("value-set"));
         }
         elementDTO.add(elementLinks);
       }
@@ -1,5 +1,7 @@
 package eu.bbmri_eric.negotiator.form.service;
 
+import eu.bbmri_eric.negotiator.common.ContentScope;
+import eu.bbmri_eric.negotiator.common.ContentVersionRepository;
 import eu.bbmri_eric.negotiator.common.exceptions.EntityNotFoundException;
 import eu.bbmri_eric.negotiator.form.AccessFormElement;
 import eu.bbmri_eric.negotiator.form.FormElementType;
@@ -22,14 +24,17 @@ public class AccessFormElementServiceImpl implements AccessFormElementService {
   private final AccessFormElementRepository repository;
   private final ValueSetRepository valueSetRepository;
   private final ModelMapper mapper;
+  private final ContentVersionRepository contentVersionRepository;
 
   public AccessFormElementServiceImpl(
       AccessFormElementRepository repository,
       ValueSetRepository valueSetRepository,
-      ModelMapper mapper) {
+      ModelMapper mapper,
+      ContentVersionRepository contentVersionRepository) {
     this.repository = repository;
     this.valueSetRepository = valueSetRepository;
     this.mapper = mapper;
+    this.contentVersionRepository = contentVersionRepository;
   }
 
   private static void verifyTypeAndValueSetCombination(ElementCreateDTO elementCreateDTO) {
@@ -66,7 +71,9 @@ public class AccessFormElementServiceImpl implements AccessFormElementService {
               .orElseThrow(() -> new EntityNotFoundException(elementCreateDTO.getValueSetId()));
       element.setLinkedValueSet(valueSet);
     }
-    return mapper.map(repository.save(element), ElementMetaDTO.class);
+    element = repository.save(element);
+    contentVersionRepository.increment(ContentScope.ACCESS_FORMS);
+    return mapper.map(element, ElementMetaDTO.class);
   }
 
   @Override
@@ -81,6 +88,8 @@ public class AccessFormElementServiceImpl implements AccessFormElementService {
               .orElseThrow(() -> new EntityNotFoundException(elementCreateDTO.getValueSetId()));
       element.setLinkedValueSet(valueSet);
     }
-    return mapper.map(repository.save(element), ElementMetaDTO.class);
+    element = repository.save(element);
+    contentVersionRepository.increment(ContentScope.ACCESS_FORMS);
+    return mapper.map(element, ElementMetaDTO.class);
   }
 }
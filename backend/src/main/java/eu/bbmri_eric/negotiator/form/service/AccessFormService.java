@@ -4,6 +4,7 @@ import eu.bbmri_eric.negotiator.form.dto.AccessFormCreateDTO;
 import eu.bbmri_eric.negotiator.form.dto.AccessFormDTO;
 import eu.bbmri_eric.negotiator.form.dto.ElementLinkDTO;
 import eu.bbmri_eric.negotiator.form.dto.SectionLinkDTO;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
 
 public interface AccessFormService {
@@ -22,6 +23,14 @@ public interface AccessFormService {
    */
   AccessFormDTO getAccessFormForNegotiation(String negotiationId);
 
+  /**
+   * Get the ids of the access forms combined in the access form of a negotiation, to validate
+   * cached copies of the combined form without building it.
+   *
+   * @return The sorted ids of the access forms.
+   */
+  List<Long> getAccessFormIdsForNegotiation(String negotiationId);
+
   /**
    * Get an access form by id.
    *
@@ -1,5 +1,7 @@
 package eu.bbmri_eric.negotiator.form.service;
 
+import eu.bbmri_eric.negotiator.common.ContentScope;
+import eu.bbmri_eric.negotiator.common.ContentVersionRepository;
 import eu.bbmri_eric.negotiator.common.exceptions.EntityNotFoundException;
 import eu.bbmri_eric.negotiator.form.AccessForm;
 import eu.bbmri_eric.negotiator.form.AccessFormElement;
@@ -17,6 +19,7 @@ import eu.bbmri_eric.negotiator.negotiation.NegotiationRepository;
 import eu.bbmri_eric.negotiator.negotiation.request.Request;
 import eu.bbmri_eric.negotiator.negotiation.request.RequestRepository;
 import jakarta.transaction.Transactional;
+import java.util.List;
 import java.util.Set;
 import lombok.NonNull;
 import lombok.extern.apachecommons.CommonsLog;
@@ -33,6 +36,7 @@ public class AccessFormServiceImpl implements AccessFormService {
   private final NegotiationRepository negotiationRepository;
   private final AccessFormRepository accessFormRepository;
   private final ModelMapper modelMapper;
+  private final ContentVersionRepository contentVersionRepository;
 
   public AccessFormServiceImpl(
       RequestRepository requestRepository,
@@ -40,13 +44,15 @@ public class AccessFormServiceImpl implements AccessFormService {
       ModelMapper modelMapper,
       AccessFormSectionRepository accessFormSectionRepository,
       AccessFormElementRepository accessFormElementRepository,
-      NegotiationRepository negotiationRepository) {
+      NegotiationRepository negotiationRepository,
+      ContentVersionRepository contentVersionRepository) {
     this.requestRepository = requestRepository;
     this.accessFormRepository = accessFormRepository;
     this.modelMapper = modelMapper;
     this.accessFormSectionRepository = accessFormSectionRepository;
     this.accessFormElementRepository = accessFormElementRepository;
     this.negotiationRepository = negotiationRepository;
+    this.contentVersionRepository = contentVersionRepository;
   }
 
   @Override
@@ -98,6 +104,13 @@ public class AccessFormServiceImpl implements AccessFormService {
     return buildAccessForm(negotiation.getResources());
   }
 
+  @Override
+  public List<Long> getAccessFormIdsForNegotiation(String negotiationId) {
+    return negotiationRepository.findAccessFormIdsOfResources(negotiationId).stream()
+        .sorted()
+        .toList();
+  }
+
   @Override
   @Transactional
   public AccessFormDTO getAccessForm(Long id) {
@@ -116,8 +129,9 @@ public class AccessFormServiceImpl implements AccessFormService {
 
   @Override
   public AccessFormDTO createAccessForm(AccessFormCreateDTO createDTO) {
-    AccessForm accessForm = modelMapper.map(createDTO, AccessForm.class);
-    return modelMapper.map(accessFormRepository.save(accessForm), AccessFormDTO.class);
+    AccessForm accessForm = accessFormRepository.save(modelMapper.map(createDTO, AccessForm.class));
+    contentVersionRepository.increment(ContentScope.ACCESS_FORMS);
+    return modelMapper.map(accessForm, AccessFormDTO.class);
   }
 
   @Override
@@ -132,6 +146,7 @@ public class AccessFormServiceImpl implements AccessFormService {
             .findById(linkDTO.getSectionId())
             .orElseThrow(() -> new EntityNotFoundException(linkDTO.getSectionId()));
     accessForm.linkSection(sectionToBeLinked, linkDTO.getSectionOrder());
+    contentVersionRepository.increment(ContentScope.ACCESS_FORMS);
     return modelMapper.map(accessForm, AccessFormDTO.class);
   }
 
@@ -147,6 +162,7 @@ public class AccessFormServiceImpl implements AccessFormService {
             .findById(sectionId)
             .orElseThrow(() -> new EntityNotFoundException(sectionId));
     accessForm.unlinkSection(sectionToBeRemoved);
+    contentVersionRepository.increment(ContentScope.ACCESS_FORMS);
     return modelMapper.map(accessFormRepository.save(accessForm), AccessFormDTO.class);
   }
 
@@ -168,6 +184,7 @@ public class AccessFormServiceImpl implements AccessFormService {
             .orElseThrow(() -> new EntityNotFoundException(sectionId));
     accessForm.linkElementToSection(
         accessFormSection, elementToBeLinked, linkDTO.getElementOrder(), linkDTO.isRequired());
+    contentVersionRepository.increment(ContentScope.ACCESS_FORMS);
     return modelMapper.map(accessForm, AccessFormDTO.class);
   }
 
@@ -188,6 +205,7 @@ public class AccessFormServiceImpl implements AccessFormService {
             .findFirst()
             .orElseThrow(() -> new EntityNotFoundException(sectionId));
     accessForm.unlinkElementFromSection(accessFormSection, elementToBeLinked);
+    contentVersionRepository.increment(ContentScope.ACCESS_FORMS);
     return modelMapper.map(accessFormRepository.save(accessForm), AccessFormDTO.class);
   }
 
@@ -1,5 +1,7 @@
 package eu.bbmri_eric.negotiator.form.service;
 
+import eu.bbmri_eric.negotiator.common.ContentScope;
+import eu.bbmri_eric.negotiator.common.ContentVersionRepository;
 import eu.bbmri_eric.negotiator.common.exceptions.EntityNotFoundException;
 import eu.bbmri_eric.negotiator.form.AccessFormSection;
 import eu.bbmri_eric.negotiator.form.dto.SectionCreateDTO;
@@ -15,10 +17,15 @@ public class AccessFormsSectionServiceImpl implements AccessFormsSectionService
 
   private final AccessFormSectionRepository repository;
   private final ModelMapper mapper;
+  private final ContentVersionRepository contentVersionRepository;
 
-  public AccessFormsSectionServiceImpl(AccessFormSectionRepository repository, ModelMapper mapper) {
+  public AccessFormsSectionServiceImpl(
+      AccessFormSectionRepository repository,
+      ModelMapper mapper,
+      ContentVersionRepository contentVersionRepository) {
     this.repository = repository;
     this.mapper = mapper;
+    this.contentVersionRepository = contentVersionRepository;
   }
 
   @Override
@@ -37,14 +44,18 @@ public class AccessFormsSectionServiceImpl implements AccessFormsSectionService
 
   @Override
   public SectionMetaDTO createSection(SectionCreateDTO sectionCreateDTO) {
-    AccessFormSection section = mapper.map(sectionCreateDTO, AccessFormSection.class);
-    return mapper.map(repository.save(section), SectionMetaDTO.class);
+    AccessFormSection section =
+        repository.save(mapper.map(sectionCreateDTO, AccessFormSection.class));
+    contentVersionRepository.increment(ContentScope.ACCESS_FORMS);
+    return mapper.map(section, SectionMetaDTO.class);
   }
 
   @Override
   public SectionMetaDTO updateSection(SectionCreateDTO sectionCreateDTO, Long id) {
     AccessFormSection section = mapper.map(sectionCreateDTO, AccessFormSection.class);
     section.setId(id);
-    return mapper.map(repository.save(section), SectionMetaDTO.class);
+    section = repository.save(section);
+    contentVersionRepository.increment(ContentScope.ACCESS_FORMS);
+    return mapper.map(section, SectionMetaDTO.class);
   }
 }
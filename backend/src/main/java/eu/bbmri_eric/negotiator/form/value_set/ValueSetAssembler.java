@@ -22,10 +22,11 @@ public class ValueSetAssembler
   public @NonNull EntityModel<ValueSetDTO> toModel(@NonNull ValueSetDTO entity) {
     List<Link> links = new ArrayList<>();
     links.add(
-        WebMvcLinkBuilder.linkTo(methodOn(AccessFormController.class).getAllValueSets())
+        WebMvcLinkBuilder.linkTo(methodOn(AccessFormController.class).getAllValueSets(null))
             .withRel("value-sets"));
     links.add(
-        linkTo(methodOn(AccessFormController.class).getValueSetById(entity.getId())).withSelfRel());
+        linkTo(methodOn(AccessFormController.class).getValueSetById(entity.getId(), null))
+            .withSelfRel());
     return EntityModel.of(entity, links);
   }
 
@@ -1,5 +1,7 @@
 package eu.bbmri_eric.negotiator.form.value_set;
 
+import eu.bbmri_eric.negotiator.common.ContentScope;
+import eu.bbmri_eric.negotiator.common.ContentVersionRepository;
 import eu.bbmri_eric.negotiator.common.exceptions.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import java.util.List;
@@ -13,10 +15,15 @@ public class ValueSetServiceImpl implements ValueSetService {
 
   private final ValueSetRepository repository;
   private final ModelMapper mapper;
+  private final ContentVersionRepository contentVersionRepository;
 
-  public ValueSetServiceImpl(ValueSetRepository repository, ModelMapper mapper) {
+  public ValueSetServiceImpl(
+      ValueSetRepository repository,
+      ModelMapper mapper,
+      ContentVersionRepository contentVersionRepository) {
     this.repository = repository;
     this.mapper = mapper;
+    this.contentVersionRepository = contentVersionRepository;
   }
 
   @Override
@@ -35,14 +42,17 @@ public class ValueSetServiceImpl implements ValueSetService {
 
   @Override
   public ValueSetDTO createValueSet(ValueSetCreateDTO createDTO) {
-    ValueSet valueSet = mapper.map(createDTO, ValueSet.class);
-    return mapper.map(repository.save(valueSet), ValueSetDTO.class);
+    ValueSet valueSet = repository.save(mapper.map(createDTO, ValueSet.class));
+    contentVersionRepository.increment(ContentScope.ACCESS_FORMS);
+    return mapper.map(valueSet, ValueSetDTO.class);
   }
 
   @Override
   public ValueSetDTO updateValueSet(ValueSetCreateDTO createDTO, Long id) {
     ValueSet valueSet = mapper.map(createDTO, ValueSet.class);
     valueSet.setId(id);
-    return mapper.map(repository.save(valueSet), ValueSetDTO.class);
+    valueSet = repository.save(valueSet);
+    contentVersionRepository.increment(ContentScope.ACCESS_FORMS);
+    return mapper.map(valueSet, ValueSetDTO.class);
   }
 }
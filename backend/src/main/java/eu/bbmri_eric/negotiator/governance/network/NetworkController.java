@@ -2,14 +2,18 @@ package eu.bbmri_eric.negotiator.governance.network;
 
 import eu.bbmri_eric.negotiator.common.ValidationGroups;
 import eu.bbmri_eric.negotiator.governance.network.stats.NetworkStatistics;
+import eu.bbmri_eric.negotiator.governance.network.stats.NetworkStatisticsSeries;
 import eu.bbmri_eric.negotiator.governance.network.stats.NetworkStatisticsService;
 import eu.bbmri_eric.negotiator.governance.network.stats.NetworkStatsFilter;
+import eu.bbmri_eric.negotiator.governance.network.stats.NetworkStatsSeriesFilter;
 import eu.bbmri_eric.negotiator.governance.resource.ResourceModelAssembler;
 import eu.bbmri_eric.negotiator.governance.resource.ResourceService;
 import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceResponseModel;
+import eu.bbmri_eric.negotiator.negotiation.NegotiationListView;
 import eu.bbmri_eric.negotiator.negotiation.NegotiationService;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationDTO;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationFilterDTO;
+import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationSummaryDTO;
 import eu.bbmri_eric.negotiator.negotiation.mappers.NegotiationModelAssembler;
 import eu.bbmri_eric.negotiator.user.PersonService;
 import eu.bbmri_eric.negotiator.user.UserModelAssembler;
@@ -182,14 +186,31 @@ public class NetworkController {
 
   @GetMapping("/networks/{id}/negotiations")
   @Operation(summary = "List all negotiations associated with a network")
-  public PagedModel<EntityModel<NegotiationDTO>> getNegotiations(
+  public PagedModel<? extends EntityModel<?>> getNegotiations(
       @PathVariable Long id, @Valid @Nullable @ParameterObject NegotiationFilterDTO filterDTO) {
+    if (filterDTO != null && filterDTO.getView() == NegotiationListView.summary) {
+      return negotiationModelAssembler.toSummaryPagedModel(
+          (Page<NegotiationSummaryDTO>) negotiationService.findSummariesForNetwork(id, filterDTO),
+          filterDTO,
+          null);
+    }
     return negotiationModelAssembler.toPagedModel(
         (Page<NegotiationDTO>) negotiationService.findAllForNetwork(id, filterDTO),
         filterDTO,
         null);
   }
 
+  @GetMapping("/networks/statistics")
+  @Operation(
+      summary = "Statistics about networks over time",
+      description =
+          "Provides the basic statistics of one or more networks for each day, week or month of a"
+              + " period.")
+  public CollectionModel<NetworkStatisticsSeries> getNetworkStatisticsSeries(
+      @Valid @ParameterObject NetworkStatsSeriesFilter filterDTO) {
+    return CollectionModel.of(networkStatisticsService.getNetworkStatsSeries(filterDTO));
+  }
+
   @GetMapping("/networks/{id}/statistics")
   @Operation(
       summary = "Basic statistics about the network",
@@ -3,6 +3,7 @@ package eu.bbmri_eric.negotiator.governance.network;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import eu.bbmri_eric.negotiator.common.LinkBuilder;
 import eu.bbmri_eric.negotiator.governance.resource.ResourceController;
 import eu.bbmri_eric.negotiator.user.UserController;
 import java.util.ArrayList;
@@ -18,29 +19,27 @@ import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.stereotype.Component;
 
 @Component
 public class NetworkModelAssembler
     implements RepresentationModelAssembler<NetworkDTO, EntityModel<NetworkDTO>> {
 
+  private static final LinkBuilder.Template SELF =
+      LinkBuilder.template(methodOn(NetworkController.class).findById(null));
+  private static final LinkBuilder.Template NETWORKS =
+      LinkBuilder.template(NetworkController.class);
+  private static final LinkBuilder.Template MANAGERS =
+      LinkBuilder.template(methodOn(NetworkController.class).getManagers(null, 0, 50));
+
   @Override
   public @NonNull EntityModel<NetworkDTO> toModel(@NonNull NetworkDTO entity) {
     EntityModel<NetworkDTO> networkModel =
         EntityModel.of(entity)
-            .add(
-                WebMvcLinkBuilder.linkTo(
-                        WebMvcLinkBuilder.methodOn(NetworkController.class)
-                            .findById(entity.getId()))
-                    .withSelfRel())
-            .add(WebMvcLinkBuilder.linkTo(NetworkController.class).withRel("networks"));
+            .add(SELF.expand(entity.getId()).withSelfRel())
+            .add(NETWORKS.expand().withRel("networks"));
 
-    networkModel.add(
-        WebMvcLinkBuilder.linkTo(
-                WebMvcLinkBuilder.methodOn(NetworkController.class)
-                    .getManagers(entity.getId(), 0, 50))
-            .withRel("managers"));
+    networkModel.add(MANAGERS.expand(entity.getId()).withRel("managers"));
 
     return networkModel;
   }
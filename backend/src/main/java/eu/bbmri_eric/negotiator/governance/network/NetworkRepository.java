@@ -1,6 +1,6 @@
 package eu.bbmri_eric.negotiator.governance.network;
 
-import eu.bbmri_eric.negotiator.governance.network.stats.NetworkStatsRepository;
+import eu.bbmri_eric.negotiator.governance.network.stats.NetworkStatsRollupRepository;
 import eu.bbmri_eric.negotiator.user.Person;
 import jakarta.validation.constraints.NotNull;
 import java.util.Optional;
@@ -8,7 +8,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface NetworkRepository extends JpaRepository<Network, Long>, NetworkStatsRepository {
+public interface NetworkRepository
+    extends JpaRepository<Network, Long>, NetworkStatsRollupRepository {
 
   Optional<Network> findByExternalId(String externalId);
 
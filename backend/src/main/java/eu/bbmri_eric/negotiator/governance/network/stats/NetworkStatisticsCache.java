@@ -0,0 +1,126 @@
+package eu.bbmri_eric.negotiator.governance.network.stats;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.apachecommons.CommonsLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bounded cache of the statistics of a network for a period, keyed on the network and the period.
+ * Entries are evicted when the rollups of a day of their period, or of their network, are
+ * refreshed. Since only the instance running the refresh is notified, the statistics of periods
+ * that include today expire after a short TTL, the ones of past periods, which only change with
+ * late changes of their negotiations, after a long one. Statistics computed while an eviction ran
+ * may have been read from the rollups before the refresh, so they are returned but not kept. The
+ * hit ratio and the time spent computing the statistics are published with the cache metrics.
+ */
+@Component
+@CommonsLog
+public class NetworkStatisticsCache implements MeterBinder {
+
+  private final Cache<Key, NetworkStatistics> cache;
+
+  /** The number of evictions, incremented before each one. */
+  private final AtomicLong evictions = new AtomicLong();
+
+  public NetworkStatisticsCache(
+      @Value("${negotiator.network-stats.cache.maximum-size:10000}") long maximumSize,
+      @Value("${negotiator.network-stats.cache.current-ttl:1m}") Duration currentTtl,
+      @Value("${negotiator.network-stats.cache.historical-ttl:1d}") Duration historicalTtl) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new PeriodExpiry(currentTtl, historicalTtl))
+            .recordStats()
+            .build();
+  }
+
+  /**
+   * Returns the statistics cached for the network and the period, computing them if absent.
+   *
+   * @param networkId the id of the network
+   * @param since the start of the period, excluded
+   * @param until the end of the period, included
+   * @param loader supplier computing the statistics
+   * @return the cached or newly computed statistics
+   */
+  public NetworkStatistics get(
+      Long networkId, LocalDate since, LocalDate until, Supplier<NetworkStatistics> loader) {
+    Key key = new Key(networkId, since, until);
+    long evictionsBefore = evictions.get();
+    NetworkStatistics statistics = cache.get(key, k -> loader.get());
+    if (evictions.get() != evictionsBefore) {
+      cache.asMap().remove(key, statistics);
+    }
+    return statistics;
+  }
+
+  /** Evicts the statistics of the periods including any of the days, and of the networks. */
+  public void evict(Set<LocalDate> days, Set<Long> networkIds) {
+    evictions.incrementAndGet();
+    cache
+        .asMap()
+        .keySet()
+        .removeIf(
+            key ->
+                networkIds.contains(key.networkId())
+                    || days.stream()
+                        .anyMatch(day -> day.isAfter(key.since()) && !day.isAfter(key.until())));
+  }
+
+  public long size() {
+    return cache.estimatedSize();
+  }
+
+  @TransactionalEventListener(
+      value = NetworkStatsRolledUpEvent.class,
+      phase = TransactionPhase.AFTER_COMMIT,
+      fallbackExecution = true)
+  public void onRolledUp(NetworkStatsRolledUpEvent event) {
+    log.debug(
+        "Evicting cached network statistics of %d days and %d networks"
+            .formatted(event.getDays().size(), event.getNetworkIds().size()));
+    evict(event.getDays(), event.getNetworkIds());
+  }
+
+  @Override
+  public void bindTo(@NonNull MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, "network.statistics");
+  }
+
+  private record Key(Long networkId, LocalDate since, LocalDate until) {}
+
+  /** Expires the statistics of past periods after the historical TTL, the others sooner. */
+  private record PeriodExpiry(Duration currentTtl, Duration historicalTtl)
+      implements Expiry<Key, NetworkStatistics> {
+    @Override
+    public long expireAfterCreate(Key key, NetworkStatistics statistics, long currentTime) {
+      return (key.until().isBefore(LocalDate.now()) ? historicalTtl : currentTtl).toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        Key key, NetworkStatistics statistics, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, statistics, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        Key key, NetworkStatistics statistics, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
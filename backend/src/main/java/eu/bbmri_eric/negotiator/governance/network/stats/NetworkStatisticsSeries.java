@@ -0,0 +1,50 @@
+package eu.bbmri_eric.negotiator.governance.network.stats;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.hateoas.server.core.Relation;
+
+/** The statistics of a network for consecutive periods. */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Relation(collectionRelation = "series", itemRelation = "series")
+@Schema(description = "Statistics of a network for consecutive periods")
+public class NetworkStatisticsSeries {
+  @Schema(description = "Unique identifier of the network", example = "101")
+  private Long networkId;
+
+  @Schema(description = "The length of the periods", example = "month")
+  private StatisticsInterval interval;
+
+  @Schema(description = "The periods, in chronological order, including the ones without activity")
+  private List<Period> periods;
+
+  /**
+   * The statistics of one period, as returned for a request with the same {@code since} and {@code
+   * until}: the creation dates are after {@code since} and up to {@code until} included.
+   */
+  @Getter
+  @Setter
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Schema(name = "NetworkStatisticsPeriod", description = "Statistics of a network for a period")
+  public static class Period {
+    @Schema(description = "Start of the period, excluded", example = "2024-01-31")
+    private LocalDate since;
+
+    @Schema(description = "End of the period, included", example = "2024-02-29")
+    private LocalDate until;
+
+    private NetworkStatistics statistics;
+  }
+}
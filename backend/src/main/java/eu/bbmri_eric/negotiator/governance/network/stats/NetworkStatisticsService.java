@@ -1,5 +1,7 @@
 package eu.bbmri_eric.negotiator.governance.network.stats;
 
+import java.util.List;
+
 public interface NetworkStatisticsService {
   /**
    * Get basic network statistics.
@@ -7,4 +9,11 @@ public interface NetworkStatisticsService {
    * @return a DTO with the stats.
    */
   NetworkStatistics getBasicNetworkStats(Long networkId, NetworkStatsFilter filter);
+
+  /**
+   * Get the statistics of networks for consecutive periods.
+   *
+   * @return a series per network, with a statistics DTO for every period.
+   */
+  List<NetworkStatisticsSeries> getNetworkStatsSeries(NetworkStatsSeriesFilter filter);
 }
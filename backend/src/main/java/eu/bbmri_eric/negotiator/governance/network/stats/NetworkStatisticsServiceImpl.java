@@ -2,62 +2,185 @@ package eu.bbmri_eric.negotiator.governance.network.stats;
 
 import static org.apache.commons.math3.util.Precision.round;
 
+import eu.bbmri_eric.negotiator.common.exceptions.EntityNotFoundException;
+import eu.bbmri_eric.negotiator.common.exceptions.WrongRequestException;
+import eu.bbmri_eric.negotiator.governance.network.Network;
 import eu.bbmri_eric.negotiator.governance.network.NetworkRepository;
-import eu.bbmri_eric.negotiator.negotiation.NegotiationRepository;
 import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationState;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 
+/**
+ * Answers the network statistics from the daily rollups maintained by {@link
+ * NetworkStatsRollupService}, which lag behind the changes by at most one refresh. The statistics
+ * of a network for a period are kept in the {@link NetworkStatisticsCache} until a refresh changes
+ * them.
+ */
 @Service
 public class NetworkStatisticsServiceImpl implements NetworkStatisticsService {
 
-  private final NegotiationRepository negotiationRepository;
+  /** Maximum number of periods of all networks returned for a series request. */
+  private static final int MAX_SERIES_PERIODS = 10000;
+
   private final NetworkRepository networkRepository;
+  private final NetworkStatisticsCache cache;
 
   public NetworkStatisticsServiceImpl(
-      NegotiationRepository negotiationRepository, NetworkRepository networkRepository) {
-    this.negotiationRepository = negotiationRepository;
+      NetworkRepository networkRepository, NetworkStatisticsCache cache) {
     this.networkRepository = networkRepository;
+    this.cache = cache;
   }
 
   @Override
   public NetworkStatistics getBasicNetworkStats(Long networkId, NetworkStatsFilter filter) {
-    Integer count =
-        negotiationRepository.countAllForNetwork(filter.getSince(), filter.getUntil(), networkId);
-    Double median =
-        negotiationRepository.getMedianResponseForNetwork(
-            filter.getSince(), filter.getUntil(), networkId);
-    try {
-      median = round(median, 2);
-    } catch (NullPointerException e) {
-      median = null;
-    }
-    Map<NegotiationState, Integer> states =
-        networkRepository
-            .countStatusDistribution(filter.getSince(), filter.getUntil(), networkId)
-            .stream()
-            .collect(
-                Collectors.toMap(
-                    result -> (NegotiationState) result[0],
-                    result -> ((Long) result[1]).intValue()));
-    return SimpleNetworkStatistics.builder()
-        .networkId(networkId)
-        .numberOfNewRequesters(
-            networkRepository.getNumberOfNewRequesters(
-                filter.getSince(), filter.getUntil(), networkId))
-        .medianResponseTime(median)
-        .numberOfIgnoredNegotiations(
-            networkRepository.countIgnoredForNetwork(
-                filter.getSince(), filter.getUntil(), networkId))
-        .numberOfSuccessfulNegotiations(
-            networkRepository.getNumberOfSuccessfulNegotiationsForNetwork(
-                filter.getSince(), filter.getUntil(), networkId))
-        .numberOfActiveRepresentatives(
-            networkRepository.getNumberOfActiveRepresentatives(
-                filter.getSince(), filter.getUntil(), networkId))
-        .totalNumberOfNegotiations(count)
-        .statusDistribution(states)
-        .build();
+    LocalDate since = filter.getSince();
+    LocalDate until = filter.getUntil();
+    return cache.get(networkId, since, until, () -> computeNetworkStats(networkId, since, until));
+  }
+
+  private NetworkStatistics computeNetworkStats(Long networkId, LocalDate since, LocalDate until) {
+    Accumulator stats = new Accumulator();
+    for (Object[] row : networkRepository.sumNegotiationStats(since, until, networkId)) {
+      stats.addNegotiations(row[0], row[1], row[2], row[3]);
+    }
+    stats.responseTimes.putAll(networkRepository.sumResponseTimeHistogram(since, until, networkId));
+    stats.newRequesters = networkRepository.countNewRequesters(since, until, networkId);
+    stats.activeRepresentatives =
+        networkRepository.countActiveRepresentatives(since, until, networkId);
+    return stats.toStatistics(networkId);
+  }
+
+  @Override
+  public List<NetworkStatisticsSeries> getNetworkStatsSeries(NetworkStatsSeriesFilter filter) {
+    LocalDate since = filter.getSince();
+    LocalDate until = filter.getUntil();
+    StatisticsInterval interval = filter.getInterval();
+    if (!since.isBefore(until)) {
+      throw new WrongRequestException("The start of the period must be before its end");
+    }
+    List<Long> networkIds = filter.getNetworkId().stream().distinct().toList();
+    verifyNetworksExist(networkIds);
+    List<LocalDate> periods = new ArrayList<>();
+    for (LocalDate start = interval.truncate(since.plusDays(1));
+        !start.isAfter(until);
+        start = interval.next(start)) {
+      periods.add(start);
+      if ((long) periods.size() * networkIds.size() > MAX_SERIES_PERIODS) {
+        throw new WrongRequestException(
+            "The series would have more than %d periods, use a longer interval or fewer networks"
+                .formatted(MAX_SERIES_PERIODS));
+      }
+    }
+
+    Map<Long, Map<LocalDate, Accumulator>> series = new LinkedHashMap<>();
+    for (Long networkId : networkIds) {
+      Map<LocalDate, Accumulator> byPeriod = new LinkedHashMap<>();
+      periods.forEach(start -> byPeriod.put(start, new Accumulator()));
+      series.put(networkId, byPeriod);
+    }
+    for (Object[] row :
+        networkRepository.sumNegotiationStatsSeries(networkIds, since, until, interval)) {
+      accumulator(series, row).addNegotiations(row[2], row[3], row[4], row[5]);
+    }
+    for (Object[] row :
+        networkRepository.sumResponseTimeHistogramSeries(networkIds, since, until, interval)) {
+      accumulator(series, row)
+          .responseTimes
+          .put(((Number) row[2]).intValue(), ((Number) row[3]).longValue());
+    }
+    for (Object[] row :
+        networkRepository.countNewRequestersSeries(networkIds, since, until, interval)) {
+      accumulator(series, row).newRequesters = ((Number) row[2]).intValue();
+    }
+    for (Object[] row :
+        networkRepository.countActiveRepresentativesSeries(networkIds, since, until, interval)) {
+      accumulator(series, row).activeRepresentatives = ((Number) row[2]).intValue();
+    }
+
+    return series.entrySet().stream()
+        .map(
+            network ->
+                NetworkStatisticsSeries.builder()
+                    .networkId(network.getKey())
+                    .interval(interval)
+                    .periods(
+                        network.getValue().entrySet().stream()
+                            .map(
+                                period ->
+                                    NetworkStatisticsSeries.Period.builder()
+                                        .since(max(period.getKey().minusDays(1), since))
+                                        .until(
+                                            min(interval.next(period.getKey()).minusDays(1), until))
+                                        .statistics(
+                                            period.getValue().toStatistics(network.getKey()))
+                                        .build())
+                            .toList())
+                    .build())
+        .toList();
+  }
+
+  private void verifyNetworksExist(List<Long> networkIds) {
+    Set<Long> found =
+        networkRepository.findAllById(networkIds).stream()
+            .map(Network::getId)
+            .collect(Collectors.toSet());
+    List<Long> missing = networkIds.stream().filter(id -> !found.contains(id)).toList();
+    if (!missing.isEmpty()) {
+      throw new EntityNotFoundException(missing);
+    }
+  }
+
+  private static Accumulator accumulator(
+      Map<Long, Map<LocalDate, Accumulator>> series, Object[] row) {
+    return series.get(((Number) row[0]).longValue()).get((LocalDate) row[1]);
+  }
+
+  private static LocalDate min(LocalDate a, LocalDate b) {
+    return a.isBefore(b) ? a : b;
+  }
+
+  private static LocalDate max(LocalDate a, LocalDate b) {
+    return a.isAfter(b) ? a : b;
+  }
+
+  /** The rolled up values of a network for a period, turned into its statistics. */
+  private static class Accumulator {
+    private final Map<NegotiationState, Integer> states = new EnumMap<>(NegotiationState.class);
+    private final Map<Integer, Long> responseTimes = new HashMap<>();
+    private int total;
+    private int ignored;
+    private int successful;
+    private int newRequesters;
+    private int activeRepresentatives;
+
+    void addNegotiations(Object state, Object negotiations, Object ignored, Object successful) {
+      int count = ((Number) negotiations).intValue();
+      states.put(NegotiationState.valueOf((String) state), count);
+      this.total += count;
+      this.ignored += ((Number) ignored).intValue();
+      this.successful += ((Number) successful).intValue();
+    }
+
+    NetworkStatistics toStatistics(Long networkId) {
+      Double median = ResponseTimeHistogram.of(responseTimes).median();
+      return SimpleNetworkStatistics.builder()
+          .networkId(networkId)
+          .numberOfNewRequesters(newRequesters)
+          .medianResponseTime(median == null ? null : round(median, 2))
+          .numberOfIgnoredNegotiations(ignored)
+          .numberOfSuccessfulNegotiations(successful)
+          .numberOfActiveRepresentatives(activeRepresentatives)
+          .totalNumberOfNegotiations(total)
+          .statusDistribution(states)
+          .build();
+    }
   }
 }
@@ -0,0 +1,25 @@
+package eu.bbmri_eric.negotiator.governance.network.stats;
+
+import java.time.LocalDate;
+import java.util.Set;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published when the daily rollups of the network statistics have been recomputed for days, or for
+ * the whole history of networks.
+ */
+@Getter
+public class NetworkStatsRolledUpEvent extends ApplicationEvent {
+  /** The days whose rollups changed, of negotiations or of activity. */
+  private final Set<LocalDate> days;
+
+  /** The networks whose rollups changed for all days, after a change of their members. */
+  private final Set<Long> networkIds;
+
+  public NetworkStatsRolledUpEvent(Object source, Set<LocalDate> days, Set<Long> networkIds) {
+    super(source);
+    this.days = days;
+    this.networkIds = networkIds;
+  }
+}
@@ -0,0 +1,104 @@
+package eu.bbmri_eric.negotiator.governance.network.stats;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Daily rollups of the network statistics. The negotiation counts, the response times and the
+ * requesters are rolled up by creation day of the negotiation, the representatives by day of their
+ * activity, so that the statistics of a period are answered from the rows of its days only.
+ */
+public interface NetworkStatsRollupRepository {
+
+  /**
+   * Sums the negotiations of a network per current state.
+   *
+   * @return rows of state, number of negotiations, number of ignored negotiations and number of
+   *     successful negotiations
+   */
+  List<Object[]> sumNegotiationStats(LocalDate since, LocalDate until, Long networkId);
+
+  /**
+   * Merges the response time histograms of a network.
+   *
+   * @return the number of response times per bucket of the {@link ResponseTimeHistogram}
+   */
+  Map<Integer, Long> sumResponseTimeHistogram(LocalDate since, LocalDate until, Long networkId);
+
+  Integer countNewRequesters(LocalDate since, LocalDate until, Long networkId);
+
+  Integer countActiveRepresentatives(LocalDate since, LocalDate until, Long networkId);
+
+  /**
+   * Sums the negotiations of networks per period and current state.
+   *
+   * @return rows of network id, first day of the period, state, number of negotiations, number of
+   *     ignored negotiations and number of successful negotiations
+   */
+  List<Object[]> sumNegotiationStatsSeries(
+      Collection<Long> networkIds, LocalDate since, LocalDate until, StatisticsInterval interval);
+
+  /**
+   * Merges the response time histograms of networks per period.
+   *
+   * @return rows of network id, first day of the period, bucket and number of response times
+   */
+  List<Object[]> sumResponseTimeHistogramSeries(
+      Collection<Long> networkIds, LocalDate since, LocalDate until, StatisticsInterval interval);
+
+  /**
+   * Counts the new requesters of networks per period. A requester is new in a period if they did
+   * not submit any request before it.
+   *
+   * @return rows of network id, first day of the period and number of new requesters
+   */
+  List<Object[]> countNewRequestersSeries(
+      Collection<Long> networkIds, LocalDate since, LocalDate until, StatisticsInterval interval);
+
+  /**
+   * Counts the active representatives of networks per period.
+   *
+   * @return rows of network id, first day of the period and number of active representatives
+   */
+  List<Object[]> countActiveRepresentativesSeries(
+      Collection<Long> networkIds, LocalDate since, LocalDate until, StatisticsInterval interval);
+
+  /**
+   * Locks the progress of the rollups, so that a single refresh runs at a time.
+   *
+   * @return the time until which the changes have been rolled up
+   */
+  LocalDateTime lockRollupProgress();
+
+  void saveRollupProgress(LocalDateTime processedUntil);
+
+  /**
+   * Finds the creation days of the negotiations that changed in a period: created, modified or with
+   * a new resource lifecycle record.
+   */
+  List<LocalDate> findChangedNegotiationDays(LocalDateTime from, LocalDateTime to);
+
+  /** Finds the days with new resource lifecycle records or posts in a period. */
+  List<LocalDate> findChangedActivityDays(LocalDateTime from, LocalDateTime to);
+
+  /**
+   * Finds the networks whose resources, or the representatives of their resources, changed in a
+   * period. Such changes are recorded by triggers on the link tables.
+   */
+  List<Long> findChangedNetworks(LocalDateTime from, LocalDateTime to);
+
+  /** Deletes the changes of networks recorded until the given time, once rolled up. */
+  void deleteNetworkChanges(LocalDateTime until);
+
+  /** Recomputes the rollups of the negotiations created on the given days. */
+  void refreshNegotiationDays(Collection<LocalDate> days);
+
+  /** Recomputes the rollups of the representatives active on the given days. */
+  void refreshActivityDays(Collection<LocalDate> days);
+
+  /** Recomputes all the rollups of the networks, over their whole history. */
+  void refreshNetworks(Collection<Long> networkIds);
+}
@@ -0,0 +1,488 @@
+package eu.bbmri_eric.negotiator.governance.network.stats;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class NetworkStatsRollupRepositoryImpl implements NetworkStatsRollupRepository {
+
+  /** Number of days recomputed per statement, to bound the size of the parameter lists. */
+  private static final int DAYS_PER_STATEMENT = 100;
+
+  /**
+   * Restricts the rows to the creation days of the negotiations. The range lets the index on the
+   * creation date be used, the list skips the days in between that did not change.
+   */
+  private static final String NEGOTIATION_DAYS =
+      """
+      n.creation_date >= :first AND n.creation_date < :end
+      AND CAST(n.creation_date AS DATE) IN (:days)
+      """;
+
+  /** Restricts the rows to the networks, whose whole history is recomputed. */
+  private static final String NETWORKS = "nwrl.network_id IN (:networkIds)";
+
+  /** Rolls up the negotiations per state, for the rows matching the restriction. */
+  private static final String NEGOTIATION_STATS =
+      """
+      INSERT INTO network_negotiation_daily_stats
+          (network_id, day, negotiation_state, negotiations, ignored_negotiations,
+           successful_negotiations)
+      SELECT network_id, day, negotiation_state, COUNT(*), COUNT(*) FILTER (WHERE ignored),
+             COUNT(*) FILTER (WHERE successful)
+      FROM (
+          SELECT nwrl.network_id, CAST(n.creation_date AS DATE) AS day,
+                 n.current_state AS negotiation_state,
+                 BOOL_OR(nrl.current_state IN ('REPRESENTATIVE_CONTACTED',
+                                               'REPRESENTATIVE_UNREACHABLE')) AS ignored,
+                 BOOL_OR(nrl.current_state = 'RESOURCE_MADE_AVAILABLE') AS successful
+          FROM negotiation n
+          JOIN negotiation_resource_link nrl ON nrl.negotiation_id = n.id
+          JOIN network_resources_link nwrl ON nwrl.resource_id = nrl.resource_id
+          WHERE n.current_state IS NOT NULL AND %s
+          GROUP BY nwrl.network_id, n.id
+      ) per_negotiation
+      GROUP BY network_id, day, negotiation_state
+      """;
+
+  /** Rolls up the response times, for the rows matching the restriction. */
+  private static final String RESPONSE_TIME_HISTOGRAM =
+      """
+      INSERT INTO network_response_time_daily_histogram
+          (network_id, day, bucket, responses)
+      SELECT nwrl.network_id, CAST(n.creation_date AS DATE),
+             CAST(CEIL(LN(GREATEST(CAST(EXTRACT(EPOCH FROM (r.creation_date - n.creation_date))
+                                        AS DOUBLE PRECISION) / 86400, :minimum))
+                       / LN(:gamma)) AS INTEGER) AS bucket,
+             COUNT(*)
+      FROM negotiation n
+      JOIN negotiation_resource_lifecycle_record r ON r.negotiation_id = n.id
+      JOIN network_resources_link nwrl ON nwrl.resource_id = r.resource_id
+      WHERE r.changed_to IN ('CHECKING_AVAILABILITY', 'RESOURCE_UNAVAILABLE')
+        AND r.creation_date IS NOT NULL AND %s
+      GROUP BY 1, 2, 3
+      """;
+
+  /** Rolls up the requesters, for the rows matching the restriction. */
+  private static final String REQUESTER_ACTIVITY =
+      """
+      INSERT INTO network_requester_daily_activity (network_id, day, person_id)
+      SELECT DISTINCT nwrl.network_id, CAST(n.creation_date AS DATE), n.created_by
+      FROM negotiation n
+      JOIN negotiation_resource_link nrl ON nrl.negotiation_id = n.id
+      JOIN network_resources_link nwrl ON nwrl.resource_id = nrl.resource_id
+      WHERE n.created_by IS NOT NULL AND %s
+      """;
+
+  /**
+   * Rolls up the representatives, for the lifecycle records matching the first restriction and the
+   * posts matching the second.
+   */
+  private static final String REPRESENTATIVE_ACTIVITY =
+      """
+      INSERT INTO network_representative_daily_activity (network_id, day, person_id)
+      SELECT nwrl.network_id, CAST(r.creation_date AS DATE), r.created_by
+      FROM negotiation_resource_lifecycle_record r
+      JOIN network_resources_link nwrl ON nwrl.resource_id = r.resource_id
+      WHERE r.created_by IS NOT NULL
+        AND r.changed_to NOT IN ('REPRESENTATIVE_CONTACTED', 'REPRESENTATIVE_UNREACHABLE')
+        AND %1$s
+      UNION
+      SELECT nwrl.network_id, CAST(p.creation_date AS DATE), p.created_by
+      FROM post p
+      JOIN resource_representative_link rrl ON rrl.person_id = p.created_by
+      JOIN network_resources_link nwrl ON nwrl.resource_id = rrl.resource_id
+      WHERE %2$s
+      """;
+
+  /** The first day of the period of the interval containing the day of a rollup row. */
+  private static final String PERIOD =
+      "CAST(DATE_TRUNC(:interval, CAST(%s.day AS TIMESTAMP)) AS DATE)";
+
+  private final EntityManager entityManager;
+
+  public NetworkStatsRollupRepositoryImpl(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<Object[]> sumNegotiationStats(LocalDate since, LocalDate until, Long networkId) {
+    return entityManager
+        .createNativeQuery(
+            """
+            SELECT s.negotiation_state, SUM(s.negotiations), SUM(s.ignored_negotiations),
+                   SUM(s.successful_negotiations)
+            FROM network_negotiation_daily_stats s
+            WHERE s.network_id = :networkId AND s.day > :since AND s.day <= :until
+            GROUP BY s.negotiation_state
+            """)
+        .setParameter("networkId", networkId)
+        .setParameter("since", since)
+        .setParameter("until", until)
+        .getResultList();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Map<Integer, Long> sumResponseTimeHistogram(
+      LocalDate since, LocalDate until, Long networkId) {
+    List<Object[]> rows =
+        entityManager
+            .createNativeQuery(
+                """
+                SELECT h.bucket, SUM(h.responses)
+                FROM network_response_time_daily_histogram h
+                WHERE h.network_id = :networkId AND h.day > :since AND h.day <= :until
+                GROUP BY h.bucket
+                """)
+            .setParameter("networkId", networkId)
+            .setParameter("since", since)
+            .setParameter("until", until)
+            .getResultList();
+    Map<Integer, Long> buckets = new HashMap<>();
+    for (Object[] row : rows) {
+      buckets.put(((Number) row[0]).intValue(), ((Number) row[1]).longValue());
+    }
+    return buckets;
+  }
+
+  @Override
+  public Integer countNewRequesters(LocalDate since, LocalDate until, Long networkId) {
+    return ((Number)
+            entityManager
+                .createNativeQuery(
+                    """
+                    SELECT COUNT(DISTINCT a.person_id)
+                    FROM network_requester_daily_activity a
+                    JOIN requester_first_request f ON f.person_id = a.person_id
+                    WHERE a.network_id = :networkId AND a.day > :since AND a.day <= :until
+                      AND f.first_request_day >= :since
+                    """)
+                .setParameter("networkId", networkId)
+                .setParameter("since", since)
+                .setParameter("until", until)
+                .getSingleResult())
+        .intValue();
+  }
+
+  @Override
+  public Integer countActiveRepresentatives(LocalDate since, LocalDate until, Long networkId) {
+    return ((Number)
+            entityManager
+                .createNativeQuery(
+                    """
+                    SELECT COUNT(DISTINCT a.person_id)
+                    FROM network_representative_daily_activity a
+                    WHERE a.network_id = :networkId AND a.day > :since AND a.day <= :until
+                    """)
+                .setParameter("networkId", networkId)
+                .setParameter("since", since)
+                .setParameter("until", until)
+                .getSingleResult())
+        .intValue();
+  }
+
+  @Override
+  public List<Object[]> sumNegotiationStatsSeries(
+      Collection<Long> networkIds, LocalDate since, LocalDate until, StatisticsInterval interval) {
+    return series(
+        """
+        SELECT s.network_id, %1$s AS period, s.negotiation_state, SUM(s.negotiations),
+               SUM(s.ignored_negotiations), SUM(s.successful_negotiations)
+        FROM network_negotiation_daily_stats s
+        WHERE s.network_id IN (:networkIds) AND s.day > :since AND s.day <= :until
+        GROUP BY s.network_id, period, s.negotiation_state
+        """
+            .formatted(PERIOD.formatted("s")),
+        networkIds,
+        since,
+        until,
+        interval);
+  }
+
+  @Override
+  public List<Object[]> sumResponseTimeHistogramSeries(
+      Collection<Long> networkIds, LocalDate since, LocalDate until, StatisticsInterval interval) {
+    return series(
+        """
+        SELECT h.network_id, %1$s AS period, h.bucket, SUM(h.responses)
+        FROM network_response_time_daily_histogram h
+        WHERE h.network_id IN (:networkIds) AND h.day > :since AND h.day <= :until
+        GROUP BY h.network_id, period, h.bucket
+        """
+            .formatted(PERIOD.formatted("h")),
+        networkIds,
+        since,
+        until,
+        interval);
+  }
+
+  @Override
+  public List<Object[]> countNewRequestersSeries(
+      Collection<Long> networkIds, LocalDate since, LocalDate until, StatisticsInterval interval) {
+    return series(
+        """
+        SELECT a.network_id, %1$s AS period, COUNT(DISTINCT a.person_id)
+        FROM network_requester_daily_activity a
+        JOIN requester_first_request f ON f.person_id = a.person_id
+        WHERE a.network_id IN (:networkIds) AND a.day > :since AND a.day <= :until
+          AND f.first_request_day >= GREATEST(%1$s - 1, :since)
+        GROUP BY a.network_id, period
+        """
+            .formatted(PERIOD.formatted("a")),
+        networkIds,
+        since,
+        until,
+        interval);
+  }
+
+  @Override
+  public List<Object[]> countActiveRepresentativesSeries(
+      Collection<Long> networkIds, LocalDate since, LocalDate until, StatisticsInterval interval) {
+    return series(
+        """
+        SELECT a.network_id, %1$s AS period, COUNT(DISTINCT a.person_id)
+        FROM network_representative_daily_activity a
+        WHERE a.network_id IN (:networkIds) AND a.day > :since AND a.day <= :until
+        GROUP BY a.network_id, period
+        """
+            .formatted(PERIOD.formatted("a")),
+        networkIds,
+        since,
+        until,
+        interval);
+  }
+
+  @Override
+  public LocalDateTime lockRollupProgress() {
+    Object processedUntil =
+        entityManager
+            .createNativeQuery(
+                "SELECT processed_until FROM network_stats_rollup_progress WHERE id = 1 FOR UPDATE")
+            .getSingleResult();
+    return processedUntil instanceof Timestamp timestamp
+        ? timestamp.toLocalDateTime()
+        : (LocalDateTime) processedUntil;
+  }
+
+  @Override
+  public void saveRollupProgress(LocalDateTime processedUntil) {
+    entityManager
+        .createNativeQuery(
+            "UPDATE network_stats_rollup_progress SET processed_until = :processedUntil WHERE id = 1")
+        .setParameter("processedUntil", processedUntil)
+        .executeUpdate();
+  }
+
+  @Override
+  public List<LocalDate> findChangedNegotiationDays(LocalDateTime from, LocalDateTime to) {
+    return findDays(
+        """
+        SELECT CAST(n.creation_date AS DATE) FROM negotiation n
+        WHERE n.creation_date > :from AND n.creation_date <= :to
+        UNION
+        SELECT CAST(n.creation_date AS DATE) FROM negotiation n
+        WHERE n.modified_date > :from AND n.modified_date <= :to
+        UNION
+        SELECT CAST(n.creation_date AS DATE)
+        FROM negotiation_resource_lifecycle_record r
+        JOIN negotiation n ON n.id = r.negotiation_id
+        WHERE r.creation_date > :from AND r.creation_date <= :to
+        """,
+        from,
+        to);
+  }
+
+  @Override
+  public List<LocalDate> findChangedActivityDays(LocalDateTime from, LocalDateTime to) {
+    return findDays(
+        """
+        SELECT CAST(r.creation_date AS DATE) FROM negotiation_resource_lifecycle_record r
+        WHERE r.creation_date > :from AND r.creation_date <= :to
+        UNION
+        SELECT CAST(p.creation_date AS DATE) FROM post p
+        WHERE p.creation_date > :from AND p.creation_date <= :to
+        """,
+        from,
+        to);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<Long> findChangedNetworks(LocalDateTime from, LocalDateTime to) {
+    List<Number> networkIds =
+        entityManager
+            .createNativeQuery(
+                """
+                SELECT c.network_id FROM network_stats_membership_change c
+                WHERE c.changed_at > :from AND c.changed_at <= :to
+                """)
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .getResultList();
+    return networkIds.stream().map(Number::longValue).toList();
+  }
+
+  @Override
+  public void deleteNetworkChanges(LocalDateTime until) {
+    entityManager
+        .createNativeQuery("DELETE FROM network_stats_membership_change WHERE changed_at <= :until")
+        .setParameter("until", until)
+        .executeUpdate();
+  }
+
+  @Override
+  public void refreshNegotiationDays(Collection<LocalDate> days) {
+    for (List<LocalDate> chunk : chunks(days)) {
+      execute("DELETE FROM network_negotiation_daily_stats WHERE day IN (:days)", chunk);
+      execute(NEGOTIATION_STATS.formatted(NEGOTIATION_DAYS), chunk);
+      execute("DELETE FROM network_response_time_daily_histogram WHERE day IN (:days)", chunk);
+      withHistogramParameters(query(RESPONSE_TIME_HISTOGRAM.formatted(NEGOTIATION_DAYS), chunk))
+          .executeUpdate();
+      execute("DELETE FROM network_requester_daily_activity WHERE day IN (:days)", chunk);
+      execute(REQUESTER_ACTIVITY.formatted(NEGOTIATION_DAYS), chunk);
+      execute(
+          """
+          INSERT INTO requester_first_request (person_id, first_request_day)
+          SELECT n.created_by, CAST(MIN(n.creation_date) AS DATE)
+          FROM negotiation n
+          WHERE n.created_by IN (SELECT n.created_by FROM negotiation n WHERE
+          """
+              + NEGOTIATION_DAYS
+              + """
+          )
+          GROUP BY n.created_by
+          ON CONFLICT (person_id) DO UPDATE SET first_request_day = EXCLUDED.first_request_day
+          """,
+          chunk);
+    }
+  }
+
+  @Override
+  public void refreshActivityDays(Collection<LocalDate> days) {
+    for (List<LocalDate> chunk : chunks(days)) {
+      execute("DELETE FROM network_representative_daily_activity WHERE day IN (:days)", chunk);
+      execute(
+          REPRESENTATIVE_ACTIVITY.formatted(
+              """
+              r.creation_date >= :first AND r.creation_date < :end
+              AND CAST(r.creation_date AS DATE) IN (:days)
+              """,
+              """
+              p.creation_date >= :first AND p.creation_date < :end
+              AND CAST(p.creation_date AS DATE) IN (:days)
+              """),
+          chunk);
+    }
+  }
+
+  @Override
+  public void refreshNetworks(Collection<Long> networkIds) {
+    if (networkIds.isEmpty()) {
+      return;
+    }
+    for (String table :
+        List.of(
+            "network_negotiation_daily_stats",
+            "network_response_time_daily_histogram",
+            "network_requester_daily_activity",
+            "network_representative_daily_activity")) {
+      execute("DELETE FROM %s WHERE network_id IN (:networkIds)".formatted(table), networkIds);
+    }
+    execute(NEGOTIATION_STATS.formatted(NETWORKS), networkIds);
+    withHistogramParameters(
+            entityManager
+                .createNativeQuery(RESPONSE_TIME_HISTOGRAM.formatted(NETWORKS))
+                .setParameter("networkIds", networkIds))
+        .executeUpdate();
+    execute(REQUESTER_ACTIVITY.formatted(NETWORKS), networkIds);
+    execute(REPRESENTATIVE_ACTIVITY.formatted(NETWORKS, NETWORKS), networkIds);
+  }
+
+  /**
+   * Runs a query grouped by network and period, in which the first day of the period, in the second
+   * column, is converted to a {@link LocalDate}.
+   */
+  @SuppressWarnings("unchecked")
+  private List<Object[]> series(
+      String query,
+      Collection<Long> networkIds,
+      LocalDate since,
+      LocalDate until,
+      StatisticsInterval interval) {
+    List<Object[]> rows =
+        entityManager
+            .createNativeQuery(query)
+            .setParameter("networkIds", networkIds)
+            .setParameter("since", since)
+            .setParameter("until", until)
+            .setParameter("interval", interval.name())
+            .getResultList();
+    rows.forEach(row -> row[1] = toLocalDate(row[1]));
+    return rows;
+  }
+
+  private static LocalDate toLocalDate(Object day) {
+    return day instanceof Date date ? date.toLocalDate() : (LocalDate) day;
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<LocalDate> findDays(String query, LocalDateTime from, LocalDateTime to) {
+    List<Object> days =
+        entityManager
+            .createNativeQuery(query)
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .getResultList();
+    return days.stream().map(NetworkStatsRollupRepositoryImpl::toLocalDate).sorted().toList();
+  }
+
+  private void execute(String statement, List<LocalDate> days) {
+    query(statement, days).executeUpdate();
+  }
+
+  private void execute(String statement, Collection<Long> networkIds) {
+    entityManager
+        .createNativeQuery(statement)
+        .setParameter("networkIds", networkIds)
+        .executeUpdate();
+  }
+
+  private static Query withHistogramParameters(Query query) {
+    return query
+        .setParameter("minimum", ResponseTimeHistogram.MINIMUM_DAYS)
+        .setParameter("gamma", ResponseTimeHistogram.GAMMA);
+  }
+
+  /** Creates a statement on a chunk of sorted days, bound to :days and to its :first and :end. */
+  private Query query(String statement, List<LocalDate> days) {
+    Query query = entityManager.createNativeQuery(statement).setParameter("days", days);
+    if (statement.contains(":first")) {
+      query
+          .setParameter("first", days.get(0).atStartOfDay())
+          .setParameter("end", days.get(days.size() - 1).plusDays(1).atStartOfDay());
+    }
+    return query;
+  }
+
+  private static List<List<LocalDate>> chunks(Collection<LocalDate> days) {
+    List<LocalDate> sorted = days.stream().distinct().sorted().toList();
+    return IntStream.range(0, (sorted.size() + DAYS_PER_STATEMENT - 1) / DAYS_PER_STATEMENT)
+        .mapToObj(
+            i ->
+                sorted.subList(
+                    i * DAYS_PER_STATEMENT, Math.min(sorted.size(), (i + 1) * DAYS_PER_STATEMENT)))
+        .toList();
+  }
+}
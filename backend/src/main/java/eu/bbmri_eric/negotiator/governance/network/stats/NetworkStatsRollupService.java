@@ -0,0 +1,73 @@
+package eu.bbmri_eric.negotiator.governance.network.stats;
+
+import eu.bbmri_eric.negotiator.governance.network.NetworkRepository;
+import jakarta.transaction.Transactional;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.apachecommons.CommonsLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Maintains the daily rollups of the network statistics. The resource lifecycle records, the posts
+ * and the creation and modification dates of the negotiations are used as the log of the changes:
+ * each refresh recomputes only the days touched since the previous one. Changes of the resources of
+ * a network or of their representatives move negotiations and activity in or out of the network on
+ * all days: they are recorded per network by triggers, and the whole history of those networks is
+ * recomputed. The previous period is scanned again for an overlap, to catch the changes of
+ * transactions committed after it ended; since the days are recomputed from scratch, rolling up a
+ * change twice is harmless. A {@link NetworkStatsRolledUpEvent} is published with the recomputed
+ * days.
+ */
+@Service
+@CommonsLog
+public class NetworkStatsRollupService {
+
+  private final NetworkRepository networkRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Duration overlap;
+
+  public NetworkStatsRollupService(
+      NetworkRepository networkRepository,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${negotiator.network-stats.refresh-overlap:5m}") Duration overlap) {
+    this.networkRepository = networkRepository;
+    this.eventPublisher = eventPublisher;
+    this.overlap = overlap;
+  }
+
+  /**
+   * Rolls up the changes since the previous refresh. Concurrent refreshes, e.g. from other
+   * instances, wait for each other on the lock of the progress.
+   */
+  @Scheduled(cron = "${negotiator.network-stats.refresh-cron-expression:0 * * * * *}")
+  @Transactional
+  public void refresh() {
+    LocalDateTime processedUntil = networkRepository.lockRollupProgress();
+    LocalDateTime from = processedUntil.minus(overlap);
+    LocalDateTime to = LocalDateTime.now();
+    List<LocalDate> negotiationDays = networkRepository.findChangedNegotiationDays(from, to);
+    List<LocalDate> activityDays = networkRepository.findChangedActivityDays(from, to);
+    networkRepository.refreshNegotiationDays(negotiationDays);
+    networkRepository.refreshActivityDays(activityDays);
+    List<Long> networkIds = networkRepository.findChangedNetworks(from, to);
+    networkRepository.refreshNetworks(networkIds);
+    networkRepository.deleteNetworkChanges(from);
+    networkRepository.saveRollupProgress(to);
+    if (!negotiationDays.isEmpty() || !activityDays.isEmpty() || !networkIds.isEmpty()) {
+      Set<LocalDate> days = new HashSet<>(negotiationDays);
+      days.addAll(activityDays);
+      eventPublisher.publishEvent(
+          new NetworkStatsRolledUpEvent(this, days, new HashSet<>(networkIds)));
+      log.debug(
+          "Network statistics rolled up for %d negotiation days, %d activity days and %d networks."
+              .formatted(negotiationDays.size(), activityDays.size(), networkIds.size()));
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package eu.bbmri_eric.negotiator.governance.network.stats;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Parameters of a series of Network statistics")
+public class NetworkStatsSeriesFilter {
+  @NotEmpty
+  @Schema(description = "Identifiers of the networks", example = "[1, 2]")
+  private List<Long> networkId;
+
+  @NotNull
+  @Schema(description = "Start of period", example = "2023-01-01")
+  private LocalDate since;
+
+  @NotNull
+  @Schema(description = "End of period", example = "2024-11-18")
+  private LocalDate until;
+
+  @Schema(description = "The length of the periods of the series", example = "month")
+  @Builder.Default
+  private StatisticsInterval interval = StatisticsInterval.month;
+}
@@ -0,0 +1,85 @@
+package eu.bbmri_eric.negotiator.governance.network.stats;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Histogram of response times in days with logarithmic buckets, as rolled up per network and day.
+ * Bucket {@code i} holds the times in {@code (GAMMA^(i-1), GAMMA^i]}, so that the representative
+ * value of a bucket is within {@link #RELATIVE_ACCURACY} of every time it holds. Times shorter than
+ * {@link #MINIMUM_DAYS} are counted in the bucket of the minimum. Histograms of different days are
+ * merged by summing the counts of their buckets.
+ */
+public final class ResponseTimeHistogram {
+
+  /** Maximum relative error of the quantiles computed from the histogram. */
+  public static final double RELATIVE_ACCURACY = 0.01;
+
+  /** Ratio between the upper bounds of two consecutive buckets. */
+  public static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+
+  /** Shortest response time distinguished by the histogram, about one second. */
+  public static final double MINIMUM_DAYS = 1e-5;
+
+  private final SortedMap<Integer, Long> buckets;
+
+  private ResponseTimeHistogram(SortedMap<Integer, Long> buckets) {
+    this.buckets = buckets;
+  }
+
+  /**
+   * Builds a histogram from the counts of its buckets.
+   *
+   * @param buckets the number of response times per bucket index
+   * @return the histogram
+   */
+  public static ResponseTimeHistogram of(Map<Integer, Long> buckets) {
+    return new ResponseTimeHistogram(new TreeMap<>(buckets));
+  }
+
+  /**
+   * Gets the index of the bucket holding a response time, as computed by the rollup queries.
+   *
+   * @param days the response time in days
+   * @return the bucket index
+   */
+  public static int bucketOf(double days) {
+    return (int) Math.ceil(Math.log(Math.max(days, MINIMUM_DAYS)) / Math.log(GAMMA));
+  }
+
+  /**
+   * Gets the value representing the response times of a bucket.
+   *
+   * @param bucket the bucket index
+   * @return the response time in days
+   */
+  public static double valueOf(int bucket) {
+    return 2 * Math.pow(GAMMA, bucket) / (GAMMA + 1);
+  }
+
+  /**
+   * Computes the median, interpolating between the two middle values when the number of response
+   * times is even, as {@code PERCENTILE_CONT(0.5)} does.
+   *
+   * @return the median response time in days, or null if the histogram is empty
+   */
+  public Double median() {
+    long total = buckets.values().stream().mapToLong(Long::longValue).sum();
+    if (total == 0) {
+      return null;
+    }
+    return (valueAtRank((total - 1) / 2) + valueAtRank(total / 2)) / 2;
+  }
+
+  private double valueAtRank(long rank) {
+    long seen = 0;
+    for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+      seen += bucket.getValue();
+      if (rank < seen) {
+        return valueOf(bucket.getKey());
+      }
+    }
+    throw new IllegalStateException("Rank %d out of the histogram".formatted(rank));
+  }
+}
@@ -0,0 +1,43 @@
+package eu.bbmri_eric.negotiator.governance.network.stats;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * The length of the periods of a statistics series. The names are the units of the SQL {@code
+ * DATE_TRUNC} function, and the periods are calendar ones: weeks start on Monday as in ISO 8601.
+ */
+public enum StatisticsInterval {
+  day,
+  week,
+  month;
+
+  /**
+   * Gets the first day of the period containing a day.
+   *
+   * @param day the day
+   * @return the first day of its period
+   */
+  public LocalDate truncate(LocalDate day) {
+    return switch (this) {
+      case day -> day;
+      case week -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+      case month -> day.withDayOfMonth(1);
+    };
+  }
+
+  /**
+   * Gets the first day of the next period.
+   *
+   * @param start the first day of a period
+   * @return the first day of the period following it
+   */
+  public LocalDate next(LocalDate start) {
+    return switch (this) {
+      case day -> start.plusDays(1);
+      case week -> start.plusWeeks(1);
+      case month -> start.plusMonths(1);
+    };
+  }
+}
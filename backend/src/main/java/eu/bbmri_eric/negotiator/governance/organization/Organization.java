@@ -35,7 +35,10 @@ public class Organization extends AuditEntity {
 
   @Id
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resource_id_seq")
-  @SequenceGenerator(name = "resource_id_seq", initialValue = 10000, allocationSize = 1)
+  @SequenceGenerator(
+      name = "resource_id_seq",
+      initialValue = 10000,
+      allocationSize = Resource.ID_ALLOCATION_SIZE)
   private Long id;
 
   /** A unique and persistent identifier issued by an appropriate institution. */
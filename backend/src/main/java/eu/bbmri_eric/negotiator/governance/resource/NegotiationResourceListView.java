@@ -0,0 +1,9 @@
+package eu.bbmri_eric.negotiator.governance.resource;
+
+/** The representation used for a list of the resources of a negotiation. */
+public enum NegotiationResourceListView {
+  /** The resources with their status and lifecycle links. */
+  full,
+  /** One entry per organization, with the number of its resources in each state. */
+  organizations
+}
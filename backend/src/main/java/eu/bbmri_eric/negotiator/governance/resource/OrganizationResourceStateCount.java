@@ -0,0 +1,16 @@
+package eu.bbmri_eric.negotiator.governance.resource;
+
+import eu.bbmri_eric.negotiator.negotiation.state_machine.resource.NegotiationResourceState;
+
+/** Number of resources of an organization in a given state, within a negotiation. */
+public interface OrganizationResourceStateCount {
+  Long getOrganizationId();
+
+  String getOrganizationExternalId();
+
+  String getOrganizationName();
+
+  NegotiationResourceState getCurrentState();
+
+  long getResources();
+}
@@ -40,9 +40,18 @@ import lombok.ToString.Exclude;
 @Entity(name = "Resource")
 public class Resource {
 
+  /**
+   * The number of ids reserved by each call of the id sequence, which is shared with the
+   * organizations: a call returning n reserves the ids from n - ID_ALLOCATION_SIZE + 1 to n.
+   */
+  public static final int ID_ALLOCATION_SIZE = 50;
+
   @Id
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resource_id_seq")
-  @SequenceGenerator(name = "resource_id_seq", initialValue = 10000, allocationSize = 1)
+  @SequenceGenerator(
+      name = "resource_id_seq",
+      initialValue = 10000,
+      allocationSize = ID_ALLOCATION_SIZE)
   private Long id;
 
   /** The name of the resource. */
@@ -61,6 +70,9 @@ public class Resource {
   /** URI of the resource. */
   private String uri;
 
+  /** Flag indicating if the resource is withdrawn from its discovery service. */
+  private Boolean withdrawn;
+
   @ManyToMany(
       fetch = FetchType.LAZY,
       cascade = {CascadeType.PERSIST, CascadeType.MERGE},
@@ -0,0 +1,37 @@
+package eu.bbmri_eric.negotiator.governance.resource;
+
+import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceCreateDTO;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk operations on resources, with a fixed number of statements per batch of resources instead of
+ * one per resource.
+ */
+public interface ResourceBulkRepository {
+
+  Set<Long> findExistingOrganizationIds(Collection<Long> ids);
+
+  Set<Long> findExistingAccessFormIds(Collection<Long> ids);
+
+  Set<Long> findExistingDiscoveryServiceIds(Collection<Long> ids);
+
+  /** Finds the ids of the resources with the source ids, by source id. */
+  Map<String, Long> findIdsBySourceId(Collection<String> sourceIds);
+
+  /** Reserves ids for new resources from the id sequence, a block of ids per call. */
+  List<Long> allocateIds(int count);
+
+  /**
+   * Inserts the resources, or updates the ones with the same source id.
+   *
+   * @param resources the resources with their id, used when they are inserted
+   * @return for each resource, 0 if a resource with the same source id and values exists, a
+   *     positive number or {@link java.sql.Statement#SUCCESS_NO_INFO} otherwise
+   */
+  int[] upsert(List<Row> resources);
+
+  record Row(Long id, ResourceCreateDTO resource) {}
+}
@@ -0,0 +1,126 @@
+package eu.bbmri_eric.negotiator.governance.resource;
+
+import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceCreateDTO;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class ResourceBulkRepositoryImpl implements ResourceBulkRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public ResourceBulkRepositoryImpl(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public Set<Long> findExistingOrganizationIds(Collection<Long> ids) {
+    return findExistingIds("organization", ids);
+  }
+
+  @Override
+  public Set<Long> findExistingAccessFormIds(Collection<Long> ids) {
+    return findExistingIds("access_form", ids);
+  }
+
+  @Override
+  public Set<Long> findExistingDiscoveryServiceIds(Collection<Long> ids) {
+    return findExistingIds("discovery_service", ids);
+  }
+
+  @Override
+  public Map<String, Long> findIdsBySourceId(Collection<String> sourceIds) {
+    Map<String, Long> ids = new HashMap<>();
+    if (!sourceIds.isEmpty()) {
+      jdbcTemplate.query(
+          "SELECT source_id, id FROM resource WHERE source_id = ANY (?)",
+          rs -> {
+            ids.put(rs.getString(1), rs.getLong(2));
+          },
+          (Object) sourceIds.toArray(String[]::new));
+    }
+    return ids;
+  }
+
+  @Override
+  public List<Long> allocateIds(int count) {
+    int size = Resource.ID_ALLOCATION_SIZE;
+    List<Long> ids = new ArrayList<>(count);
+    for (Long last :
+        jdbcTemplate.queryForList(
+            "SELECT nextval('resource_id_seq') FROM generate_series(1, ?)",
+            Long.class,
+            (count + size - 1) / size)) {
+      for (long id = last - size + 1; id <= last && ids.size() < count; id++) {
+        ids.add(id);
+      }
+    }
+    return ids;
+  }
+
+  @Override
+  public int[] upsert(List<Row> resources) {
+    // The update is skipped when nothing changed, which makes its row count 0. A withdrawn
+    // resource that is upserted again is reinstated.
+    return jdbcTemplate.batchUpdate(
+        """
+        INSERT INTO resource AS r (id, source_id, name, description, contact_email, uri,
+                                   organization_id, access_form_id, discovery_service_id,
+                                   withdrawn)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, false)
+        ON CONFLICT (source_id) DO UPDATE
+        SET name = EXCLUDED.name, description = EXCLUDED.description,
+            contact_email = EXCLUDED.contact_email, uri = EXCLUDED.uri,
+            organization_id = EXCLUDED.organization_id, access_form_id = EXCLUDED.access_form_id,
+            discovery_service_id = EXCLUDED.discovery_service_id, withdrawn = EXCLUDED.withdrawn
+        WHERE (r.name, r.description, r.contact_email, r.uri, r.organization_id,
+               r.access_form_id, r.discovery_service_id, r.withdrawn)
+              IS DISTINCT FROM
+              (EXCLUDED.name, EXCLUDED.description, EXCLUDED.contact_email, EXCLUDED.uri,
+               EXCLUDED.organization_id, EXCLUDED.access_form_id, EXCLUDED.discovery_service_id,
+               EXCLUDED.withdrawn)
+        """,
+        new BatchPreparedStatementSetter() {
+          @Override
+          public void setValues(PreparedStatement ps, int i) throws SQLException {
+            ResourceCreateDTO resource = resources.get(i).resource();
+            ps.setLong(1, resources.get(i).id());
+            ps.setString(2, resource.getSourceId());
+            ps.setString(3, resource.getName());
+            ps.setString(4, resource.getDescription());
+            ps.setString(5, resource.getContactEmail());
+            ps.setString(6, resource.getUri());
+            ps.setLong(7, resource.getOrganizationId());
+            ps.setLong(8, resource.getAccessFormId());
+            ps.setLong(9, resource.getDiscoveryServiceId());
+          }
+
+          @Override
+          public int getBatchSize() {
+            return resources.size();
+          }
+        });
+  }
+
+  private Set<Long> findExistingIds(String table, Collection<Long> ids) {
+    Set<Long> existing = new HashSet<>();
+    if (!ids.isEmpty()) {
+      existing.addAll(
+          jdbcTemplate.queryForList(
+              "SELECT id FROM %s WHERE id = ANY (?)".formatted(table),
+              Long.class,
+              (Object) ids.toArray(Long[]::new)));
+    }
+    return existing;
+  }
+}
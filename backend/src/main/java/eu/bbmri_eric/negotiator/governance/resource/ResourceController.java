@@ -4,11 +4,14 @@ import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceCreateDTO;
 import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceFilterDTO;
 import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceResponseModel;
 import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceUpdateDTO;
+import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceUpsertSummaryDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.annotation.Nullable;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import lombok.extern.apachecommons.CommonsLog;
 import org.springframework.data.domain.Page;
@@ -64,6 +67,18 @@ public class ResourceController {
     return resourceModelAssembler.toCollectionModel(resourceService.addResources(resources));
   }
 
+  @PostMapping(
+      consumes = MediaType.APPLICATION_NDJSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(
+      summary = "Create or update resources in bulk",
+      description =
+          "Takes one resource per line and creates it, or updates the resource with the same"
+              + " source id. Invalid lines are reported as failed, the others are still stored.")
+  public ResourceUpsertSummaryDTO upsertResources(InputStream resources) throws IOException {
+    return resourceService.upsertResources(resources);
+  }
+
   @PatchMapping(
       value = "/{id}",
       consumes = MediaType.APPLICATION_JSON_VALUE,
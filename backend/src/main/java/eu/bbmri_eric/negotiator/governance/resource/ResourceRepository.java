@@ -13,7 +13,9 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ResourceRepository
-    extends JpaRepository<Resource, Long>, JpaSpecificationExecutor<Resource> {
+    extends JpaRepository<Resource, Long>,
+        JpaSpecificationExecutor<Resource>,
+        ResourceBulkRepository {
 
   @Query(
       value =
@@ -37,11 +39,72 @@ order by rs.source_id;
       nativeQuery = true)
   List<ResourceViewDTO> findByNegotiation(String negotiationId);
 
+  @Query(
+      value =
+          """
+select
+    rs.id              as id,
+    nrl.negotiation_id as negotiationId,
+    rs.name            as name,
+    rs.source_id       as sourceId,
+    nrl.current_state  as currentState,
+    o.name             as organizationName,
+    o.external_id      as organizationExternalId,
+    o.id               as organizationId
+from negotiation_resource_link nrl
+    join resource rs on rs.id = nrl.resource_id
+    join organization o on o.id = rs.organization_id
+where
+    nrl.negotiation_id = :negotiationId
+    and (cast(:currentState as varchar) is null or nrl.current_state = cast(:currentState as varchar))
+    and (cast(:organizationId as bigint) is null or o.id = cast(:organizationId as bigint))
+order by rs.source_id
+""",
+      countQuery =
+          """
+select count(*)
+from negotiation_resource_link nrl
+    join resource rs on rs.id = nrl.resource_id
+where
+    nrl.negotiation_id = :negotiationId
+    and (cast(:currentState as varchar) is null or nrl.current_state = cast(:currentState as varchar))
+    and (cast(:organizationId as bigint) is null or rs.organization_id = cast(:organizationId as bigint))
+""",
+      nativeQuery = true)
+  Page<ResourceViewDTO> findByNegotiation(
+      String negotiationId, String currentState, Long organizationId, Pageable pageable);
+
+  @Query(
+      value =
+          """
+select
+    o.id               as organizationId,
+    o.external_id      as organizationExternalId,
+    o.name             as organizationName,
+    nrl.current_state  as currentState,
+    count(*)           as resources
+from negotiation_resource_link nrl
+    join resource rs on rs.id = nrl.resource_id
+    join organization o on o.id = rs.organization_id
+where
+    nrl.negotiation_id = :negotiationId
+    and (cast(:currentState as varchar) is null or nrl.current_state = cast(:currentState as varchar))
+    and (cast(:organizationId as bigint) is null or o.id = cast(:organizationId as bigint))
+group by o.id, o.external_id, o.name, nrl.current_state
+order by o.external_id
+""",
+      nativeQuery = true)
+  List<OrganizationResourceStateCount> countByOrganizationAndState(
+      String negotiationId, String currentState, Long organizationId);
+
   Optional<Resource> findByName(String name);
 
   Optional<Resource> findBySourceId(String sourceId);
 
   List<Resource> findAllBySourceIdIn(Set<String> sourceIds);
 
-  Page<Resource> findAllByNetworksContains(Network network, Pageable pageable);
+  @Query(
+      "SELECT r FROM Resource r WHERE :network MEMBER OF r.networks"
+          + " AND (r.withdrawn IS NULL OR r.withdrawn = false)")
+  Page<Resource> findAllNotWithdrawnByNetwork(Network network, Pageable pageable);
 }
@@ -1,12 +1,18 @@
 package eu.bbmri_eric.negotiator.governance.resource;
 
 import eu.bbmri_eric.negotiator.common.FilterDTO;
+import eu.bbmri_eric.negotiator.governance.resource.dto.NegotiationResourceFilterDTO;
+import eu.bbmri_eric.negotiator.governance.resource.dto.OrganizationResourcesSummaryDTO;
 import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceCreateDTO;
 import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceResponseModel;
 import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceUpdateDTO;
+import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceUpsertSummaryDTO;
 import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceWithStatusDTO;
 import eu.bbmri_eric.negotiator.negotiation.dto.UpdateResourcesDTO;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 /** The ResourceService interface defines the contract for accessing and manipulating resources. */
@@ -36,12 +42,25 @@ public interface ResourceService {
   Iterable<ResourceResponseModel> findAllForNetwork(Pageable pageable, Long networkId);
 
   /**
-   * Find all Resources involved in a specific Negotiation
+   * Find the Resources involved in a specific Negotiation that match the filters
    *
    * @param negotiationId the id of the Negotiation
-   * @return a list of resources
+   * @param filters the state and organization of the resources and the page required
+   * @return a page of resources, containing all the matching resources if no page size is set
    */
-  List<ResourceWithStatusDTO> findAllInNegotiation(String negotiationId);
+  Page<ResourceWithStatusDTO> findAllInNegotiation(
+      String negotiationId, NegotiationResourceFilterDTO filters);
+
+  /**
+   * Count the Resources involved in a specific Negotiation that match the filters, by organization
+   * and state
+   *
+   * @param negotiationId the id of the Negotiation
+   * @param filters the state and organization of the resources
+   * @return the counts of the resources of each organization, ordered by its external ID
+   */
+  List<OrganizationResourcesSummaryDTO> summarizeByOrganization(
+      String negotiationId, NegotiationResourceFilterDTO filters);
 
   /**
    * Edit resources to a Negotiation. Any Resources in the list that are not already a part of the
@@ -64,6 +83,17 @@ public interface ResourceService {
    */
   List<ResourceResponseModel> addResources(List<ResourceCreateDTO> resources);
 
+  /**
+   * Creates or updates resources, keyed on their source id, from newline-delimited JSON with one
+   * resource per line. Lines that are malformed, invalid, repeat a source id or refer to unknown
+   * entities are reported as failed without stopping the upload.
+   *
+   * @param ndjson the resources, one ResourceCreateDTO per line
+   * @return the outcome of each line
+   * @throws IOException if the input cannot be read
+   */
+  ResourceUpsertSummaryDTO upsertResources(InputStream ndjson) throws IOException;
+
   /**
    * Update some attributes of a resource by its id.
    *
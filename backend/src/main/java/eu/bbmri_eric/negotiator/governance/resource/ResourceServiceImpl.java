@@ -1,9 +1,12 @@
 package eu.bbmri_eric.negotiator.governance.resource;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import eu.bbmri_eric.negotiator.common.AuthenticatedUserContext;
 import eu.bbmri_eric.negotiator.common.FilterDTO;
 import eu.bbmri_eric.negotiator.common.exceptions.EntityNotFoundException;
 import eu.bbmri_eric.negotiator.common.exceptions.ForbiddenRequestException;
+import eu.bbmri_eric.negotiator.common.exceptions.WrongRequestException;
 import eu.bbmri_eric.negotiator.discovery.DiscoveryService;
 import eu.bbmri_eric.negotiator.discovery.DiscoveryServiceRepository;
 import eu.bbmri_eric.negotiator.discovery.synchronization.DiscoveryServiceNotFoundException;
@@ -13,10 +16,15 @@ import eu.bbmri_eric.negotiator.form.repository.AccessFormRepository;
 import eu.bbmri_eric.negotiator.governance.network.Network;
 import eu.bbmri_eric.negotiator.governance.network.NetworkRepository;
 import eu.bbmri_eric.negotiator.governance.organization.Organization;
+import eu.bbmri_eric.negotiator.governance.organization.OrganizationDTO;
 import eu.bbmri_eric.negotiator.governance.organization.OrganizationRepository;
+import eu.bbmri_eric.negotiator.governance.resource.dto.NegotiationResourceFilterDTO;
+import eu.bbmri_eric.negotiator.governance.resource.dto.OrganizationResourcesSummaryDTO;
 import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceCreateDTO;
 import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceResponseModel;
 import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceUpdateDTO;
+import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceUpsertResultDTO;
+import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceUpsertSummaryDTO;
 import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceWithStatusDTO;
 import eu.bbmri_eric.negotiator.negotiation.Negotiation;
 import eu.bbmri_eric.negotiator.negotiation.NegotiationAccessManager;
@@ -28,19 +36,33 @@ import eu.bbmri_eric.negotiator.negotiation.state_machine.resource.NegotiationRe
 import eu.bbmri_eric.negotiator.user.Person;
 import eu.bbmri_eric.negotiator.user.PersonRepository;
 import jakarta.transaction.Transactional;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.extern.apachecommons.CommonsLog;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -57,6 +79,9 @@ public class ResourceServiceImpl implements ResourceService {
   private final DiscoveryServiceRepository discoveryServiceRepository;
   private final OrganizationRepository organizationRepository;
   private final NegotiationAccessManager negotiationAccessManager;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final int upsertBatchSize;
 
   public ResourceServiceImpl(
       NetworkRepository networkRepository,
@@ -68,7 +93,10 @@ public class ResourceServiceImpl implements ResourceService {
       AccessFormRepository accessFormRepository,
       DiscoveryServiceRepository discoveryServiceRepository,
       OrganizationRepository organizationRepository,
-      NegotiationAccessManager negotiationAccessManager) {
+      NegotiationAccessManager negotiationAccessManager,
+      ObjectMapper objectMapper,
+      Validator validator,
+      @Value("${negotiator.resources.upsert-batch-size:1000}") int upsertBatchSize) {
     this.networkRepository = networkRepository;
     this.repository = repository;
     this.personRepository = personRepository;
@@ -79,6 +107,9 @@ public class ResourceServiceImpl implements ResourceService {
     this.discoveryServiceRepository = discoveryServiceRepository;
     this.organizationRepository = organizationRepository;
     this.negotiationAccessManager = negotiationAccessManager;
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.upsertBatchSize = upsertBatchSize;
   }
 
   @Override
@@ -90,7 +121,9 @@ public class ResourceServiceImpl implements ResourceService {
 
   @Override
   public Iterable<ResourceResponseModel> findAll(FilterDTO filters) {
-    Specification<Resource> spec = ResourceSpecificationBuilder.build(filters);
+    Specification<Resource> spec =
+        ResourceSpecificationBuilder.build(filters)
+            .and(ResourceSpecificationBuilder.notWithdrawn());
     Pageable pageable = PageRequest.of(filters.getPage(), filters.getSize());
     return repository
         .findAll(spec, pageable)
@@ -105,21 +138,64 @@ public class ResourceServiceImpl implements ResourceService {
             .findById(networkId)
             .orElseThrow(() -> new EntityNotFoundException(networkId));
     return repository
-        .findAllByNetworksContains(network, pageable)
+        .findAllNotWithdrawnByNetwork(network, pageable)
         .map(resource -> modelMapper.map(resource, ResourceResponseModel.class));
   }
 
   @Override
-  public List<ResourceWithStatusDTO> findAllInNegotiation(String negotiationId) {
+  public Page<ResourceWithStatusDTO> findAllInNegotiation(
+      String negotiationId, NegotiationResourceFilterDTO filters) {
+    verifyReadAccess(negotiationId);
+    Pageable pageable =
+        filters.isPaged()
+            ? PageRequest.of(filters.getPage(), filters.getSize())
+            : Pageable.unpaged();
+    return repository
+        .findByNegotiation(
+            negotiationId,
+            filters.getCurrentState() == null ? null : filters.getCurrentState().name(),
+            filters.getOrganizationId(),
+            pageable)
+        .map(resourceViewDTO -> modelMapper.map(resourceViewDTO, ResourceWithStatusDTO.class));
+  }
+
+  @Override
+  public List<OrganizationResourcesSummaryDTO> summarizeByOrganization(
+      String negotiationId, NegotiationResourceFilterDTO filters) {
+    verifyReadAccess(negotiationId);
+    Map<Long, OrganizationResourcesSummaryDTO> summaries = new LinkedHashMap<>();
+    for (OrganizationResourceStateCount count :
+        repository.countByOrganizationAndState(
+            negotiationId,
+            filters.getCurrentState() == null ? null : filters.getCurrentState().name(),
+            filters.getOrganizationId())) {
+      OrganizationResourcesSummaryDTO summary =
+          summaries.computeIfAbsent(
+              count.getOrganizationId(),
+              id ->
+                  OrganizationResourcesSummaryDTO.builder()
+                      .organization(
+                          OrganizationDTO.builder()
+                              .id(id)
+                              .externalId(count.getOrganizationExternalId())
+                              .name(count.getOrganizationName())
+                              .build())
+                      .resourcesByState(new EnumMap<>(NegotiationResourceState.class))
+                      .build());
+      summary.setResources(summary.getResources() + count.getResources());
+      if (count.getCurrentState() != null) {
+        summary.getResourcesByState().put(count.getCurrentState(), count.getResources());
+      }
+    }
+    return new ArrayList<>(summaries.values());
+  }
+
+  private void verifyReadAccess(String negotiationId) {
     if (!negotiationRepository.existsById(negotiationId)) {
       throw new EntityNotFoundException(negotiationId);
     }
     Long userId = AuthenticatedUserContext.getCurrentlyAuthenticatedUserInternalId();
     negotiationAccessManager.verifyReadAccessForNegotiation(negotiationId, userId);
-    List<ResourceViewDTO> resourceViewDTOS = repository.findByNegotiation(negotiationId);
-    return resourceViewDTOS.stream()
-        .map(resourceViewDTO -> modelMapper.map(resourceViewDTO, ResourceWithStatusDTO.class))
-        .toList();
   }
 
   @Override
@@ -170,6 +246,16 @@ public class ResourceServiceImpl implements ResourceService {
             "You do not have permission to add resources to this negotiation");
       }
       Set<Resource> newNegotiationResources = new HashSet<>(negotiation.getResources());
+      resourcesToUpdate.stream()
+          .filter(resource -> !newNegotiationResources.contains(resource))
+          .filter(resource -> Boolean.TRUE.equals(resource.getWithdrawn()))
+          .findAny()
+          .ifPresent(
+              resource -> {
+                throw new WrongRequestException(
+                    "Resource %s is withdrawn and cannot be added to a negotiation"
+                        .formatted(resource.getSourceId()));
+              });
       newNegotiationResources.addAll(resourcesToUpdate);
       negotiation.setResources(newNegotiationResources);
     }
@@ -186,21 +272,40 @@ public class ResourceServiceImpl implements ResourceService {
   @Override
   @Transactional
   public List<ResourceResponseModel> addResources(List<ResourceCreateDTO> resourcesCreateDTO) {
+    Map<Long, DiscoveryService> discoveryServices =
+        findAllById(
+            discoveryServiceRepository,
+            resourcesCreateDTO,
+            ResourceCreateDTO::getDiscoveryServiceId,
+            DiscoveryService::getId);
+    Map<Long, AccessForm> accessForms =
+        findAllById(
+            accessFormRepository,
+            resourcesCreateDTO,
+            ResourceCreateDTO::getAccessFormId,
+            AccessForm::getId);
+    Map<Long, Organization> organizations =
+        findAllById(
+            organizationRepository,
+            resourcesCreateDTO,
+            ResourceCreateDTO::getOrganizationId,
+            Organization::getId);
     ArrayList<Resource> resources = new ArrayList<>();
     for (ResourceCreateDTO resDTO : resourcesCreateDTO) {
-      DiscoveryService discoveryService =
-          discoveryServiceRepository
-              .findById(resDTO.getDiscoveryServiceId())
-              .orElseThrow(
-                  () -> new DiscoveryServiceNotFoundException(resDTO.getDiscoveryServiceId()));
-      AccessForm accessForm =
-          accessFormRepository
-              .findById(resDTO.getAccessFormId())
-              .orElseThrow(() -> new AccessFormNotFoundException(resDTO.getAccessFormId()));
-      Optional<Organization> organization =
-          organizationRepository.findById(resDTO.getOrganizationId());
+      DiscoveryService discoveryService = discoveryServices.get(resDTO.getDiscoveryServiceId());
+      if (discoveryService == null) {
+        throw new DiscoveryServiceNotFoundException(resDTO.getDiscoveryServiceId());
+      }
+      AccessForm accessForm = accessForms.get(resDTO.getAccessFormId());
+      if (accessForm == null) {
+        throw new AccessFormNotFoundException(resDTO.getAccessFormId());
+      }
+      Organization organization = organizations.get(resDTO.getOrganizationId());
+      if (organization == null) {
+        throw new EntityNotFoundException(resDTO.getOrganizationId());
+      }
       Resource res = modelMapper.map(resDTO, Resource.class);
-      res.setOrganization(organization.get());
+      res.setOrganization(organization);
       res.setAccessForm(accessForm);
       res.setDiscoveryService(discoveryService);
       resources.add(res);
@@ -211,6 +316,170 @@ public class ResourceServiceImpl implements ResourceService {
         .collect(Collectors.toList());
   }
 
+  @Override
+  @Transactional
+  public ResourceUpsertSummaryDTO upsertResources(InputStream ndjson) throws IOException {
+    List<ResourceUpsertResultDTO> results = new ArrayList<>();
+    List<PendingUpsert> batch = new ArrayList<>();
+    Set<String> sourceIds = new HashSet<>();
+    BufferedReader reader =
+        new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+    int lineNumber = 0;
+    for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+      lineNumber++;
+      if (line.isBlank()) {
+        continue;
+      }
+      ResourceCreateDTO resource;
+      try {
+        resource = objectMapper.readValue(line, ResourceCreateDTO.class);
+      } catch (JsonProcessingException e) {
+        results.add(failed(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage()));
+        continue;
+      }
+      String violations =
+          validator.validate(resource).stream()
+              .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+              .sorted()
+              .collect(Collectors.joining(", "));
+      if (!violations.isEmpty()) {
+        results.add(failed(lineNumber, resource.getSourceId(), violations));
+      } else if (!sourceIds.add(resource.getSourceId())) {
+        results.add(failed(lineNumber, resource.getSourceId(), "Source id repeated in the upload"));
+      } else {
+        batch.add(new PendingUpsert(lineNumber, resource));
+        if (batch.size() == upsertBatchSize) {
+          results.addAll(upsertBatch(batch));
+          batch.clear();
+        }
+      }
+    }
+    results.addAll(upsertBatch(batch));
+    results.sort(Comparator.comparingInt(ResourceUpsertResultDTO::getLine));
+    Map<ResourceUpsertResultDTO.Status, Long> counts =
+        results.stream()
+            .collect(
+                Collectors.groupingBy(ResourceUpsertResultDTO::getStatus, Collectors.counting()));
+    return ResourceUpsertSummaryDTO.builder()
+        .created(counts.getOrDefault(ResourceUpsertResultDTO.Status.CREATED, 0L).intValue())
+        .updated(counts.getOrDefault(ResourceUpsertResultDTO.Status.UPDATED, 0L).intValue())
+        .unchanged(counts.getOrDefault(ResourceUpsertResultDTO.Status.UNCHANGED, 0L).intValue())
+        .failed(counts.getOrDefault(ResourceUpsertResultDTO.Status.FAILED, 0L).intValue())
+        .results(results)
+        .build();
+  }
+
+  /**
+   * Upserts a batch of valid resources with a fixed number of statements: the referenced entities
+   * and the existing resources are looked up once for the batch, and the ids of the new resources
+   * reserved in blocks.
+   */
+  private List<ResourceUpsertResultDTO> upsertBatch(List<PendingUpsert> batch) {
+    if (batch.isEmpty()) {
+      return List.of();
+    }
+    Set<Long> organizations =
+        repository.findExistingOrganizationIds(ids(batch, ResourceCreateDTO::getOrganizationId));
+    Set<Long> accessForms =
+        repository.findExistingAccessFormIds(ids(batch, ResourceCreateDTO::getAccessFormId));
+    Set<Long> discoveryServices =
+        repository.findExistingDiscoveryServiceIds(
+            ids(batch, ResourceCreateDTO::getDiscoveryServiceId));
+    Map<String, Long> existing =
+        repository.findIdsBySourceId(
+            batch.stream().map(upsert -> upsert.resource().getSourceId()).toList());
+
+    List<ResourceUpsertResultDTO> results = new ArrayList<>();
+    List<PendingUpsert> valid = new ArrayList<>();
+    for (PendingUpsert upsert : batch) {
+      ResourceCreateDTO resource = upsert.resource();
+      if (!organizations.contains(resource.getOrganizationId())) {
+        results.add(
+            failed(
+                upsert.line(),
+                resource.getSourceId(),
+                "Organization with id %s not found".formatted(resource.getOrganizationId())));
+      } else if (!accessForms.contains(resource.getAccessFormId())) {
+        results.add(
+            failed(
+                upsert.line(),
+                resource.getSourceId(),
+                new AccessFormNotFoundException(resource.getAccessFormId()).getMessage()));
+      } else if (!discoveryServices.contains(resource.getDiscoveryServiceId())) {
+        results.add(
+            failed(
+                upsert.line(),
+                resource.getSourceId(),
+                new DiscoveryServiceNotFoundException(resource.getDiscoveryServiceId())
+                    .getMessage()));
+      } else {
+        valid.add(upsert);
+      }
+    }
+
+    Iterator<Long> newIds =
+        repository
+            .allocateIds(
+                (int)
+                    valid.stream()
+                        .filter(upsert -> !existing.containsKey(upsert.resource().getSourceId()))
+                        .count())
+            .iterator();
+    List<ResourceBulkRepository.Row> rows =
+        valid.stream()
+            .map(
+                upsert -> {
+                  Long id = existing.get(upsert.resource().getSourceId());
+                  return new ResourceBulkRepository.Row(
+                      id == null ? newIds.next() : id, upsert.resource());
+                })
+            .toList();
+    int[] updateCounts = repository.upsert(rows);
+    for (int i = 0; i < rows.size(); i++) {
+      ResourceUpsertResultDTO.Status status =
+          !existing.containsKey(rows.get(i).resource().getSourceId())
+              ? ResourceUpsertResultDTO.Status.CREATED
+              : updateCounts[i] == 0
+                  ? ResourceUpsertResultDTO.Status.UNCHANGED
+                  : ResourceUpsertResultDTO.Status.UPDATED;
+      results.add(
+          ResourceUpsertResultDTO.builder()
+              .line(valid.get(i).line())
+              .sourceId(rows.get(i).resource().getSourceId())
+              .id(rows.get(i).id())
+              .status(status)
+              .build());
+    }
+    return results;
+  }
+
+  private static Set<Long> ids(List<PendingUpsert> batch, Function<ResourceCreateDTO, Long> id) {
+    return batch.stream().map(upsert -> id.apply(upsert.resource())).collect(Collectors.toSet());
+  }
+
+  private static ResourceUpsertResultDTO failed(int line, String sourceId, String error) {
+    return ResourceUpsertResultDTO.builder()
+        .line(line)
+        .sourceId(sourceId)
+        .status(ResourceUpsertResultDTO.Status.FAILED)
+        .error(error)
+        .build();
+  }
+
+  /** Loads the entities referenced by the DTOs with a single query, by id. */
+  private static <T, D> Map<Long, T> findAllById(
+      JpaRepository<T, Long> entityRepository,
+      List<D> dtos,
+      Function<D, Long> reference,
+      Function<T, Long> id) {
+    Set<Long> ids = dtos.stream().map(reference).collect(Collectors.toSet());
+    return entityRepository.findAllById(ids).stream()
+        .collect(Collectors.toMap(id, Function.identity()));
+  }
+
+  /** A valid line of a bulk upload, waiting for its batch to be upserted. */
+  private record PendingUpsert(int line, ResourceCreateDTO resource) {}
+
   private @NonNull List<ResourceWithStatusDTO> getResourceWithStatusDTOS(String negotiationId) {
     List<ResourceViewDTO> resourceViewDTOS = repository.findByNegotiation(negotiationId);
     log.debug(
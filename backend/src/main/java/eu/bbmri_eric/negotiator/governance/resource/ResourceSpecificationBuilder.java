@@ -48,6 +48,14 @@ public class ResourceSpecificationBuilder {
     };
   }
 
+  /** Specification matching the resources that are not withdrawn from their discovery service. */
+  public static Specification<Resource> notWithdrawn() {
+    return (root, query, criteriaBuilder) ->
+        criteriaBuilder.or(
+            criteriaBuilder.isNull(root.get("withdrawn")),
+            criteriaBuilder.isFalse(root.get("withdrawn")));
+  }
+
   private static boolean isPagingField(String fieldName) {
     return "page".equals(fieldName) || "size".equals(fieldName);
   }
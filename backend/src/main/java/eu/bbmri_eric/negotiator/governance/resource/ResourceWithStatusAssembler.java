@@ -1,8 +1,13 @@
 package eu.bbmri_eric.negotiator.governance.resource;
 
+import static eu.bbmri_eric.negotiator.common.LinkBuilder.getPageLinks;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import eu.bbmri_eric.negotiator.common.LinkBuilder;
+import eu.bbmri_eric.negotiator.governance.organization.OrganizationController;
+import eu.bbmri_eric.negotiator.governance.resource.dto.NegotiationResourceFilterDTO;
+import eu.bbmri_eric.negotiator.governance.resource.dto.OrganizationResourcesSummaryDTO;
 import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceWithStatusDTO;
 import eu.bbmri_eric.negotiator.info_requirement.InformationRequirementController;
 import eu.bbmri_eric.negotiator.info_requirement.InformationRequirementDTO;
@@ -14,27 +19,54 @@ import eu.bbmri_eric.negotiator.negotiation.NegotiationController;
 import eu.bbmri_eric.negotiator.negotiation.state_machine.resource.NegotiationResourceEvent;
 import eu.bbmri_eric.negotiator.negotiation.state_machine.resource.ResourceLifecycleService;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.extern.apachecommons.CommonsLog;
+import org.springframework.data.domain.Page;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
 
+/**
+ * Assembler of the resources of a negotiation with their status. The requirements, the submitted
+ * information and the possible lifecycle events needed for the links are loaded once per
+ * negotiation when assembling a collection, instead of once per resource.
+ */
 @Component
 @CommonsLog
 public class ResourceWithStatusAssembler
     implements RepresentationModelAssembler<
         ResourceWithStatusDTO, EntityModel<ResourceWithStatusDTO>> {
+  private static final LinkBuilder.Template SELF =
+      LinkBuilder.template(methodOn(ResourceController.class).getResourceById(null));
+  private static final LinkBuilder.Template RESOURCES =
+      LinkBuilder.template(ResourceController.class);
+  private static final LinkBuilder.Template SUBMISSION =
+      LinkBuilder.template(methodOn(InformationSubmissionController.class).getInfoSubmission(null));
+  private static final LinkBuilder.Template REQUIREMENT =
+      LinkBuilder.template(
+          methodOn(InformationRequirementController.class).findRequirementById(null));
+  private static final LinkBuilder.Template NEGOTIATION_RESOURCES =
+      LinkBuilder.template(
+          methodOn(NegotiationController.class).findResourcesForNegotiation(null, null));
+  private static final LinkBuilder.Template ORGANIZATION =
+      LinkBuilder.template(methodOn(OrganizationController.class).findById(null));
+  private static final LinkBuilder.Template EVENT =
+      LinkBuilder.template(
+          methodOn(NegotiationController.class).sendEventForNegotiationResource(null, null, null));
+
   private final ResourceLifecycleService resourceLifecycleService;
   private final InformationRequirementService informationRequirementService;
   private final InformationSubmissionService informationSubmissionService;
-  private static List<InformationRequirementDTO> requirementsCache = new ArrayList<>();
-  private List<SubmittedInformationDTO> submittedInformationCache = new ArrayList<>();
 
   public ResourceWithStatusAssembler(
       ResourceLifecycleService resourceLifecycleService,
@@ -48,48 +80,141 @@ public class ResourceWithStatusAssembler
   @Override
   public @NonNull EntityModel<ResourceWithStatusDTO> toModel(
       @NonNull ResourceWithStatusDTO entity) {
-    requirementsCache = informationRequirementService.getAllInformationRequirements();
-    submittedInformationCache =
-        informationSubmissionService.findAllForNegotiation(entity.getNegotiationId());
-    List<Link> links = addWebLinks(entity);
-    return EntityModel.of(entity).add(links);
+    LinkData data =
+        new LinkData(
+            informationRequirementService.getAllInformationRequirements(),
+            getSubmissionsByResource(entity.getNegotiationId()),
+            Map.of(entity.getSourceId(), getPossibleEvents(entity)));
+    return toModel(entity, data);
+  }
+
+  private @NonNull EntityModel<ResourceWithStatusDTO> toModel(
+      @NonNull ResourceWithStatusDTO entity, LinkData data) {
+    return EntityModel.of(entity).add(addWebLinks(entity, data));
   }
 
-  private @NonNull List<Link> addWebLinks(@NonNull ResourceWithStatusDTO entity) {
+  private @NonNull List<Link> addWebLinks(@NonNull ResourceWithStatusDTO entity, LinkData data) {
     List<Link> links = new ArrayList<>();
-    links.add(
-        WebMvcLinkBuilder.linkTo(methodOn(ResourceController.class).getResourceById(entity.getId()))
-            .withSelfRel());
-    links.add(linkTo(ResourceController.class).withRel("resources"));
-    addLifecycleLink(entity, links);
-    addSubmissionLinks(entity, links);
-    addRequirementLinks(links, entity.getId());
+    links.add(SELF.expand(entity.getId()).withSelfRel());
+    links.add(RESOURCES.expand().withRel("resources"));
+    addLifecycleLink(entity, links, data);
+    addSubmissionLinks(entity, links, data);
+    addRequirementLinks(links, entity.getId(), data);
     return links;
   }
 
   @Override
   public @NonNull CollectionModel<EntityModel<ResourceWithStatusDTO>> toCollectionModel(
       @NonNull Iterable<? extends ResourceWithStatusDTO> entities) {
-    return RepresentationModelAssembler.super
-        .toCollectionModel(entities)
-        .add(WebMvcLinkBuilder.linkTo(ResourceController.class).withRel("resources"));
+    return CollectionModel.of(toModels(entities)).add(RESOURCES.expand().withRel("resources"));
+  }
+
+  /**
+   * Creates the model of a page of the resources of a negotiation, with the links to the other
+   * pages of the same filtered list.
+   */
+  public @NonNull PagedModel<EntityModel<ResourceWithStatusDTO>> toPagedModel(
+      @NonNull Page<ResourceWithStatusDTO> page,
+      @NonNull NegotiationResourceFilterDTO filters,
+      @NonNull String negotiationId) {
+    PagedModel.PageMetadata pageMetadata =
+        new PagedModel.PageMetadata(
+            page.getSize(), page.getNumber(), page.getTotalElements(), page.getTotalPages());
+    List<Link> links = new ArrayList<>();
+    if (page.hasContent()) {
+      links.addAll(
+          getPageLinks(NEGOTIATION_RESOURCES.expand(negotiationId).toUri(), filters, pageMetadata));
+    }
+    links.add(RESOURCES.expand().withRel("resources"));
+    return PagedModel.of(toModels(page.getContent()), pageMetadata, links);
+  }
+
+  /**
+   * Creates the model of the resources of a negotiation grouped by organization. Each organization
+   * links to itself and to the resources of the negotiation that belong to it.
+   */
+  public @NonNull CollectionModel<EntityModel<OrganizationResourcesSummaryDTO>>
+      toSummaryCollectionModel(
+          @NonNull List<OrganizationResourcesSummaryDTO> summaries, @NonNull String negotiationId) {
+    List<EntityModel<OrganizationResourcesSummaryDTO>> models = new ArrayList<>();
+    for (OrganizationResourcesSummaryDTO summary : summaries) {
+      Long organizationId = summary.getOrganization().getId();
+      models.add(
+          EntityModel.of(
+              summary,
+              ORGANIZATION.expand(organizationId).withRel("organization"),
+              Link.of(
+                      UriComponentsBuilder.fromUri(
+                              NEGOTIATION_RESOURCES.expand(negotiationId).toUri())
+                          .queryParam("organizationId", organizationId)
+                          .toUriString())
+                  .withRel("organization_resources")));
+    }
+    return CollectionModel.of(models);
+  }
+
+  /** Adds the links to the actions that only administrators can perform on the resources. */
+  public <T extends CollectionModel<EntityModel<ResourceWithStatusDTO>>> @NonNull T addAdminLinks(
+      @NonNull T model, String negotiationId) {
+    model.add(
+        linkTo(
+                WebMvcLinkBuilder.methodOn(NegotiationController.class)
+                    .updateResources(negotiationId, null))
+            .withRel("add_resources"));
+    return model;
+  }
+
+  private List<EntityModel<ResourceWithStatusDTO>> toModels(
+      Iterable<? extends ResourceWithStatusDTO> entities) {
+    List<InformationRequirementDTO> requirements =
+        informationRequirementService.getAllInformationRequirements();
+    Map<String, LinkData> dataByNegotiation = new HashMap<>();
+    List<EntityModel<ResourceWithStatusDTO>> models = new ArrayList<>();
+    for (ResourceWithStatusDTO entity : entities) {
+      LinkData data =
+          dataByNegotiation.computeIfAbsent(
+              entity.getNegotiationId(),
+              negotiationId ->
+                  new LinkData(
+                      requirements,
+                      getSubmissionsByResource(negotiationId),
+                      getPossibleEventsForAllResources(negotiationId)));
+      models.add(toModel(entity, data));
+    }
+    return models;
+  }
+
+  private Map<Long, List<SubmittedInformationDTO>> getSubmissionsByResource(String negotiationId) {
+    return informationSubmissionService.findAllForNegotiation(negotiationId).stream()
+        .collect(Collectors.groupingBy(SubmittedInformationDTO::getResourceId));
   }
 
-  public @NonNull CollectionModel<EntityModel<ResourceWithStatusDTO>>
-      toCollectionModelWithAdminLinks(
-          @NonNull Iterable<? extends ResourceWithStatusDTO> entities, String negotiationId) {
-    return toCollectionModel(entities)
-        .add(
-            linkTo(
-                    WebMvcLinkBuilder.methodOn(NegotiationController.class)
-                        .updateResources(negotiationId, null))
-                .withRel("add_resources"));
+  private Set<NegotiationResourceEvent> getPossibleEvents(ResourceWithStatusDTO entity) {
+    try {
+      return resourceLifecycleService.getPossibleEvents(
+          entity.getNegotiationId(), entity.getSourceId());
+    } catch (Exception e) {
+      log.error("Could not attach lifecycle links: " + e.getMessage());
+      return Set.of();
+    }
+  }
+
+  private Map<String, Set<NegotiationResourceEvent>> getPossibleEventsForAllResources(
+      String negotiationId) {
+    try {
+      return resourceLifecycleService.getPossibleEventsForAllResources(negotiationId);
+    } catch (Exception e) {
+      log.error("Could not attach lifecycle links: " + e.getMessage());
+      return Map.of();
+    }
   }
 
-  private void addSubmissionLinks(@NonNull ResourceWithStatusDTO entity, List<Link> links) {
+  private void addSubmissionLinks(
+      @NonNull ResourceWithStatusDTO entity, List<Link> links, LinkData data) {
     try {
-      for (SubmittedInformationDTO info : submittedInformationCache) {
-        addSubmissionLink(entity, links, info);
+      for (SubmittedInformationDTO info :
+          data.submissionsByResource().getOrDefault(entity.getId(), List.of())) {
+        addSubmissionLink(links, info, data);
       }
     } catch (Exception e) {
       log.error("Could not attach submission links: " + e.getMessage());
@@ -97,27 +222,26 @@ public class ResourceWithStatusAssembler
   }
 
   private static void addSubmissionLink(
-      @NonNull ResourceWithStatusDTO entity, List<Link> links, SubmittedInformationDTO info) {
-    if (info.getResourceId().equals(entity.getId())) {
-      String name =
-          requirementsCache.stream()
-              .filter(dto -> dto.getId().equals(info.getRequirementId()))
-              .findFirst()
-              .get()
-              .getRequiredAccessForm()
-              .getName();
-      links.add(
-          linkTo(methodOn(InformationSubmissionController.class).getInfoSubmission(info.getId()))
-              .withRel("submission-%s".formatted(info.getId()))
-              .withTitle("Submitted Information")
-              .withName(name));
-    }
+      List<Link> links, SubmittedInformationDTO info, LinkData data) {
+    String name =
+        data.requirements().stream()
+            .filter(dto -> dto.getId().equals(info.getRequirementId()))
+            .findFirst()
+            .get()
+            .getRequiredAccessForm()
+            .getName();
+    links.add(
+        SUBMISSION
+            .expand(info.getId())
+            .withRel("submission-%s".formatted(info.getId()))
+            .withTitle("Submitted Information")
+            .withName(name));
   }
 
-  private void addRequirementLinks(List<Link> links, Long resourceId) {
+  private void addRequirementLinks(List<Link> links, Long resourceId, LinkData data) {
     try {
-      for (InformationRequirementDTO dto : requirementsCache) {
-        addRequirementLink(links, resourceId, dto);
+      for (InformationRequirementDTO dto : data.requirements()) {
+        addRequirementLink(links, resourceId, dto, data);
       }
     } catch (Exception e) {
       log.error("Could not attach requirement links: " + e.getMessage());
@@ -125,45 +249,47 @@ public class ResourceWithStatusAssembler
   }
 
   private void addRequirementLink(
-      List<Link> links, Long resourceId, InformationRequirementDTO dto) {
-    if (submittedInformationCache.stream()
-            .noneMatch(
-                i ->
-                    i.getResourceId().equals(resourceId)
-                        && i.getRequirementId().equals(dto.getId()))
+      List<Link> links, Long resourceId, InformationRequirementDTO dto, LinkData data) {
+    if (data.submissionsByResource().getOrDefault(resourceId, List.of()).stream()
+            .noneMatch(i -> i.getRequirementId().equals(dto.getId()))
         && links.stream()
             .anyMatch(
                 link -> link.getRel().toString().equals(dto.getForResourceEvent().toString()))) {
       links.add(
-          linkTo(methodOn(InformationRequirementController.class).findRequirementById(dto.getId()))
+          REQUIREMENT
+              .expand(dto.getId())
               .withRel("requirement-%s".formatted(dto.getId()))
               .withTitle(dto.getRequiredAccessForm().getName())
               .withName(dto.getForResourceEvent().toString() + " requirement"));
     }
   }
 
-  private void addLifecycleLink(@NonNull ResourceWithStatusDTO entity, List<Link> links) {
-    try {
-      Set<NegotiationResourceEvent> events =
-          resourceLifecycleService.getPossibleEvents(
-              entity.getNegotiationId(), entity.getSourceId());
-      for (NegotiationResourceEvent event : events) {
-        addLifecycleEventLink(entity, event, links);
-      }
-    } catch (Exception e) {
-      log.error("Could not attach lifecycle links: " + e.getMessage());
+  private void addLifecycleLink(
+      @NonNull ResourceWithStatusDTO entity, List<Link> links, LinkData data) {
+    for (NegotiationResourceEvent event :
+        data.eventsByResource().getOrDefault(entity.getSourceId(), Set.of())) {
+      addLifecycleEventLink(entity, event, links);
     }
   }
 
   private static void addLifecycleEventLink(
       @NonNull ResourceWithStatusDTO entity, NegotiationResourceEvent event, List<Link> links) {
     links.add(
-        linkTo(
-                methodOn(NegotiationController.class)
-                    .sendEventForNegotiationResource(
-                        entity.getNegotiationId(), entity.getSourceId(), event))
+        EVENT
+            .expand(entity.getNegotiationId(), entity.getSourceId(), event)
             .withRel(event.toString())
             .withTitle("Next Lifecycle event")
             .withName(event.getLabel()));
   }
+
+  /**
+   * The data needed to build the links of the resources of a negotiation, loaded for the request.
+   *
+   * @param submissionsByResource the submitted information by internal ID of the resource
+   * @param eventsByResource the possible lifecycle events by source ID of the resource
+   */
+  private record LinkData(
+      List<InformationRequirementDTO> requirements,
+      Map<Long, List<SubmittedInformationDTO>> submissionsByResource,
+      Map<String, Set<NegotiationResourceEvent>> eventsByResource) {}
 }
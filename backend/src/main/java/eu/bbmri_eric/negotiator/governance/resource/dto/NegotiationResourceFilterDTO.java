@@ -0,0 +1,48 @@
+package eu.bbmri_eric.negotiator.governance.resource.dto;
+
+import eu.bbmri_eric.negotiator.common.FilterDTO;
+import eu.bbmri_eric.negotiator.governance.resource.NegotiationResourceListView;
+import eu.bbmri_eric.negotiator.negotiation.state_machine.resource.NegotiationResourceState;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/** Filters for the resources of a negotiation. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Schema(description = "Parameters to filter the resources of a negotiation")
+public class NegotiationResourceFilterDTO implements FilterDTO {
+  @Schema(description = "The current state of the resources in the negotiation")
+  private NegotiationResourceState currentState;
+
+  @Schema(description = "The ID of the organization of the resources", example = "1")
+  private Long organizationId;
+
+  @Schema(
+      description =
+          "The representation of the resources. organizations returns, for each organization, the"
+              + " number of its resources in each state and is never paged",
+      example = "organizations")
+  private NegotiationResourceListView view = NegotiationResourceListView.full;
+
+  @Schema(description = "The page number required", example = "0")
+  @Min(value = 0, message = "Page number must be greater than or equal to 0")
+  private int page = 0;
+
+  @Schema(
+      description = "The size of the pages required. When 0, all the resources are returned",
+      example = "50")
+  @Min(value = 0, message = "Page size must be greater than or equal to 0")
+  private int size = 0;
+
+  public boolean isPaged() {
+    return size > 0;
+  }
+}
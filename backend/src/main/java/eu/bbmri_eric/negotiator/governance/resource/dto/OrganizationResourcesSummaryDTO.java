@@ -0,0 +1,35 @@
+package eu.bbmri_eric.negotiator.governance.resource.dto;
+
+import eu.bbmri_eric.negotiator.governance.organization.OrganizationDTO;
+import eu.bbmri_eric.negotiator.negotiation.state_machine.resource.NegotiationResourceState;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.hateoas.server.core.Relation;
+
+/** The resources of an organization in a negotiation, counted by state. */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Relation(collectionRelation = "organizations", itemRelation = "organization")
+@Schema(description = "The resources of an organization in a negotiation, counted by state")
+public class OrganizationResourcesSummaryDTO {
+  private OrganizationDTO organization;
+
+  @Schema(description = "The number of resources of the organization in the negotiation")
+  private long resources;
+
+  @Schema(
+      description =
+          "The number of resources in each state. Resources without a state are only counted in"
+              + " the total")
+  private Map<NegotiationResourceState, Long> resourcesByState;
+}
@@ -2,6 +2,7 @@ package eu.bbmri_eric.negotiator.governance.resource.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -17,13 +18,16 @@ import lombok.Setter;
 public class ResourceCreateDTO {
 
   @NotNull
+  @Size(max = 255)
   @Schema(description = "Name of the resource", example = "Clinical Data Repository")
   private String name;
 
+  @Size(max = 5000)
   @Schema(description = "Description of the resource", example = "A repository for clinical data.")
   private String description;
 
   @NotNull
+  @Size(max = 255)
   @Schema(description = "Source identifier of the resource", example = "SRC-56789")
   private String sourceId;
 
@@ -39,9 +43,11 @@ public class ResourceCreateDTO {
   @Schema(description = "ID of the discovery service associated with the resource", example = "10")
   private Long discoveryServiceId;
 
+  @Size(max = 255)
   @Schema(description = "Contact email for the resource", example = "support@resource.org")
   private String contactEmail;
 
+  @Size(max = 255)
   @Schema(description = "URI of the resource", example = "https://resource.org")
   private String uri;
 }
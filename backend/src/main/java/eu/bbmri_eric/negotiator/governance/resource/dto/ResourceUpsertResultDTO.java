@@ -0,0 +1,42 @@
+package eu.bbmri_eric.negotiator.governance.resource.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/** The outcome of the upsert of one line of a bulk upload of resources. */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "The outcome of the upsert of one line of a bulk upload of resources")
+public class ResourceUpsertResultDTO {
+  @Schema(description = "The number of the line in the upload, starting from 1", example = "1")
+  private int line;
+
+  @Schema(description = "Source identifier of the resource", example = "SRC-56789")
+  private String sourceId;
+
+  @Schema(description = "The id of the created or updated resource", example = "10001")
+  private Long id;
+
+  private Status status;
+
+  @Schema(description = "Why the line was rejected", example = "Organization 42 not found")
+  private String error;
+
+  public enum Status {
+    CREATED,
+    UPDATED,
+    UNCHANGED,
+    FAILED
+  }
+}
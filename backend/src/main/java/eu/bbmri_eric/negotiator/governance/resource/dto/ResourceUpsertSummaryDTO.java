@@ -0,0 +1,26 @@
+package eu.bbmri_eric.negotiator.governance.resource.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** The outcome of a bulk upload of resources, counted by status and per line. */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "The outcome of a bulk upload of resources")
+public class ResourceUpsertSummaryDTO {
+  private int created;
+  private int updated;
+  private int unchanged;
+  private int failed;
+
+  @Schema(description = "The outcome of each line, in the order of the upload")
+  private List<ResourceUpsertResultDTO> results;
+}
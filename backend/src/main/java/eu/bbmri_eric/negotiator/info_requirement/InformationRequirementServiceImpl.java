@@ -1,5 +1,7 @@
 package eu.bbmri_eric.negotiator.info_requirement;
 
+import eu.bbmri_eric.negotiator.common.ContentScope;
+import eu.bbmri_eric.negotiator.common.ContentVersionRepository;
 import eu.bbmri_eric.negotiator.common.exceptions.EntityNotFoundException;
 import eu.bbmri_eric.negotiator.form.AccessForm;
 import eu.bbmri_eric.negotiator.form.repository.AccessFormRepository;
@@ -15,14 +17,17 @@ public class InformationRequirementServiceImpl implements InformationRequirement
   private final InformationRequirementRepository requirementRepository;
   private final AccessFormRepository accessFormRepository;
   private final ModelMapper modelMapper;
+  private final ContentVersionRepository contentVersionRepository;
 
   public InformationRequirementServiceImpl(
       InformationRequirementRepository requirementRepository,
       AccessFormRepository accessFormRepository,
-      ModelMapper modelMapper) {
+      ModelMapper modelMapper,
+      ContentVersionRepository contentVersionRepository) {
     this.requirementRepository = requirementRepository;
     this.accessFormRepository = accessFormRepository;
     this.modelMapper = modelMapper;
+    this.contentVersionRepository = contentVersionRepository;
   }
 
   @Override
@@ -33,6 +38,7 @@ public class InformationRequirementServiceImpl implements InformationRequirement
     InformationRequirement requirement =
         new InformationRequirement(
             accessForm, createDTO.getForResourceEvent(), createDTO.isViewableOnlyByAdmin());
+    contentVersionRepository.increment(ContentScope.INFORMATION_REQUIREMENTS);
     return mapToDTO(requirementRepository.save(requirement));
   }
 
@@ -44,6 +50,7 @@ public class InformationRequirementServiceImpl implements InformationRequirement
     AccessForm accessForm = findAccessFormById(createDTO.getRequiredAccessFormId());
     requirement.setRequiredAccessForm(accessForm);
     requirement.setForEvent(createDTO.getForResourceEvent());
+    contentVersionRepository.increment(ContentScope.INFORMATION_REQUIREMENTS);
     return mapToDTO(requirementRepository.save(requirement));
   }
 
@@ -61,6 +68,7 @@ public class InformationRequirementServiceImpl implements InformationRequirement
   public void deleteInformationRequirement(Long id) {
     InformationRequirement requirement = findInformationRequirementById(id);
     requirementRepository.deleteById(requirement.getId());
+    contentVersionRepository.increment(ContentScope.INFORMATION_REQUIREMENTS);
   }
 
   private void validateInformationRequirementCreateDTO(InformationRequirementCreateDTO createDTO) {
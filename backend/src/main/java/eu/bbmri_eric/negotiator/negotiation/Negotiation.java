@@ -23,9 +23,14 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -35,6 +40,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.Hibernate;
 import org.hibernate.annotations.Formula;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UuidGenerator;
@@ -58,6 +64,7 @@ public class Negotiation extends AuditEntity {
 
   @OneToMany(
       mappedBy = "negotiation",
+      fetch = FetchType.LAZY,
       cascade = {CascadeType.MERGE})
   @Builder.Default
   private Set<Attachment> attachments = new HashSet<>();
@@ -82,6 +89,12 @@ public class Negotiation extends AuditEntity {
   @Setter(AccessLevel.PRIVATE)
   private Set<NegotiationResourceLink> resourcesLink = new HashSet<>();
 
+  /** Index of the resource links by the source ID of their resource, built on first access. */
+  @Transient
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private Map<String, NegotiationResourceLink> resourcesLinkBySourceId;
+
   @Formula(value = "JSONB_EXTRACT_PATH_TEXT(payload, 'project', 'title')")
   private String title;
 
@@ -127,17 +140,45 @@ public class Negotiation extends AuditEntity {
     this.lifecycleHistory.add(NegotiationLifecycleRecord.builder().changedTo(currentState).build());
   }
 
+  /**
+   * Applies a change of state whose record was already inserted on its own, so that this instance
+   * stays consistent with the database. The record is added to the history only if the history was
+   * already loaded.
+   *
+   * @param record of the change of state
+   */
+  public void applyStateChange(NegotiationLifecycleRecord record) {
+    this.currentState = record.getChangedTo();
+    if (Hibernate.isInitialized(this.lifecycleHistory)) {
+      this.lifecycleHistory.add(record);
+    }
+  }
+
+  /**
+   * Applies a change of state of a linked Resource whose record was already inserted on its own, so
+   * that this instance stays consistent with the database. The resource links and the history are
+   * updated only if they were already loaded.
+   *
+   * @param resourceId the source/external ID of the Resource. Not the internal ID!
+   * @param record of the change of state
+   */
+  public void applyResourceStateChange(
+      String resourceId, NegotiationResourceLifecycleRecord record) {
+    if (Hibernate.isInitialized(this.resourcesLink)) {
+      getResourceLink(resourceId).setCurrentState(record.getChangedTo());
+    }
+    if (Hibernate.isInitialized(this.negotiationResourceLifecycleRecords)) {
+      this.negotiationResourceLifecycleRecords.add(record);
+    }
+  }
+
   /**
    * Gets the current state for a liked Resource.
    *
    * @param resourceId the source/external ID of the Resource. Not the internal ID!
    */
   public NegotiationResourceState getCurrentStateForResource(String resourceId) {
-    return this.resourcesLink.stream()
-        .filter(link -> link.getResource().getSourceId().equals(resourceId))
-        .findFirst()
-        .orElseThrow(IllegalArgumentException::new)
-        .getCurrentState();
+    return getResourceLink(resourceId).getCurrentState();
   }
 
   /**
@@ -147,15 +188,40 @@ public class Negotiation extends AuditEntity {
    * @param state to be set.
    */
   public void setStateForResource(String resourceId, NegotiationResourceState state) {
-    NegotiationResourceLink link =
-        this.resourcesLink.stream()
-            .filter(resourceLink -> resourceLink.getResource().getSourceId().equals(resourceId))
-            .findFirst()
-            .orElseThrow(IllegalArgumentException::new);
+    NegotiationResourceLink link = getResourceLink(resourceId);
     link.setCurrentState(state);
     buildResourceStateChangeRecord(link.getResource(), state);
   }
 
+  /**
+   * Sets the same state for several linked Resources.
+   *
+   * @param resourceIds the source/external IDs of the Resources. Not the internal IDs!
+   * @param state to be set.
+   * @throws IllegalArgumentException if any of the Resources is not linked. In that case no state
+   *     is changed.
+   */
+  public void setStateForResources(Collection<String> resourceIds, NegotiationResourceState state) {
+    List<NegotiationResourceLink> links = resourceIds.stream().map(this::getResourceLink).toList();
+    for (NegotiationResourceLink link : links) {
+      link.setCurrentState(state);
+      buildResourceStateChangeRecord(link.getResource(), state);
+    }
+  }
+
+  /**
+   * Gets the linked Resources that are currently in a state.
+   *
+   * @param state of the Resources
+   * @return the Resources in that state
+   */
+  public Set<Resource> getResourcesInState(NegotiationResourceState state) {
+    return getResourcesLink().stream()
+        .filter(link -> Objects.equals(link.getCurrentState(), state))
+        .map(NegotiationResourceLink::getResource)
+        .collect(Collectors.toSet());
+  }
+
   public Set<Resource> getResources() {
     return getResourcesLink().stream()
         .map(NegotiationResourceLink::getResource)
@@ -185,6 +251,7 @@ public class Negotiation extends AuditEntity {
    */
   public void setResources(Set<Resource> resources) {
     this.resourcesLink.clear();
+    this.resourcesLinkBySourceId = null;
     resources.forEach(this::addResource);
   }
 
@@ -195,7 +262,30 @@ public class Negotiation extends AuditEntity {
    * @param resource to be linked.
    */
   public boolean addResource(Resource resource) {
-    return this.resourcesLink.add(new NegotiationResourceLink(this, resource, null));
+    NegotiationResourceLink link = new NegotiationResourceLink(this, resource, null);
+    if (!this.resourcesLink.add(link)) {
+      return false;
+    }
+    if (this.resourcesLinkBySourceId != null) {
+      this.resourcesLinkBySourceId.putIfAbsent(resource.getSourceId(), link);
+    }
+    return true;
+  }
+
+  private NegotiationResourceLink getResourceLink(String resourceId) {
+    if (this.resourcesLinkBySourceId == null
+        || this.resourcesLinkBySourceId.size() != this.resourcesLink.size()) {
+      Map<String, NegotiationResourceLink> index = new HashMap<>();
+      for (NegotiationResourceLink link : this.resourcesLink) {
+        index.putIfAbsent(link.getResource().getSourceId(), link);
+      }
+      this.resourcesLinkBySourceId = index;
+    }
+    NegotiationResourceLink link = this.resourcesLinkBySourceId.get(resourceId);
+    if (link == null) {
+      throw new IllegalArgumentException();
+    }
+    return link;
   }
 
   private void buildResourceStateChangeRecord(Resource resource, NegotiationResourceState state) {
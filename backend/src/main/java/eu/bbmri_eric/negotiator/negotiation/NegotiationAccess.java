@@ -0,0 +1,41 @@
+package eu.bbmri_eric.negotiator.negotiation;
+
+/**
+ * The roles a user has in a Negotiation, encoded as a bitset.
+ *
+ * @param roles bitwise OR of {@link #AUTHOR}, {@link #REPRESENTATIVE} and {@link #NETWORK_MANAGER}
+ */
+public record NegotiationAccess(int roles) {
+
+  /** The user created the Negotiation. */
+  public static final int AUTHOR = 1;
+
+  /** The user represents at least one of the resources of the Negotiation. */
+  public static final int REPRESENTATIVE = 1 << 1;
+
+  /** The user manages a network including at least one of the resources of the Negotiation. */
+  public static final int NETWORK_MANAGER = 1 << 2;
+
+  public static final NegotiationAccess NONE = new NegotiationAccess(0);
+
+  public boolean isAuthor() {
+    return (roles & AUTHOR) != 0;
+  }
+
+  public boolean isRepresentative() {
+    return (roles & REPRESENTATIVE) != 0;
+  }
+
+  public boolean isNetworkManager() {
+    return (roles & NETWORK_MANAGER) != 0;
+  }
+
+  /**
+   * Whether the user takes part in the Negotiation in any role.
+   *
+   * @return true if any role is set
+   */
+  public boolean isParticipant() {
+    return roles != 0;
+  }
+}
@@ -4,6 +4,16 @@ import eu.bbmri_eric.negotiator.common.exceptions.ForbiddenRequestException;
 
 /** Access verifier for individual Negotiations. */
 public interface NegotiationAccessManager {
+  /**
+   * Evaluates the roles of the user in a Negotiation. The result is memoised for the current
+   * request, so repeated checks on the same Negotiation do not query the database again.
+   *
+   * @param negotiationId the ID of the Negotiation
+   * @param userID the ID of the User
+   * @return the roles of the user in the Negotiation
+   */
+  NegotiationAccess getAccessForNegotiation(String negotiationId, Long userID);
+
   /**
    * Verifies that the user has read access on public attributes of a Negotiation.
    *
@@ -2,28 +2,39 @@ package eu.bbmri_eric.negotiator.negotiation;
 
 import eu.bbmri_eric.negotiator.common.AuthenticatedUserContext;
 import eu.bbmri_eric.negotiator.common.exceptions.ForbiddenRequestException;
-import eu.bbmri_eric.negotiator.user.PersonRepository;
+import java.util.HashMap;
+import java.util.Map;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.server.ResponseStatusException;
 
 @Service
 public class NegotiationAccessManagerImpl implements NegotiationAccessManager {
+  private static final String ACCESS_ATTRIBUTE =
+      NegotiationAccessManagerImpl.class.getName() + ".ACCESS";
+
   private final NegotiationRepository negotiationRepository;
-  private final PersonRepository personRepository;
 
-  public NegotiationAccessManagerImpl(
-      NegotiationRepository negotiationRepository, PersonRepository personRepository) {
+  public NegotiationAccessManagerImpl(NegotiationRepository negotiationRepository) {
     this.negotiationRepository = negotiationRepository;
-    this.personRepository = personRepository;
+  }
+
+  @Override
+  public NegotiationAccess getAccessForNegotiation(String negotiationId, Long userID) {
+    Map<String, NegotiationAccess> memo = getRequestMemo();
+    if (memo == null) {
+      return evaluateAccess(negotiationId, userID);
+    }
+    return memo.computeIfAbsent(
+        userID + ":" + negotiationId, key -> evaluateAccess(negotiationId, userID));
   }
 
   @Override
   public void verifyReadAccessForNegotiation(String negotiationId, Long userID) {
     if (!AuthenticatedUserContext.isCurrentlyAuthenticatedUserAdmin()
-        && !negotiationRepository.existsByIdAndCreatedBy_Id(negotiationId, userID)
-        && !personRepository.isRepresentativeOfAnyResourceOfNegotiation(userID, negotiationId)
-        && !personRepository.isManagerOfAnyResourceOfNegotiation(userID, negotiationId)) {
+        && !getAccessForNegotiation(negotiationId, userID).isParticipant()) {
       throw new ForbiddenRequestException("You are not allowed to perform this action");
     }
   }
@@ -32,8 +43,30 @@ public class NegotiationAccessManagerImpl implements NegotiationAccessManager {
   public void verifyUpdateAccessForNegotiation(String negotiationId, Long userID)
       throws ForbiddenRequestException {
     if (!AuthenticatedUserContext.isCurrentlyAuthenticatedUserAdmin()
-        && !negotiationRepository.existsByIdAndCreatedBy_Id(negotiationId, userID)) {
+        && !getAccessForNegotiation(negotiationId, userID).isAuthor()) {
       throw new ResponseStatusException(HttpStatus.FORBIDDEN);
     }
   }
+
+  private NegotiationAccess evaluateAccess(String negotiationId, Long userID) {
+    if (negotiationId == null || userID == null) {
+      return NegotiationAccess.NONE;
+    }
+    return new NegotiationAccess(negotiationRepository.findAccessRoles(negotiationId, userID));
+  }
+
+  /** Returns the memo of the current request, or null when not running in a request. */
+  @SuppressWarnings("unchecked")
+  private static Map<String, NegotiationAccess> getRequestMemo() {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes == null) {
+      return null;
+    }
+    Object memo = attributes.getAttribute(ACCESS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    if (memo == null) {
+      memo = new HashMap<String, NegotiationAccess>();
+      attributes.setAttribute(ACCESS_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+    }
+    return (Map<String, NegotiationAccess>) memo;
+  }
 }
@@ -1,13 +1,18 @@
 package eu.bbmri_eric.negotiator.negotiation;
 
 import eu.bbmri_eric.negotiator.common.AuthenticatedUserContext;
+import eu.bbmri_eric.negotiator.common.ConditionalRequests;
+import eu.bbmri_eric.negotiator.common.ContentScope;
+import eu.bbmri_eric.negotiator.governance.resource.NegotiationResourceListView;
 import eu.bbmri_eric.negotiator.governance.resource.ResourceService;
 import eu.bbmri_eric.negotiator.governance.resource.ResourceWithStatusAssembler;
+import eu.bbmri_eric.negotiator.governance.resource.dto.NegotiationResourceFilterDTO;
 import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceWithStatusDTO;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationCreateDTO;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationDTO;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationEventMetadataDTO;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationFilterDTO;
+import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationSummaryDTO;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationUpdateDTO;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationUpdateLifecycleDTO;
 import eu.bbmri_eric.negotiator.negotiation.dto.UpdateResourcesDTO;
@@ -27,6 +32,7 @@ import java.util.stream.Collectors;
 import lombok.extern.apachecommons.CommonsLog;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
@@ -43,6 +49,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 @RestController
@@ -52,6 +59,13 @@ import org.springframework.web.server.ResponseStatusException;
 @SecurityRequirement(name = "security_auth")
 public class NegotiationController {
 
+  /**
+   * The contents rendered with a negotiation: the links to the summaries of the information
+   * requirements, titled with the name of their access form.
+   */
+  private static final List<ContentScope> REPRESENTATION_SCOPES =
+      List.of(ContentScope.INFORMATION_REQUIREMENTS, ContentScope.ACCESS_FORMS);
+
   private final NegotiationService negotiationService;
 
   private final NegotiationLifecycleService negotiationLifecycleService;
@@ -64,6 +78,7 @@ public class NegotiationController {
 
   private final NegotiationModelAssembler assembler;
   private final ResourceWithStatusAssembler resourceWithStatusAssembler;
+  private final ConditionalRequests conditionalRequests;
 
   public NegotiationController(
       NegotiationService negotiationService,
@@ -72,7 +87,8 @@ public class NegotiationController {
       PersonService personService,
       ResourceService resourceService,
       NegotiationModelAssembler assembler,
-      ResourceWithStatusAssembler resourceWithStatusAssembler) {
+      ResourceWithStatusAssembler resourceWithStatusAssembler,
+      ConditionalRequests conditionalRequests) {
     this.negotiationService = negotiationService;
     this.negotiationLifecycleService = negotiationLifecycleService;
     this.resourceLifecycleService = resourceLifecycleService;
@@ -80,6 +96,7 @@ public class NegotiationController {
     this.resourceService = resourceService;
     this.assembler = assembler;
     this.resourceWithStatusAssembler = resourceWithStatusAssembler;
+    this.conditionalRequests = conditionalRequests;
   }
 
   /** Create a negotiation */
@@ -113,10 +130,15 @@ public class NegotiationController {
       summary = "Retrieve all negotiations",
       description =
           "Endpoint for fetching all negotiations stored in the database. Bellow is a list of supported filters")
-  public PagedModel<EntityModel<NegotiationDTO>> list(
+  public PagedModel<? extends EntityModel<?>> list(
       @Valid @Nullable @ParameterObject NegotiationFilterDTO filters) {
-    return assembler.toPagedModel(
-        (Page<NegotiationDTO>) negotiationService.findAllByFilters(filters), filters, null);
+    if (isSummaryView(filters)) {
+      return assembler.toSummaryPagedModel(
+          (Page<NegotiationSummaryDTO>) negotiationService.findSummariesByFilters(filters),
+          filters,
+          null);
+    }
+    return toPagedModel(negotiationService.findAllByFilters(filters), filters, null);
   }
 
   @GetMapping("/users/{id}/negotiations")
@@ -124,13 +146,22 @@ public class NegotiationController {
       summary = "Retrieve negotiations user is allowed to access",
       description =
           "Endpoint for fetching Negotiations user is allowed to see. Bellow is a list of supported filters")
-  public PagedModel<EntityModel<NegotiationDTO>> listRelated(
+  public PagedModel<? extends EntityModel<?>> listRelated(
       @Valid @PathVariable Long id,
       @Valid @Nullable @ParameterObject NegotiationFilterDTO filters) {
     checkAuthorization(id);
+    if (isSummaryView(filters)) {
+      return assembler.toSummaryPagedModel(
+          (Page<NegotiationSummaryDTO>)
+              negotiationService.findSummariesByFiltersForUser(filters, id),
+          filters,
+          id);
+    }
+    return toPagedModel(negotiationService.findByFiltersForUser(filters, id), filters, id);
+  }
 
-    return assembler.toPagedModel(
-        (Page<NegotiationDTO>) negotiationService.findByFiltersForUser(filters, id), filters, id);
+  private static boolean isSummaryView(@Nullable NegotiationFilterDTO filters) {
+    return filters != null && filters.getView() == NegotiationListView.summary;
   }
 
   private static void checkAuthorization(Long id) {
@@ -143,12 +174,24 @@ public class NegotiationController {
    * Fetch a negotiation
    *
    * @param id of the negotiation
-   * @return NegotiationDTO or 403
+   * @return NegotiationDTO, 304 if the copy cached by the client is current, or 403
    */
   @GetMapping("/negotiations/{id}")
-  public EntityModel<NegotiationDTO> retrieve(@Valid @PathVariable String id) {
-    NegotiationDTO negotiationDTO = negotiationService.findById(id, true);
+  public EntityModel<NegotiationDTO> retrieve(
+      @Valid @PathVariable String id, ServletWebRequest request) {
     boolean isAdmin = AuthenticatedUserContext.isCurrentlyAuthenticatedUserAdmin();
+    if (conditionalRequests.isNotModified(
+        request,
+        "negotiation",
+        negotiationService.findModifiedDate(id),
+        REPRESENTATION_SCOPES,
+        id,
+        getUserId(),
+        isAdmin,
+        negotiationService.findAuthorState(id))) {
+      return null;
+    }
+    NegotiationDTO negotiationDTO = negotiationService.findById(id, true);
     if (negotiationService.isNegotiationCreator(id) || isAdmin) {
       return assembler.toModelWithRequirementLink(negotiationDTO, isAdmin);
     }
@@ -245,15 +288,32 @@ public class NegotiationController {
   }
 
   @GetMapping(value = "/negotiations/{id}/resources")
-  @Operation(summary = "List all Resources in negotiation")
+  @Operation(
+      summary = "List all Resources in negotiation",
+      description =
+          "Lists the resources of the negotiation matching the filters. They are paged only if a"
+              + " page size is set. With the organizations view, the resources are counted by"
+              + " organization and state instead.")
   @SecurityRequirement(name = "security_auth")
-  public CollectionModel<EntityModel<ResourceWithStatusDTO>> findResourcesForNegotiation(
-      @PathVariable String id) {
+  public CollectionModel<? extends EntityModel<?>> findResourcesForNegotiation(
+      @PathVariable String id,
+      @Valid @Nullable @ParameterObject NegotiationResourceFilterDTO filters) {
+    if (filters == null) {
+      filters = new NegotiationResourceFilterDTO();
+    }
+    if (filters.getView() == NegotiationResourceListView.organizations) {
+      return resourceWithStatusAssembler.toSummaryCollectionModel(
+          resourceService.summarizeByOrganization(id, filters), id);
+    }
+    Page<ResourceWithStatusDTO> resources = resourceService.findAllInNegotiation(id, filters);
+    CollectionModel<EntityModel<ResourceWithStatusDTO>> model =
+        filters.isPaged()
+            ? resourceWithStatusAssembler.toPagedModel(resources, filters, id)
+            : resourceWithStatusAssembler.toCollectionModel(resources.getContent());
     if (AuthenticatedUserContext.isCurrentlyAuthenticatedUserAdmin()) {
-      return resourceWithStatusAssembler.toCollectionModelWithAdminLinks(
-          resourceService.findAllInNegotiation(id), id);
+      resourceWithStatusAssembler.addAdminLinks(model, id);
     }
-    return resourceWithStatusAssembler.toCollectionModel(resourceService.findAllInNegotiation(id));
+    return model;
   }
 
   @PatchMapping(value = "/negotiations/{id}/resources")
@@ -265,6 +325,14 @@ public class NegotiationController {
         resourceService.updateResourcesInANegotiation(id, updateResourcesDTO));
   }
 
+  private PagedModel<EntityModel<NegotiationDTO>> toPagedModel(
+      Iterable<NegotiationDTO> negotiations, NegotiationFilterDTO filters, Long userId) {
+    if (negotiations instanceof Window<NegotiationDTO> window) {
+      return assembler.toCursorModel(window, filters, userId);
+    }
+    return assembler.toPagedModel((Page<NegotiationDTO>) negotiations, filters, userId);
+  }
+
   private boolean isAuthorizedForNegotiation(NegotiationDTO negotiationDTO) {
     return isCreator(negotiationDTO)
         || personService.isRepresentativeOfAnyResourceOfNegotiation(
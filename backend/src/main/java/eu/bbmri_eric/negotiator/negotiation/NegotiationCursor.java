@@ -0,0 +1,66 @@
+package eu.bbmri_eric.negotiator.negotiation;
+
+import eu.bbmri_eric.negotiator.common.exceptions.WrongRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+/**
+ * Opaque cursor used for keyset pagination of Negotiations. It encodes the creation date and the id
+ * of the last Negotiation of a page, which are the keys Negotiations are sorted by in cursor mode.
+ */
+public final class NegotiationCursor {
+
+  static final String CREATION_DATE = "creationDate";
+  static final String ID = "id";
+
+  private static final String SEPARATOR = "|";
+
+  private NegotiationCursor() {}
+
+  /**
+   * Encodes the position of a Negotiation in a page as a cursor.
+   *
+   * @param position the keyset position of the Negotiation
+   * @return the opaque cursor
+   */
+  public static String encode(KeysetScrollPosition position) {
+    Map<String, ?> keys = position.getKeys();
+    String value = keys.get(CREATION_DATE) + SEPARATOR + keys.get(ID);
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a cursor into the position to continue from. A blank cursor denotes the first page.
+   *
+   * @param cursor the opaque cursor returned with a previous page
+   * @return the keyset position following the one encoded in the cursor
+   * @throws WrongRequestException if the cursor is malformed
+   */
+  public static KeysetScrollPosition decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return ScrollPosition.keyset();
+    }
+    try {
+      String value =
+          new String(Base64.getUrlDecoder().decode(cursor.strip()), StandardCharsets.UTF_8);
+      int separator = value.indexOf(SEPARATOR);
+      if (separator < 0) {
+        throw new WrongRequestException("Invalid pagination cursor");
+      }
+      Map<String, Object> keys = new LinkedHashMap<>();
+      keys.put(CREATION_DATE, LocalDateTime.parse(value.substring(0, separator)));
+      keys.put(ID, value.substring(separator + 1));
+      return ScrollPosition.forward(keys);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new WrongRequestException("Invalid pagination cursor");
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package eu.bbmri_eric.negotiator.negotiation;
+
+/** The representation used for the items of a list of negotiations. */
+public enum NegotiationListView {
+  /** The complete negotiation, including author details and payload. */
+  full,
+  /** Only the fields needed to display a list, read directly from the database. */
+  summary
+}
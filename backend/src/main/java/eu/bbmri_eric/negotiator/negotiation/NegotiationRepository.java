@@ -1,7 +1,9 @@
 package eu.bbmri_eric.negotiator.negotiation;
 
+import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationLifecycleView;
 import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationState;
 import eu.bbmri_eric.negotiator.negotiation.state_machine.resource.NegotiationResourceState;
+import eu.bbmri_eric.negotiator.negotiation.state_machine.resource.ResourceLifecycleView;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -9,34 +11,104 @@ import java.util.Optional;
 import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface NegotiationRepository
-    extends JpaRepository<Negotiation, String>, JpaSpecificationExecutor<Negotiation> {
+    extends JpaRepository<Negotiation, String>,
+        JpaSpecificationExecutor<Negotiation>,
+        NegotiationSummaryRepository {
 
   Optional<Negotiation> findDetailedById(String id);
 
   @Query(value = "SELECT currentState from Negotiation where id = :id")
   Optional<NegotiationState> findNegotiationStateById(String id);
 
-  List<Negotiation> findAllByCurrentState(NegotiationState state);
+  @Query(value = "SELECT modifiedDate from Negotiation where id = :id")
+  LocalDateTime findModifiedDateById(String id);
 
+  /**
+   * Returns the attributes of the author of a negotiation rendered with it, joined in a single
+   * string, so that a change to the author invalidates the cached copies of the negotiation.
+   */
   @Query(
       value =
           """
-            SELECT PERCENTILE_CONT(0.5)
-           WITHIN GROUP (ORDER BY EXTRACT(EPOCH FROM (nrlr.creation_date - n.creation_date)) / 86400)
-           AS median_days
-            FROM Negotiation n
-            LEFT JOIN public.negotiation_resource_lifecycle_record nrlr on n.id = nrlr.negotiation_id
-            left join public.network_resources_link nrl on nrlr.resource_id = nrl.resource_id
-            where nrl.network_id = :networkId and (nrlr.changed_to = 'CHECKING_AVAILABILITY' or nrlr.changed_to = 'RESOURCE_UNAVAILABLE')
-                    and Date(n.creation_date) > :since and Date(n.creation_date) <= :until
-        """,
+          SELECT concat_ws('|', p.id, p.subject_id, p.name, p.email, p.admin,
+              EXISTS (SELECT 1 FROM resource_representative_link l WHERE l.person_id = p.id),
+              EXISTS (SELECT 1 FROM network_person_link m WHERE m.person_id = p.id))
+          FROM negotiation n JOIN person p ON p.id = n.created_by
+          WHERE n.id = :id
+          """,
       nativeQuery = true)
-  Double getMedianResponseForNetwork(LocalDate since, LocalDate until, Long networkId);
+  Optional<String> findAuthorStateById(String id);
+
+  /** Returns the IDs of the access forms of the resources in a negotiation. */
+  @Query(
+      """
+      SELECT DISTINCT l.id.resource.accessForm.id FROM NegotiationResourceLink l
+      WHERE l.id.negotiation.id = :id
+      """)
+  List<Long> findAccessFormIdsOfResources(String id);
+
+  /**
+   * Returns the current state of a negotiation and whether the given person is its author.
+   *
+   * @param id the id of the negotiation
+   * @param personId the id of the person
+   */
+  @Query(
+      """
+      SELECT n.currentState AS state,
+             CASE WHEN n.createdBy.id = :personId THEN true ELSE false END AS author
+      FROM Negotiation n
+      WHERE n.id = :id
+      """)
+  Optional<NegotiationLifecycleView> findLifecycleViewById(String id, Long personId);
+
+  /**
+   * Moves a negotiation to a new state, provided that it is still in the state the transition was
+   * computed from.
+   *
+   * @return 1 if the state was changed, 0 if the negotiation is no longer in the source state
+   */
+  @Modifying(flushAutomatically = true)
+  @Query(
+      """
+      UPDATE Negotiation n
+      SET n.currentState = :target, n.modifiedDate = :modifiedDate
+      WHERE n.id = :id AND n.currentState = :source
+      """)
+  int updateState(
+      String id, NegotiationState source, NegotiationState target, LocalDateTime modifiedDate);
+
+  /**
+   * Moves a resource of a negotiation to a new state, provided that it is still in the state the
+   * transition was computed from and that the negotiation is in progress.
+   *
+   * @return 1 if the state was changed, 0 otherwise
+   */
+  @Modifying(flushAutomatically = true)
+  @Query(
+      """
+      UPDATE NegotiationResourceLink l
+      SET l.currentState = :target
+      WHERE l.id.negotiation.id = :negotiationId
+        AND l.id.resource.id IN (SELECT r.id FROM Resource r WHERE r.sourceId = :resourceId)
+        AND l.currentState = :source
+        AND EXISTS (SELECT 1 FROM Negotiation n
+                    WHERE n.id = :negotiationId
+                      AND n.currentState = eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationState.IN_PROGRESS)
+      """)
+  int updateResourceState(
+      String negotiationId,
+      String resourceId,
+      NegotiationResourceState source,
+      NegotiationResourceState target);
+
+  List<Negotiation> findAllByCurrentState(NegotiationState state);
 
   @Query(
       value =
@@ -52,6 +124,35 @@ public interface NegotiationRepository
 
   boolean existsByIdAndCreatedBy_Id(String negotiationId, Long personId);
 
+  /**
+   * Evaluates in a single query the roles the person has in the negotiation.
+   *
+   * @return the roles as a {@link NegotiationAccess} bitset
+   */
+  @Query(
+      value =
+          """
+          SELECT (CASE WHEN EXISTS (
+                    SELECT 1 FROM negotiation n
+                    WHERE n.id = :negotiationId AND n.created_by = :personId)
+                  THEN 1 ELSE 0 END)
+               | (CASE WHEN EXISTS (
+                    SELECT 1
+                    FROM negotiation_resource_link nrl
+                        JOIN resource_representative_link rrl ON rrl.resource_id = nrl.resource_id
+                    WHERE nrl.negotiation_id = :negotiationId AND rrl.person_id = :personId)
+                  THEN 2 ELSE 0 END)
+               | (CASE WHEN EXISTS (
+                    SELECT 1
+                    FROM negotiation_resource_link nrl
+                        JOIN network_resources_link nwrl ON nwrl.resource_id = nrl.resource_id
+                        JOIN network_person_link npl ON npl.network_id = nwrl.network_id
+                    WHERE nrl.negotiation_id = :negotiationId AND npl.person_id = :personId)
+                  THEN 4 ELSE 0 END)
+          """,
+      nativeQuery = true)
+  int findAccessRoles(String negotiationId, Long personId);
+
   @Query(
       value =
           "SELECT EXISTS ("
@@ -64,16 +165,109 @@ public interface NegotiationRepository
       nativeQuery = true)
   boolean isOrganizationPartOfNegotiation(String negotiationId, String organizationExternalId);
 
+  @Query(
+      value = "SELECT n FROM Negotiation n WHERE n.creationDate >= :from AND n.creationDate < :to")
+  Set<Negotiation> findAllCreatedBetween(LocalDateTime from, LocalDateTime to);
+
+  default Set<Negotiation> findAllCreatedOn(LocalDateTime targetDate) {
+    LocalDate day = targetDate.toLocalDate();
+    return findAllCreatedBetween(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+  }
+
+  /**
+   * Finds the representatives of the organizations that have not reacted to the negotiations
+   * created in the given time range. An organization has reacted when one of its resources in the
+   * negotiation left the REPRESENTATIVE_CONTACTED state, or when one of the representatives of its
+   * resources in the negotiation posted a message.
+   *
+   * @param from inclusive lower bound of the creation date of the negotiations
+   * @param to exclusive upper bound of the creation date of the negotiations
+   * @return one entry per negotiation and representative to remind
+   */
+  @Query(
+      value =
+          """
+          SELECT DISTINCT n.id AS "negotiationId",
+                          rrl.person_id AS "representativeId",
+                          author.name AS "authorName"
+          FROM negotiation n
+              JOIN negotiation_resource_link nrl ON nrl.negotiation_id = n.id
+              JOIN resource r ON r.id = nrl.resource_id
+              JOIN resource_representative_link rrl ON rrl.resource_id = r.id
+              LEFT JOIN person author ON author.id = n.created_by
+          WHERE n.creation_date >= :from AND n.creation_date < :to
+            AND NOT EXISTS (
+                SELECT 1
+                FROM negotiation_resource_link onrl
+                    JOIN resource orr ON orr.id = onrl.resource_id
+                WHERE onrl.negotiation_id = n.id
+                  AND orr.organization_id = r.organization_id
+                  AND onrl.current_state IS DISTINCT FROM 'REPRESENTATIVE_CONTACTED')
+            AND NOT EXISTS (
+                SELECT 1
+                FROM post p
+                    JOIN resource_representative_link prrl ON prrl.person_id = p.created_by
+                    JOIN negotiation_resource_link pnrl
+                        ON pnrl.resource_id = prrl.resource_id AND pnrl.negotiation_id = n.id
+                    JOIN resource pr ON pr.id = prrl.resource_id
+                WHERE p.negotiation_id = n.id
+                  AND pr.organization_id = r.organization_id)
+          """,
+      nativeQuery = true)
+  List<UnansweredRepresentative> findUnansweredRepresentatives(
+      LocalDateTime from, LocalDateTime to);
+
+  /**
+   * Returns the current state of a resource in a negotiation, together with the state of the
+   * negotiation and whether the given person is its author or a representative of the resource.
+   *
+   * @param negotiationId the id of the negotiation
+   * @param resourceId the source id of the resource
+   * @param personId the id of the person
+   */
   @Query(
       value =
-          "select count (distinct n.id) "
-              + "FROM Negotiation n "
-              + "JOIN n.resourcesLink rl "
-              + "JOIN rl.id.resource rs "
-              + "JOIN rs.networks net "
-              + "WHERE net.id = :networkId and DATE(n.creationDate) > :since and DATE(n.creationDate) <= :until")
-  Integer countAllForNetwork(LocalDate since, LocalDate until, Long networkId);
-
-  @Query(value = "SELECT n FROM Negotiation n WHERE FUNCTION('DATE', n.creationDate) = :targetDate")
-  Set<Negotiation> findAllCreatedOn(LocalDateTime targetDate);
+          """
+          SELECT r.source_id AS "resourceId",
+                 nrl.current_state AS "resourceState",
+                 n.current_state AS "negotiationState",
+                 COALESCE(n.created_by = :personId, false) AS "author",
+                 EXISTS (SELECT 1
+                         FROM resource_representative_link rrl
+                         WHERE rrl.resource_id = r.id AND rrl.person_id = :personId)
+                     AS "representative"
+          FROM negotiation n
+              JOIN negotiation_resource_link nrl ON nrl.negotiation_id = n.id
+              JOIN resource r ON r.id = nrl.resource_id
+          WHERE n.id = :negotiationId AND r.source_id = :resourceId
+          """,
+      nativeQuery = true)
+  Optional<ResourceLifecycleView> findResourceLifecycleView(
+      String negotiationId, String resourceId, Long personId);
+
+  /**
+   * Returns the current state of all the resources of a negotiation, as in {@link
+   * #findResourceLifecycleView(String, String, Long)}.
+   *
+   * @param negotiationId the id of the negotiation
+   * @param personId the id of the person
+   */
+  @Query(
+      value =
+          """
+          SELECT r.source_id AS "resourceId",
+                 nrl.current_state AS "resourceState",
+                 n.current_state AS "negotiationState",
+                 COALESCE(n.created_by = :personId, false) AS "author",
+                 EXISTS (SELECT 1
+                         FROM resource_representative_link rrl
+                         WHERE rrl.resource_id = r.id AND rrl.person_id = :personId)
+                     AS "representative"
+          FROM negotiation n
+              JOIN negotiation_resource_link nrl ON nrl.negotiation_id = n.id
+              JOIN resource r ON r.id = nrl.resource_id
+          WHERE n.id = :negotiationId
+          """,
+      nativeQuery = true)
+  List<ResourceLifecycleView> findResourceLifecycleViews(String negotiationId, Long personId);
 }
@@ -5,10 +5,13 @@ import eu.bbmri_eric.negotiator.common.exceptions.EntityNotStorableException;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationCreateDTO;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationDTO;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationFilterDTO;
+import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationSummaryDTO;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationUpdateDTO;
 import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationState;
+import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
 
 public interface NegotiationService {
 
@@ -65,7 +68,8 @@ public interface NegotiationService {
    * Retrieves all the Negotiations, using pagination, filtered by provided filters and
    *
    * @param filters A NegotiationFilterDTO with filters to apply
-   * @return A paged list of NegotiationDTOs filtered using specific filters
+   * @return A paged list of NegotiationDTOs filtered using specific filters. If the filters contain
+   *     a cursor, a {@link org.springframework.data.domain.Window} following it
    */
   Iterable<NegotiationDTO> findAllByFilters(NegotiationFilterDTO filters);
 
@@ -76,10 +80,30 @@ public interface NegotiationService {
    * @param filters A NegotiationFilterDTO with filters to apply
    * @param userId The userId of the user that is involved (AUTHOR or REPR) in the Negotiations
    * @return A paged list of NegotiationDTOs where the user is involved, filtered using specific
-   *     filters
+   *     filters. If the filters contain a cursor, a {@link org.springframework.data.domain.Window}
+   *     following it
    */
   Iterable<NegotiationDTO> findByFiltersForUser(NegotiationFilterDTO filters, Long userId);
 
+  /**
+   * Retrieves the summaries of the Negotiations, using pagination, filtered by provided filters
+   *
+   * @param filters A NegotiationFilterDTO with filters to apply
+   * @return A paged list of NegotiationSummaryDTOs filtered using specific filters
+   */
+  Iterable<NegotiationSummaryDTO> findSummariesByFilters(NegotiationFilterDTO filters);
+
+  /**
+   * Retrieves the summaries of the negotiations, using pagination, filtered by provided filters and
+   * related (i.e., he or she is the AUTHOR or the REPRESENTATIVE) to a user
+   *
+   * @param filters A NegotiationFilterDTO with filters to apply
+   * @param userId The userId of the user that is involved (AUTHOR or REPR) in the Negotiations
+   * @return A paged list of NegotiationSummaryDTOs where the user is involved
+   */
+  Iterable<NegotiationSummaryDTO> findSummariesByFiltersForUser(
+      NegotiationFilterDTO filters, Long userId);
+
   /**
    * Retrieves the negotiation identified by :id. If includeDetails is true, also details of the
    * negotiation are returned (i.e., data about resources involved in the negotiation)
@@ -92,6 +116,28 @@ public interface NegotiationService {
    */
   NegotiationDTO findById(String id, boolean includeDetails);
 
+  /**
+   * Retrieves the date of the last modification of the negotiation identified by :id, after
+   * checking that the current user can read it. It is used to validate cached copies of the
+   * negotiation without loading it.
+   *
+   * @param id the id
+   * @return the modification date, or null if the negotiation has never been modified
+   * @throws EntityNotFoundException if the requested negotiation is not found
+   */
+  LocalDateTime findModifiedDate(String id);
+
+  /**
+   * Retrieves the state of the author of the negotiation identified by :id as rendered with it,
+   * after checking that the current user can read it. It is used, with the modification date, to
+   * validate cached copies of the negotiation without loading it.
+   *
+   * @param id the id
+   * @return an opaque value that changes with the author, or null if the negotiation has no author
+   */
+  @Nullable
+  String findAuthorState(String id);
+
   /**
    * Enables or disables private posts for negotiation with id negotiationId
    *
@@ -151,4 +197,13 @@ public interface NegotiationService {
    */
   Iterable<NegotiationDTO> findAllForNetwork(
       Long networkId, NegotiationFilterDTO negotiationFilterDTO);
+
+  /**
+   * Retrieves the summaries of all negotiations related to a network
+   *
+   * @param networkId the id of the network
+   * @return a paged list of NegotiationSummaryDTOs
+   */
+  Iterable<NegotiationSummaryDTO> findSummariesForNetwork(
+      Long networkId, NegotiationFilterDTO negotiationFilterDTO);
 }
@@ -1,6 +1,5 @@
 package eu.bbmri_eric.negotiator.negotiation;
 
-import eu.bbmri_eric.negotiator.attachment.Attachment;
 import eu.bbmri_eric.negotiator.attachment.AttachmentRepository;
 import eu.bbmri_eric.negotiator.attachment.dto.AttachmentMetadataDTO;
 import eu.bbmri_eric.negotiator.common.AuthenticatedUserContext;
@@ -13,6 +12,7 @@ import eu.bbmri_eric.negotiator.governance.network.NetworkRepository;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationCreateDTO;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationDTO;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationFilterDTO;
+import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationSummaryDTO;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationUpdateDTO;
 import eu.bbmri_eric.negotiator.negotiation.request.Request;
 import eu.bbmri_eric.negotiator.negotiation.request.RequestRepository;
@@ -20,8 +20,8 @@ import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.Negotiatio
 import eu.bbmri_eric.negotiator.notification.UserNotificationService;
 import eu.bbmri_eric.negotiator.user.Person;
 import eu.bbmri_eric.negotiator.user.PersonRepository;
-import eu.bbmri_eric.negotiator.user.PersonService;
 import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -31,9 +31,11 @@ import org.hibernate.exception.DataException;
 import org.modelmapper.ModelMapper;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
@@ -50,7 +52,6 @@ public class NegotiationServiceImpl implements NegotiationService {
   private NetworkRepository networkRepository;
   private ModelMapper modelMapper;
   private UserNotificationService userNotificationService;
-  private PersonService personService;
   private ApplicationEventPublisher eventPublisher;
   private NegotiationAccessManager negotiationAccessManager;
 
@@ -62,7 +63,6 @@ public class NegotiationServiceImpl implements NegotiationService {
       NetworkRepository networkRepository,
       ModelMapper modelMapper,
       UserNotificationService userNotificationService,
-      PersonService personService,
       ApplicationEventPublisher eventPublisher,
       NegotiationAccessManager negotiationAccessManager) {
     this.negotiationRepository = negotiationRepository;
@@ -72,15 +72,13 @@ public class NegotiationServiceImpl implements NegotiationService {
     this.networkRepository = networkRepository;
     this.modelMapper = modelMapper;
     this.userNotificationService = userNotificationService;
-    this.personService = personService;
     this.eventPublisher = eventPublisher;
     this.negotiationAccessManager = negotiationAccessManager;
   }
 
   @Override
   public boolean isNegotiationCreator(String negotiationId) {
-    return personRepository.isNegotiationCreator(
-        AuthenticatedUserContext.getCurrentlyAuthenticatedUserInternalId(), negotiationId);
+    return getCurrentUserAccess(negotiationId).isAuthor();
   }
 
   /**
@@ -92,9 +90,13 @@ public class NegotiationServiceImpl implements NegotiationService {
    */
   @Override
   public boolean isAuthorizedForNegotiation(String negotiationId) {
-    return isNegotiationCreator(negotiationId)
-        || personService.isRepresentativeOfAnyResourceOfNegotiation(
-            AuthenticatedUserContext.getCurrentlyAuthenticatedUserInternalId(), negotiationId);
+    NegotiationAccess access = getCurrentUserAccess(negotiationId);
+    return access.isAuthor() || access.isRepresentative();
+  }
+
+  private NegotiationAccess getCurrentUserAccess(String negotiationId) {
+    return negotiationAccessManager.getAccessForNegotiation(
+        negotiationId, AuthenticatedUserContext.getCurrentlyAuthenticatedUserInternalId());
   }
 
   public boolean isOrganizationPartOfNegotiation(
@@ -110,16 +112,6 @@ public class NegotiationServiceImpl implements NegotiationService {
             () -> new WrongRequestException("One or more of the specified requests do not exist"));
   }
 
-  private List<Attachment> findAttachments(Set<AttachmentMetadataDTO> attachmentDTOs) {
-    List<Attachment> entities =
-        attachmentRepository.findAllById(
-            attachmentDTOs.stream().map(AttachmentMetadataDTO::getId).collect(Collectors.toList()));
-    if (entities.size() < attachmentDTOs.size()) {
-      throw new WrongRequestException("One or more of the specified attachments do not exist");
-    }
-    return entities;
-  }
-
   @Override
   public boolean exists(String negotiationId) {
     return negotiationRepository.existsById(negotiationId);
@@ -158,8 +150,16 @@ public class NegotiationServiceImpl implements NegotiationService {
   }
 
   private void linkAttachments(NegotiationCreateDTO negotiationBody, Negotiation negotiation) {
-    List<Attachment> attachments = findAttachments(negotiationBody.getAttachments());
-    negotiation.setAttachments(new HashSet<>(attachments));
+    Set<String> attachmentIds =
+        negotiationBody.getAttachments().stream()
+            .map(AttachmentMetadataDTO::getId)
+            .collect(Collectors.toSet());
+    int linked =
+        attachmentRepository.linkToNegotiation(
+            attachmentIds, negotiation, negotiation.getModifiedBy(), negotiation.getModifiedDate());
+    if (linked < attachmentIds.size()) {
+      throw new WrongRequestException("One or more of the specified attachments do not exist");
+    }
   }
 
   private Negotiation buildNegotiation(NegotiationCreateDTO negotiationBody, Request request) {
@@ -194,7 +194,7 @@ public class NegotiationServiceImpl implements NegotiationService {
         && !AuthenticatedUserContext.isCurrentlyAuthenticatedUserAdmin()) {
       throw new ForbiddenRequestException("You are not allowed to update this entity");
     }
-    negotiationEntity.setPayload(updateDTO.getPayload().toString());
+    negotiationEntity.setPayload(updateDTO.getPayload());
     return modelMapper.map(negotiationEntity, NegotiationDTO.class);
   }
 
@@ -221,15 +221,53 @@ public class NegotiationServiceImpl implements NegotiationService {
       NegotiationFilterDTO filtersDTO, @Nullable Person user) {
     Specification<Negotiation> filtersSpec =
         NegotiationSpecification.fromNegotiationFilters(filtersDTO, user, null);
+    if (filtersDTO.getAfter() != null) {
+      return performKeysetQuery(filtersSpec, filtersDTO);
+    }
+    return negotiationRepository
+        .findAll(filtersSpec, toPageable(filtersDTO))
+        .map(negotiation -> modelMapper.map(negotiation, NegotiationDTO.class));
+  }
+
+  private Page<NegotiationSummaryDTO> performSummaryQuery(
+      NegotiationFilterDTO filtersDTO, @Nullable Person user, @Nullable Network network) {
+    if (filtersDTO.getAfter() != null) {
+      throw new WrongRequestException(
+          "Cursor pagination is not supported for the summary view of negotiations");
+    }
+    return negotiationRepository.findSummaries(
+        NegotiationSpecification.fromNegotiationFilters(filtersDTO, user, network),
+        toPageable(filtersDTO));
+  }
 
-    Pageable pageable =
-        PageRequest.of(
-            filtersDTO.getPage(),
-            filtersDTO.getSize(),
-            Sort.by(filtersDTO.getSortOrder(), filtersDTO.getSortBy().name()));
+  private static Pageable toPageable(NegotiationFilterDTO filtersDTO) {
+    return PageRequest.of(
+        filtersDTO.getPage(),
+        filtersDTO.getSize(),
+        Sort.by(filtersDTO.getSortOrder(), filtersDTO.getSortBy().name()));
+  }
 
+  /**
+   * Fetches the page following the cursor of the filters. Negotiations are sorted by creation date
+   * and id, so that the page is located with an index seek instead of skipping the previous rows,
+   * and no count query is performed.
+   */
+  private Window<NegotiationDTO> performKeysetQuery(
+      @Nullable Specification<Negotiation> filtersSpec, NegotiationFilterDTO filtersDTO) {
+    if (filtersDTO.getSortBy() != NegotiationSortField.creationDate) {
+      throw new WrongRequestException(
+          "Cursor pagination is only supported sorting by creationDate");
+    }
+    Sort sort =
+        Sort.by(filtersDTO.getSortOrder(), NegotiationCursor.CREATION_DATE, NegotiationCursor.ID);
     return negotiationRepository
-        .findAll(filtersSpec, pageable)
+        .findBy(
+            Specification.where(filtersSpec),
+            query ->
+                query
+                    .sortBy(sort)
+                    .limit(filtersDTO.getSize())
+                    .scroll(NegotiationCursor.decode(filtersDTO.getAfter())))
         .map(negotiation -> modelMapper.map(negotiation, NegotiationDTO.class));
   }
 
@@ -256,36 +294,51 @@ public class NegotiationServiceImpl implements NegotiationService {
   @Override
   public Iterable<NegotiationDTO> findByFiltersForUser(
       NegotiationFilterDTO filtersDTO, Long userId) {
-    Person user =
-        personRepository.findById(userId).orElseThrow(() -> new EntityNotFoundException(userId));
+    if (!personRepository.existsById(userId)) {
+      throw new EntityNotFoundException(userId);
+    }
+    return performQueryByFilters(filtersDTO, personRepository.getReferenceById(userId));
+  }
 
-    return performQueryByFilters(filtersDTO, user);
+  @Override
+  public Iterable<NegotiationSummaryDTO> findSummariesByFilters(NegotiationFilterDTO filtersDTO) {
+    return performSummaryQuery(filtersDTO, null, null);
+  }
+
+  @Override
+  public Iterable<NegotiationSummaryDTO> findSummariesByFiltersForUser(
+      NegotiationFilterDTO filtersDTO, Long userId) {
+    if (!personRepository.existsById(userId)) {
+      throw new EntityNotFoundException(userId);
+    }
+    return performSummaryQuery(filtersDTO, personRepository.getReferenceById(userId), null);
   }
 
   @Override
   public Iterable<NegotiationDTO> findAllForNetwork(
       Long networkId, NegotiationFilterDTO filtersDTO) {
+    Specification<Negotiation> filtersSpec =
+        NegotiationSpecification.fromNegotiationFilters(
+            filtersDTO, null, getNetworkManagedByCurrentUser(networkId));
+    return negotiationRepository
+        .findAll(filtersSpec, toPageable(filtersDTO))
+        .map(negotiation -> modelMapper.map(negotiation, NegotiationDTO.class));
+  }
+
+  @Override
+  public Iterable<NegotiationSummaryDTO> findSummariesForNetwork(
+      Long networkId, NegotiationFilterDTO filtersDTO) {
+    return performSummaryQuery(filtersDTO, null, getNetworkManagedByCurrentUser(networkId));
+  }
+
+  private Network getNetworkManagedByCurrentUser(Long networkId) {
     if (!personRepository.isNetworkManager(
         AuthenticatedUserContext.getCurrentlyAuthenticatedUserInternalId(), networkId)) {
       throw new ForbiddenRequestException("You are not allowed to perform this operation");
     }
-    Network network =
-        networkRepository
-            .findById(networkId)
-            .orElseThrow(() -> new EntityNotFoundException(networkId));
-
-    Specification<Negotiation> filtersSpec =
-        NegotiationSpecification.fromNegotiationFilters(filtersDTO, null, network);
-
-    Pageable pageable =
-        PageRequest.of(
-            filtersDTO.getPage(),
-            filtersDTO.getSize(),
-            Sort.by(filtersDTO.getSortOrder(), filtersDTO.getSortBy().name()));
-
-    return negotiationRepository
-        .findAll(filtersSpec, pageable)
-        .map(negotiation -> modelMapper.map(negotiation, NegotiationDTO.class));
+    return networkRepository
+        .findById(networkId)
+        .orElseThrow(() -> new EntityNotFoundException(networkId));
   }
 
   private Negotiation findEntityById(String negotiationId, boolean includeDetails) {
@@ -320,6 +373,23 @@ public class NegotiationServiceImpl implements NegotiationService {
     return modelMapper.map(negotiation, NegotiationDTO.class);
   }
 
+  @Override
+  public LocalDateTime findModifiedDate(String negotiationId) {
+    if (!negotiationRepository.existsById(negotiationId)) {
+      throw new EntityNotFoundException(negotiationId);
+    }
+    negotiationAccessManager.verifyReadAccessForNegotiation(
+        negotiationId, AuthenticatedUserContext.getCurrentlyAuthenticatedUserInternalId());
+    return negotiationRepository.findModifiedDateById(negotiationId);
+  }
+
+  @Override
+  public String findAuthorState(String negotiationId) {
+    negotiationAccessManager.verifyReadAccessForNegotiation(
+        negotiationId, AuthenticatedUserContext.getCurrentlyAuthenticatedUserInternalId());
+    return negotiationRepository.findAuthorStateById(negotiationId).orElse(null);
+  }
+
   public void setPrivatePostsEnabled(String negotiationId, boolean enabled) {
     Negotiation negotiation =
         negotiationRepository
@@ -8,8 +8,10 @@ import eu.bbmri_eric.negotiator.user.Person;
 import jakarta.annotation.Nonnull;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Set;
@@ -29,7 +31,7 @@ public class NegotiationSpecification {
       } else if (filtersDTO.getRole() == NegotiationRole.AUTHOR) {
         specs = initOrAnd(specs, hasAuthor(user));
       } else {
-        specs = initOrAnd(specs, hasResourcesIn(user.getResources()));
+        specs = initOrAnd(specs, hasRepresentative(user));
       }
     }
 
@@ -91,12 +93,24 @@ public class NegotiationSpecification {
   }
 
   /**
-   * Condition to filter Negotiation by author (i.e., createdBy) or resourceIn
+   * Condition to filter Negotiation by author (i.e., createdBy) or by representative of any of the
+   * resources involved
    *
    * @param person the Person that created the negotiation or is representative of some resource
    * @return a Specification to add as part of a query to filter Negotiations
    */
   public static Specification<Negotiation> byAuthorOrRepresentative(Person person) {
+    return hasAuthor(person).or(hasRepresentative(person));
+  }
+
+  /**
+   * Condition to filter Negotiation by the Network. It is evaluated as an EXISTS subquery on the
+   * resources of the Negotiation, so no join or DISTINCT is added to the main query
+   *
+   * @param network the Network including at least one resource of the negotiation
+   * @return a Specification to add as part of a query to filter Negotiations
+   */
+  public static Specification<Negotiation> byNetwork(Network network) {
     return new Specification<>() {
       @Nullable
       @Override
@@ -104,25 +118,26 @@ public class NegotiationSpecification {
           @Nonnull Root<Negotiation> root,
           @Nonnull CriteriaQuery<?> query,
           @Nonnull CriteriaBuilder criteriaBuilder) {
-        query.distinct(true);
-        Predicate authorPredicate = criteriaBuilder.equal(root.get("createdBy"), person);
-        if (!person.getResources().isEmpty()) {
-          Predicate involvedInResources =
-              root.joinSet("resourcesLink").join("id").join("resource").in(person.getResources());
-          return criteriaBuilder.or(authorPredicate, involvedInResources);
-        }
-        return authorPredicate;
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Root<NegotiationResourceLink> link = subquery.from(NegotiationResourceLink.class);
+        Join<Resource, Network> networks = link.join("id").join("resource").join("networks");
+        return criteriaBuilder.exists(
+            subquery
+                .select(criteriaBuilder.literal(1))
+                .where(
+                    criteriaBuilder.equal(link.get("id").get("negotiation"), root),
+                    criteriaBuilder.equal(networks.get("id"), network.getId())));
       }
     };
   }
 
   /**
-   * Condition to filter Negotiation by the Network
+   * Condition to filter Negotiation by author (i.e., createdBy)
    *
-   * @param network the Person that created the negotiation
+   * @param person the Person that created the negotiation
    * @return a Specification to add as part of a query to filter Negotiations
    */
-  public static Specification<Negotiation> byNetwork(Network network) {
+  public static Specification<Negotiation> hasAuthor(Person person) {
     return new Specification<>() {
       @Nullable
       @Override
@@ -130,20 +145,19 @@ public class NegotiationSpecification {
           @Nonnull Root<Negotiation> root,
           @Nonnull CriteriaQuery<?> query,
           @Nonnull CriteriaBuilder criteriaBuilder) {
-        query.distinct(true);
-        return criteriaBuilder.equal(
-            root.joinSet("resourcesLink").join("id").join("resource").join("networks"), network);
+        return criteriaBuilder.equal(root.get("createdBy"), person);
       }
     };
   }
 
   /**
-   * Condition to filter Negotiation by author (i.e., createdBy)
+   * Condition to filter Negotiation by a representative of the Resources involved. It is evaluated
+   * as an EXISTS subquery keyed on the person id
    *
-   * @param person the Person that created the negotiation
+   * @param person the Person representing at least one resource of the negotiation
    * @return a Specification to add as part of a query to filter Negotiations
    */
-  public static Specification<Negotiation> hasAuthor(Person person) {
+  public static Specification<Negotiation> hasRepresentative(Person person) {
     return new Specification<>() {
       @Nullable
       @Override
@@ -151,7 +165,16 @@ public class NegotiationSpecification {
           @Nonnull Root<Negotiation> root,
           @Nonnull CriteriaQuery<?> query,
           @Nonnull CriteriaBuilder criteriaBuilder) {
-        return criteriaBuilder.equal(root.get("createdBy"), person);
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Root<NegotiationResourceLink> link = subquery.from(NegotiationResourceLink.class);
+        Join<Resource, Person> representatives =
+            link.join("id").join("resource").join("representatives");
+        return criteriaBuilder.exists(
+            subquery
+                .select(criteriaBuilder.literal(1))
+                .where(
+                    criteriaBuilder.equal(link.get("id").get("negotiation"), root),
+                    criteriaBuilder.equal(representatives.get("id"), person.getId())));
       }
     };
   }
@@ -159,7 +182,7 @@ public class NegotiationSpecification {
   /**
    * Condition to filter Negotiation by the Resources involved
    *
-   * @param resources the Person that created the negotiation
+   * @param resources the Resources of which at least one is involved in the negotiation
    * @return a Specification to add as part of a query to filter Negotiations
    */
   public static Specification<Negotiation> hasResourcesIn(Set<Resource> resources) {
@@ -170,8 +193,20 @@ public class NegotiationSpecification {
           @Nonnull Root<Negotiation> root,
           @Nonnull CriteriaQuery<?> query,
           @Nonnull CriteriaBuilder criteriaBuilder) {
-        query.distinct(true);
-        return root.joinSet("resourcesLink").join("id").join("resource").in(resources);
+        if (resources.isEmpty()) {
+          return criteriaBuilder.disjunction();
+        }
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Root<NegotiationResourceLink> link = subquery.from(NegotiationResourceLink.class);
+        return criteriaBuilder.exists(
+            subquery
+                .select(criteriaBuilder.literal(1))
+                .where(
+                    criteriaBuilder.equal(link.get("id").get("negotiation"), root),
+                    link.get("id")
+                        .get("resource")
+                        .get("id")
+                        .in(resources.stream().map(Resource::getId).toList())));
       }
     };
   }
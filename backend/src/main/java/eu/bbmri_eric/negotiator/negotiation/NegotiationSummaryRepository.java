@@ -0,0 +1,20 @@
+package eu.bbmri_eric.negotiator.negotiation;
+
+import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationSummaryDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+
+public interface NegotiationSummaryRepository {
+  /**
+   * Finds a page of negotiation summaries. Only the columns of the summary are selected, so no
+   * entity is loaded into the persistence context.
+   *
+   * @param specification the filters of the negotiations, or null to return all of them
+   * @param pageable the page to return and its sort
+   * @return the page of summaries
+   */
+  Page<NegotiationSummaryDTO> findSummaries(
+      @Nullable Specification<Negotiation> specification, Pageable pageable);
+}
@@ -0,0 +1,91 @@
+package eu.bbmri_eric.negotiator.negotiation;
+
+import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationSummaryDTO;
+import eu.bbmri_eric.negotiator.user.Person;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class NegotiationSummaryRepositoryImpl implements NegotiationSummaryRepository {
+  private final EntityManager entityManager;
+
+  public NegotiationSummaryRepositoryImpl(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  @Override
+  public Page<NegotiationSummaryDTO> findSummaries(
+      @Nullable Specification<Negotiation> specification, Pageable pageable) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<NegotiationSummaryDTO> query = cb.createQuery(NegotiationSummaryDTO.class);
+    Root<Negotiation> root = query.from(Negotiation.class);
+    Join<Negotiation, Person> author = root.join("createdBy", JoinType.LEFT);
+    query.select(
+        cb.construct(
+            NegotiationSummaryDTO.class,
+            root.get("id"),
+            root.get("title"),
+            root.get("currentState"),
+            root.get("creationDate"),
+            root.get("modifiedDate"),
+            author.get("name")));
+    Predicate predicate = toPredicate(specification, root, query, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    query.orderBy(toOrders(pageable.getSort(), root, cb));
+
+    List<NegotiationSummaryDTO> content =
+        entityManager
+            .createQuery(query)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList();
+    return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+  }
+
+  private long count(@Nullable Specification<Negotiation> specification) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Long> query = cb.createQuery(Long.class);
+    Root<Negotiation> root = query.from(Negotiation.class);
+    query.select(cb.count(root));
+    Predicate predicate = toPredicate(specification, root, query, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    return entityManager.createQuery(query).getSingleResult();
+  }
+
+  @Nullable
+  private static Predicate toPredicate(
+      @Nullable Specification<Negotiation> specification,
+      Root<Negotiation> root,
+      CriteriaQuery<?> query,
+      CriteriaBuilder cb) {
+    return specification == null ? null : specification.toPredicate(root, query, cb);
+  }
+
+  private static List<Order> toOrders(Sort sort, Root<Negotiation> root, CriteriaBuilder cb) {
+    return sort.stream()
+        .map(
+            order ->
+                order.isAscending()
+                    ? cb.asc(root.get(order.getProperty()))
+                    : cb.desc(root.get(order.getProperty())))
+        .toList();
+  }
+}
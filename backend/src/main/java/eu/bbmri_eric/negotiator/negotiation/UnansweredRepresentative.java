@@ -0,0 +1,13 @@
+package eu.bbmri_eric.negotiator.negotiation;
+
+/**
+ * A representative whose organization has not yet reacted to a negotiation, neither by updating the
+ * status of one of its resources nor by posting a message.
+ */
+public interface UnansweredRepresentative {
+  String getNegotiationId();
+
+  Long getRepresentativeId();
+
+  String getAuthorName();
+}
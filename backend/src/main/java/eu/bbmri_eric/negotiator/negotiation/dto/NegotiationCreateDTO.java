@@ -1,8 +1,11 @@
 package eu.bbmri_eric.negotiator.negotiation.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import eu.bbmri_eric.negotiator.attachment.dto.AttachmentMetadataDTO;
+import eu.bbmri_eric.negotiator.common.RawJsonDeserializer;
+import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -23,7 +26,11 @@ public class NegotiationCreateDTO {
 
   @Valid @NotEmpty private String request;
 
-  @NotNull private JsonNode payload;
+  @NotNull
+  @JsonRawValue
+  @JsonDeserialize(using = RawJsonDeserializer.class)
+  @Schema(type = "object")
+  private String payload;
 
   private Set<AttachmentMetadataDTO> attachments;
 }
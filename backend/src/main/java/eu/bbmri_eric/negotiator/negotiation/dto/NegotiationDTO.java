@@ -2,7 +2,9 @@ package eu.bbmri_eric.negotiator.negotiation.dto;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import eu.bbmri_eric.negotiator.common.RawJsonDeserializer;
 import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationState;
 import eu.bbmri_eric.negotiator.user.UserResponseModel;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -39,7 +41,9 @@ public class NegotiationDTO {
       description = "Payload containing additional negotiation data",
       example = "{ \"key\": \"value\" }",
       type = "object")
-  private JsonNode payload;
+  @JsonRawValue
+  @JsonDeserialize(using = RawJsonDeserializer.class)
+  private String payload;
 
   @NotNull
   @Schema(description = "Current status of the negotiation", example = "PENDING")
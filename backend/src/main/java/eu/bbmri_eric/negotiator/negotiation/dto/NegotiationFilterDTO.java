@@ -1,6 +1,7 @@
 package eu.bbmri_eric.negotiator.negotiation.dto;
 
 import eu.bbmri_eric.negotiator.common.FilterDTO;
+import eu.bbmri_eric.negotiator.negotiation.NegotiationListView;
 import eu.bbmri_eric.negotiator.negotiation.NegotiationRole;
 import eu.bbmri_eric.negotiator.negotiation.NegotiationSortField;
 import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationState;
@@ -54,4 +55,19 @@ public class NegotiationFilterDTO implements FilterDTO {
   @Schema(description = "The size of the pages required", example = "50")
   @Min(value = 1, message = "Page size must be greater than or equal to 1")
   int size = 50;
+
+  @Schema(
+      description =
+          "Cursor for keyset pagination, as returned in the next link of a previous page. An empty"
+              + " value returns the first page. When set, the results are sorted by creationDate"
+              + " and the page number and total count are not computed")
+  String after;
+
+  @Schema(
+      description =
+          "The representation of the negotiations in the list. summary returns only id, title,"
+              + " status, dates and author name, and does not support cursor pagination",
+      example = "summary")
+  @Builder.Default
+  NegotiationListView view = NegotiationListView.full;
 }
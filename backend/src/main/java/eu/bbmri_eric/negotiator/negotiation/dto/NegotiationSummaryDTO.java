@@ -0,0 +1,61 @@
+package eu.bbmri_eric.negotiator.negotiation.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationState;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.hateoas.server.core.Relation;
+
+/**
+ * Lightweight representation of a negotiation for lists. It is built directly from the selected
+ * columns, without loading the entity or parsing its payload.
+ */
+@Getter
+@NoArgsConstructor
+@JsonInclude(value = JsonInclude.Include.NON_NULL)
+@Relation(collectionRelation = "negotiations", itemRelation = "negotiation")
+@Schema(description = "Summary of a negotiation, as listed with view=summary")
+public class NegotiationSummaryDTO {
+
+  @Schema(
+      description = "Unique identifier of the negotiation",
+      example = "123e4567-e89b-12d3-a456-426614174000")
+  private String id;
+
+  @Schema(description = "Title of the project of the negotiation", example = "Biobanking project")
+  private String title;
+
+  @Schema(description = "Current status of the negotiation", example = "IN_PROGRESS")
+  private String status;
+
+  @Schema(
+      description = "The timestamp when the negotiation was created",
+      example = "2024-11-18T12:00:00")
+  private LocalDateTime creationDate;
+
+  @Schema(
+      description = "The timestamp when the negotiation was last modified",
+      example = "2024-11-18T15:00:00")
+  private LocalDateTime modifiedDate;
+
+  @Schema(description = "Name of the author of the negotiation", example = "John Doe")
+  private String authorName;
+
+  public NegotiationSummaryDTO(
+      String id,
+      String title,
+      NegotiationState currentState,
+      LocalDateTime creationDate,
+      LocalDateTime modifiedDate,
+      String authorName) {
+    this.id = id;
+    this.title = title;
+    this.status = Objects.isNull(currentState) ? "" : currentState.name();
+    this.creationDate = creationDate;
+    this.modifiedDate = modifiedDate;
+    this.authorName = authorName;
+  }
+}
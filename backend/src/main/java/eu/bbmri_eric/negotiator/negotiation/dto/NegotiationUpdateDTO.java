@@ -1,6 +1,9 @@
 package eu.bbmri_eric.negotiator.negotiation.dto;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import eu.bbmri_eric.negotiator.common.RawJsonDeserializer;
+import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -12,5 +15,9 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 public class NegotiationUpdateDTO {
-  @NotNull private JsonNode payload;
+  @NotNull
+  @JsonRawValue
+  @JsonDeserialize(using = RawJsonDeserializer.class)
+  @Schema(type = "object")
+  private String payload;
 }
@@ -1,33 +1,57 @@
 package eu.bbmri_eric.negotiator.negotiation.mappers;
 
+import static eu.bbmri_eric.negotiator.common.LinkBuilder.getLink;
 import static eu.bbmri_eric.negotiator.common.LinkBuilder.getPageLinks;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 import eu.bbmri_eric.negotiator.attachment.AttachmentController;
+import eu.bbmri_eric.negotiator.common.LinkBuilder;
 import eu.bbmri_eric.negotiator.info_requirement.InformationRequirementDTO;
 import eu.bbmri_eric.negotiator.info_requirement.InformationRequirementService;
 import eu.bbmri_eric.negotiator.info_submission.InformationSubmissionController;
 import eu.bbmri_eric.negotiator.negotiation.NegotiationController;
+import eu.bbmri_eric.negotiator.negotiation.NegotiationCursor;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationDTO;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationFilterDTO;
+import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationSummaryDTO;
 import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationEvent;
 import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationLifecycleService;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.NonNull;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.stereotype.Component;
 
 @Component
 public class NegotiationModelAssembler
     implements RepresentationModelAssembler<NegotiationDTO, EntityModel<NegotiationDTO>> {
+  private static final LinkBuilder.Template SELF =
+      LinkBuilder.template(methodOn(NegotiationController.class).retrieve(null, null));
+  private static final LinkBuilder.Template POSTS =
+      LinkBuilder.template(NegotiationController.class).slash("negotiations/{id}/posts");
+  private static final LinkBuilder.Template ATTACHMENTS =
+      LinkBuilder.template(methodOn(AttachmentController.class).listByNegotiation(null));
+  private static final LinkBuilder.Template RESOURCES =
+      LinkBuilder.template(
+          methodOn(NegotiationController.class).findResourcesForNegotiation(null, null));
+  private static final LinkBuilder.Template REQUIREMENT_SUMMARY =
+      LinkBuilder.template(
+          methodOn(InformationSubmissionController.class).getSummaryInformation(null, null));
+  private static final LinkBuilder.Template EVENT =
+      LinkBuilder.template(methodOn(NegotiationController.class).sendEvent(null, null, null));
+  private static final LinkBuilder.Template UPDATE =
+      LinkBuilder.template(methodOn(NegotiationController.class).update(null, null));
+
   private final InformationRequirementService requirementService;
   private final NegotiationLifecycleService negotiationLifecycleService;
 
@@ -47,25 +71,21 @@ public class NegotiationModelAssembler
         continue;
       }
       entityModel.add(
-          WebMvcLinkBuilder.linkTo(
-                  methodOn(InformationSubmissionController.class)
-                      .getSummaryInformation(entity.getId(), requirement.getId()))
+          REQUIREMENT_SUMMARY
+              .expand(entity.getId(), requirement.getId())
               .withRel("Requirement summary %s".formatted(requirement.getId()))
               .withTitle(requirement.getRequiredAccessForm().getName() + " summary"));
     }
     for (NegotiationEvent event : negotiationLifecycleService.getPossibleEvents(entity.getId())) {
       entityModel.add(
-          WebMvcLinkBuilder.linkTo(
-                  methodOn(NegotiationController.class).sendEvent(entity.getId(), event, null))
+          EVENT
+              .expand(entity.getId(), event)
               .withRel(event.toString())
               .withTitle("Next Lifecycle event")
               .withName(event.getLabel()));
     }
     if (entity.isPayloadUpdatable()) {
-      entityModel.add(
-          WebMvcLinkBuilder.linkTo(
-                  methodOn(NegotiationController.class).update(entity.getId(), null))
-              .withRel("Update"));
+      entityModel.add(UPDATE.expand(entity.getId()).withRel("Update"));
     }
     return entityModel;
   }
@@ -73,50 +93,75 @@ public class NegotiationModelAssembler
   @Override
   public @NonNull EntityModel<NegotiationDTO> toModel(@NonNull NegotiationDTO entity) {
     List<Link> links = new ArrayList<>();
-    links.add(
-        WebMvcLinkBuilder.linkTo(methodOn(NegotiationController.class).retrieve(entity.getId()))
-            .withSelfRel());
-    links.add(
-        WebMvcLinkBuilder.linkTo(NegotiationController.class)
-            .slash("negotiations/%s/posts".formatted(entity.getId()))
-            .withRel("posts"));
-    links.add(
-        WebMvcLinkBuilder.linkTo(
-                methodOn(AttachmentController.class).listByNegotiation(entity.getId()))
-            .withRel("attachments"));
-    links.add(
-        linkTo(methodOn(NegotiationController.class).findResourcesForNegotiation(entity.getId()))
-            .withRel("resources"));
+    links.add(SELF.expand(entity.getId()).withSelfRel());
+    links.add(POSTS.expand(entity.getId()).withRel("posts"));
+    links.add(ATTACHMENTS.expand(entity.getId()).withRel("attachments"));
+    links.add(RESOURCES.expand(entity.getId()).withRel("resources"));
     return EntityModel.of(entity, links);
   }
 
   public PagedModel<EntityModel<NegotiationDTO>> toPagedModel(
       @NonNull Page<NegotiationDTO> page, NegotiationFilterDTO filters, Long userId) {
+    return PagedModel.of(
+        page.getContent().stream().map(this::toModel).collect(Collectors.toList()),
+        toPageMetadata(page),
+        getPageLinksFor(page, filters, userId));
+  }
 
-    List<Link> links = new ArrayList<>();
-    if (page.hasContent()) {
-      PagedModel.PageMetadata pageMetadata =
-          new PagedModel.PageMetadata(
-              page.getSize(), page.getNumber(), page.getTotalElements(), page.getTotalPages());
+  /**
+   * Creates the model of a page of negotiation summaries. Items only link to the full negotiation.
+   */
+  public PagedModel<EntityModel<NegotiationSummaryDTO>> toSummaryPagedModel(
+      @NonNull Page<NegotiationSummaryDTO> page, NegotiationFilterDTO filters, Long userId) {
+    return PagedModel.of(
+        page.getContent().stream()
+            .map(summary -> EntityModel.of(summary, SELF.expand(summary.getId()).withSelfRel()))
+            .collect(Collectors.toList()),
+        toPageMetadata(page),
+        getPageLinksFor(page, filters, userId));
+  }
 
-      if (userId == null) {
-        links =
-            getPageLinks(
-                linkTo(methodOn(NegotiationController.class).list(filters)).toUri(),
-                filters,
-                pageMetadata);
-      } else {
-        links =
-            getPageLinks(
-                linkTo(methodOn(NegotiationController.class).listRelated(userId, filters)).toUri(),
-                filters,
-                pageMetadata);
-      }
+  private static PagedModel.PageMetadata toPageMetadata(Page<?> page) {
+    return new PagedModel.PageMetadata(
+        page.getSize(), page.getNumber(), page.getTotalElements(), page.getTotalPages());
+  }
+
+  private static List<Link> getPageLinksFor(
+      Page<?> page, NegotiationFilterDTO filters, Long userId) {
+    if (!page.hasContent()) {
+      return new ArrayList<>();
+    }
+    URI baseUri =
+        userId == null
+            ? linkTo(methodOn(NegotiationController.class).list(filters)).toUri()
+            : linkTo(methodOn(NegotiationController.class).listRelated(userId, filters)).toUri();
+    return getPageLinks(baseUri, filters, toPageMetadata(page));
+  }
+
+  /**
+   * Creates the model of a page fetched with keyset pagination. It has no page metadata, since the
+   * total count is not computed, and links to the first page and, if any, to the next one.
+   */
+  public PagedModel<EntityModel<NegotiationDTO>> toCursorModel(
+      @NonNull Window<NegotiationDTO> window, NegotiationFilterDTO filters, Long userId) {
+    URI baseUri =
+        userId == null
+            ? linkTo(methodOn(NegotiationController.class).list(filters)).toUri()
+            : linkTo(methodOn(NegotiationController.class).listRelated(userId, filters)).toUri();
+    List<Link> links = new ArrayList<>();
+    links.add(getLink(baseUri, filters, IanaLinkRelations.CURRENT));
+    final String currentCursor = filters.getAfter();
+    filters.setAfter("");
+    links.add(getLink(baseUri, filters, IanaLinkRelations.FIRST));
+    if (window.hasNext() && !window.isEmpty()) {
+      filters.setAfter(
+          NegotiationCursor.encode((KeysetScrollPosition) window.positionAt(window.size() - 1)));
+      links.add(getLink(baseUri, filters, IanaLinkRelations.NEXT));
     }
+    filters.setAfter(currentCursor);
     return PagedModel.of(
-        page.getContent().stream().map(this::toModel).collect(Collectors.toList()),
-        new PagedModel.PageMetadata(
-            page.getSize(), page.getNumber(), page.getTotalElements(), page.getTotalPages()),
+        window.getContent().stream().map(this::toModel).collect(Collectors.toList()),
+        (PagedModel.PageMetadata) null,
         links);
   }
 }
@@ -1,8 +1,5 @@
 package eu.bbmri_eric.negotiator.negotiation.mappers;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import eu.bbmri_eric.negotiator.negotiation.Negotiation;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationDTO;
 import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationState;
@@ -33,14 +30,7 @@ public class NegotiationModelMapper {
     Converter<NegotiationState, String> negotiationStatusConverter =
         status -> negotiationStatusConverter(status.getSource());
 
-    Converter<String, JsonNode> payloadConverter =
-        p -> {
-          try {
-            return payloadConverter(p.getSource());
-          } catch (JsonProcessingException e) {
-            throw new RuntimeException(e); // TODO: raise the correct exception
-          }
-        };
+    Converter<String, String> payloadConverter = p -> payloadConverter(p.getSource());
 
     typeMap.addMappings(
         mapping -> mapping.map(Negotiation::getCreatedBy, NegotiationDTO::setAuthor));
@@ -58,12 +48,12 @@ public class NegotiationModelMapper {
                 .map(Negotiation::getCurrentState, NegotiationDTO::setStatus));
   }
 
-  private JsonNode payloadConverter(String jsonPayload) throws JsonProcessingException {
-    ObjectMapper mapper = new ObjectMapper();
-    if (jsonPayload == null) {
-      jsonPayload = "{}";
-    }
-    return mapper.readTree(jsonPayload);
+  /**
+   * The payload is stored as JSONB, so it is returned as it is read from the database, without
+   * being parsed again.
+   */
+  private String payloadConverter(String jsonPayload) {
+    return jsonPayload == null ? "{}" : jsonPayload;
   }
 
   private String negotiationStatusConverter(NegotiationState currentState) {
@@ -74,6 +74,11 @@ public class RequestServiceImpl implements RequestService {
   private Optional<Resource> findResourceByExternalId(String id) {
     Optional<Resource> resource = resourceRepository.findBySourceId(id);
     if (resource != null && resource.isPresent()) {
+      if (Boolean.TRUE.equals(resource.get().getWithdrawn())) {
+        throw new WrongRequestException(
+            "Resource with external ID: %s has been withdrawn from its Discovery Service"
+                .formatted(id));
+      }
       return resource;
     }
     log.warn("Resource with ID %s not found in database.".formatted(id));
@@ -0,0 +1,95 @@
+package eu.bbmri_eric.negotiator.negotiation.state_machine;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.extern.apachecommons.CommonsLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.messaging.Message;
+import org.springframework.statemachine.StateContext;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineException;
+import org.springframework.statemachine.support.DefaultStateContext;
+import org.springframework.statemachine.transition.Transition;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Executes lifecycle transitions in a transaction, joining the current one if any. A transition
+ * moves the state with a conditional update on the state it was read in, so when another request
+ * changed the state in the meantime it updates nothing and is attempted again on the new state, up
+ * to a maximum number of attempts. Since the state of each negotiation is guarded by the database,
+ * transitions on different negotiations run in parallel, on any replica.
+ */
+@Component
+@CommonsLog
+public class TransitionExecutor {
+
+  private final TransactionTemplate transactionTemplate;
+  private final int maxAttempts;
+
+  public TransitionExecutor(
+      PlatformTransactionManager transactionManager,
+      @Value("${negotiator.lifecycle.max-attempts:5}") int maxAttempts) {
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.maxAttempts = maxAttempts;
+  }
+
+  /**
+   * Executes a transition.
+   *
+   * @param transition executes one attempt of the transition and returns its result, or an empty
+   *     optional when the state was changed concurrently and the transition must be attempted again
+   * @return the result of the first successful attempt
+   * @throws StateMachineException if no attempt succeeded
+   */
+  public <T> T execute(Supplier<Optional<T>> transition) {
+    boolean participating = TransactionSynchronizationManager.isActualTransactionActive();
+    for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+      try {
+        Optional<T> result = transactionTemplate.execute(status -> transition.get());
+        if (result != null && result.isPresent()) {
+          return result.get();
+        }
+      } catch (ConcurrencyFailureException e) {
+        if (participating) {
+          throw e;
+        }
+        log.debug("Lifecycle transition failed because of a concurrent change", e);
+      }
+      log.debug(
+          "Lifecycle transition conflicted with a concurrent one, attempt %d of %d"
+              .formatted(attempt, maxAttempts));
+    }
+    throw new StateMachineException(
+        "The state was changed by another request in the meantime. Please try again.");
+  }
+
+  /**
+   * Runs the actions configured on a transition of a state machine, passing them the headers of the
+   * message. The actions run in the calling thread, as part of the transition.
+   */
+  public void executeActions(
+      StateMachine<String, String> stateMachine,
+      Transition<String, String> transition,
+      Message<String> message) {
+    if (transition.getActions() == null || transition.getActions().isEmpty()) {
+      return;
+    }
+    transition
+        .executeTransitionActions(
+            new DefaultStateContext<>(
+                StateContext.Stage.TRANSITION,
+                message,
+                message.getHeaders(),
+                stateMachine.getExtendedState(),
+                transition,
+                stateMachine,
+                transition.getSource(),
+                transition.getTarget(),
+                null))
+        .block();
+  }
+}
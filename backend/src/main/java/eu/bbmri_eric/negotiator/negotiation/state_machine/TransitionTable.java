@@ -0,0 +1,129 @@
+package eu.bbmri_eric.negotiator.negotiation.state_machine;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.security.SecurityRule;
+import org.springframework.statemachine.transition.Transition;
+
+/**
+ * Immutable lookup table of the transitions of a state machine, compiled once from its
+ * configuration. For each source state it holds the events that can be sent, grouped by the
+ * security attribute required to send them, and the transition triggered by each event, so that the
+ * possible events for a state and the transition to execute are found without walking the
+ * transitions of the state machine.
+ *
+ * @param <S> the enum of the states
+ * @param <E> the enum of the events
+ */
+public final class TransitionTable<S extends Enum<S>, E extends Enum<E>> {
+
+  /** Key of the events whose transitions are not secured. */
+  private static final String UNSECURED = "";
+
+  private final Class<S> stateType;
+  private final Map<S, Map<String, Set<E>>> events;
+  private final Map<S, Map<E, Transition<String, String>>> transitions;
+
+  private TransitionTable(
+      Class<S> stateType,
+      Map<S, Map<String, Set<E>>> events,
+      Map<S, Map<E, Transition<String, String>>> transitions) {
+    this.stateType = stateType;
+    this.events = events;
+    this.transitions = transitions;
+  }
+
+  /**
+   * Compiles the transitions of a state machine whose states and events are the names of the
+   * constants of the given enums.
+   */
+  public static <S extends Enum<S>, E extends Enum<E>> TransitionTable<S, E> of(
+      StateMachine<String, String> stateMachine, Class<S> stateType, Class<E> eventType) {
+    Map<S, Map<String, Set<E>>> events = new EnumMap<>(stateType);
+    Map<S, Map<E, Transition<String, String>>> transitions = new EnumMap<>(stateType);
+    for (Transition<String, String> transition : stateMachine.getTransitions()) {
+      if (transition.getSource() == null
+          || transition.getSource().getId() == null
+          || transition.getTrigger() == null
+          || transition.getTrigger().getEvent() == null) {
+        continue;
+      }
+      S source = Enum.valueOf(stateType, transition.getSource().getId());
+      E event = Enum.valueOf(eventType, transition.getTrigger().getEvent());
+      transitions
+          .computeIfAbsent(source, state -> new EnumMap<>(eventType))
+          .putIfAbsent(event, transition);
+      Map<String, Set<E>> row = events.computeIfAbsent(source, state -> new HashMap<>());
+      SecurityRule securityRule = transition.getSecurityRule();
+      if (securityRule == null || securityRule.getAttributes().isEmpty()) {
+        row.computeIfAbsent(UNSECURED, attribute -> EnumSet.noneOf(eventType)).add(event);
+      } else {
+        for (String attribute : securityRule.getAttributes()) {
+          row.computeIfAbsent(attribute, key -> EnumSet.noneOf(eventType)).add(event);
+        }
+      }
+    }
+    Map<S, Map<String, Set<E>>> immutable = new EnumMap<>(stateType);
+    events.forEach(
+        (state, row) -> {
+          Map<String, Set<E>> immutableRow = new HashMap<>();
+          row.forEach(
+              (attribute, rowEvents) ->
+                  immutableRow.put(attribute, Collections.unmodifiableSet(rowEvents)));
+          immutable.put(state, Collections.unmodifiableMap(immutableRow));
+        });
+    Map<S, Map<E, Transition<String, String>>> immutableTransitions = new EnumMap<>(stateType);
+    transitions.forEach(
+        (state, row) -> immutableTransitions.put(state, Collections.unmodifiableMap(row)));
+    return new TransitionTable<>(
+        stateType,
+        Collections.unmodifiableMap(immutable),
+        Collections.unmodifiableMap(immutableTransitions));
+  }
+
+  /**
+   * Returns the events that can be sent in the given state.
+   *
+   * @param state the current state
+   * @param hasAttribute tells whether the security attribute of a transition is granted. It is
+   *     called at most once per attribute required in the state
+   * @return the events of the transitions that are not secured or whose attribute is granted
+   */
+  public Set<E> getEvents(S state, Predicate<String> hasAttribute) {
+    Map<String, Set<E>> row = events.get(state);
+    if (row == null) {
+      return Set.of();
+    }
+    Set<E> result = null;
+    for (Map.Entry<String, Set<E>> entry : row.entrySet()) {
+      if (entry.getKey().equals(UNSECURED) || hasAttribute.test(entry.getKey())) {
+        if (result == null) {
+          result = EnumSet.copyOf(entry.getValue());
+        } else {
+          result.addAll(entry.getValue());
+        }
+      }
+    }
+    return result == null ? Set.of() : result;
+  }
+
+  /**
+   * Returns the transition triggered by an event in the given state, regardless of its security
+   * rule.
+   */
+  public Optional<Transition<String, String>> getTransition(S state, E event) {
+    return Optional.ofNullable(transitions.getOrDefault(state, Map.of()).get(event));
+  }
+
+  /** Returns the target state of a transition of the table. */
+  public S getTarget(Transition<String, String> transition) {
+    return Enum.valueOf(stateType, transition.getTarget().getId());
+  }
+}
@@ -27,9 +27,9 @@ public class InitializeStateForResourceAction implements Action<String, String>
   public void execute(StateContext<String, String> context) {
     String negotiationId = context.getMessage().getHeaders().get("negotiationId", String.class);
     Negotiation negotiation = negotiationRepository.findDetailedById(negotiationId).orElseThrow();
-    for (Resource resource : negotiation.getResources()) {
-      negotiation.setStateForResource(resource.getSourceId(), NegotiationResourceState.SUBMITTED);
-    }
+    negotiation.setStateForResources(
+        negotiation.getResources().stream().map(Resource::getSourceId).toList(),
+        NegotiationResourceState.SUBMITTED);
     userNotificationService.notifyRepresentativesAboutNewNegotiation(negotiation);
   }
 }
@@ -27,4 +27,11 @@ public final class NegotiationLifecycleRecord extends AuditEntity {
 
   @Enumerated(EnumType.STRING)
   private NegotiationState changedTo;
+
+  /**
+   * The ID of the Negotiation the record belongs to, set when the record is inserted on its own
+   * instead of through the history of the Negotiation.
+   */
+  @Column(name = "negotiation_id", updatable = false)
+  private String negotiationId;
 }
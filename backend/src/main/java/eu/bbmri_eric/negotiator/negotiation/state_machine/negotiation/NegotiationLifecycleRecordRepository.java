@@ -0,0 +1,6 @@
+package eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface NegotiationLifecycleRecordRepository
+    extends JpaRepository<NegotiationLifecycleRecord, Long> {}
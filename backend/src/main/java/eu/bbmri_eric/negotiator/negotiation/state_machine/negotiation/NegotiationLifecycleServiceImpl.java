@@ -4,113 +4,167 @@ import eu.bbmri_eric.negotiator.common.AuthenticatedUserContext;
 import eu.bbmri_eric.negotiator.common.exceptions.EntityNotFoundException;
 import eu.bbmri_eric.negotiator.common.exceptions.ForbiddenRequestException;
 import eu.bbmri_eric.negotiator.common.exceptions.WrongRequestException;
+import eu.bbmri_eric.negotiator.negotiation.Negotiation;
 import eu.bbmri_eric.negotiator.negotiation.NegotiationRepository;
+import eu.bbmri_eric.negotiator.negotiation.state_machine.TransitionExecutor;
+import eu.bbmri_eric.negotiator.negotiation.state_machine.TransitionTable;
+import eu.bbmri_eric.negotiator.post.Post;
+import eu.bbmri_eric.negotiator.post.PostRepository;
+import eu.bbmri_eric.negotiator.post.PostType;
+import eu.bbmri_eric.negotiator.user.PersonRepository;
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 import lombok.NoArgsConstructor;
 import lombok.extern.apachecommons.CommonsLog;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.statemachine.StateMachine;
-import org.springframework.statemachine.recipes.persist.PersistStateMachineHandler;
+import org.springframework.statemachine.transition.Transition;
 import org.springframework.stereotype.Service;
 
-/** Spring State Machine implementation of the NegotiationLifecycleService. */
+/**
+ * Implementation of the NegotiationLifecycleService. The transitions are configured in the Spring
+ * State Machine of {@link NegotiationStateMachineConfig}, and executed synchronously by a {@link
+ * TransitionExecutor}, which moves the state of the negotiation with a conditional update.
+ */
 @Service
 @CommonsLog
 @NoArgsConstructor
 public class NegotiationLifecycleServiceImpl implements NegotiationLifecycleService {
 
   @Autowired NegotiationRepository negotiationRepository;
-
-  @Autowired
-  @Qualifier("persistHandler")
-  private PersistStateMachineHandler persistStateMachineHandler;
+  @Autowired NegotiationLifecycleRecordRepository lifecycleRecordRepository;
+  @Autowired PersonRepository personRepository;
+  @Autowired PostRepository postRepository;
+  @Autowired ApplicationEventPublisher eventPublisher;
+  @Autowired TransitionExecutor transitionExecutor;
 
   @Autowired
   @Qualifier("negotiationStateMachine")
   private StateMachine<String, String> stateMachine;
 
+  private TransitionTable<NegotiationState, NegotiationEvent> transitions;
+
+  @PostConstruct
+  void compileTransitions() {
+    transitions = TransitionTable.of(stateMachine, NegotiationState.class, NegotiationEvent.class);
+  }
+
   @Override
   public Set<NegotiationEvent> getPossibleEvents(String negotiationId)
       throws EntityNotFoundException {
-    return getPossibleEventsForCurrentStateMachine(negotiationId);
+    Long userId = getCurrentUserId();
+    return getPossibleEvents(
+        negotiationId,
+        negotiationRepository.findLifecycleViewById(negotiationId, userId),
+        AuthenticatedUserContext.getRoles());
   }
 
   @Override
   public NegotiationState sendEvent(String negotiationId, NegotiationEvent negotiationEvent)
       throws WrongRequestException, EntityNotFoundException {
-    changeStateMachine(negotiationId, negotiationEvent, null);
-    return getCurrentStateForNegotiation(negotiationId);
+    return sendEvent(negotiationId, negotiationEvent, null);
   }
 
   @Override
   public NegotiationState sendEvent(
       String negotiationId, NegotiationEvent negotiationEvent, String message)
       throws WrongRequestException, EntityNotFoundException {
-    changeStateMachine(negotiationId, negotiationEvent, message);
-    return getCurrentStateForNegotiation(negotiationId);
+    Long userId = getCurrentUserId();
+    List<String> roles = AuthenticatedUserContext.getRoles();
+    return transitionExecutor.execute(
+        () -> {
+          Optional<NegotiationLifecycleView> negotiation =
+              negotiationRepository.findLifecycleViewById(negotiationId, userId);
+          if (!getPossibleEvents(negotiationId, negotiation, roles).contains(negotiationEvent)) {
+            throw new ForbiddenRequestException(
+                "You are not allowed to %s the Negotiation"
+                    .formatted(negotiationEvent.getLabel().toLowerCase()));
+          }
+          NegotiationState source = negotiation.get().getState();
+          Transition<String, String> transition =
+              transitions.getTransition(source, negotiationEvent).orElseThrow();
+          NegotiationState target = transitions.getTarget(transition);
+          if (negotiationRepository.updateState(negotiationId, source, target, LocalDateTime.now())
+              == 0) {
+            return Optional.empty();
+          }
+          onTransition(negotiationId, negotiationEvent, transition, target, userId, message);
+          return Optional.of(target);
+        });
   }
 
-  private void changeStateMachine(
-      String negotiationId, NegotiationEvent negotiationEvent, String message) {
-    if (!getPossibleEvents(negotiationId).contains(negotiationEvent)) {
-      throw new ForbiddenRequestException(
-          "You are not allowed to %s the Negotiation"
-              .formatted(negotiationEvent.getLabel().toLowerCase()));
+  /**
+   * Runs the actions of a transition whose state change succeeded and records it. The record is
+   * inserted on its own, so the cost does not grow with the history of the negotiation.
+   */
+  private void onTransition(
+      String negotiationId,
+      NegotiationEvent negotiationEvent,
+      Transition<String, String> transition,
+      NegotiationState target,
+      Long userId,
+      String postBody) {
+    Message<String> message =
+        MessageBuilder.withPayload(negotiationEvent.name())
+            .setHeader("negotiationId", negotiationId)
+            .setHeader("postBody", postBody)
+            .setHeader("postSenderId", userId)
+            .build();
+    transitionExecutor.executeActions(stateMachine, transition, message);
+    NegotiationLifecycleRecord record =
+        lifecycleRecordRepository.save(
+            NegotiationLifecycleRecord.builder()
+                .negotiationId(negotiationId)
+                .changedTo(target)
+                .build());
+    Negotiation negotiation = negotiationRepository.getReferenceById(negotiationId);
+    if (Hibernate.isInitialized(negotiation)) {
+      negotiation.applyStateChange(record);
     }
-
-    persistStateMachineHandler
-        .handleEventWithStateReactively(
-            MessageBuilder.withPayload(negotiationEvent.name())
-                .setHeader("negotiationId", negotiationId)
-                .setHeader("postBody", message)
-                .setHeader(
-                    "postSenderId",
-                    AuthenticatedUserContext.getCurrentlyAuthenticatedUserInternalId())
-                .build(),
-            getCurrentStateForNegotiation(negotiationId).name())
-        .subscribe();
+    if (Objects.nonNull(userId) && Objects.nonNull(postBody) && !postBody.isEmpty()) {
+      createPostFromMessage(userId, negotiation, postBody);
+    }
+    eventPublisher.publishEvent(
+        new NegotiationStateChangeEvent(this, negotiationId, target, negotiationEvent, postBody));
   }
 
-  private NegotiationState getCurrentStateForNegotiation(String negotiationId) {
-    return negotiationRepository
-        .findNegotiationStateById(negotiationId)
-        .orElseThrow(() -> new EntityNotFoundException(negotiationId));
+  private void createPostFromMessage(Long postSenderId, Negotiation negotiation, String postBody) {
+    Post postEntity =
+        Post.builder().negotiation(negotiation).text(postBody).type(PostType.PUBLIC).build();
+    postEntity.setCreatedBy(personRepository.findById(postSenderId).orElse(null));
+    postEntity.setCreationDate(LocalDateTime.now());
+    postRepository.save(postEntity);
   }
 
-  private Set<NegotiationEvent> getPossibleEventsForCurrentStateMachine(String negotiationId) {
-    Long userId;
+  private static Long getCurrentUserId() {
     try {
-      userId = AuthenticatedUserContext.getCurrentlyAuthenticatedUserInternalId();
+      return AuthenticatedUserContext.getCurrentlyAuthenticatedUserInternalId();
     } catch (ClassCastException e) {
       throw new ForbiddenRequestException("You are not allowed to perform this action");
     }
-    List<String> roles = AuthenticatedUserContext.getRoles();
-    if (!roles.contains("ROLE_ADMIN")
-        && !negotiationRepository.existsByIdAndCreatedBy_Id(negotiationId, userId)) {
+  }
+
+  private Set<NegotiationEvent> getPossibleEvents(
+      String negotiationId, Optional<NegotiationLifecycleView> negotiation, List<String> roles) {
+    boolean isAdmin = roles.contains("ROLE_ADMIN");
+    if (negotiation.isEmpty()) {
+      if (isAdmin) {
+        throw new EntityNotFoundException(negotiationId);
+      }
+      return Set.of();
+    }
+    if (!isAdmin && !negotiation.get().isAuthor()) {
       return Set.of();
     }
-    return stateMachine.getTransitions().stream()
-        .filter(
-            transition ->
-                transition
-                    .getSource()
-                    .getId()
-                    .equals(getCurrentStateForNegotiation(negotiationId).toString()))
-        .filter(
-            transition -> {
-              if (Objects.nonNull(transition.getSecurityRule())) {
-                return transition.getSecurityRule().getAttributes().stream()
-                    .anyMatch(roles::contains);
-              }
-              return true;
-            })
-        .map(transition -> transition.getTrigger().getEvent())
-        .map(NegotiationEvent::valueOf)
-        .collect(Collectors.toSet());
+    return transitions.getEvents(negotiation.get().getState(), roles::contains);
   }
 }
@@ -0,0 +1,8 @@
+package eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation;
+
+/** The current state of a negotiation, as seen by a person, to find the events it can send. */
+public interface NegotiationLifecycleView {
+  NegotiationState getState();
+
+  boolean isAuthor();
+}
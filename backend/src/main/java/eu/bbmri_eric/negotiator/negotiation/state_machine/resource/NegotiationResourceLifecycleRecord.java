@@ -34,4 +34,11 @@ public class NegotiationResourceLifecycleRecord extends AuditEntity {
 
   @Enumerated(EnumType.STRING)
   private NegotiationResourceState changedTo;
+
+  /**
+   * The ID of the Negotiation the record belongs to, set when the record is inserted on its own
+   * instead of through the history of the Negotiation.
+   */
+  @Column(name = "negotiation_id", updatable = false)
+  private String negotiationId;
 }
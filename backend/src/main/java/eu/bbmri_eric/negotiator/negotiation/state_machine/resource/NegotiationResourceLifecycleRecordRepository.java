@@ -0,0 +1,6 @@
+package eu.bbmri_eric.negotiator.negotiation.state_machine.resource;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface NegotiationResourceLifecycleRecordRepository
+    extends JpaRepository<NegotiationResourceLifecycleRecord, Long> {}
@@ -21,6 +21,15 @@ public interface ResourceLifecycleService {
   Set<NegotiationResourceEvent> getPossibleEvents(String negotiationId, String resourceId)
       throws EntityNotFoundException;
 
+  /**
+   * Returns the events that can be sent for each resource of a negotiation. The states of all the
+   * resources are read at once, so it is meant to be used when listing the resources.
+   *
+   * @param negotiationId that is of interest
+   * @return the possible events by source id of the resource
+   */
+  Map<String, Set<NegotiationResourceEvent>> getPossibleEventsForAllResources(String negotiationId);
+
   /**
    * Send an event to a particular resource negotiation
    *
@@ -3,73 +3,107 @@ package eu.bbmri_eric.negotiator.negotiation.state_machine.resource;
 import eu.bbmri_eric.negotiator.common.AuthenticatedUserContext;
 import eu.bbmri_eric.negotiator.common.exceptions.EntityNotFoundException;
 import eu.bbmri_eric.negotiator.common.exceptions.WrongRequestException;
+import eu.bbmri_eric.negotiator.governance.resource.Resource;
+import eu.bbmri_eric.negotiator.governance.resource.ResourceRepository;
 import eu.bbmri_eric.negotiator.info_requirement.InformationRequirementRepository;
 import eu.bbmri_eric.negotiator.info_submission.InformationSubmissionRepository;
 import eu.bbmri_eric.negotiator.negotiation.Negotiation;
 import eu.bbmri_eric.negotiator.negotiation.NegotiationRepository;
+import eu.bbmri_eric.negotiator.negotiation.state_machine.TransitionExecutor;
+import eu.bbmri_eric.negotiator.negotiation.state_machine.TransitionTable;
 import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationState;
-import eu.bbmri_eric.negotiator.user.PersonService;
+import eu.bbmri_eric.negotiator.notification.UserNotificationService;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 import lombok.extern.apachecommons.CommonsLog;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.statemachine.StateMachine;
 import org.springframework.statemachine.StateMachineException;
-import org.springframework.statemachine.recipes.persist.PersistStateMachineHandler;
-import org.springframework.statemachine.security.SecurityRule;
 import org.springframework.statemachine.state.State;
 import org.springframework.statemachine.transition.Transition;
 import org.springframework.stereotype.Service;
 
-/** Spring State Machine implementation of the ResourceLifecycleService. */
+/**
+ * Implementation of the ResourceLifecycleService. The transitions are configured in the Spring
+ * State Machine of {@link ResourceStateMachineConfig}, and executed synchronously by a {@link
+ * TransitionExecutor}, which moves the state of the resource with a conditional update.
+ */
 @Service
 @CommonsLog
 public class ResourceLifecycleServiceImpl implements ResourceLifecycleService {
 
   private final NegotiationRepository negotiationRepository;
+  private final NegotiationResourceLifecycleRecordRepository lifecycleRecordRepository;
+  private final ResourceRepository resourceRepository;
   private final InformationRequirementRepository requirementRepository;
   private final InformationSubmissionRepository requirementSubmissionRepository;
 
-  private final PersistStateMachineHandler persistStateMachineHandler;
+  private final TransitionExecutor transitionExecutor;
+  private final UserNotificationService userNotificationService;
 
   private final StateMachine<String, String> stateMachine;
 
-  PersonService personService;
+  private final TransitionTable<NegotiationResourceState, NegotiationResourceEvent> transitions;
 
   public ResourceLifecycleServiceImpl(
       NegotiationRepository negotiationRepository,
+      NegotiationResourceLifecycleRecordRepository lifecycleRecordRepository,
+      ResourceRepository resourceRepository,
       InformationRequirementRepository requirementRepository,
       InformationSubmissionRepository requirementSubmissionRepository,
-      @Qualifier("resourcePersistHandler") PersistStateMachineHandler persistStateMachineHandler,
-      @Qualifier("resourceStateMachine") StateMachine<String, String> stateMachine,
-      PersonService personService) {
+      TransitionExecutor transitionExecutor,
+      @Lazy UserNotificationService userNotificationService,
+      @Qualifier("resourceStateMachine") StateMachine<String, String> stateMachine) {
     this.negotiationRepository = negotiationRepository;
+    this.lifecycleRecordRepository = lifecycleRecordRepository;
+    this.resourceRepository = resourceRepository;
     this.requirementRepository = requirementRepository;
     this.requirementSubmissionRepository = requirementSubmissionRepository;
-    this.persistStateMachineHandler = persistStateMachineHandler;
+    this.transitionExecutor = transitionExecutor;
+    this.userNotificationService = userNotificationService;
     this.stateMachine = stateMachine;
-    this.personService = personService;
+    this.transitions =
+        TransitionTable.of(
+            stateMachine, NegotiationResourceState.class, NegotiationResourceEvent.class);
   }
 
   @Override
   public Set<NegotiationResourceEvent> getPossibleEvents(String negotiationId, String resourceId)
       throws EntityNotFoundException {
-    NegotiationResourceState currentState;
-    try {
-      currentState = getCurrentStateForResource(negotiationId, resourceId);
-    } catch (EntityNotFoundException e) {
+    Caller caller = Caller.current();
+    Optional<ResourceLifecycleView> resource =
+        negotiationRepository.findResourceLifecycleView(
+            negotiationId, resourceId, caller.personId());
+    if (resource.isEmpty()) {
       return Set.of();
     }
-    if (Objects.isNull(currentState)) {
+    if (Objects.isNull(resource.get().getResourceState())) {
       throw new EntityNotFoundException(resourceId);
     }
-    return getPossibleEventsForCurrentStateMachine(negotiationId, resourceId, currentState);
+    return getPossibleEvents(resource.get(), caller);
+  }
+
+  @Override
+  public Map<String, Set<NegotiationResourceEvent>> getPossibleEventsForAllResources(
+      String negotiationId) {
+    Caller caller = Caller.current();
+    Map<String, Set<NegotiationResourceEvent>> events = new HashMap<>();
+    for (ResourceLifecycleView resource :
+        negotiationRepository.findResourceLifecycleViews(negotiationId, caller.personId())) {
+      events.put(
+          resource.getResourceId(),
+          Objects.isNull(resource.getResourceState())
+              ? Set.of()
+              : getPossibleEvents(resource, caller));
+    }
+    return events;
   }
 
   public Map<String, Object> getStateMachineDiagram() {
@@ -113,68 +147,101 @@ public class ResourceLifecycleServiceImpl implements ResourceLifecycleService {
       throw new StateMachineException(
           "The requirement for this operation was not met. Please make sure you have submitted the required form and try again.");
     }
-    if (!getPossibleEvents(negotiationId, resourceId).contains(negotiationResourceEvent)) {
-      return getCurrentStateForResource(negotiationId, resourceId);
-    }
-    persistStateMachineHandler
-        .handleEventWithStateReactively(
-            MessageBuilder.withPayload(negotiationResourceEvent.name())
-                .setHeader("negotiationId", negotiationId)
-                .setHeader("resourceId", resourceId)
-                .build(),
-            getCurrentStateForResource(negotiationId, resourceId).name())
-        .subscribe();
-    return getCurrentStateForResource(negotiationId, resourceId);
+    Caller caller = Caller.current();
+    return transitionExecutor.execute(
+        () -> {
+          ResourceLifecycleView resource =
+              negotiationRepository
+                  .findResourceLifecycleView(negotiationId, resourceId, caller.personId())
+                  .orElseThrow(() -> new EntityNotFoundException(negotiationId));
+          if (Objects.isNull(resource.getResourceState())) {
+            throw new EntityNotFoundException(resourceId);
+          }
+          NegotiationResourceState source =
+              NegotiationResourceState.valueOf(resource.getResourceState());
+          if (!getPossibleEvents(resource, caller).contains(negotiationResourceEvent)) {
+            return Optional.of(source);
+          }
+          Transition<String, String> transition =
+              transitions.getTransition(source, negotiationResourceEvent).orElseThrow();
+          NegotiationResourceState target = transitions.getTarget(transition);
+          if (negotiationRepository.updateResourceState(negotiationId, resourceId, source, target)
+              == 0) {
+            return Optional.empty();
+          }
+          onTransition(negotiationId, resourceId, negotiationResourceEvent, transition, target);
+          return Optional.of(target);
+        });
   }
 
-  private NegotiationResourceState getCurrentStateForResource(
-      String negotiationId, String resourceId) throws EntityNotFoundException {
-    return negotiationRepository
-        .findNegotiationResourceStateById(negotiationId, resourceId)
-        .orElseThrow(() -> new EntityNotFoundException(negotiationId));
+  /**
+   * Runs the actions of a transition whose state change succeeded and records it. The record is
+   * inserted on its own, so the cost does not depend on the number of resources of the negotiation
+   * or on its history.
+   */
+  private void onTransition(
+      String negotiationId,
+      String resourceId,
+      NegotiationResourceEvent negotiationResourceEvent,
+      Transition<String, String> transition,
+      NegotiationResourceState target) {
+    transitionExecutor.executeActions(
+        stateMachine,
+        transition,
+        MessageBuilder.withPayload(negotiationResourceEvent.name())
+            .setHeader("negotiationId", negotiationId)
+            .setHeader("resourceId", resourceId)
+            .build());
+    Resource resource =
+        resourceRepository
+            .findBySourceId(resourceId)
+            .orElseThrow(() -> new EntityNotFoundException(resourceId));
+    NegotiationResourceLifecycleRecord record =
+        lifecycleRecordRepository.save(
+            NegotiationResourceLifecycleRecord.builder()
+                .negotiationId(negotiationId)
+                .resource(resource)
+                .changedTo(target)
+                .build());
+    Negotiation negotiation = negotiationRepository.getReferenceById(negotiationId);
+    if (Hibernate.isInitialized(negotiation)) {
+      negotiation.applyResourceStateChange(resourceId, record);
+    }
+    userNotificationService.notifyRequesterAboutStatusChange(negotiation, resource, target);
   }
 
-  private Set<NegotiationResourceEvent> getPossibleEventsForCurrentStateMachine(
-      String negotiationId, String resourceId, NegotiationResourceState resourceState) {
-    Negotiation negotiation =
-        negotiationRepository
-            .findById(negotiationId)
-            .orElseThrow(() -> new EntityNotFoundException(negotiationId));
-    if (!negotiation.getCurrentState().equals(NegotiationState.IN_PROGRESS)) {
+  private Set<NegotiationResourceEvent> getPossibleEvents(
+      ResourceLifecycleView resource, Caller caller) {
+    if (!NegotiationState.IN_PROGRESS.name().equals(resource.getNegotiationState())) {
       return Set.of();
     }
-    return stateMachine.getTransitions().stream()
-        .filter(transition -> transition.getSource().getId().equals(resourceState.toString()))
-        .filter(
-            transition ->
-                isSecurityRuleMet(transition.getSecurityRule(), negotiationId, resourceId))
-        .map(transition -> transition.getTrigger().getEvent())
-        .map(NegotiationResourceEvent::valueOf)
-        .collect(Collectors.toSet());
+    return transitions.getEvents(
+        NegotiationResourceState.valueOf(resource.getResourceState()),
+        attribute ->
+            switch (attribute) {
+              case "isCreator" -> caller.person() && resource.isAuthor();
+              case "isRepresentative" -> caller.person() && resource.isRepresentative();
+              case "isAdmin" -> caller.admin();
+              default -> true;
+            });
   }
 
-  private boolean isSecurityRuleMet(
-      SecurityRule securityRule, String negotiationId, String resourceId) {
-    if (securityRule == null || securityRule.getAttributes().isEmpty()) {
-      return true;
-    }
-    Long creatorId;
-    try {
-      creatorId = AuthenticatedUserContext.getCurrentlyAuthenticatedUserInternalId();
-    } catch (ClassCastException e) {
-      return false;
-    } catch (NullPointerException e) {
-      creatorId = 0L;
-    }
-    if (securityRule.getAttributes().contains("isCreator")) {
-      return negotiationRepository.existsByIdAndCreatedBy_Id(negotiationId, creatorId);
-    } else if (securityRule.getAttributes().contains("isRepresentative")) {
-      return personService.isRepresentativeOfAnyResource(
-          AuthenticatedUserContext.getCurrentlyAuthenticatedUserInternalId(), List.of(resourceId));
-    } else if (securityRule.getAttributes().contains("isAdmin")) {
-      return Objects.isNull(SecurityContextHolder.getContext().getAuthentication())
-          || AuthenticatedUserContext.isCurrentlyAuthenticatedUserAdmin();
+  /**
+   * The person sending the events. When nobody is authenticated, as for the events sent by the
+   * system, it is granted the administrator rules only.
+   */
+  private record Caller(Long personId, boolean person, boolean admin) {
+    static Caller current() {
+      try {
+        Long personId = AuthenticatedUserContext.getCurrentlyAuthenticatedUserInternalId();
+        return new Caller(
+            personId, true, AuthenticatedUserContext.isCurrentlyAuthenticatedUserAdmin());
+      } catch (ClassCastException e) {
+        return new Caller(0L, false, false);
+      } catch (NullPointerException e) {
+        return new Caller(
+            0L, false, Objects.isNull(SecurityContextHolder.getContext().getAuthentication()));
+      }
     }
-    return true;
   }
 }
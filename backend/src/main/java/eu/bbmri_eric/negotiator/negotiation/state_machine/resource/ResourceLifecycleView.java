@@ -0,0 +1,17 @@
+package eu.bbmri_eric.negotiator.negotiation.state_machine.resource;
+
+/**
+ * The current state of a resource in a negotiation, as seen by a person, to find the events it can
+ * send.
+ */
+public interface ResourceLifecycleView {
+  String getResourceId();
+
+  String getResourceState();
+
+  String getNegotiationState();
+
+  boolean isAuthor();
+
+  boolean isRepresentative();
+}
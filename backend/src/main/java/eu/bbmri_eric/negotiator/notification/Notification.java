@@ -16,6 +16,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.SequenceGenerator;
+import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -57,6 +58,15 @@ public class Notification extends AuditEntity {
   @Enumerated(EnumType.STRING)
   private NotificationEmailStatus emailStatus;
 
+  /** Number of failed attempts to deliver the email for this notification. */
+  private int emailAttempts;
+
+  /** Earliest time the email may be retried after a failed attempt. */
+  private LocalDateTime emailNextAttemptAt;
+
+  /** Time until which a dispatcher holds the claim on sending the email. */
+  private LocalDateTime emailLockedUntil;
+
   public Notification(
       @Nonnull Person recipient,
       @Nonnull Negotiation negotiation,
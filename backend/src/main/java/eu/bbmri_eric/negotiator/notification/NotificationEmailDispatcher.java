@@ -0,0 +1,227 @@
+package eu.bbmri_eric.negotiator.notification;
+
+import eu.bbmri_eric.negotiator.notification.email.EmailService;
+import eu.bbmri_eric.negotiator.notification.email.NotificationEmail;
+import eu.bbmri_eric.negotiator.notification.email.NotificationEmailRepository;
+import eu.bbmri_eric.negotiator.notification.email.NotificationEmailStatus;
+import eu.bbmri_eric.negotiator.notification.email.OutgoingEmail;
+import eu.bbmri_eric.negotiator.user.Person;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.extern.apachecommons.CommonsLog;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Delivers the digest emails for pending notifications, using the notification table as an outbox.
+ * Each run claims batches of recipients with {@code SELECT ... SKIP LOCKED}, together with all
+ * their due notifications, and leases these for a limited time, so that dispatchers running on
+ * several replicas never pick up the same notification and each recipient gets a single digest. The
+ * emails of a batch are sent outside the transaction by a bounded pool of workers, each reusing a
+ * single SMTP connection for its share of the batch. The outcome is then written back with one
+ * update for the delivered notifications and one for the failed ones, which are retried with
+ * exponential backoff until the maximum number of attempts is reached.
+ */
+@Component
+@CommonsLog
+public class NotificationEmailDispatcher implements DisposableBean {
+
+  private final NotificationRepository notificationRepository;
+  private final NotificationEmailRepository notificationEmailRepository;
+  private final EmailService emailService;
+  private final NotificationEmailRenderer emailRenderer;
+  private final TransactionTemplate transactionTemplate;
+  private final ExecutorService executor;
+  private final int batchSize;
+  private final int concurrency;
+  private final Duration lease;
+  private final int maxAttempts;
+  private final Duration backoff;
+  private final Duration maxBackoff;
+
+  public NotificationEmailDispatcher(
+      NotificationRepository notificationRepository,
+      NotificationEmailRepository notificationEmailRepository,
+      EmailService emailService,
+      NotificationEmailRenderer emailRenderer,
+      PlatformTransactionManager transactionManager,
+      @Value("${negotiator.email.dispatcher.batch-size:100}") int batchSize,
+      @Value("${negotiator.email.dispatcher.concurrency:4}") int concurrency,
+      @Value("${negotiator.email.dispatcher.lease:10m}") Duration lease,
+      @Value("${negotiator.email.dispatcher.max-attempts:5}") int maxAttempts,
+      @Value("${negotiator.email.dispatcher.backoff:5m}") Duration backoff,
+      @Value("${negotiator.email.dispatcher.max-backoff:6h}") Duration maxBackoff) {
+    this.notificationRepository = notificationRepository;
+    this.notificationEmailRepository = notificationEmailRepository;
+    this.emailService = emailService;
+    this.emailRenderer = emailRenderer;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.executor =
+        Executors.newFixedThreadPool(
+            concurrency, new CustomizableThreadFactory("notification-email-"));
+    this.batchSize = batchSize;
+    this.concurrency = concurrency;
+    this.lease = lease;
+    this.maxAttempts = maxAttempts;
+    this.backoff = backoff;
+    this.maxBackoff = maxBackoff;
+  }
+
+  /** Sends the emails for all notifications that are currently due. */
+  @Scheduled(cron = "${negotiator.email.frequency-cron-expression:0 0 * * * *}")
+  public void dispatchPendingEmails() {
+    log.info("Sending new email notifications.");
+    int delivered = 0;
+    int failed = 0;
+    List<Long> claimed;
+    while (!(claimed = claimBatch()).isEmpty()) {
+      int deliveredInBatch = dispatch(claimed);
+      delivered += deliveredInBatch;
+      failed += claimed.size() - deliveredInBatch;
+    }
+    if (delivered + failed > 0) {
+      log.info(
+          "Email notifications dispatched: %d delivered, %d failed.".formatted(delivered, failed));
+    }
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdown();
+  }
+
+  private List<Long> claimBatch() {
+    return transactionTemplate.execute(
+        status -> {
+          LocalDateTime now = LocalDateTime.now();
+          List<Long> recipientIds =
+              notificationRepository.lockPendingEmailRecipients(now, batchSize);
+          if (recipientIds.isEmpty()) {
+            return List.<Long>of();
+          }
+          List<Long> ids = notificationRepository.lockPendingEmails(recipientIds, now);
+          if (!ids.isEmpty()) {
+            notificationRepository.claimEmails(ids, now.plus(lease));
+          }
+          return ids;
+        });
+  }
+
+  /**
+   * Renders, sends and records the emails for a claimed batch of notifications.
+   *
+   * @return the number of notifications whose email was delivered
+   */
+  private int dispatch(List<Long> claimed) {
+    Map<OutgoingEmail, Pending> pending = new IdentityHashMap<>();
+    List<Long> failedIds = new ArrayList<>(claimed);
+    transactionTemplate.execute(
+        status -> {
+          pending.putAll(render(notificationRepository.findViewByIdIn(claimed)));
+          return null;
+        });
+    pending.values().forEach(email -> failedIds.removeAll(email.notificationIds()));
+
+    Set<OutgoingEmail> undelivered = send(new ArrayList<>(pending.keySet()));
+    List<Long> sentIds = new ArrayList<>();
+    List<NotificationEmail> records = new ArrayList<>();
+    pending.forEach(
+        (email, notifications) -> {
+          boolean delivered = !undelivered.contains(email);
+          (delivered ? sentIds : failedIds).addAll(notifications.notificationIds());
+          records.add(
+              NotificationEmail.builder()
+                  .recipient(notifications.recipient())
+                  .message(email.body())
+                  .sentAt(LocalDateTime.now())
+                  .wasSuccessfullySent(delivered)
+                  .build());
+        });
+
+    transactionTemplate.execute(
+        status -> {
+          LocalDateTime now = LocalDateTime.now();
+          if (!sentIds.isEmpty()) {
+            notificationRepository.markEmailsSent(sentIds, NotificationEmailStatus.EMAIL_SENT, now);
+          }
+          if (!failedIds.isEmpty()) {
+            notificationRepository.markEmailsFailed(
+                failedIds, now, backoff.toSeconds(), maxBackoff.toSeconds(), maxAttempts);
+          }
+          notificationEmailRepository.saveAll(records);
+          return null;
+        });
+    return sentIds.size();
+  }
+
+  private Map<OutgoingEmail, Pending> render(List<NotificationViewDTO> notifications) {
+    Map<Long, List<NotificationViewDTO>> byRecipient = new LinkedHashMap<>();
+    for (NotificationViewDTO notification : notifications) {
+      byRecipient
+          .computeIfAbsent(notification.getRecipient().getId(), id -> new ArrayList<>())
+          .add(notification);
+    }
+    Map<OutgoingEmail, Pending> emails = new IdentityHashMap<>();
+    for (List<NotificationViewDTO> recipientNotifications : byRecipient.values()) {
+      Person recipient = recipientNotifications.get(0).getRecipient();
+      try {
+        emails.put(
+            new OutgoingEmail(
+                recipient.getEmail(),
+                NotificationEmailRenderer.SUBJECT,
+                emailRenderer.render(recipient, recipientNotifications)),
+            new Pending(
+                recipient,
+                recipientNotifications.stream().map(NotificationViewDTO::getId).toList()));
+      } catch (RuntimeException e) {
+        log.error("Failed to render notification email for person %s".formatted(recipient.getId()));
+      }
+    }
+    return emails;
+  }
+
+  /** Splits the emails among the workers and returns the ones that could not be delivered. */
+  private Set<OutgoingEmail> send(List<OutgoingEmail> emails) {
+    Set<OutgoingEmail> undelivered = Collections.newSetFromMap(new IdentityHashMap<>());
+    if (emails.isEmpty()) {
+      return undelivered;
+    }
+    int chunkSize = (emails.size() + concurrency - 1) / concurrency;
+    Map<Future<List<OutgoingEmail>>, List<OutgoingEmail>> chunks = new LinkedHashMap<>();
+    for (int from = 0; from < emails.size(); from += chunkSize) {
+      List<OutgoingEmail> chunk = emails.subList(from, Math.min(from + chunkSize, emails.size()));
+      chunks.put(executor.submit(() -> emailService.sendEmails(chunk)), chunk);
+    }
+    chunks.forEach(
+        (future, chunk) -> {
+          try {
+            undelivered.addAll(future.get());
+          } catch (ExecutionException e) {
+            log.error("Failed to send notification emails", e.getCause());
+            undelivered.addAll(chunk);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            undelivered.addAll(chunk);
+          }
+        });
+    return undelivered;
+  }
+
+  private record Pending(Person recipient, List<Long> notificationIds) {}
+}
@@ -0,0 +1,91 @@
+package eu.bbmri_eric.negotiator.notification;
+
+import eu.bbmri_eric.negotiator.user.Person;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+/** Renders the digest email summarising the pending notifications of a recipient. */
+@Component
+public class NotificationEmailRenderer {
+
+  static final String SUBJECT = "New Notifications";
+  private static final String TEMPLATE = "email-notification";
+
+  private final TemplateEngine templateEngine;
+
+  @Value("${negotiator.frontend-url}")
+  private String frontendUrl;
+
+  @Value("${negotiator.emailYoursSincerelyText}")
+  private String emailYoursSincerelyText;
+
+  @Value("${negotiator.emailHelpdeskHref}")
+  private String emailHelpdeskHref;
+
+  @Value("${negotiator.emailLogo}")
+  private String logoURL;
+
+  public NotificationEmailRenderer(TemplateEngine templateEngine) {
+    this.templateEngine = templateEngine;
+  }
+
+  /**
+   * Renders the email body for the given notifications of one recipient.
+   *
+   * @param recipient the person the email is addressed to
+   * @param notifications the notifications to include in the email
+   * @return the HTML body of the email
+   */
+  public String render(
+      @NonNull Person recipient, @NonNull List<NotificationViewDTO> notifications) {
+    Context context = new Context();
+    List<String> negotiationsIds =
+        notifications.stream()
+            .map(NotificationViewDTO::getNegotiationId)
+            .distinct()
+            .collect(Collectors.toList());
+
+    Map<String, String> roleForNegotiation = new HashMap<>();
+    Map<String, String> titleForNegotiation = new HashMap<>();
+    for (NotificationViewDTO notification : notifications) {
+      roleForNegotiation.put(notification.getNegotiationId(), extractRole(notification));
+      titleForNegotiation.put(notification.getNegotiationId(), notification.getNegotiationTitle());
+    }
+    Map<String, List<NotificationViewDTO>> notificationsForNegotiation =
+        notifications.stream()
+            .collect(Collectors.groupingBy(NotificationViewDTO::getNegotiationId));
+
+    context.setVariable("recipient", recipient);
+    context.setVariable("negotiations", negotiationsIds);
+    context.setVariable("frontendUrl", frontendUrl);
+    context.setVariable("roleForNegotiation", roleForNegotiation);
+    context.setVariable("titleForNegotiation", titleForNegotiation);
+    context.setVariable("notificationsForNegotiation", notificationsForNegotiation);
+    context.setVariable("emailYoursSincerelyText", emailYoursSincerelyText);
+    context.setVariable("emailHelpdeskHref", emailHelpdeskHref);
+    context.setVariable("logoUrl", logoURL);
+
+    return templateEngine.process(TEMPLATE, context);
+  }
+
+  private static String extractRole(NotificationViewDTO notification) {
+    String message = notification.getMessage();
+    if (message.matches("New Negotiation .* was added for review\\.")
+        || message.matches("The negotiation .* is awaiting review\\.")) {
+      return "ROLE_ADMIN";
+    } else if (Objects.equals(
+        notification.getRecipient().getId(), notification.getNegotiationCreatorId())) {
+      return "ROLE_RESEARCHER";
+    } else {
+      return "ROLE_REPRESENTATIVE";
+    }
+  }
+}
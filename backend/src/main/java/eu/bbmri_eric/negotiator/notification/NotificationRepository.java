@@ -1,8 +1,11 @@
 package eu.bbmri_eric.negotiator.notification;
 
 import eu.bbmri_eric.negotiator.notification.email.NotificationEmailStatus;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
@@ -15,7 +18,7 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
   @Query(
       "SELECT new eu.bbmri_eric.negotiator.notification.NotificationViewDTO("
-          + "nt.id, nt.message, nt.emailStatus, ng.id, ng.title, p) "
+          + "nt.id, nt.message, nt.emailStatus, ng.id, ng.title, p, ng.createdBy.id) "
           + "FROM Notification nt "
           + "JOIN nt.negotiation ng "
           + "JOIN nt.recipient p "
@@ -23,4 +26,83 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
           + "nt.emailStatus = :status")
   List<NotificationViewDTO> findViewByRecipientIdAndEmailStatus(
       Long recipientId, NotificationEmailStatus status);
+
+  @Query(
+      "SELECT new eu.bbmri_eric.negotiator.notification.NotificationViewDTO("
+          + "nt.id, nt.message, nt.emailStatus, ng.id, ng.title, p, ng.createdBy.id) "
+          + "FROM Notification nt "
+          + "JOIN nt.negotiation ng "
+          + "JOIN nt.recipient p "
+          + "WHERE nt.id IN :ids "
+          + "ORDER BY p.id, nt.id")
+  List<NotificationViewDTO> findViewByIdIn(Collection<Long> ids);
+
+  /**
+   * Locks a batch of recipients with notifications whose email is due, skipping recipients already
+   * locked by another transaction, so that concurrent dispatchers never claim the notifications of
+   * the same recipient.
+   */
+  @Query(
+      value =
+          "SELECT p.id FROM person p "
+              + "WHERE EXISTS (SELECT 1 FROM notification nt "
+              + "WHERE nt.recipient_id = p.id "
+              + "AND nt.email_status = 'EMAIL_NOT_SENT' "
+              + "AND (nt.email_next_attempt_at IS NULL OR nt.email_next_attempt_at <= :now) "
+              + "AND (nt.email_locked_until IS NULL OR nt.email_locked_until < :now)) "
+              + "ORDER BY p.id "
+              + "LIMIT :batchSize "
+              + "FOR NO KEY UPDATE SKIP LOCKED",
+      nativeQuery = true)
+  List<Long> lockPendingEmailRecipients(LocalDateTime now, int batchSize);
+
+  /**
+   * Locks all the notifications whose email is due of the given recipients, which must have been
+   * locked with {@link #lockPendingEmailRecipients}, so that each recipient gets a single digest.
+   */
+  @Query(
+      value =
+          "SELECT id FROM notification "
+              + "WHERE recipient_id IN :recipientIds "
+              + "AND email_status = 'EMAIL_NOT_SENT' "
+              + "AND (email_next_attempt_at IS NULL OR email_next_attempt_at <= :now) "
+              + "AND (email_locked_until IS NULL OR email_locked_until < :now) "
+              + "ORDER BY recipient_id, id "
+              + "FOR UPDATE",
+      nativeQuery = true)
+  List<Long> lockPendingEmails(Collection<Long> recipientIds, LocalDateTime now);
+
+  @Modifying
+  @Query("UPDATE Notification nt SET nt.emailLockedUntil = :lockedUntil WHERE nt.id IN :ids")
+  int claimEmails(Collection<Long> ids, LocalDateTime lockedUntil);
+
+  @Modifying
+  @Query(
+      "UPDATE Notification nt SET nt.emailStatus = :status, nt.emailLockedUntil = NULL, "
+          + "nt.emailNextAttemptAt = NULL, nt.modifiedDate = :now WHERE nt.id IN :ids")
+  int markEmailsSent(Collection<Long> ids, NotificationEmailStatus status, LocalDateTime now);
+
+  /**
+   * Records a failed delivery attempt. The next attempt is delayed exponentially with the number of
+   * attempts, and the notification is given up on once the maximum number of attempts is reached.
+   */
+  @Modifying
+  @Query(
+      value =
+          "UPDATE notification SET "
+              + "email_attempts = email_attempts + 1, "
+              + "email_locked_until = NULL, "
+              + "email_next_attempt_at = CAST(:now AS timestamp) + make_interval(secs => "
+              + "LEAST(:maxBackoffSeconds, :backoffSeconds * power(2, email_attempts))), "
+              + "email_status = CASE WHEN email_attempts + 1 >= :maxAttempts "
+              + "THEN 'EMAIL_FAILED' ELSE email_status END, "
+              + "modified_date = :now "
+              + "WHERE id IN :ids",
+      nativeQuery = true)
+  int markEmailsFailed(
+      Collection<Long> ids,
+      LocalDateTime now,
+      long backoffSeconds,
+      long maxBackoffSeconds,
+      int maxAttempts);
 }
@@ -14,4 +14,5 @@ public class NotificationViewDTO {
   private String negotiationId;
   private String negotiationTitle;
   private Person recipient;
+  private Long negotiationCreatorId;
 }
@@ -2,6 +2,7 @@ package eu.bbmri_eric.negotiator.notification;
 
 import eu.bbmri_eric.negotiator.governance.resource.Resource;
 import eu.bbmri_eric.negotiator.negotiation.Negotiation;
+import eu.bbmri_eric.negotiator.negotiation.state_machine.resource.NegotiationResourceState;
 import eu.bbmri_eric.negotiator.post.Post;
 import java.util.List;
 
@@ -40,8 +41,11 @@ public interface UserNotificationService {
    * Create a notification of a resource status change for the author of the request.
    *
    * @param negotiation that was updated.
+   * @param resource whose status changed.
+   * @param state the new status of the resource.
    */
-  void notifyRequesterAboutStatusChange(Negotiation negotiation, Resource resource);
+  void notifyRequesterAboutStatusChange(
+      Negotiation negotiation, Resource resource, NegotiationResourceState state);
 
   /**
    * Create notifications for all relevant Users about a new Post.
@@ -15,10 +15,8 @@ import jakarta.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -27,12 +25,7 @@ import lombok.extern.apachecommons.CommonsLog;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
 @Service
 @CommonsLog
@@ -43,33 +36,24 @@ public class UserNotificationServiceImpl implements UserNotificationService {
   PersonRepository personRepository;
   ModelMapper modelMapper;
   EmailService emailService;
-  TemplateEngine templateEngine;
+  NotificationEmailRenderer emailRenderer;
+  NotificationEmailDispatcher emailDispatcher;
   NegotiationRepository negotiationRepository;
 
-  @Value("${negotiator.frontend-url}")
-  private String frontendUrl;
-
-  @Value("${negotiator.emailYoursSincerelyText}")
-  private String emailYoursSincerelyText;
-
-  @Value("${negotiator.emailHelpdeskHref}")
-  private String emailHelpdeskHref;
-
-  @Value("${negotiator.emailLogo}")
-  private String logoURL;
-
   public UserNotificationServiceImpl(
       NotificationRepository notificationRepository,
       PersonRepository personRepository,
       ModelMapper modelMapper,
       EmailService emailService,
-      TemplateEngine templateEngine,
+      NotificationEmailRenderer emailRenderer,
+      NotificationEmailDispatcher emailDispatcher,
       NegotiationRepository negotiationRepository) {
     this.notificationRepository = notificationRepository;
     this.personRepository = personRepository;
     this.modelMapper = modelMapper;
     this.emailService = emailService;
-    this.templateEngine = templateEngine;
+    this.emailRenderer = emailRenderer;
+    this.emailDispatcher = emailDispatcher;
     this.negotiationRepository = negotiationRepository;
   }
 
@@ -81,12 +65,7 @@ public class UserNotificationServiceImpl implements UserNotificationService {
   }
 
   private static Set<Person> getRepresentativesForNegotiation(Negotiation negotiation) {
-    return negotiation.getResources().stream()
-        .filter(
-            resource ->
-                Objects.equals(
-                    negotiation.getCurrentStateForResource(resource.getSourceId()),
-                    NegotiationResourceState.SUBMITTED))
+    return negotiation.getResourcesInState(NegotiationResourceState.SUBMITTED).stream()
         .map(Resource::getRepresentatives)
         .flatMap(Set::stream)
         .collect(Collectors.toSet());
@@ -117,7 +96,8 @@ public class UserNotificationServiceImpl implements UserNotificationService {
                         notification.getEmailStatus(),
                         negotiation.getId(),
                         parseTitleFromNegotiation(negotiation),
-                        notification.getRecipient()))
+                        notification.getRecipient(),
+                        negotiation.getCreatedBy().getId()))
             .collect(Collectors.toList()));
   }
 
@@ -138,7 +118,8 @@ public class UserNotificationServiceImpl implements UserNotificationService {
   }
 
   @Override
-  public void notifyRequesterAboutStatusChange(Negotiation negotiation, Resource resource) {
+  public void notifyRequesterAboutStatusChange(
+      Negotiation negotiation, Resource resource, NegotiationResourceState state) {
     log.info("Notifying researcher about status change.");
     notificationRepository.save(
         Notification.builder()
@@ -147,10 +128,7 @@ public class UserNotificationServiceImpl implements UserNotificationService {
             .recipient(negotiation.getCreatedBy())
             .message(
                 "Negotiation %s had a change of status of %s to %s"
-                    .formatted(
-                        negotiation.getId(),
-                        resource.getSourceId(),
-                        negotiation.getCurrentStateForResource(resource.getSourceId())))
+                    .formatted(negotiation.getId(), resource.getSourceId(), state))
             .build());
   }
 
@@ -255,25 +233,23 @@ public class UserNotificationServiceImpl implements UserNotificationService {
   }
 
   private void markResourcesWithoutARepresentative(@NonNull Negotiation negotiation) {
-    for (Resource resourceWithoutRep :
+    Set<String> resourcesWithoutRep =
         negotiation.getResources().stream()
             .filter(resource -> resource.getRepresentatives().isEmpty())
-            .collect(Collectors.toSet())) {
-      log.warn(
-          "Resource with ID: %s does not have a representative."
-              .formatted(resourceWithoutRep.getSourceId()));
-      negotiation.setStateForResource(
-          resourceWithoutRep.getSourceId(), NegotiationResourceState.REPRESENTATIVE_UNREACHABLE);
+            .map(Resource::getSourceId)
+            .collect(Collectors.toSet());
+    for (String resourceId : resourcesWithoutRep) {
+      log.warn("Resource with ID: %s does not have a representative.".formatted(resourceId));
     }
+    negotiation.setStateForResources(
+        resourcesWithoutRep, NegotiationResourceState.REPRESENTATIVE_UNREACHABLE);
   }
 
   private void markReachableResources(
       Negotiation negotiation, @NonNull Set<Resource> overlappingResources) {
-    for (Resource resourceWithRepresentative : overlappingResources) {
-      negotiation.setStateForResource(
-          resourceWithRepresentative.getSourceId(),
-          NegotiationResourceState.REPRESENTATIVE_CONTACTED);
-    }
+    negotiation.setStateForResources(
+        overlappingResources.stream().map(Resource::getSourceId).toList(),
+        NegotiationResourceState.REPRESENTATIVE_CONTACTED);
   }
 
   private void createNewNotification(Negotiation negotiation, Person representative) {
@@ -303,90 +279,16 @@ public class UserNotificationServiceImpl implements UserNotificationService {
   }
 
   @Override
-  @Scheduled(cron = "${negotiator.email.frequency-cron-expression:0 0 * * * *}")
-  @Async
   public void sendEmailsForNewNotifications() {
-    log.info("Sending new email notifications.");
-    Set<Person> recipients = getPendingRecipients();
-    sendOutNotificationEmails(recipients);
-  }
-
-  private void sendOutNotificationEmails(@NonNull Set<Person> recipients) {
-    for (Person recipient : recipients) {
-      List<NotificationViewDTO> notifications = getPendingNotifications(recipient);
-      sendEmail(recipient, notifications);
-      markNotificationsAsEmailSent(notifications);
-    }
-  }
-
-  private void markNotificationsAsEmailSent(@NonNull List<NotificationViewDTO> notifications) {
-    for (NotificationViewDTO notificationView : notifications) {
-      Notification notification =
-          notificationRepository.findById(notificationView.getId()).orElseThrow();
-      notification.setEmailStatus(NotificationEmailStatus.EMAIL_SENT);
-      notification.setModifiedDate(LocalDateTime.now());
-      notificationRepository.save(notification);
-    }
+    emailDispatcher.dispatchPendingEmails();
   }
 
   private void sendEmail(
       @NonNull Person recipient, @NonNull List<NotificationViewDTO> notifications) {
-    sendEmail(recipient, notifications, "email-notification");
-  }
-
-  private void sendEmail(
-      @NonNull Person recipient,
-      @NonNull List<NotificationViewDTO> notifications,
-      String emailTemplate) {
-
-    Context context = new Context();
-    List<String> negotiationsIds =
-        notifications.stream()
-            .map(NotificationViewDTO::getNegotiationId)
-            .distinct()
-            .collect(Collectors.toList());
-
-    Map<String, String> roleForNegotiation = populateRoleForNegotiationMap(notifications);
-    Map<String, String> titleForNegotiation = populateTitleForNegotiationMap(notifications);
-    Map<String, List<NotificationViewDTO>> notificationsForNegotiation =
-        notifications.stream()
-            .collect(Collectors.groupingBy(NotificationViewDTO::getNegotiationId));
-
-    context.setVariable("recipient", recipient);
-    context.setVariable("negotiations", negotiationsIds);
-    context.setVariable("frontendUrl", frontendUrl);
-    context.setVariable("roleForNegotiation", roleForNegotiation);
-    context.setVariable("titleForNegotiation", titleForNegotiation);
-    context.setVariable("notificationsForNegotiation", notificationsForNegotiation);
-    context.setVariable("emailYoursSincerelyText", emailYoursSincerelyText);
-    context.setVariable("emailHelpdeskHref", emailHelpdeskHref);
-    context.setVariable("logoUrl", logoURL);
-
-    String emailContent = templateEngine.process(emailTemplate, context);
-
-    emailService.sendEmail(recipient, "New Notifications", emailContent);
-  }
-
-  private Map<String, String> populateRoleForNegotiationMap(
-      List<NotificationViewDTO> notifications) {
-    Map<String, String> roleForNegotiation = new HashMap<>();
-    for (NotificationViewDTO notification : notifications) {
-      String negotiationId = notification.getNegotiationId();
-      String role = extractRole(notification);
-      roleForNegotiation.put(negotiationId, role);
-    }
-    return roleForNegotiation;
-  }
-
-  private Map<String, String> populateTitleForNegotiationMap(
-      List<NotificationViewDTO> notifications) {
-    Map<String, String> titleForNegotiation = new HashMap<>();
-    for (NotificationViewDTO notification : notifications) {
-      String negotiatorId = notification.getNegotiationId();
-      String title = notification.getNegotiationTitle();
-      titleForNegotiation.put(negotiatorId, title);
-    }
-    return titleForNegotiation;
+    emailService.sendEmail(
+        recipient,
+        NotificationEmailRenderer.SUBJECT,
+        emailRenderer.render(recipient, notifications));
   }
 
   private static String parseTitleFromNegotiation(Negotiation negotiation) {
@@ -400,28 +302,4 @@ public class UserNotificationServiceImpl implements UserNotificationService {
     }
     return title;
   }
-
-  private String extractRole(NotificationViewDTO notification) {
-    String message = notification.getMessage();
-    if (message.matches("New Negotiation .* was added for review\\.")
-        || message.matches("The negotiation .* is awaiting review\\.")) {
-      return "ROLE_ADMIN";
-    } else if (personRepository.isNegotiationCreator(
-        notification.getRecipient().getId(), notification.getNegotiationId())) {
-      return "ROLE_RESEARCHER";
-    } else {
-      return "ROLE_REPRESENTATIVE";
-    }
-  }
-
-  private List<NotificationViewDTO> getPendingNotifications(@NonNull Person recipient) {
-    return notificationRepository.findViewByRecipientIdAndEmailStatus(
-        recipient.getId(), NotificationEmailStatus.EMAIL_NOT_SENT);
-  }
-
-  private Set<Person> getPendingRecipients() {
-    return notificationRepository.findByEmailStatus(NotificationEmailStatus.EMAIL_NOT_SENT).stream()
-        .map(Notification::getRecipient)
-        .collect(Collectors.toSet());
-  }
 }
@@ -1,7 +1,16 @@
 package eu.bbmri_eric.negotiator.notification.email;
 
 import eu.bbmri_eric.negotiator.user.Person;
+import java.util.List;
 
 public interface EmailService {
   void sendEmail(Person recipient, String subject, String mailBody);
+
+  /**
+   * Synchronously sends a batch of emails over a single connection to the mail server.
+   *
+   * @param emails the emails to send
+   * @return the emails that could not be delivered
+   */
+  List<OutgoingEmail> sendEmails(List<OutgoingEmail> emails);
 }
@@ -4,11 +4,16 @@ import eu.bbmri_eric.negotiator.user.Person;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.regex.Pattern;
 import lombok.NonNull;
 import lombok.extern.apachecommons.CommonsLog;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.MailException;
 import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -98,4 +103,45 @@ public class EmailServiceImpl implements EmailService {
     notificationEmailRepository.save(notificationEmail);
     log.debug("Email message sent.");
   }
+
+  @Override
+  public List<OutgoingEmail> sendEmails(List<OutgoingEmail> emails) {
+    List<OutgoingEmail> failed = new ArrayList<>();
+    Map<MimeMessage, OutgoingEmail> messages = new IdentityHashMap<>();
+    for (OutgoingEmail email : emails) {
+      if (!isValidEmailAddress(email.recipientAddress())) {
+        log.error("Failed to send email. Invalid recipient email address.");
+        failed.add(email);
+        continue;
+      }
+      try {
+        messages.put(
+            buildMimeMessage(
+                javaMailSender.createMimeMessage(),
+                email.recipientAddress(),
+                email.subject(),
+                email.body()),
+            email);
+      } catch (RuntimeException e) {
+        log.error("Failed to send email. Check message content.");
+        failed.add(email);
+      }
+    }
+    if (messages.isEmpty()) {
+      return failed;
+    }
+    try {
+      javaMailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+    } catch (MailSendException e) {
+      log.error("Failed to send %d email(s).".formatted(e.getFailedMessages().size()));
+      e.getFailedMessages().keySet().stream()
+          .map(messages::get)
+          .filter(Objects::nonNull)
+          .forEach(failed::add);
+    } catch (MailException e) {
+      log.error("Failed to send emails. Check SMTP configuration.");
+      failed.addAll(messages.values());
+    }
+    return failed;
+  }
 }
@@ -2,5 +2,6 @@ package eu.bbmri_eric.negotiator.notification.email;
 
 public enum NotificationEmailStatus {
   EMAIL_SENT,
-  EMAIL_NOT_SENT
+  EMAIL_NOT_SENT,
+  EMAIL_FAILED
 }
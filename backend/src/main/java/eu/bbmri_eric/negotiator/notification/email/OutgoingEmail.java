@@ -0,0 +1,10 @@
+package eu.bbmri_eric.negotiator.notification.email;
+
+/**
+ * An email ready to be handed over to the mail server.
+ *
+ * @param recipientAddress the address of the recipient
+ * @param subject the subject line
+ * @param body the HTML body
+ */
+public record OutgoingEmail(String recipientAddress, String subject, String body) {}
@@ -1,22 +1,15 @@
 package eu.bbmri_eric.negotiator.notification.representative;
 
-import eu.bbmri_eric.negotiator.governance.organization.Organization;
-import eu.bbmri_eric.negotiator.governance.resource.Resource;
-import eu.bbmri_eric.negotiator.negotiation.Negotiation;
 import eu.bbmri_eric.negotiator.negotiation.NegotiationRepository;
-import eu.bbmri_eric.negotiator.negotiation.state_machine.resource.NegotiationResourceState;
+import eu.bbmri_eric.negotiator.negotiation.UnansweredRepresentative;
 import eu.bbmri_eric.negotiator.notification.NewNotificationEvent;
 import eu.bbmri_eric.negotiator.notification.Notification;
 import eu.bbmri_eric.negotiator.notification.NotificationRepository;
 import eu.bbmri_eric.negotiator.notification.email.NotificationEmailStatus;
-import eu.bbmri_eric.negotiator.post.Post;
-import eu.bbmri_eric.negotiator.user.Person;
+import eu.bbmri_eric.negotiator.user.PersonRepository;
 import jakarta.transaction.Transactional;
-import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Objects;
-import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.extern.apachecommons.CommonsLog;
 import org.springframework.context.ApplicationEventPublisher;
@@ -26,16 +19,21 @@ import org.springframework.stereotype.Service;
 @Service
 @CommonsLog
 public class RepresentativeNotificationServiceImpl implements RepresentativeNotificationService {
+  private static final int REMINDER_AFTER_DAYS = 5;
+
   private final NegotiationRepository negotiationRepository;
   private final NotificationRepository notificationRepository;
+  private final PersonRepository personRepository;
   private final ApplicationEventPublisher eventPublisher;
 
   public RepresentativeNotificationServiceImpl(
       NegotiationRepository negotiationRepository,
       NotificationRepository notificationRepository,
+      PersonRepository personRepository,
       ApplicationEventPublisher eventPublisher) {
     this.negotiationRepository = negotiationRepository;
     this.notificationRepository = notificationRepository;
+    this.personRepository = personRepository;
     this.eventPublisher = eventPublisher;
   }
 
@@ -44,57 +42,25 @@ public class RepresentativeNotificationServiceImpl implements RepresentativeNoti
   @Transactional
   public void notifyAboutPendingNegotiations() {
     log.info("Looking for pending negotiations");
-    Set<Negotiation> negotiations =
-        new HashSet<>(negotiationRepository.findAllCreatedOn(LocalDateTime.now().minusDays(5)));
-    for (Negotiation negotiation : negotiations) {
-      Set<Person> reps = getRepresentativesToNotify(negotiation);
-      notifyRepresentatives(negotiation, reps);
-    }
-  }
-
-  private Set<Person> getRepresentativesToNotify(Negotiation negotiation) {
-    Set<Organization> involvedOrganizations = negotiation.getOrganizations();
-    Set<Person> representativesToNotify = new HashSet<>();
-    for (Organization organization : involvedOrganizations) {
-      Set<Resource> involvedResourcesOfOrganization =
-          negotiation.getResources().stream()
-              .filter(resource -> resource.getOrganization().equals(organization))
-              .collect(Collectors.toSet());
-      Set<Person> representatives =
-          negotiation.getResources().stream()
-              .flatMap(resource -> resource.getRepresentatives().stream())
-              .collect(Collectors.toSet());
-      if (!hasOrganizationResponded(
-          negotiation, representatives, involvedResourcesOfOrganization)) {
-        log.info(
-            "No response from %s for negotiation %s. Sending reminder notifications to its representatives"
-                .formatted(organization.getName(), negotiation.getId()));
-        representativesToNotify.addAll(representatives);
-      }
+    LocalDate createdOn = LocalDate.now().minusDays(REMINDER_AFTER_DAYS);
+    List<UnansweredRepresentative> unanswered =
+        negotiationRepository.findUnansweredRepresentatives(
+            createdOn.atStartOfDay(), createdOn.plusDays(1).atStartOfDay());
+    if (unanswered.isEmpty()) {
+      return;
     }
-    return representativesToNotify;
-  }
-
-  private boolean hasOrganizationResponded(
-      Negotiation negotiation,
-      Set<Person> representatives,
-      Set<Resource> involvedResourcesOfOrganization) {
-    return organizationRepsPostedComments(negotiation, representatives)
-        || organizationResourcesHadStatusUpdate(negotiation, involvedResourcesOfOrganization);
-  }
-
-  private void notifyRepresentatives(Negotiation negotiation, Set<Person> representatives) {
+    log.info(
+        "Sending reminder notifications to %d representative(s) of pending negotiations"
+            .formatted(unanswered.size()));
     List<Notification> notifications =
-        representatives.stream()
+        unanswered.stream()
             .map(
-                rep ->
+                pending ->
                     new Notification(
-                        rep,
-                        negotiation,
+                        personRepository.getReferenceById(pending.getRepresentativeId()),
+                        negotiationRepository.getReferenceById(pending.getNegotiationId()),
                         "Pending Request",
-                        String.format(
-                            "%s is waiting for your response",
-                            negotiation.getCreatedBy().getName()),
+                        String.format("%s is waiting for your response", pending.getAuthorName()),
                         NotificationEmailStatus.EMAIL_NOT_SENT))
             .collect(Collectors.toList());
     notificationRepository.saveAll(notifications);
@@ -103,26 +69,4 @@ public class RepresentativeNotificationServiceImpl implements RepresentativeNoti
             eventPublisher.publishEvent(
                 new NewNotificationEvent(this, notification.getId(), "negotiation-reminder")));
   }
-
-  private boolean organizationResourcesHadStatusUpdate(
-      Negotiation negotiation, Set<Resource> involvedResourcesOfOrganization) {
-    for (Resource resource : involvedResourcesOfOrganization) {
-      if (!Objects.equals(
-          negotiation.getCurrentStateForResource(resource.getSourceId()),
-          NegotiationResourceState.REPRESENTATIVE_CONTACTED)) {
-        return true;
-      }
-    }
-    return false;
-  }
-
-  private boolean organizationRepsPostedComments(
-      Negotiation negotiation, Set<Person> representatives) {
-    for (Post post : negotiation.getPosts()) {
-      if (representatives.contains(post.getCreatedBy())) {
-        return true;
-      }
-    }
-    return false;
-  }
 }
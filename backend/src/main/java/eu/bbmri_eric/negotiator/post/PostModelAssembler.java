@@ -1,8 +1,8 @@
 package eu.bbmri_eric.negotiator.post;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import eu.bbmri_eric.negotiator.common.LinkBuilder;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.NonNull;
@@ -16,12 +16,15 @@ import org.springframework.stereotype.Component;
 public class PostModelAssembler
     implements RepresentationModelAssembler<PostDTO, EntityModel<PostDTO>> {
 
+  private static final LinkBuilder.Template SELF =
+      LinkBuilder.template(methodOn(PostController.class).getById(null));
+
   public PostModelAssembler() {}
 
   @Override
   public @NonNull EntityModel<PostDTO> toModel(@NonNull PostDTO entity) {
     List<Link> links = new ArrayList<>();
-    links.add(linkTo(methodOn(PostController.class).getById(entity.getId())).withSelfRel());
+    links.add(SELF.expand(entity.getId()).withSelfRel());
     return EntityModel.of(entity, links);
   }
 
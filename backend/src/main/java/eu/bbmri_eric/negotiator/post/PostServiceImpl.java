@@ -98,8 +98,10 @@ public class PostServiceImpl implements PostService {
       PostCreateDTO postRequest, String negotiationId, Negotiation negotiation) {
     if (!negotiationService.isAuthorizedForNegotiation(negotiationId)
         && !AuthenticatedUserContext.isCurrentlyAuthenticatedUserAdmin()
-        && !personRepository.isManagerOfAnyResourceOfNegotiation(
-            AuthenticatedUserContext.getCurrentlyAuthenticatedUserInternalId(), negotiationId)) {
+        && !negotiationAccessManager
+            .getAccessForNegotiation(
+                negotiationId, AuthenticatedUserContext.getCurrentlyAuthenticatedUserInternalId())
+            .isNetworkManager()) {
       throw new ForbiddenRequestException(
           "You're not authorized to send messages to this negotiation");
     }
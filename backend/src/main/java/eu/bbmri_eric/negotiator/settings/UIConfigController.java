@@ -1,5 +1,7 @@
 package eu.bbmri_eric.negotiator.settings;
 
+import eu.bbmri_eric.negotiator.common.ConditionalRequests;
+import eu.bbmri_eric.negotiator.common.ContentScope;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @RestController
 @RequestMapping("/v3")
@@ -20,15 +23,20 @@ import org.springframework.web.bind.annotation.RestController;
 public class UIConfigController {
 
   UIConfigService uiConfigService;
+  ConditionalRequests conditionalRequests;
 
-  public UIConfigController(UIConfigService uiConfigService) {
+  public UIConfigController(
+      UIConfigService uiConfigService, ConditionalRequests conditionalRequests) {
     this.uiConfigService = uiConfigService;
+    this.conditionalRequests = conditionalRequests;
   }
 
   @GetMapping(value = "/ui-config", produces = MediaType.APPLICATION_JSON_VALUE)
   @Operation(summary = "Returns configuration parameters for the UI")
-  @ResponseStatus(HttpStatus.OK)
-  public Map<String, Map<String, Object>> getUIConfiguration() {
+  public Map<String, Map<String, Object>> getUIConfiguration(ServletWebRequest request) {
+    if (conditionalRequests.isNotModified(request, "ui-config", ContentScope.UI_CONFIG)) {
+      return null;
+    }
     return uiConfigService.getAllParameters();
   }
 
@@ -1,5 +1,7 @@
 package eu.bbmri_eric.negotiator.settings;
 
+import eu.bbmri_eric.negotiator.common.ContentScope;
+import eu.bbmri_eric.negotiator.common.ContentVersionRepository;
 import eu.bbmri_eric.negotiator.common.exceptions.WrongRequestException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
@@ -15,9 +17,13 @@ import org.springframework.stereotype.Service;
 public class UIConfigServiceImpl implements UIConfigService {
 
   private final UIParameterRepository uiParameterRepository;
+  private final ContentVersionRepository contentVersionRepository;
 
-  public UIConfigServiceImpl(UIParameterRepository uiParameterRepository) {
+  public UIConfigServiceImpl(
+      UIParameterRepository uiParameterRepository,
+      ContentVersionRepository contentVersionRepository) {
     this.uiParameterRepository = uiParameterRepository;
+    this.contentVersionRepository = contentVersionRepository;
   }
 
   @Override
@@ -66,5 +72,6 @@ public class UIConfigServiceImpl implements UIConfigService {
                 uiParameterRepository.save(uiParameter);
               });
         });
+    contentVersionRepository.increment(ContentScope.UI_CONFIG);
   }
 }
@@ -3,9 +3,8 @@ package eu.bbmri_eric.negotiator.user;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import eu.bbmri_eric.negotiator.common.LinkBuilder;
 import eu.bbmri_eric.negotiator.negotiation.NegotiationController;
-import eu.bbmri_eric.negotiator.negotiation.NegotiationRole;
-import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationFilterDTO;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -18,12 +17,23 @@ import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.stereotype.Component;
 
 @Component
 public class UserModelAssembler
     implements RepresentationModelAssembler<UserResponseModel, EntityModel<UserResponseModel>> {
+
+  private static final LinkBuilder.Template USERS =
+      LinkBuilder.template(UserController.class).slash("users");
+  private static final LinkBuilder.Template SELF =
+      LinkBuilder.template(methodOn(UserController.class).findById(null));
+  private static final LinkBuilder.Template NEGOTIATIONS =
+      LinkBuilder.template(methodOn(NegotiationController.class).listRelated(null, null));
+  private static final LinkBuilder.Template REPRESENTED_RESOURCES =
+      LinkBuilder.template(methodOn(UserController.class).findRepresentedResources(null));
+  private static final LinkBuilder.Template NETWORKS =
+      LinkBuilder.template(methodOn(UserController.class).getRepresentedNetworks(null, 0, 50));
+
   public UserModelAssembler() {}
 
   @Override
@@ -41,51 +51,17 @@ public class UserModelAssembler
   @NonNull
   private static List<Link> getLinksForModel(UserResponseModel entity) {
     List<Link> links = new ArrayList<>();
-    links.add(linkTo(UserController.class).slash("users").withRel("users"));
-    links.add(
-        linkTo(methodOn(UserController.class).findById(Long.valueOf(entity.getId())))
-            .withSelfRel());
-    links.add(
-        WebMvcLinkBuilder.linkTo(
-                methodOn(NegotiationController.class)
-                    .listRelated(Long.valueOf(entity.getId()), null))
-            .withRel("negotiations")
-            .expand());
-    links.add(
-        linkTo(
-                methodOn(NegotiationController.class)
-                    .listRelated(
-                        Long.valueOf(entity.getId()),
-                        NegotiationFilterDTO.builder()
-                            .role(NegotiationRole.AUTHOR)
-                            .size(10)
-                            .build()))
-            .withRel("authored_negotiations")
-            .expand());
+    Long id = Long.valueOf(entity.getId());
+    links.add(USERS.expand().withRel("users"));
+    links.add(SELF.expand(id).withSelfRel());
+    links.add(NEGOTIATIONS.expand(id).withRel("negotiations"));
+    links.add(NEGOTIATIONS.expand(id).withRel("authored_negotiations"));
     if (entity.isRepresentativeOfAnyResource()) {
-      links.add(
-          linkTo(
-                  methodOn(UserController.class)
-                      .findRepresentedResources(Long.valueOf(entity.getId())))
-              .withRel("represented_resources"));
-      links.add(
-          linkTo(
-                  methodOn(NegotiationController.class)
-                      .listRelated(
-                          Long.valueOf(entity.getId()),
-                          NegotiationFilterDTO.builder()
-                              .role(NegotiationRole.REPRESENTATIVE)
-                              .size(10)
-                              .build()))
-              .withRel("negotiations_representative")
-              .expand());
+      links.add(REPRESENTED_RESOURCES.expand(id).withRel("represented_resources"));
+      links.add(NEGOTIATIONS.expand(id).withRel("negotiations_representative"));
     }
     if (entity.isNetworkManager()) {
-      links.add(
-          linkTo(
-                  methodOn(UserController.class)
-                      .getRepresentedNetworks(Long.valueOf(entity.getId()), 0, 50))
-              .withRel("networks"));
+      links.add(NETWORKS.expand(id).withRel("networks"));
     }
     return links;
   }
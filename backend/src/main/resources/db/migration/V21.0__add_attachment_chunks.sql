@@ -0,0 +1,14 @@
+create table attachment_chunk
+(
+    attachment_id varchar(255) not null references attachment (id) on delete cascade,
+    chunk_index   integer      not null,
+    data          bytea        not null,
+    primary key (attachment_id, chunk_index)
+);
+
+insert into attachment_chunk (attachment_id, chunk_index, data)
+select id, 0, payload
+from attachment
+where payload is not null and length(payload) > 0;
+
+alter table attachment drop column payload;
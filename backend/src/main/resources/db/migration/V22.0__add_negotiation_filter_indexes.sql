@@ -0,0 +1,8 @@
+create index if not exists idx_negotiation_created_by on negotiation (created_by);
+create index if not exists idx_negotiation_creation_date_id on negotiation (creation_date, id);
+create index if not exists idx_negotiation_current_state on negotiation (current_state);
+
+create index if not exists idx_negotiation_resource_link_resource on negotiation_resource_link (resource_id, negotiation_id);
+create index if not exists idx_resource_representative_link_resource on resource_representative_link (resource_id, person_id);
+create index if not exists idx_network_resources_link_resource on network_resources_link (resource_id, network_id);
+create index if not exists idx_network_person_link_person on network_person_link (person_id, network_id);
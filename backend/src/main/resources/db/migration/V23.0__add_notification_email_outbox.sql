@@ -0,0 +1,10 @@
+alter table notification add column email_attempts integer not null default 0;
+alter table notification add column email_next_attempt_at timestamp(6) without time zone;
+alter table notification add column email_locked_until timestamp(6) without time zone;
+
+alter table notification drop constraint if exists notification_email_status_check;
+alter table notification add constraint notification_email_status_check
+    check (email_status in ('EMAIL_SENT', 'EMAIL_NOT_SENT', 'EMAIL_FAILED'));
+
+create index if not exists idx_notification_pending_email on notification (recipient_id, id)
+    where email_status = 'EMAIL_NOT_SENT';
@@ -0,0 +1 @@
+create index if not exists idx_post_negotiation_created_by on post (negotiation_id, created_by);
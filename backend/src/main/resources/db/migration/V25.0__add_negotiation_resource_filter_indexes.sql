@@ -0,0 +1,2 @@
+create index if not exists idx_negotiation_resource_link_state on negotiation_resource_link (negotiation_id, current_state);
+create index if not exists idx_resource_organization on resource (organization_id);
@@ -0,0 +1,9 @@
+create table content_version
+(
+    scope   varchar(255) not null primary key,
+    version bigint       not null default 0
+);
+
+insert into content_version (scope, version)
+values ('ACCESS_FORMS', 0),
+       ('UI_CONFIG', 0);
@@ -0,0 +1,55 @@
+create table network_negotiation_daily_stats
+(
+    network_id              bigint       not null references network (id) on delete cascade,
+    day                     date         not null,
+    negotiation_state       varchar(255) not null,
+    negotiations            integer      not null,
+    ignored_negotiations    integer      not null,
+    successful_negotiations integer      not null,
+    primary key (network_id, day, negotiation_state)
+);
+
+create table network_response_time_daily_histogram
+(
+    network_id bigint  not null references network (id) on delete cascade,
+    day        date    not null,
+    bucket     integer not null,
+    responses  integer not null,
+    primary key (network_id, day, bucket)
+);
+
+create table network_requester_daily_activity
+(
+    network_id bigint not null references network (id) on delete cascade,
+    day        date   not null,
+    person_id  bigint not null,
+    primary key (network_id, day, person_id)
+);
+
+create table network_representative_daily_activity
+(
+    network_id bigint not null references network (id) on delete cascade,
+    day        date   not null,
+    person_id  bigint not null,
+    primary key (network_id, day, person_id)
+);
+
+create table requester_first_request
+(
+    person_id         bigint not null primary key,
+    first_request_day date   not null
+);
+
+create table network_stats_rollup_progress
+(
+    id              integer      not null primary key,
+    processed_until timestamp(6) not null
+);
+
+-- The first refresh rolls up the whole history
+insert into network_stats_rollup_progress (id, processed_until)
+values (1, '1970-01-01 00:00:00');
+
+create index if not exists idx_negotiation_modified_date on negotiation (modified_date);
+create index if not exists idx_resource_lifecycle_record_creation_date on negotiation_resource_lifecycle_record (creation_date);
+create index if not exists idx_post_creation_date on post (creation_date);
@@ -0,0 +1,12 @@
+ALTER TABLE resource ADD withdrawn boolean default false;
+
+ALTER TABLE discovery_service_synchronization_job
+    ADD total integer default 0 NOT NULL,
+    ADD processed integer default 0 NOT NULL,
+    ADD inserted integer default 0 NOT NULL,
+    ADD updated integer default 0 NOT NULL,
+    ADD withdrawn integer default 0 NOT NULL,
+    ADD skipped integer default 0 NOT NULL,
+    ADD error_message varchar(5000);
+
+CREATE INDEX idx_resource_discovery_service ON resource (discovery_service_id);
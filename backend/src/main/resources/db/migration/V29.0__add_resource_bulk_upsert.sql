@@ -0,0 +1,18 @@
+ALTER SEQUENCE resource_id_seq INCREMENT BY 50;
+
+-- Source ids identify resources across discovery services: duplicates have to be merged by hand.
+DO
+$$
+    DECLARE
+        duplicates text;
+    BEGIN
+        SELECT string_agg(source_id, ', ')
+        INTO duplicates
+        FROM (SELECT source_id FROM resource GROUP BY source_id HAVING count(*) > 1 ORDER BY source_id) d;
+        IF duplicates IS NOT NULL THEN
+            RAISE EXCEPTION 'Resources with duplicate source ids must be merged first: %', duplicates;
+        END IF;
+    END
+$$;
+
+CREATE UNIQUE INDEX uk_resource_source_id ON resource (source_id);
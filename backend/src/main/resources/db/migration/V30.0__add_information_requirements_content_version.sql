@@ -0,0 +1,2 @@
+insert into content_version (scope, version)
+values ('INFORMATION_REQUIREMENTS', 0);
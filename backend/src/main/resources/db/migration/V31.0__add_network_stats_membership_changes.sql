@@ -0,0 +1,59 @@
+-- Networks whose resources or representatives changed, whose rollups are recomputed entirely
+create table network_stats_membership_change
+(
+    network_id bigint       not null primary key,
+    changed_at timestamp(6) not null
+);
+
+create index idx_network_stats_membership_change_changed_at on network_stats_membership_change (changed_at);
+
+create function record_network_resources_change() returns trigger as
+$$
+begin
+    insert into network_stats_membership_change (network_id, changed_at)
+    select distinct l.network_id, localtimestamp
+    from changed_links l
+    on conflict (network_id) do update set changed_at = excluded.changed_at;
+    return null;
+end
+$$ language plpgsql;
+
+create function record_resource_representatives_change() returns trigger as
+$$
+begin
+    insert into network_stats_membership_change (network_id, changed_at)
+    select distinct nwrl.network_id, localtimestamp
+    from changed_links l
+             join network_resources_link nwrl on nwrl.resource_id = l.resource_id
+    on conflict (network_id) do update set changed_at = excluded.changed_at;
+    return null;
+end
+$$ language plpgsql;
+
+create trigger network_resources_link_inserted
+    after insert
+    on network_resources_link
+    referencing new table as changed_links
+    for each statement
+execute function record_network_resources_change();
+
+create trigger network_resources_link_deleted
+    after delete
+    on network_resources_link
+    referencing old table as changed_links
+    for each statement
+execute function record_network_resources_change();
+
+create trigger resource_representative_link_inserted
+    after insert
+    on resource_representative_link
+    referencing new table as changed_links
+    for each statement
+execute function record_resource_representatives_change();
+
+create trigger resource_representative_link_deleted
+    after delete
+    on resource_representative_link
+    referencing old table as changed_links
+    for each statement
+execute function record_resource_representatives_change();
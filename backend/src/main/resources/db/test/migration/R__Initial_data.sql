@@ -130,19 +130,26 @@ values ('post-1-researcher', '2023-06-19 10:15:00', '2023-06-19 10:15:00', 'post
         109, 'negotiation-1', 5, 'PRIVATE');
 
 
-insert into attachment (id, creation_date, modified_date, content_type, name, payload, size, created_by, modified_by,
+insert into attachment (id, creation_date, modified_date, content_type, name, size, created_by, modified_by,
                         negotiation_id, organization_id)
-values ('attachment-1', '2024-04-12', '2024-04-12', 'application/pdf', 'Attachment #1', 'AB'::bytea, 16, 108, 108,
+values ('attachment-1', '2024-04-12', '2024-04-12', 'application/pdf', 'Attachment #1', 2, 108, 108,
          'negotiation-5', null),  -- sent by creator publicly
-       ('attachment-2', '2024-04-12', '2024-04-12', 'application/pdf', 'Attachment #2', 'CD'::bytea, 16, 108, 108,
+       ('attachment-2', '2024-04-12', '2024-04-12', 'application/pdf', 'Attachment #2', 2, 108, 108,
          'negotiation-5', 4), -- sent by creator to biobank:1
-       ('attachment-3', '2024-04-12', '2024-04-12', 'application/pdf', 'Attachment #1', 'AB'::bytea, 16, 108, 108,
+       ('attachment-3', '2024-04-12', '2024-04-12', 'application/pdf', 'Attachment #1', 2, 108, 108,
          'negotiation-5', 6),  -- sent by creator to biobank:3
-       ('attachment-4', '2024-04-12', '2024-04-12', 'application/pdf', 'Attachment #3', 'EF'::bytea, 16, 109, 109,
+       ('attachment-4', '2024-04-12', '2024-04-12', 'application/pdf', 'Attachment #3', 2, 109, 109,
          'negotiation-5', null),  -- sent by biobanker publicly
-       ('attachment-5', '2024-04-12', '2024-04-12', 'application/pdf', 'Attachment #4', '12'::bytea, 16, 109, 109,
+       ('attachment-5', '2024-04-12', '2024-04-12', 'application/pdf', 'Attachment #4', 2, 109, 109,
          'negotiation-5', 4);  -- sent by biobanker to his/her organization
 
+insert into attachment_chunk (attachment_id, chunk_index, data)
+values ('attachment-1', 0, 'AB'::bytea),
+       ('attachment-2', 0, 'CD'::bytea),
+       ('attachment-3', 0, 'AB'::bytea),
+       ('attachment-4', 0, 'EF'::bytea),
+       ('attachment-5', 0, '12'::bytea);
+
 
 insert into network (id, external_id, name, uri, contact_email, description)
 values (1, 'bbmri-eric:ID:SE_890:network:bbmri-eric', 'network-1', 'https://network-1/', 'office@negotiator.org', 'Network 1'),
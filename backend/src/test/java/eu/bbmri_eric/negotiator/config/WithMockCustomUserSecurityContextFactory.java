@@ -1,5 +1,6 @@
 package eu.bbmri_eric.negotiator.config;
 
+import eu.bbmri_eric.negotiator.common.PersonSnapshot;
 import eu.bbmri_eric.negotiator.common.configuration.security.oauth2.NegotiatorJwtAuthenticationToken;
 import eu.bbmri_eric.negotiator.user.Person;
 import eu.bbmri_eric.negotiator.util.WithMockNegotiatorUser;
@@ -50,7 +51,8 @@ public class WithMockCustomUserSecurityContextFactory
         new Jwt(
             "testToken", Instant.now(), Instant.now().plus(3L, ChronoUnit.HOURS), headers, claims);
 
-    Authentication auth = new NegotiatorJwtAuthenticationToken(principal, jwt, authorities);
+    Authentication auth =
+        new NegotiatorJwtAuthenticationToken(PersonSnapshot.of(principal), jwt, authorities);
 
     context.setAuthentication(auth);
     return context;
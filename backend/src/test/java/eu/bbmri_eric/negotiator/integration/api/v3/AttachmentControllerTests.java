@@ -9,6 +9,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -24,6 +25,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithUserDetails;
@@ -185,6 +187,51 @@ public class AttachmentControllerTests {
         .andExpect(jsonPath("$.size", is((int) file.getSize())));
   }
 
+  @Test
+  @WithUserDetails("TheResearcher")
+  public void testDownload_Ok() throws Exception {
+    byte[] data = "Hello, World!".getBytes();
+    MockMultipartFile file =
+        new MockMultipartFile("file", "text.txt", MediaType.TEXT_PLAIN_VALUE, data);
+
+    MvcResult result =
+        mockMvc
+            .perform(multipart(WITH_NEGOTIATIONS_ENDPOINT).file(file))
+            .andExpect(status().isCreated())
+            .andReturn();
+
+    String id = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+    mockMvc
+        .perform(get("%s/%s".formatted(WITHOUT_NEGOTIATIONS_ENDPOINT, id)))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+        .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, data.length))
+        .andExpect(content().bytes(data));
+  }
+
+  @Test
+  @WithUserDetails("TheResearcher")
+  public void testDownload_PartialContent_whenRangeRequested() throws Exception {
+    byte[] data = "Hello, World!".getBytes();
+    MockMultipartFile file =
+        new MockMultipartFile("file", "text.txt", MediaType.TEXT_PLAIN_VALUE, data);
+
+    MvcResult result =
+        mockMvc
+            .perform(multipart(WITH_NEGOTIATIONS_ENDPOINT).file(file))
+            .andExpect(status().isCreated())
+            .andReturn();
+
+    String id = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+    mockMvc
+        .perform(
+            get("%s/%s".formatted(WITHOUT_NEGOTIATIONS_ENDPOINT, id))
+                .header(HttpHeaders.RANGE, "bytes=7-11"))
+        .andExpect(status().isPartialContent())
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-11/13"))
+        .andExpect(content().string("World"));
+  }
+
   @Test
   @WithUserDetails("TheResearcher")
   public void testGetById_NotFound() throws Exception {
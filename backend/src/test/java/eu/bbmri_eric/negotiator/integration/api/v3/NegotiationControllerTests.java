@@ -1,5 +1,6 @@
 package eu.bbmri_eric.negotiator.integration.api.v3;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -238,6 +239,77 @@ public class NegotiationControllerTests {
         .andExpect(jsonPath("$._links.last.href", is(lastLink)));
   }
 
+  /**
+   * It tests that, using cursor pagination, the pages are fetched following the next link and no
+   * page metadata is computed.
+   */
+  @Test
+  @WithUserDetails("admin")
+  public void testGetAllForAdministrator_whenNoFilters_withCursorPagination() throws Exception {
+    MvcResult firstPage =
+        mockMvc
+            .perform(MockMvcRequestBuilders.get("/v3/negotiations?size=2&after="))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.page").doesNotExist())
+            .andExpect(jsonPath("$._embedded.negotiations.length()", is(2)))
+            .andExpect(jsonPath("$._embedded.negotiations.[0].id", is(NEGOTIATION_1_ID)))
+            .andExpect(jsonPath("$._embedded.negotiations.[1].id", is(NEGOTIATION_2_ID)))
+            .andExpect(jsonPath("$._links.next.href").exists())
+            .andReturn();
+    String nextLink =
+        JsonPath.read(firstPage.getResponse().getContentAsString(), "$._links.next.href");
+
+    mockMvc
+        .perform(MockMvcRequestBuilders.get(nextLink))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$._embedded.negotiations.length()", is(2)))
+        .andExpect(jsonPath("$._embedded.negotiations.[0].id", is(NEGOTIATION_5_ID)))
+        .andExpect(jsonPath("$._embedded.negotiations.[1].id", is(NEGOTIATION_3_ID)));
+  }
+
+  /**
+   * It tests that the summary view lists the negotiations with their summary fields only, linking
+   * each of them to the full representation.
+   */
+  @Test
+  @WithUserDetails("admin")
+  public void testGetAllForAdministrator_withSummaryView() throws Exception {
+    mockMvc
+        .perform(MockMvcRequestBuilders.get("/v3/negotiations?size=2&view=summary"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/hal+json"))
+        .andExpect(jsonPath("$.page.totalElements", is(6)))
+        .andExpect(jsonPath("$._embedded.negotiations.length()", is(2)))
+        .andExpect(jsonPath("$._embedded.negotiations.[0].id", is(NEGOTIATION_1_ID)))
+        .andExpect(jsonPath("$._embedded.negotiations.[0].status").exists())
+        .andExpect(jsonPath("$._embedded.negotiations.[0].creationDate").exists())
+        .andExpect(jsonPath("$._embedded.negotiations.[0].payload").doesNotExist())
+        .andExpect(jsonPath("$._embedded.negotiations.[0].author").doesNotExist())
+        .andExpect(
+            jsonPath(
+                "$._embedded.negotiations.[0]._links.self.href",
+                is("http://localhost/v3/negotiations/%s".formatted(NEGOTIATION_1_ID))))
+        .andExpect(jsonPath("$._links.next.href", containsString("view=summary")));
+  }
+
+  /** It tests that cursor pagination is rejected for the summary view */
+  @Test
+  @WithUserDetails("admin")
+  public void testGetAllForAdministrator_withSummaryView_andCursorPagination() throws Exception {
+    mockMvc
+        .perform(MockMvcRequestBuilders.get("/v3/negotiations?view=summary&after="))
+        .andExpect(status().isBadRequest());
+  }
+
+  /** It tests that cursor pagination is rejected when not sorting by creation date */
+  @Test
+  @WithUserDetails("admin")
+  public void testGetAllForAdministrator_withCursorPagination_whenSortedByTitle() throws Exception {
+    mockMvc
+        .perform(MockMvcRequestBuilders.get("/v3/negotiations?sortBy=title&after="))
+        .andExpect(status().isBadRequest());
+  }
+
   /**
    * It tests that, getting all negotiations without filters for a user that doesn't represent any
    * resource, it returns all the negotiations create by the user.
@@ -1021,9 +1093,7 @@ public class NegotiationControllerTests {
   public void testUpdate_Ok() throws Exception {
     NegotiationUpdateDTO updateDTO = new NegotiationUpdateDTO();
     updateDTO.setPayload(
-        new ObjectMapper()
-            .readTree(
-                """
+        """
                         {
                     "project": {
                     "title": "Updated",
@@ -1039,7 +1109,7 @@ public class NegotiationControllerTests {
                        "ethics-vote": "No"
                      }
                     }
-                    """));
+                    """);
     mockMvc
         .perform(
             MockMvcRequestBuilders.put("/v3/negotiations/negotiation-1")
@@ -1543,4 +1613,65 @@ public class NegotiationControllerTests {
         .perform(MockMvcRequestBuilders.get("/v3/negotiations/negotiation-1/posts"))
         .andExpect(status().isOk());
   }
+
+  @Test
+  @WithMockNegotiatorUser(id = 109L, authorities = "ROLE_ADMIN")
+  @Transactional
+  void getResources_withPageSize_returnsPage() throws Exception {
+    Negotiation negotiation = negotiationRepository.findById("negotiation-1").orElseThrow();
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.get(
+                "%s/%s/resources?size=1".formatted(NEGOTIATIONS_URL, negotiation.getId())))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$._embedded.resources.length()", is(1)))
+        .andExpect(jsonPath("$.page.totalElements", is(negotiation.getResources().size())))
+        .andExpect(jsonPath("$._links.add_resources").exists());
+  }
+
+  @Test
+  @WithMockNegotiatorUser(id = 109L, authorities = "ROLE_ADMIN")
+  @Transactional
+  void getResources_filteredByState_returnsResourcesInState() throws Exception {
+    Negotiation negotiation = negotiationRepository.findById("negotiation-1").orElseThrow();
+    Resource resource = negotiation.getResources().iterator().next();
+    negotiation.setStateForResource(
+        resource.getSourceId(), NegotiationResourceState.RESOURCE_UNAVAILABLE);
+    negotiationRepository.saveAndFlush(negotiation);
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.get(
+                "%s/%s/resources?currentState=RESOURCE_UNAVAILABLE"
+                    .formatted(NEGOTIATIONS_URL, negotiation.getId())))
+        .andExpect(status().isOk())
+        .andExpect(
+            jsonPath(
+                "$._embedded.resources.length()",
+                is(
+                    negotiation
+                        .getResourcesInState(NegotiationResourceState.RESOURCE_UNAVAILABLE)
+                        .size())))
+        .andExpect(jsonPath("$._embedded.resources[0].currentState", is("RESOURCE_UNAVAILABLE")));
+  }
+
+  @Test
+  @WithMockNegotiatorUser(id = 109L, authorities = "ROLE_ADMIN")
+  @Transactional
+  void getResources_organizationsView_countsResourcesByOrganization() throws Exception {
+    Negotiation negotiation = negotiationRepository.findById("negotiation-1").orElseThrow();
+    Set<Long> organizations =
+        negotiation.getResources().stream()
+            .map(resource -> resource.getOrganization().getId())
+            .collect(Collectors.toSet());
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.get(
+                "%s/%s/resources?view=organizations"
+                    .formatted(NEGOTIATIONS_URL, negotiation.getId())))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$._embedded.organizations.length()", is(organizations.size())))
+        .andExpect(jsonPath("$._embedded.organizations[0].organization.externalId").exists())
+        .andExpect(jsonPath("$._embedded.organizations[0].resourcesByState").exists())
+        .andExpect(jsonPath("$._embedded.organizations[0]._links.organization_resources").exists());
+  }
 }
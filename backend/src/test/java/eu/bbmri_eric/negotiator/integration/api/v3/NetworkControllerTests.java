@@ -15,6 +15,7 @@ import eu.bbmri_eric.negotiator.governance.network.Network;
 import eu.bbmri_eric.negotiator.governance.network.NetworkCreateDTO;
 import eu.bbmri_eric.negotiator.governance.network.NetworkDTO;
 import eu.bbmri_eric.negotiator.governance.network.NetworkRepository;
+import eu.bbmri_eric.negotiator.governance.network.stats.NetworkStatsRollupService;
 import eu.bbmri_eric.negotiator.util.IntegrationTest;
 import eu.bbmri_eric.negotiator.util.WithMockNegotiatorUser;
 import jakarta.transaction.Transactional;
@@ -43,6 +44,7 @@ public class NetworkControllerTests {
 
   private MockMvc mockMvc;
   @Autowired private NetworkRepository networkRepository;
+  @Autowired private NetworkStatsRollupService networkStatsRollupService;
 
   @BeforeEach
   public void before() {
@@ -531,6 +533,7 @@ public class NetworkControllerTests {
   @Transactional
   @WithUserDetails("admin")
   void getStatistics_validNetwork_ok() throws Exception {
+    networkStatsRollupService.refresh();
     mockMvc
         .perform(
             MockMvcRequestBuilders.get(
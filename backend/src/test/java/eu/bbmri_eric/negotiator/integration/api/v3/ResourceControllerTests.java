@@ -2,6 +2,7 @@ package eu.bbmri_eric.negotiator.integration.api.v3;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -375,6 +376,75 @@ public class ResourceControllerTests {
     assertEquals(resourceDTO2.getUri(), resource2.get().getUri());
   }
 
+  @Test
+  @WithUserDetails("admin")
+  void upsertResources_ndjson_createdUpdatedAndUnchanged() throws Exception {
+    String line =
+        """
+        {"name": "%s", "sourceId": "%s", "organizationId": %d, "accessFormId": 1, \
+        "discoveryServiceId": 1}
+        """;
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.post(RESOURCES_ENDPOINT)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(
+                    line.formatted("New", "bulk:collection:1", 4)
+                        + line.formatted("Orphan", "bulk:collection:2", 999)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.created", is(1)))
+        .andExpect(jsonPath("$.failed", is(1)))
+        .andExpect(jsonPath("$.results[1].error", is("Organization with id 999 not found")));
+    Long id = repository.findBySourceId("bulk:collection:1").get().getId();
+
+    String renamed = line.formatted("Renamed", "bulk:collection:1", 4);
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.post(RESOURCES_ENDPOINT)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(renamed))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.updated", is(1)))
+        .andExpect(jsonPath("$.results[0].id", is(id.intValue())));
+    assertEquals("Renamed", repository.findById(id).get().getName());
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.post(RESOURCES_ENDPOINT)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(renamed))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.unchanged", is(1)));
+  }
+
+  @Test
+  @WithUserDetails("admin")
+  void upsertResources_withdrawnResource_reinstated() throws Exception {
+    String line =
+        """
+        {"name": "Withdrawn", "sourceId": "bulk:collection:3", "organizationId": 4, \
+        "accessFormId": 1, "discoveryServiceId": 1}
+        """;
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.post(RESOURCES_ENDPOINT)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(line))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.created", is(1)));
+    Resource resource = repository.findBySourceId("bulk:collection:3").get();
+    resource.setWithdrawn(true);
+    repository.save(resource);
+
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.post(RESOURCES_ENDPOINT)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(line))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.updated", is(1)));
+    assertFalse(repository.findById(resource.getId()).get().getWithdrawn());
+  }
+
   @Test
   @WithUserDetails("admin")
   void updateResource_singleResource_ok() throws Exception {
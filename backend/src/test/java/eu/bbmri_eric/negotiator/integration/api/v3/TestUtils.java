@@ -1,7 +1,6 @@
 package eu.bbmri_eric.negotiator.integration.api.v3;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -121,10 +120,7 @@ public class TestUtils {
                      }
                     }
                     """;
-    ObjectMapper mapper = new ObjectMapper();
-    JsonNode jsonPayload = mapper.readTree(payload);
-
-    return NegotiationCreateDTO.builder().payload(jsonPayload).request(requestsId).build();
+    return NegotiationCreateDTO.builder().payload(payload).request(requestsId).build();
   }
 
   public static String jsonFromRequest(Object request) throws JsonProcessingException {
@@ -2,6 +2,7 @@ package eu.bbmri_eric.negotiator.integration.api.v3;
 
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.annotation.DirtiesContext;
@@ -43,6 +45,38 @@ public class UIConfigControllerTest {
         .andExpect(jsonPath("$.footer.footerHeight").value(50));
   }
 
+  @Test
+  @WithMockUser(roles = {"ADMIN"})
+  void testGet_ifNoneMatch_notModifiedUntilUpdated() throws Exception {
+    String etag =
+        mvc.perform(MockMvcRequestBuilders.get("/v3/ui-config"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+    mvc.perform(MockMvcRequestBuilders.get("/v3/ui-config").header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+
+    String json =
+        """
+        {
+           "footer": { "footerHeight": 50 }
+        }
+        """;
+    mvc.perform(
+            MockMvcRequestBuilders.put("/v3/ui-config")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+        .andExpect(status().isNoContent());
+
+    mvc.perform(MockMvcRequestBuilders.get("/v3/ui-config").header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.footer.footerHeight").value(50));
+  }
+
   @Test
   void testUpdate_UnauthorizedWhenNoAuth() throws Exception {
     String json =
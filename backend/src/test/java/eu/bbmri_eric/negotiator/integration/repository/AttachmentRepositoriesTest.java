@@ -6,7 +6,6 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 
 import eu.bbmri_eric.negotiator.attachment.Attachment;
 import eu.bbmri_eric.negotiator.attachment.AttachmentRepository;
-import eu.bbmri_eric.negotiator.attachment.AttachmentViewDTO;
 import eu.bbmri_eric.negotiator.attachment.MetadataAttachmentViewDTO;
 import eu.bbmri_eric.negotiator.discovery.DiscoveryService;
 import eu.bbmri_eric.negotiator.discovery.DiscoveryServiceRepository;
@@ -111,7 +110,6 @@ public class AttachmentRepositoriesTest {
             .size(100L)
             .name("Attachment")
             .contentType("application/pdf")
-            .payload(new byte[] {1, 1})
             .negotiation(negotiation)
             .organization(organization)
             .build();
@@ -226,12 +224,12 @@ public class AttachmentRepositoriesTest {
   }
 
   @Test
-  void getPayloadById_ok() {
+  void findMetadataById_ok() {
     Person creator = createPerson("pers1");
     Attachment attachment1 = createAttachment(organization1, negotiation1, creator);
 
-    AttachmentViewDTO attachmentView =
-        attachmentRepository.findAllById(attachment1.getId()).orElse(null);
+    MetadataAttachmentViewDTO attachmentView =
+        attachmentRepository.findMetadataById(attachment1.getId()).orElse(null);
 
     assertNotNull(attachmentView);
     assertEquals(attachmentView.getId(), attachment1.getId());
@@ -241,13 +239,10 @@ public class AttachmentRepositoriesTest {
     assertEquals(attachmentView.getNegotiationId(), this.negotiation1.getId());
     assertEquals(attachmentView.getOrganizationExternalId(), organization1.getExternalId());
     assertEquals(attachmentView.getCreatedById(), attachment1.getCreatedBy().getId());
-    assertEquals(attachmentView.getPayload().length, 2);
-    assertEquals(attachmentView.getPayload()[0], attachment1.getPayload()[0]);
-    assertEquals(attachmentView.getPayload()[1], attachment1.getPayload()[1]);
   }
 
   @Test
-  void getPayloadById_notFound() {
+  void findById_notFound() {
     Person creator = createPerson("pers1");
     createAttachment(organization1, negotiation1, creator);
     assertNull(attachmentRepository.findById("unknown").orElse(null));
@@ -0,0 +1,116 @@
+package eu.bbmri_eric.negotiator.integration.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import eu.bbmri_eric.negotiator.discovery.DiscoveryService;
+import eu.bbmri_eric.negotiator.discovery.DiscoveryServiceRepository;
+import eu.bbmri_eric.negotiator.discovery.synchronization.DiscoveryNetwork;
+import eu.bbmri_eric.negotiator.discovery.synchronization.DiscoveryOrganization;
+import eu.bbmri_eric.negotiator.discovery.synchronization.DiscoveryResource;
+import eu.bbmri_eric.negotiator.discovery.synchronization.DiscoverySynchronizationRepository;
+import eu.bbmri_eric.negotiator.util.RepositoryTest;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+@RepositoryTest
+@Import(DiscoverySynchronizationRepository.class)
+public class DiscoverySynchronizationRepositoryTest {
+
+  @Autowired DiscoverySynchronizationRepository synchronizationRepository;
+  @Autowired DiscoveryServiceRepository discoveryServiceRepository;
+
+  private Long discoveryServiceId;
+
+  @BeforeEach
+  void before() {
+    discoveryServiceId =
+        discoveryServiceRepository
+            .save(DiscoveryService.builder().url("http://directory").name("Directory").build())
+            .getId();
+    synchronizationRepository.insertOrganizations(
+        List.of(new DiscoveryOrganization("org-1", "Biobank", null, null, null, false)));
+    synchronizationRepository.insertResources(
+        discoveryServiceId,
+        List.of(
+            new DiscoveryResource("res-1", "Collection 1", null, null, null, "org-1", false),
+            new DiscoveryResource("res-2", "Collection 2", null, null, null, "org-1", false)),
+        synchronizationRepository.findOrganizationIds(List.of("org-1")));
+  }
+
+  @Test
+  void updateResources_changedAndWithdrawn_readBack() {
+    DiscoveryResource renamed =
+        new DiscoveryResource("res-1", "Renamed", "desc", null, "https://res", "org-1", false);
+    synchronizationRepository.updateResources(
+        discoveryServiceId,
+        List.of(renamed),
+        synchronizationRepository.findOrganizationIds(List.of("org-1")));
+    synchronizationRepository.withdrawResources(discoveryServiceId, List.of("res-2"));
+
+    Map<String, DiscoveryResource> resources =
+        synchronizationRepository.findResources(discoveryServiceId);
+    assertEquals(renamed, resources.get("res-1"));
+    assertTrue(resources.get("res-2").withdrawn());
+    assertEquals(
+        Map.of("org-1", new DiscoveryOrganization("org-1", "Biobank", null, null, null, false)),
+        synchronizationRepository.findOrganizations(discoveryServiceId));
+  }
+
+  @Test
+  void replaceNetworkResources_linksOfTheServiceReplaced() {
+    DiscoveryNetwork network =
+        new DiscoveryNetwork("net-1", "Network", null, null, null, Set.of("res-1", "res-2"));
+    synchronizationRepository.insertNetworks(List.of(network));
+    Long networkId = synchronizationRepository.findNetworkIds(List.of("net-1")).get("net-1");
+    Map<String, Long> resourceIds =
+        synchronizationRepository.findResourceIds(discoveryServiceId, List.of("res-1", "res-2"));
+
+    synchronizationRepository.replaceNetworkResources(
+        discoveryServiceId,
+        Map.of(networkId, Set.of(resourceIds.get("res-1"), resourceIds.get("res-2"))));
+    synchronizationRepository.replaceNetworkResources(
+        discoveryServiceId, Map.of(networkId, Set.of(resourceIds.get("res-2"))));
+
+    DiscoveryNetwork stored =
+        synchronizationRepository.findNetworks(discoveryServiceId, List.of("net-1")).get("net-1");
+    assertEquals(Set.of("res-2"), stored.resourceIds());
+    assertEquals("", stored.uri());
+  }
+
+  @Test
+  void findSharedOrganizations_resourcesOfAnotherService_shared() {
+    assertEquals(Set.of(), synchronizationRepository.findSharedOrganizations(discoveryServiceId));
+    Long otherServiceId =
+        discoveryServiceRepository
+            .save(DiscoveryService.builder().url("http://other").name("Other").build())
+            .getId();
+    synchronizationRepository.insertResources(
+        otherServiceId,
+        List.of(new DiscoveryResource("res-3", "Collection 3", null, null, null, "org-1", false)),
+        synchronizationRepository.findOrganizationIds(List.of("org-1")));
+
+    assertEquals(
+        Set.of("org-1"), synchronizationRepository.findSharedOrganizations(discoveryServiceId));
+  }
+
+  @Test
+  void findExistingSourceIds_anyService_found() {
+    assertEquals(
+        Set.of("res-1"),
+        synchronizationRepository.findExistingSourceIds(List.of("res-1", "res-3")));
+  }
+
+  @Test
+  void insertResources_idsReservedInOneBlock() {
+    Map<String, Long> ids =
+        synchronizationRepository.findResourceIds(discoveryServiceId, List.of("res-1", "res-2"));
+
+    assertEquals(1, Math.abs(ids.get("res-1") - ids.get("res-2")));
+  }
+}
@@ -9,6 +9,8 @@ import eu.bbmri_eric.negotiator.discovery.DiscoveryService;
 import eu.bbmri_eric.negotiator.discovery.DiscoveryServiceRepository;
 import eu.bbmri_eric.negotiator.governance.network.Network;
 import eu.bbmri_eric.negotiator.governance.network.NetworkRepository;
+import eu.bbmri_eric.negotiator.governance.network.stats.ResponseTimeHistogram;
+import eu.bbmri_eric.negotiator.governance.network.stats.StatisticsInterval;
 import eu.bbmri_eric.negotiator.governance.organization.Organization;
 import eu.bbmri_eric.negotiator.governance.organization.OrganizationRepository;
 import eu.bbmri_eric.negotiator.governance.resource.Resource;
@@ -16,6 +18,10 @@ import eu.bbmri_eric.negotiator.governance.resource.ResourceRepository;
 import eu.bbmri_eric.negotiator.negotiation.Negotiation;
 import eu.bbmri_eric.negotiator.negotiation.NegotiationRepository;
 import eu.bbmri_eric.negotiator.negotiation.NegotiationSpecification;
+import eu.bbmri_eric.negotiator.negotiation.UnansweredRepresentative;
+import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationDTO;
+import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationSummaryDTO;
+import eu.bbmri_eric.negotiator.negotiation.mappers.NegotiationModelMapper;
 import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationState;
 import eu.bbmri_eric.negotiator.negotiation.state_machine.resource.NegotiationResourceState;
 import eu.bbmri_eric.negotiator.post.Post;
@@ -24,6 +30,7 @@ import eu.bbmri_eric.negotiator.post.PostType;
 import eu.bbmri_eric.negotiator.user.Person;
 import eu.bbmri_eric.negotiator.user.PersonRepository;
 import eu.bbmri_eric.negotiator.util.RepositoryTest;
+import jakarta.persistence.EntityManager;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -31,14 +38,20 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import lombok.extern.apachecommons.CommonsLog;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 @RepositoryTest
+@CommonsLog
 @Import(MockUserDetailsService.class)
 public class NegotiationRepositoryTest {
   @Autowired PersonRepository personRepository;
@@ -48,12 +61,15 @@ public class NegotiationRepositoryTest {
   @Autowired NegotiationRepository negotiationRepository;
   @Autowired NetworkRepository networkRepository;
   @Autowired PostRepository postRepository;
+  @Autowired JdbcTemplate jdbcTemplate;
+  @Autowired EntityManager entityManager;
 
   private DiscoveryService discoveryService;
   private Person person;
   private Resource resource;
   private Network network;
   private Organization organization;
+  private NetworkStatsReferenceQueries networkStats;
 
   String payload =
       """
@@ -76,6 +92,7 @@ public class NegotiationRepositoryTest {
 
   @BeforeEach
   void setUp() {
+    this.networkStats = new NetworkStatsReferenceQueries(entityManager);
     this.organization =
         organizationRepository.save(
             Organization.builder().name("test").externalId("biobank:1").build());
@@ -342,6 +359,53 @@ public class NegotiationRepositoryTest {
     assertTrue(negotiationRepository.findAllCreatedOn(LocalDateTime.now().minusDays(5)).isEmpty());
   }
 
+  @Test
+  void findUnansweredRepresentatives_contactedWithoutPost_ok() {
+    person.addResource(resource);
+    saveNegotiation();
+    Negotiation negotiation = negotiationRepository.findAll().get(0);
+    negotiation.setCreationDate(LocalDateTime.now().minusDays(5));
+    negotiation.setStateForResource(
+        resource.getSourceId(), NegotiationResourceState.REPRESENTATIVE_CONTACTED);
+    negotiationRepository.saveAndFlush(negotiation);
+    LocalDate day = LocalDate.now().minusDays(5);
+    List<UnansweredRepresentative> unanswered =
+        negotiationRepository.findUnansweredRepresentatives(
+            day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    assertEquals(1, unanswered.size());
+    assertEquals(negotiation.getId(), unanswered.get(0).getNegotiationId());
+    assertEquals(person.getId(), unanswered.get(0).getRepresentativeId());
+    assertEquals(person.getName(), unanswered.get(0).getAuthorName());
+    assertTrue(
+        negotiationRepository
+            .findUnansweredRepresentatives(
+                day.plusDays(1).atStartOfDay(), day.plusDays(2).atStartOfDay())
+            .isEmpty());
+    Post post = Post.builder().negotiation(negotiation).text("test").type(PostType.PUBLIC).build();
+    post.setCreatedBy(person);
+    postRepository.saveAndFlush(post);
+    assertTrue(
+        negotiationRepository
+            .findUnansweredRepresentatives(day.atStartOfDay(), day.plusDays(1).atStartOfDay())
+            .isEmpty());
+  }
+
+  @Test
+  void findUnansweredRepresentatives_statusUpdated_empty() {
+    person.addResource(resource);
+    saveNegotiation();
+    Negotiation negotiation = negotiationRepository.findAll().get(0);
+    negotiation.setCreationDate(LocalDateTime.now().minusDays(5));
+    negotiation.setStateForResource(
+        resource.getSourceId(), NegotiationResourceState.RESOURCE_AVAILABLE);
+    negotiationRepository.saveAndFlush(negotiation);
+    LocalDate day = LocalDate.now().minusDays(5);
+    assertTrue(
+        negotiationRepository
+            .findUnansweredRepresentatives(day.atStartOfDay(), day.plusDays(1).atStartOfDay())
+            .isEmpty());
+  }
+
   @Test
   void findIgnoredInNetwork_oneResource_ok() {
     saveNegotiation();
@@ -365,19 +429,19 @@ public class NegotiationRepositoryTest {
         negotiationRepository.findAll().get(0).getCurrentStateForResource(resource.getSourceId()));
     assertEquals(
         1,
-        networkRepository.countIgnoredForNetwork(
+        networkStats.countIgnoredForNetwork(
             LocalDate.now().minusYears(1), LocalDate.now(), network.getId()));
     negotiation.setStateForResource(
         resource.getSourceId(), NegotiationResourceState.REPRESENTATIVE_UNREACHABLE);
     assertEquals(
         1,
-        networkRepository.countIgnoredForNetwork(
+        networkStats.countIgnoredForNetwork(
             LocalDate.now().minusYears(1), LocalDate.now(), network.getId()));
     negotiation.setStateForResource(
         resource.getSourceId(), NegotiationResourceState.RESOURCE_UNAVAILABLE);
     assertEquals(
         0,
-        networkRepository.countIgnoredForNetwork(
+        networkStats.countIgnoredForNetwork(
             LocalDate.now().minusYears(1), LocalDate.now(), network.getId()));
   }
 
@@ -403,7 +467,7 @@ public class NegotiationRepositoryTest {
         resource2.getSourceId(), NegotiationResourceState.RESOURCE_UNAVAILABLE);
     assertEquals(
         1,
-        networkRepository.countIgnoredForNetwork(
+        networkStats.countIgnoredForNetwork(
             LocalDate.now().minusYears(1), LocalDate.now(), network.getId()));
   }
 
@@ -419,7 +483,7 @@ public class NegotiationRepositoryTest {
         resource.getSourceId(), NegotiationResourceState.CHECKING_AVAILABILITY);
     assertEquals(
         10,
-        networkRepository.getMedianResponseForNetwork(
+        networkStats.getMedianResponseForNetwork(
             LocalDate.now().minusYears(1), LocalDate.now(), network.getId()),
         0.1);
   }
@@ -447,7 +511,7 @@ public class NegotiationRepositoryTest {
         resource2.getSourceId(), NegotiationResourceState.RESOURCE_UNAVAILABLE);
     assertEquals(
         1,
-        networkRepository.getNumberOfSuccessfulNegotiationsForNetwork(
+        networkStats.getNumberOfSuccessfulNegotiationsForNetwork(
             LocalDate.now().minusYears(1), LocalDate.now(), network.getId()));
   }
 
@@ -475,7 +539,7 @@ public class NegotiationRepositoryTest {
         resource2.getSourceId(), NegotiationResourceState.RESOURCE_UNAVAILABLE);
     assertEquals(
         1,
-        networkRepository.getNumberOfSuccessfulNegotiationsForNetwork(
+        networkStats.getNumberOfSuccessfulNegotiationsForNetwork(
             LocalDate.now().minusYears(1), LocalDate.now(), network.getId()));
   }
 
@@ -486,7 +550,7 @@ public class NegotiationRepositoryTest {
     negotiation.setCreationDate(LocalDateTime.now());
     assertEquals(
         1,
-        networkRepository.getNumberOfNewRequesters(
+        networkStats.getNumberOfNewRequesters(
             LocalDate.now().minusYears(1), LocalDate.now(), network.getId()));
   }
 
@@ -501,7 +565,7 @@ public class NegotiationRepositoryTest {
     negotiations.get(1).setCreatedBy(person);
     assertEquals(
         0,
-        networkRepository.getNumberOfNewRequesters(
+        networkStats.getNumberOfNewRequesters(
             LocalDate.now().minusDays(9), LocalDate.now(), network.getId()));
   }
 
@@ -516,7 +580,7 @@ public class NegotiationRepositoryTest {
     negotiation.getNegotiationResourceLifecycleRecords().iterator().next().setCreatedBy(person);
     assertEquals(
         1,
-        networkRepository.getNumberOfActiveRepresentatives(
+        networkStats.getNumberOfActiveRepresentatives(
             LocalDate.now().minusDays(10), LocalDate.now().plusDays(10), network.getId()));
   }
 
@@ -532,7 +596,7 @@ public class NegotiationRepositoryTest {
     post = postRepository.save(post);
     assertEquals(
         1,
-        networkRepository.getNumberOfActiveRepresentatives(
+        networkStats.getNumberOfActiveRepresentatives(
             LocalDate.now().minusDays(9), LocalDate.now().plusDays(10), network.getId()));
   }
 
@@ -555,10 +619,251 @@ public class NegotiationRepositoryTest {
     negotiation.getNegotiationResourceLifecycleRecords().iterator().next().setCreatedBy(person);
     assertEquals(
         1,
-        networkRepository.getNumberOfActiveRepresentatives(
+        networkStats.getNumberOfActiveRepresentatives(
             LocalDate.now().minusDays(9), LocalDate.now().plusDays(10), network.getId()));
   }
 
+  @Test
+  void refreshRollups_matchStatisticsOfTheNegotiations() {
+    saveNegotiation();
+    saveNegotiation();
+    List<Negotiation> negotiations = negotiationRepository.findAll();
+    negotiations.get(0).setCreationDate(LocalDateTime.now().minusDays(10));
+    negotiations.get(0).setCurrentState(NegotiationState.IN_PROGRESS);
+    negotiations
+        .get(0)
+        .setStateForResource(
+            resource.getSourceId(), NegotiationResourceState.CHECKING_AVAILABILITY);
+    negotiations
+        .get(0)
+        .getNegotiationResourceLifecycleRecords()
+        .forEach(record -> record.setCreatedBy(person));
+    negotiations.get(1).setCurrentState(NegotiationState.IN_PROGRESS);
+    negotiations
+        .get(1)
+        .setStateForResource(
+            resource.getSourceId(), NegotiationResourceState.REPRESENTATIVE_CONTACTED);
+    negotiationRepository.flush();
+    LocalDateTime from = LocalDateTime.now().minusYears(1);
+    LocalDateTime to = LocalDateTime.now().plusDays(1);
+    networkRepository.refreshNegotiationDays(
+        networkRepository.findChangedNegotiationDays(from, to));
+    networkRepository.refreshActivityDays(networkRepository.findChangedActivityDays(from, to));
+
+    LocalDate since = LocalDate.now().minusYears(1);
+    LocalDate until = LocalDate.now();
+    List<Object[]> states = networkRepository.sumNegotiationStats(since, until, network.getId());
+    assertEquals(1, states.size());
+    assertEquals(NegotiationState.IN_PROGRESS.name(), states.get(0)[0]);
+    assertEquals(
+        networkStats.countAllForNetwork(since, until, network.getId()),
+        ((Number) states.get(0)[1]).intValue());
+    assertEquals(
+        networkStats.countIgnoredForNetwork(since, until, network.getId()),
+        ((Number) states.get(0)[2]).intValue());
+    assertEquals(
+        networkStats.getNumberOfSuccessfulNegotiationsForNetwork(since, until, network.getId()),
+        ((Number) states.get(0)[3]).intValue());
+    assertEquals(
+        networkStats.getMedianResponseForNetwork(since, until, network.getId()),
+        ResponseTimeHistogram.of(
+                networkRepository.sumResponseTimeHistogram(since, until, network.getId()))
+            .median(),
+        10 * ResponseTimeHistogram.RELATIVE_ACCURACY);
+    assertEquals(
+        networkStats.getNumberOfNewRequesters(since, until, network.getId()),
+        networkRepository.countNewRequesters(since, until, network.getId()));
+    assertEquals(
+        networkStats.getNumberOfActiveRepresentatives(since, until, network.getId()),
+        networkRepository.countActiveRepresentatives(since, until, network.getId()));
+  }
+
+  @Test
+  void refreshRollups_seriesPerDay_matchStatisticsOfEachDay() {
+    saveNegotiation();
+    saveNegotiation();
+    List<Negotiation> negotiations = negotiationRepository.findAll();
+    negotiations.get(0).setCreationDate(LocalDateTime.now().minusDays(3));
+    negotiationRepository.flush();
+    LocalDateTime from = LocalDateTime.now().minusYears(1);
+    LocalDateTime to = LocalDateTime.now().plusDays(1);
+    networkRepository.refreshNegotiationDays(
+        networkRepository.findChangedNegotiationDays(from, to));
+
+    LocalDate since = LocalDate.now().minusDays(7);
+    List<Object[]> series =
+        networkRepository.sumNegotiationStatsSeries(
+            List.of(network.getId()), since, LocalDate.now(), StatisticsInterval.day);
+    assertEquals(2, series.size());
+    for (Object[] row : series) {
+      LocalDate day = (LocalDate) row[1];
+      assertEquals(
+          networkStats.countAllForNetwork(day.minusDays(1), day, network.getId()),
+          ((Number) row[3]).intValue());
+      assertEquals(
+          networkStats.getNumberOfNewRequesters(day.minusDays(1), day, network.getId()),
+          networkRepository
+              .countNewRequestersSeries(
+                  List.of(network.getId()), day.minusDays(1), day, StatisticsInterval.day)
+              .stream()
+              .mapToInt(newRequesters -> ((Number) newRequesters[2]).intValue())
+              .sum());
+    }
+  }
+
+  @Test
+  void refreshNetworks_resourceRemovedFromNetwork_pastDaysRolledUpAgain() {
+    saveNegotiation();
+    negotiationRepository.findAll().get(0).setCreationDate(LocalDateTime.now().minusDays(10));
+    negotiationRepository.flush();
+    LocalDateTime from = LocalDateTime.now().minusYears(1);
+    LocalDateTime to = LocalDateTime.now().plusDays(1);
+    networkRepository.refreshNegotiationDays(
+        networkRepository.findChangedNegotiationDays(from, to));
+    LocalDate since = LocalDate.now().minusYears(1);
+    assertEquals(
+        1, networkRepository.sumNegotiationStats(since, LocalDate.now(), network.getId()).size());
+
+    jdbcTemplate.update("delete from network_resources_link where network_id = ?", network.getId());
+    List<Long> changed = networkRepository.findChangedNetworks(from, to);
+    networkRepository.refreshNetworks(changed);
+
+    assertEquals(List.of(network.getId()), changed);
+    assertEquals(
+        0, networkRepository.sumNegotiationStats(since, LocalDate.now(), network.getId()).size());
+  }
+
+  /**
+   * Benchmark of the filters used to list the negotiations of a user and of a network on 100k
+   * negotiations spread over 200 resources. The user represents half of the resources and authored
+   * one negotiation out of ten, the network includes a quarter of the resources.
+   */
+  @Test
+  @Tag("benchmark")
+  void findRelated_100kNegotiations_benchmark() {
+    Person otherAuthor = savePerson("other-author");
+    List<Resource> resources = new ArrayList<>();
+    for (int i = 2; i <= 200; i++) {
+      resources.add(
+          Resource.builder()
+              .organization(organization)
+              .discoveryService(discoveryService)
+              .sourceId("collection:%s".formatted(i))
+              .name("test")
+              .representatives(new HashSet<>())
+              .build());
+    }
+    resourceRepository.saveAll(resources);
+    saveNegotiation();
+    negotiationRepository.flush();
+    jdbcTemplate.update(
+        """
+        insert into negotiation (id, creation_date, modified_date, created_by, modified_by,
+            human_readable, payload, public_posts_enabled, private_posts_enabled, current_state,
+            discovery_service_id)
+        select 'benchmark-' || g, t.creation_date - g * interval '1 minute', t.modified_date,
+            case when g % 10 = 0 then t.created_by else ? end, t.modified_by, t.human_readable,
+            t.payload, t.public_posts_enabled, t.private_posts_enabled,
+            t.current_state, t.discovery_service_id
+        from negotiation t cross join generate_series(1, 100000) g
+        """,
+        otherAuthor.getId());
+    jdbcTemplate.update(
+        """
+        insert into negotiation_resource_link (negotiation_id, resource_id, current_state)
+        select 'benchmark-' || g, r.id, 'SUBMITTED'
+        from generate_series(1, 100000) g
+            join (select id, row_number() over (order by id) - 1 as idx from resource) r
+                on r.idx = g % 200
+        """);
+    jdbcTemplate.update(
+        """
+        insert into resource_representative_link (person_id, resource_id)
+        select ?, id from (select id, row_number() over (order by id) - 1 as idx from resource) r
+        where r.idx < 100
+        on conflict do nothing
+        """,
+        person.getId());
+    jdbcTemplate.update(
+        """
+        insert into network_resources_link (network_id, resource_id)
+        select ?, id from (select id, row_number() over (order by id) - 1 as idx from resource) r
+        where r.idx < 50
+        on conflict do nothing
+        """,
+        network.getId());
+    jdbcTemplate.execute("analyze");
+    PageRequest firstPage = PageRequest.of(0, 50, Sort.by(Sort.Direction.DESC, "creationDate"));
+
+    long start = System.nanoTime();
+    assertEquals(
+        55001,
+        negotiationRepository
+            .findAll(NegotiationSpecification.byAuthorOrRepresentative(person), firstPage)
+            .getTotalElements());
+    long userQueryMillis = (System.nanoTime() - start) / 1_000_000;
+    start = System.nanoTime();
+    assertEquals(
+        25001,
+        negotiationRepository
+            .findAll(NegotiationSpecification.byNetwork(network), firstPage)
+            .getTotalElements());
+    long networkQueryMillis = (System.nanoTime() - start) / 1_000_000;
+
+    assertTrue(
+        userQueryMillis < 5000 && networkQueryMillis < 5000,
+        "Listing 100k negotiations took %d ms for the user and %d ms for the network"
+            .formatted(userQueryMillis, networkQueryMillis));
+  }
+
+  /**
+   * Benchmark of a page of the negotiation list, comparing the full representation, built by
+   * loading the entities and mapping them to NegotiationDTO, with the summary projection, at page
+   * sizes 50 and 100 on 10k negotiations.
+   */
+  @Test
+  @Tag("benchmark")
+  void findSummaries_10kNegotiations_benchmark() {
+    saveNegotiation();
+    negotiationRepository.flush();
+    jdbcTemplate.update(
+        """
+        insert into negotiation (id, creation_date, modified_date, created_by, modified_by,
+            human_readable, payload, public_posts_enabled, private_posts_enabled, current_state,
+            discovery_service_id)
+        select 'benchmark-' || g, t.creation_date - g * interval '1 minute', t.modified_date,
+            t.created_by, t.modified_by, t.human_readable, t.payload, t.public_posts_enabled,
+            t.private_posts_enabled, t.current_state, t.discovery_service_id
+        from negotiation t cross join generate_series(1, 10000) g
+        """);
+    jdbcTemplate.execute("analyze");
+    ModelMapper modelMapper = new ModelMapper();
+    new NegotiationModelMapper(modelMapper).addMappings();
+
+    for (int size : List.of(50, 100)) {
+      PageRequest firstPage = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "creationDate"));
+      long start = System.nanoTime();
+      List<NegotiationDTO> full =
+          negotiationRepository.findAll(firstPage).stream()
+              .map(negotiation -> modelMapper.map(negotiation, NegotiationDTO.class))
+              .toList();
+      long fullMillis = (System.nanoTime() - start) / 1_000_000;
+      start = System.nanoTime();
+      Page<NegotiationSummaryDTO> summaries = negotiationRepository.findSummaries(null, firstPage);
+      long summaryMillis = (System.nanoTime() - start) / 1_000_000;
+
+      assertEquals(10001, summaries.getTotalElements());
+      assertEquals(
+          full.stream().map(NegotiationDTO::getId).toList(),
+          summaries.stream().map(NegotiationSummaryDTO::getId).toList());
+      assertEquals("Title", summaries.getContent().get(0).getTitle());
+      assertEquals("John", summaries.getContent().get(0).getAuthorName());
+      log.info(
+          "Page of %d negotiations: %d ms with the full view, %d ms with the summary view"
+              .formatted(size, fullMillis, summaryMillis));
+    }
+  }
+
   private void saveNegotiation() {
     Set<Resource> resources = new HashSet<>();
     resources.add(resource);
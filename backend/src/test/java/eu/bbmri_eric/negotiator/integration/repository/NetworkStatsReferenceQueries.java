@@ -1,21 +1,23 @@
-package eu.bbmri_eric.negotiator.governance.network.stats;
+package eu.bbmri_eric.negotiator.integration.repository;
 
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
 import java.time.LocalDate;
 import java.util.List;
-import org.springframework.stereotype.Repository;
 
-@Repository
-public class NetworkStatsRepositoryImpl implements NetworkStatsRepository {
-  @PersistenceContext EntityManager entityManager;
+/**
+ * Network statistics computed live from the negotiations, resource lifecycle records and posts, as
+ * the API answered them before the rollups. The rollups of {@link
+ * eu.bbmri_eric.negotiator.governance.network.stats.NetworkStatsRollupRepository} are tested
+ * against them.
+ */
+class NetworkStatsReferenceQueries {
+  private final EntityManager entityManager;
 
-  public NetworkStatsRepositoryImpl(EntityManager entityManager) {
+  NetworkStatsReferenceQueries(EntityManager entityManager) {
     this.entityManager = entityManager;
   }
 
-  @Override
-  public Integer countIgnoredForNetwork(LocalDate since, LocalDate until, Long networkId) {
+  Integer countIgnoredForNetwork(LocalDate since, LocalDate until, Long networkId) {
     return ((Number)
             entityManager
                 .createNativeQuery(
@@ -36,8 +38,7 @@ public class NetworkStatsRepositoryImpl implements NetworkStatsRepository {
         .intValue();
   }
 
-  @Override
-  public Double getMedianResponseForNetwork(LocalDate since, LocalDate until, Long networkId) {
+  Double getMedianResponseForNetwork(LocalDate since, LocalDate until, Long networkId) {
     return ((Number)
             entityManager
                 .createNativeQuery(
@@ -58,8 +59,7 @@ public class NetworkStatsRepositoryImpl implements NetworkStatsRepository {
         .doubleValue();
   }
 
-  @Override
-  public Integer getNumberOfSuccessfulNegotiationsForNetwork(
+  Integer getNumberOfSuccessfulNegotiationsForNetwork(
       LocalDate since, LocalDate until, Long networkId) {
     return ((Number)
             entityManager
@@ -80,8 +80,7 @@ public class NetworkStatsRepositoryImpl implements NetworkStatsRepository {
         .intValue();
   }
 
-  @Override
-  public Integer countAllForNetwork(LocalDate since, LocalDate until, Long networkId) {
+  Integer countAllForNetwork(LocalDate since, LocalDate until, Long networkId) {
     return ((Number)
             entityManager
                 .createQuery(
@@ -102,8 +101,7 @@ public class NetworkStatsRepositoryImpl implements NetworkStatsRepository {
         .intValue();
   }
 
-  @Override
-  public List<Object[]> countStatusDistribution(LocalDate since, LocalDate until, Long networkId) {
+  List<Object[]> countStatusDistribution(LocalDate since, LocalDate until, Long networkId) {
     String query =
         """
         SELECT n.currentState, COUNT(DISTINCT n.id)
@@ -125,8 +123,7 @@ public class NetworkStatsRepositoryImpl implements NetworkStatsRepository {
         .getResultList();
   }
 
-  @Override
-  public Integer getNumberOfNewRequesters(LocalDate since, LocalDate until, Long networkId) {
+  Integer getNumberOfNewRequesters(LocalDate since, LocalDate until, Long networkId) {
     return ((Number)
             entityManager
                 .createNativeQuery(
@@ -150,9 +147,7 @@ public class NetworkStatsRepositoryImpl implements NetworkStatsRepository {
         .intValue();
   }
 
-  @Override
-  public Integer getNumberOfActiveRepresentatives(
-      LocalDate since, LocalDate until, Long networkId) {
+  Integer getNumberOfActiveRepresentatives(LocalDate since, LocalDate until, Long networkId) {
     return ((Number)
             entityManager
                 .createNativeQuery(
@@ -14,11 +14,16 @@ import eu.bbmri_eric.negotiator.common.exceptions.ForbiddenRequestException;
 import eu.bbmri_eric.negotiator.common.exceptions.WrongRequestException;
 import eu.bbmri_eric.negotiator.governance.organization.Organization;
 import eu.bbmri_eric.negotiator.negotiation.Negotiation;
+import eu.bbmri_eric.negotiator.negotiation.NegotiationRepository;
 import eu.bbmri_eric.negotiator.user.Person;
 import eu.bbmri_eric.negotiator.util.IntegrationTest;
 import eu.bbmri_eric.negotiator.util.WithMockNegotiatorUser;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
 import java.util.List;
 import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mock.web.MockMultipartFile;
@@ -46,6 +51,8 @@ public class AttachmentServiceTest {
   @Autowired private AttachmentService attachmentService;
   @Autowired private DataSource dbSource;
   @Autowired private AttachmentRepository attachmentRepository;
+  @Autowired private NegotiationRepository negotiationRepository;
+  @Autowired private EntityManager entityManager;
 
   private Attachment createAttachment(
       Organization organization, Negotiation negotiation, Person creator) {
@@ -55,7 +62,6 @@ public class AttachmentServiceTest {
             .size(100L)
             .name("Attachment")
             .contentType("application/pdf")
-            .payload(new byte[] {1, 1})
             .negotiation(negotiation)
             .organization(organization)
             .build();
@@ -292,4 +298,48 @@ public class AttachmentServiceTest {
         ForbiddenRequestException.class,
         () -> attachmentService.findByIdAndNegotiationId(ATTACHMENT_2_ID, NEGOTIATION_5_ID));
   }
+
+  /**
+   * Tests that reading a negotiation together with its attachments only loads their metadata: the
+   * statements issued are the same whether the attachments hold a few bytes or several megabytes.
+   */
+  @Test
+  @Transactional
+  @WithMockNegotiatorUser(id = 108L)
+  public void testNegotiationRead_doesNotLoadAttachmentContent() {
+    Statistics statistics =
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+    try {
+      for (int i = 0; i < 5; i++) {
+        attachmentService.createForNegotiation(
+            NEGOTIATION_1_ID, null, new MockMultipartFile("file", "small", null, new byte[16]));
+      }
+      long smallStatements = countNegotiationReadStatements(statistics, 5);
+      for (int i = 0; i < 5; i++) {
+        attachmentService.createForNegotiation(
+            NEGOTIATION_1_ID,
+            null,
+            new MockMultipartFile("file", "large", null, new byte[2 * 1024 * 1024]));
+      }
+      long largeStatements = countNegotiationReadStatements(statistics, 10);
+      assertEquals(smallStatements, largeStatements);
+    } finally {
+      statistics.setStatisticsEnabled(false);
+    }
+  }
+
+  private long countNegotiationReadStatements(Statistics statistics, int expectedAttachments) {
+    entityManager.flush();
+    entityManager.clear();
+    statistics.clear();
+    Negotiation negotiation =
+        negotiationRepository.findDetailedById(NEGOTIATION_1_ID).orElseThrow();
+    long attachments =
+        negotiation.getAttachments().stream()
+            .filter(attachment -> List.of("small", "large").contains(attachment.getName()))
+            .count();
+    assertEquals(expectedAttachments, attachments);
+    return statistics.getPrepareStatementCount();
+  }
 }
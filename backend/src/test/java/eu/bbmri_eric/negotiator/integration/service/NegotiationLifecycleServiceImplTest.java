@@ -29,6 +29,7 @@ import eu.bbmri_eric.negotiator.negotiation.request.Request;
 import eu.bbmri_eric.negotiator.negotiation.request.RequestRepository;
 import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationEvent;
 import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationLifecycleRecord;
+import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationLifecycleRecordRepository;
 import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationLifecycleServiceImpl;
 import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationState;
 import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationStateChangeEvent;
@@ -45,6 +46,7 @@ import jakarta.transaction.Transactional;
 import java.io.IOException;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import org.junit.jupiter.api.Assertions;
@@ -64,6 +66,7 @@ public class NegotiationLifecycleServiceImplTest {
   @Autowired NegotiationLifecycleServiceImpl negotiationLifecycleService;
   @Autowired ResourceLifecycleService resourceLifecycleService;
   @Autowired NegotiationRepository negotiationRepository;
+  @Autowired NegotiationLifecycleRecordRepository lifecycleRecordRepository;
   @Autowired NegotiationService negotiationService;
   @Autowired RequestRepository requestRepository;
   @Autowired PostRepository postRepository;
@@ -130,6 +133,22 @@ public class NegotiationLifecycleServiceImplTest {
     assertThat(numEvents).isEqualTo(1);
   }
 
+  @Test
+  @WithMockNegotiatorUser(id = 109L, authorities = "ROLE_ADMIN")
+  void sendEvent_approveNewNegotiation_insertsLifecycleRecord() throws IOException {
+    NegotiationDTO negotiationDTO = saveNegotiation();
+    negotiationLifecycleService.sendEvent(negotiationDTO.getId(), NegotiationEvent.APPROVE);
+    assertEquals(
+        1,
+        lifecycleRecordRepository.findAll().stream()
+            .filter(record -> negotiationDTO.getId().equals(record.getNegotiationId()))
+            .filter(record -> record.getChangedTo().equals(NegotiationState.IN_PROGRESS))
+            .count());
+    assertEquals(
+        NegotiationState.IN_PROGRESS,
+        negotiationRepository.findById(negotiationDTO.getId()).get().getCurrentState());
+  }
+
   @Test
   @WithMockNegotiatorUser(id = 101L, authorities = "ROLE_ADMIN")
   void sendEvent_declineNegotiation_createPost() throws IOException {
@@ -463,6 +482,27 @@ public class NegotiationLifecycleServiceImplTest {
             negotiationDTO.getId(), "biobank:1:collection:2"));
   }
 
+  @Test
+  @WithMockNegotiatorUser(authorities = "ROLE_ADMIN", id = 109L)
+  void getPossibleEventsForAllResources_approvedNegotiation_matchesSingleResource()
+      throws IOException {
+    NegotiationDTO negotiationDTO = saveNegotiation();
+    negotiationLifecycleService.sendEvent(negotiationDTO.getId(), NegotiationEvent.APPROVE);
+    Map<String, Set<NegotiationResourceEvent>> events =
+        resourceLifecycleService.getPossibleEventsForAllResources(negotiationDTO.getId());
+    assertFalse(events.isEmpty());
+    events.forEach(
+        (resourceId, resourceEvents) ->
+            assertEquals(
+                resourceLifecycleService.getPossibleEvents(negotiationDTO.getId(), resourceId),
+                resourceEvents));
+    assertEquals(
+        Set.of(
+            NegotiationResourceEvent.STEP_AWAY,
+            NegotiationResourceEvent.MARK_AS_CHECKING_AVAILABILITY),
+        events.get("biobank:1:collection:2"));
+  }
+
   @Test
   void newNegotiation_findAllWithState_oneWithSubmitted() throws IOException {
     saveNegotiation();
@@ -2,19 +2,23 @@ package eu.bbmri_eric.negotiator.unit.controller;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import eu.bbmri_eric.negotiator.governance.network.NetworkController;
 import eu.bbmri_eric.negotiator.governance.network.NetworkModelAssembler;
 import eu.bbmri_eric.negotiator.governance.network.NetworkService;
+import eu.bbmri_eric.negotiator.governance.network.stats.NetworkStatisticsSeries;
 import eu.bbmri_eric.negotiator.governance.network.stats.NetworkStatisticsService;
 import eu.bbmri_eric.negotiator.governance.network.stats.SimpleNetworkStatistics;
+import eu.bbmri_eric.negotiator.governance.network.stats.StatisticsInterval;
 import eu.bbmri_eric.negotiator.governance.resource.ResourceModelAssembler;
 import eu.bbmri_eric.negotiator.governance.resource.ResourceService;
 import eu.bbmri_eric.negotiator.negotiation.NegotiationService;
 import eu.bbmri_eric.negotiator.negotiation.mappers.NegotiationModelAssembler;
 import eu.bbmri_eric.negotiator.user.PersonService;
 import eu.bbmri_eric.negotiator.user.UserModelAssembler;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -89,4 +93,45 @@ public class NetworkControllerTest {
                 "/v3/networks/1/statistics?since=2024-11-18&until=2024-12-18"))
         .andExpect(status().isOk());
   }
+
+  @Test
+  @WithMockUser
+  void getNetworkStatsSeries_noNetwork_400() throws Exception {
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.get(
+                "/v3/networks/statistics?since=2024-01-01&until=2024-12-31&interval=month"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @WithMockUser
+  void getNetworkStatsSeries_wrongInterval_400() throws Exception {
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.get(
+                "/v3/networks/statistics?networkId=1&since=2024-01-01&until=2024-12-31"
+                    + "&interval=year"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @WithMockUser
+  void getNetworkStatsSeries_manyNetworks_200() throws Exception {
+    when(networkStatisticsService.getNetworkStatsSeries(any()))
+        .thenReturn(
+            List.of(
+                NetworkStatisticsSeries.builder()
+                    .networkId(1L)
+                    .interval(StatisticsInterval.month)
+                    .periods(List.of())
+                    .build()));
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.get(
+                "/v3/networks/statistics?networkId=1&networkId=2&since=2024-01-01"
+                    + "&until=2024-12-31&interval=month"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$._embedded.series[0].networkId").value(1));
+  }
 }
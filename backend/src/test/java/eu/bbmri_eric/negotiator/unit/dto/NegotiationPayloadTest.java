@@ -0,0 +1,61 @@
+package eu.bbmri_eric.negotiator.unit.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationDTO;
+import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationUpdateDTO;
+import org.junit.jupiter.api.Test;
+
+public class NegotiationPayloadTest {
+
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  @Test
+  void deserialize_object_keepsCompactText() throws JsonProcessingException {
+    NegotiationUpdateDTO updateDTO =
+        mapper.readValue(
+            """
+            {"payload": {"project": {"title": "Title", "num": 10.50},
+                "list": [1, true, null]}}
+            """,
+            NegotiationUpdateDTO.class);
+    assertEquals(
+        "{\"project\":{\"title\":\"Title\",\"num\":10.50},\"list\":[1,true,null]}",
+        updateDTO.getPayload());
+  }
+
+  @Test
+  void deserialize_null_isNull() throws JsonProcessingException {
+    assertNull(mapper.readValue("{\"payload\": null}", NegotiationUpdateDTO.class).getPayload());
+  }
+
+  @Test
+  void deserialize_notAnObject_throws() {
+    assertThrows(
+        MismatchedInputException.class,
+        () -> mapper.readValue("{\"payload\": \"text\"}", NegotiationUpdateDTO.class));
+  }
+
+  @Test
+  void deserialize_malformed_throws() {
+    assertThrows(
+        JsonProcessingException.class,
+        () -> mapper.readValue("{\"payload\": {\"project\": }}", NegotiationUpdateDTO.class));
+  }
+
+  @Test
+  void serialize_writesPayloadAsItIs() throws JsonProcessingException {
+    NegotiationDTO negotiationDTO =
+        NegotiationDTO.builder().id("1").payload("{\"project\": {\"title\": \"Title\"}}").build();
+    assertTrue(
+        mapper
+            .writeValueAsString(negotiationDTO)
+            .contains("\"payload\":{\"project\": {\"title\": \"Title\"}}"));
+  }
+}
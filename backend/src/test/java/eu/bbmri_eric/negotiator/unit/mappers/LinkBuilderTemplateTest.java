@@ -0,0 +1,148 @@
+package eu.bbmri_eric.negotiator.unit.mappers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import com.sun.management.ThreadMXBean;
+import eu.bbmri_eric.negotiator.common.LinkBuilder;
+import eu.bbmri_eric.negotiator.negotiation.NegotiationController;
+import eu.bbmri_eric.negotiator.negotiation.state_machine.resource.NegotiationResourceEvent;
+import eu.bbmri_eric.negotiator.user.UserController;
+import java.lang.management.ManagementFactory;
+import java.util.function.IntConsumer;
+import lombok.extern.apachecommons.CommonsLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@CommonsLog
+public class LinkBuilderTemplateTest {
+
+  private static final LinkBuilder.Template NEGOTIATION =
+      LinkBuilder.template(methodOn(NegotiationController.class).retrieve(null, null));
+  private static final LinkBuilder.Template RESOURCE_EVENT =
+      LinkBuilder.template(
+          methodOn(NegotiationController.class).sendEventForNegotiationResource(null, null, null));
+
+  @BeforeEach
+  void before() {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setServerName("negotiator.org");
+    request.setContextPath("/api");
+    request.setRequestURI("/api/v3/negotiations");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+  }
+
+  @AfterEach
+  void after() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void expand_matchesMethodOn() {
+    assertEquals(
+        linkTo(methodOn(NegotiationController.class).retrieve("negotiation-1", null))
+            .toUri()
+            .toString(),
+        NEGOTIATION.expand("negotiation-1").getHref());
+    assertEquals(
+        linkTo(
+                methodOn(NegotiationController.class)
+                    .sendEventForNegotiationResource(
+                        "negotiation 1", "biobank:1/collection", NegotiationResourceEvent.CONTACT))
+            .toUri()
+            .toString(),
+        RESOURCE_EVENT
+            .expand("negotiation 1", "biobank:1/collection", NegotiationResourceEvent.CONTACT)
+            .getHref());
+  }
+
+  @Test
+  void expand_outsideRequest_isRelative() {
+    RequestContextHolder.resetRequestAttributes();
+    assertEquals("/v3/negotiations/1", NEGOTIATION.expand("1").getHref());
+  }
+
+  @Test
+  void of_insideRequest_doesNotKeepBaseUri() {
+    LinkBuilder.Template template =
+        LinkBuilder.template(methodOn(NegotiationController.class).retrieve(null, null));
+    RequestContextHolder.resetRequestAttributes();
+    assertEquals("/v3/negotiations/1", template.expand("1").getHref());
+  }
+
+  @Test
+  void slash_appendsVariables() {
+    assertEquals(
+        "http://negotiator.org/api/v3/negotiations/1/posts",
+        LinkBuilder.template(NegotiationController.class)
+            .slash("negotiations/{id}/posts")
+            .expand("1")
+            .getHref());
+  }
+
+  @Test
+  void expand_wrongNumberOfValues_throws() {
+    assertThrows(IllegalArgumentException.class, () -> NEGOTIATION.expand());
+  }
+
+  @Test
+  void of_fixedRequestParameters_areKept() {
+    assertEquals(
+        "http://negotiator.org/api/v3/users/1/networks?page=0&size=50",
+        LinkBuilder.template(methodOn(UserController.class).getRepresentedNetworks(null, 0, 50))
+            .expand(1L)
+            .getHref());
+  }
+
+  @Test
+  void slash_requestParameterVariables_throws() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> LinkBuilder.template(UserController.class).slash("users{?page,size}"));
+  }
+
+  @Test
+  void expand_100ItemPage_benchmark() {
+    IntConsumer methodOnPage =
+        page -> {
+          for (int i = 0; i < 100; i++) {
+            linkTo(
+                    methodOn(NegotiationController.class)
+                        .retrieve("negotiation-%d".formatted(i), null))
+                .withSelfRel();
+          }
+        };
+    IntConsumer templatePage =
+        page -> {
+          for (int i = 0; i < 100; i++) {
+            NEGOTIATION.expand("negotiation-%d".formatted(i)).withSelfRel();
+          }
+        };
+    for (int warmup = 0; warmup < 50; warmup++) {
+      methodOnPage.accept(warmup);
+      templatePage.accept(warmup);
+    }
+    log.info("methodOn per 100-item page: " + measure(methodOnPage));
+    log.info("LinkBuilder.Template per 100-item page: " + measure(templatePage));
+  }
+
+  private static String measure(IntConsumer page) {
+    ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    int pages = 200;
+    long bytes = threads.getThreadAllocatedBytes(threadId);
+    long cpu = threads.getCurrentThreadCpuTime();
+    for (int i = 0; i < pages; i++) {
+      page.accept(i);
+    }
+    cpu = threads.getCurrentThreadCpuTime() - cpu;
+    bytes = threads.getThreadAllocatedBytes(threadId) - bytes;
+    return "%d us CPU, %d KB allocated".formatted(cpu / pages / 1000, bytes / pages / 1024);
+  }
+}
@@ -1,7 +1,6 @@
 package eu.bbmri_eric.negotiator.unit.mappers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import eu.bbmri_eric.negotiator.discovery.DiscoveryService;
 import eu.bbmri_eric.negotiator.governance.organization.Organization;
@@ -69,10 +68,17 @@ public class NegotiationMapperTest {
   }
 
   @Test
-  void map_entityToDtoPayload_throwsRuntimeException() {
+  void map_entityToDtoPayload_isNotParsed() {
     Negotiation negotiation = buildNegotiation();
-    negotiation.setPayload("Wrong json string");
-    assertThrows(RuntimeException.class, () -> this.mapper.map(negotiation, NegotiationDTO.class));
+    negotiation.setPayload("{\"project\": {\"title\": \"Title\"}}");
+    assertEquals(
+        "{\"project\": {\"title\": \"Title\"}}",
+        this.mapper.map(negotiation, NegotiationDTO.class).getPayload());
+  }
+
+  @Test
+  void map_nullPayload_isEmptyObject() {
+    assertEquals("{}", this.mapper.map(buildNegotiation(), NegotiationDTO.class).getPayload());
   }
 
   @Test
@@ -4,13 +4,28 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import eu.bbmri_eric.negotiator.common.exceptions.WrongRequestException;
+import eu.bbmri_eric.negotiator.negotiation.NegotiationCursor;
+import eu.bbmri_eric.negotiator.negotiation.NegotiationListView;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationDTO;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationFilterDTO;
+import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationSummaryDTO;
 import eu.bbmri_eric.negotiator.negotiation.mappers.NegotiationModelAssembler;
+import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationState;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.web.util.UriComponentsBuilder;
 
 public class NegotiationModelAssemblerTest {
   NegotiationModelAssembler negotiationModelAssembler = new NegotiationModelAssembler(null, null);
@@ -71,4 +86,65 @@ public class NegotiationModelAssemblerTest {
             .getContent()
             .size());
   }
+
+  @Test
+  void toSummaryPagedModel_linksKeepSummaryView() {
+    NegotiationSummaryDTO summary =
+        new NegotiationSummaryDTO(
+            "1",
+            "Title",
+            NegotiationState.IN_PROGRESS,
+            LocalDateTime.of(2024, 11, 18, 10, 30),
+            null,
+            "John Doe");
+    NegotiationFilterDTO filters =
+        NegotiationFilterDTO.builder().view(NegotiationListView.summary).size(1).build();
+    PagedModel<EntityModel<NegotiationSummaryDTO>> model =
+        negotiationModelAssembler.toSummaryPagedModel(
+            new PageImpl<>(List.of(summary), PageRequest.of(0, 1), 2), filters, null);
+    assertEquals(2, model.getMetadata().getTotalElements());
+    EntityModel<NegotiationSummaryDTO> item = model.getContent().iterator().next();
+    assertEquals("IN_PROGRESS", item.getContent().getStatus());
+    assertEquals("/v3/negotiations/1", item.getRequiredLink("self").getHref());
+    assertEquals(1, item.getLinks().toList().size());
+    assertTrue(model.getLink(IanaLinkRelations.NEXT).get().getHref().contains("view=summary"));
+  }
+
+  @Test
+  void toCursorModel_withNext_linksToFollowingPage() {
+    LocalDateTime creationDate = LocalDateTime.of(2024, 11, 18, 10, 30);
+    Window<NegotiationDTO> window =
+        Window.from(
+            List.of(NegotiationDTO.builder().id("1").build()),
+            index -> ScrollPosition.forward(Map.of("creationDate", creationDate, "id", "1")),
+            true);
+    NegotiationFilterDTO filters = NegotiationFilterDTO.builder().after("").size(1).build();
+    PagedModel<EntityModel<NegotiationDTO>> model =
+        negotiationModelAssembler.toCursorModel(window, filters, null);
+    assertNull(model.getMetadata());
+    assertEquals(1, model.getContent().size());
+    String next = model.getLink(IanaLinkRelations.NEXT).get().getHref();
+    String cursor =
+        UriComponentsBuilder.fromUriString(next).build().getQueryParams().getFirst("after");
+    assertEquals(
+        Map.of("creationDate", creationDate, "id", "1"),
+        NegotiationCursor.decode(cursor).getKeys());
+    assertEquals("", filters.getAfter());
+  }
+
+  @Test
+  void toCursorModel_lastPage_hasNoNextLink() {
+    Window<NegotiationDTO> window = Window.from(List.of(), index -> ScrollPosition.keyset(), false);
+    assertTrue(
+        negotiationModelAssembler
+            .toCursorModel(window, NegotiationFilterDTO.builder().after("").build(), 1L)
+            .getLink(IanaLinkRelations.NEXT)
+            .isEmpty());
+  }
+
+  @Test
+  void decodeCursor_malformed_throwsWrongRequest() {
+    assertThrows(WrongRequestException.class, () -> NegotiationCursor.decode("not a cursor"));
+    assertTrue(NegotiationCursor.decode("").isInitial());
+  }
 }
@@ -0,0 +1,178 @@
+package eu.bbmri_eric.negotiator.unit.mappers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import eu.bbmri_eric.negotiator.form.dto.AccessFormDTO;
+import eu.bbmri_eric.negotiator.governance.organization.OrganizationDTO;
+import eu.bbmri_eric.negotiator.governance.resource.ResourceWithStatusAssembler;
+import eu.bbmri_eric.negotiator.governance.resource.dto.NegotiationResourceFilterDTO;
+import eu.bbmri_eric.negotiator.governance.resource.dto.OrganizationResourcesSummaryDTO;
+import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceWithStatusDTO;
+import eu.bbmri_eric.negotiator.info_requirement.InformationRequirementDTO;
+import eu.bbmri_eric.negotiator.info_requirement.InformationRequirementService;
+import eu.bbmri_eric.negotiator.info_submission.InformationSubmissionService;
+import eu.bbmri_eric.negotiator.info_submission.SubmittedInformationDTO;
+import eu.bbmri_eric.negotiator.negotiation.state_machine.resource.NegotiationResourceEvent;
+import eu.bbmri_eric.negotiator.negotiation.state_machine.resource.NegotiationResourceState;
+import eu.bbmri_eric.negotiator.negotiation.state_machine.resource.ResourceLifecycleService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.PagedModel;
+
+public class ResourceWithStatusAssemblerTest {
+
+  private ResourceLifecycleService resourceLifecycleService;
+  private InformationRequirementService informationRequirementService;
+  private InformationSubmissionService informationSubmissionService;
+  private ResourceWithStatusAssembler assembler;
+
+  @BeforeEach
+  void before() {
+    resourceLifecycleService = mock(ResourceLifecycleService.class);
+    informationRequirementService = mock(InformationRequirementService.class);
+    informationSubmissionService = mock(InformationSubmissionService.class);
+    assembler =
+        new ResourceWithStatusAssembler(
+            resourceLifecycleService, informationRequirementService, informationSubmissionService);
+    when(informationRequirementService.getAllInformationRequirements())
+        .thenReturn(
+            List.of(
+                InformationRequirementDTO.builder()
+                    .id(1L)
+                    .requiredAccessForm(AccessFormDTO.builder().id(1L).name("Form").build())
+                    .forResourceEvent(NegotiationResourceEvent.CONTACT)
+                    .build()));
+  }
+
+  private static ResourceWithStatusDTO resource(long id) {
+    return ResourceWithStatusDTO.builder()
+        .id(id)
+        .sourceId("collection:%d".formatted(id))
+        .negotiationId("negotiation-1")
+        .build();
+  }
+
+  @Test
+  void toCollectionModel_500Resources_loadsLinkDataOnce() {
+    List<ResourceWithStatusDTO> resources = new ArrayList<>();
+    Map<String, Set<NegotiationResourceEvent>> events = new HashMap<>();
+    for (long id = 1; id <= 500; id++) {
+      resources.add(resource(id));
+      events.put("collection:%d".formatted(id), Set.of(NegotiationResourceEvent.CONTACT));
+    }
+    when(resourceLifecycleService.getPossibleEventsForAllResources("negotiation-1"))
+        .thenReturn(events);
+    when(informationSubmissionService.findAllForNegotiation("negotiation-1"))
+        .thenReturn(List.of(new SubmittedInformationDTO(10L, 1L, 1L, null)));
+
+    CollectionModel<EntityModel<ResourceWithStatusDTO>> model =
+        assembler.toCollectionModel(resources);
+
+    assertEquals(500, model.getContent().size());
+    verify(informationRequirementService, times(1)).getAllInformationRequirements();
+    verify(informationSubmissionService, times(1)).findAllForNegotiation("negotiation-1");
+    verify(resourceLifecycleService, times(1)).getPossibleEventsForAllResources("negotiation-1");
+    verify(resourceLifecycleService, never()).getPossibleEvents(any(), any());
+  }
+
+  @Test
+  void toCollectionModel_linksAreBuiltPerResource() {
+    when(resourceLifecycleService.getPossibleEventsForAllResources("negotiation-1"))
+        .thenReturn(
+            Map.of(
+                "collection:1", Set.of(NegotiationResourceEvent.CONTACT),
+                "collection:2", Set.of(NegotiationResourceEvent.CONTACT)));
+    when(informationSubmissionService.findAllForNegotiation("negotiation-1"))
+        .thenReturn(List.of(new SubmittedInformationDTO(10L, 1L, 1L, null)));
+
+    List<EntityModel<ResourceWithStatusDTO>> models =
+        List.copyOf(assembler.toCollectionModel(List.of(resource(1), resource(2))).getContent());
+
+    EntityModel<ResourceWithStatusDTO> submitted = models.get(0);
+    assertTrue(submitted.getLink("CONTACT").isPresent());
+    assertTrue(submitted.getLink("submission-10").isPresent());
+    assertFalse(submitted.getLink("requirement-1").isPresent());
+    EntityModel<ResourceWithStatusDTO> notSubmitted = models.get(1);
+    assertTrue(notSubmitted.getLink("CONTACT").isPresent());
+    assertFalse(notSubmitted.getLink("submission-10").isPresent());
+    assertTrue(notSubmitted.getLink("requirement-1").isPresent());
+  }
+
+  @Test
+  void toModel_singleResource_usesPossibleEventsOfResource() {
+    when(resourceLifecycleService.getPossibleEvents("negotiation-1", "collection:1"))
+        .thenReturn(Set.of(NegotiationResourceEvent.CONTACT));
+    when(informationSubmissionService.findAllForNegotiation("negotiation-1")).thenReturn(List.of());
+
+    EntityModel<ResourceWithStatusDTO> model = assembler.toModel(resource(1));
+
+    assertTrue(model.getLink("CONTACT").isPresent());
+    assertTrue(model.getLink("requirement-1").isPresent());
+    verify(resourceLifecycleService, never()).getPossibleEventsForAllResources(any());
+  }
+
+  @Test
+  void toPagedModel_secondPage_linksToOtherPagesWithFilters() {
+    when(resourceLifecycleService.getPossibleEventsForAllResources("negotiation-1"))
+        .thenReturn(Map.of());
+    NegotiationResourceFilterDTO filters = new NegotiationResourceFilterDTO();
+    filters.setCurrentState(NegotiationResourceState.SUBMITTED);
+    filters.setPage(1);
+    filters.setSize(2);
+
+    PagedModel<EntityModel<ResourceWithStatusDTO>> model =
+        assembler.toPagedModel(
+            new PageImpl<>(List.of(resource(3), resource(4)), PageRequest.of(1, 2), 5),
+            filters,
+            "negotiation-1");
+
+    assertEquals(2, model.getContent().size());
+    assertEquals(5, model.getMetadata().getTotalElements());
+    assertEquals(
+        "/v3/negotiations/negotiation-1/resources?currentState=SUBMITTED&view=full&page=2&size=2",
+        model.getLink(IanaLinkRelations.NEXT).orElseThrow().getHref());
+    assertTrue(model.getLink(IanaLinkRelations.PREVIOUS).isPresent());
+    assertTrue(model.getLink("resources").isPresent());
+  }
+
+  @Test
+  void toSummaryCollectionModel_linksToResourcesOfOrganization() {
+    OrganizationResourcesSummaryDTO summary =
+        OrganizationResourcesSummaryDTO.builder()
+            .organization(OrganizationDTO.builder().id(7L).externalId("biobank:7").build())
+            .resources(3)
+            .resourcesByState(Map.of(NegotiationResourceState.SUBMITTED, 3L))
+            .build();
+
+    EntityModel<OrganizationResourcesSummaryDTO> model =
+        assembler
+            .toSummaryCollectionModel(List.of(summary), "negotiation-1")
+            .getContent()
+            .iterator()
+            .next();
+
+    assertEquals("/v3/organizations/7", model.getLink("organization").orElseThrow().getHref());
+    assertEquals(
+        "/v3/negotiations/negotiation-1/resources?organizationId=7",
+        model.getLink("organization_resources").orElseThrow().getHref());
+    verify(resourceLifecycleService, never()).getPossibleEventsForAllResources(any());
+  }
+}
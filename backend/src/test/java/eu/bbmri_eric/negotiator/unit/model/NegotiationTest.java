@@ -2,17 +2,24 @@ package eu.bbmri_eric.negotiator.unit.model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import eu.bbmri_eric.negotiator.governance.resource.Resource;
 import eu.bbmri_eric.negotiator.negotiation.Negotiation;
+import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationLifecycleRecord;
 import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationState;
+import eu.bbmri_eric.negotiator.negotiation.state_machine.resource.NegotiationResourceLifecycleRecord;
 import eu.bbmri_eric.negotiator.negotiation.state_machine.resource.NegotiationResourceState;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import lombok.extern.apachecommons.CommonsLog;
 import org.junit.jupiter.api.Test;
 
+@CommonsLog
 public class NegotiationTest {
 
   @Test
@@ -102,4 +109,129 @@ public class NegotiationTest {
     negotiation.setCurrentState(NegotiationState.IN_PROGRESS);
     assertEquals(2, negotiation.getLifecycleHistory().size());
   }
+
+  @Test
+  void getCurrentStateForResource_afterAddResource_isIndexed() {
+    Negotiation negotiation = Negotiation.builder().build();
+    negotiation.addResource(resource("collection:1"));
+    negotiation.setStateForResource("collection:1", NegotiationResourceState.SUBMITTED);
+    negotiation.addResource(resource("collection:2"));
+    negotiation.setStateForResource("collection:2", NegotiationResourceState.RESOURCE_AVAILABLE);
+    assertEquals(
+        NegotiationResourceState.SUBMITTED, negotiation.getCurrentStateForResource("collection:1"));
+    assertEquals(
+        NegotiationResourceState.RESOURCE_AVAILABLE,
+        negotiation.getCurrentStateForResource("collection:2"));
+  }
+
+  @Test
+  void getCurrentStateForResource_afterSetResources_isReindexed() {
+    Negotiation negotiation = Negotiation.builder().build();
+    negotiation.addResource(resource("collection:1"));
+    negotiation.setStateForResource("collection:1", NegotiationResourceState.SUBMITTED);
+    negotiation.setResources(Set.of(resource("collection:2")));
+    assertNull(negotiation.getCurrentStateForResource("collection:2"));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> negotiation.getCurrentStateForResource("collection:1"));
+  }
+
+  @Test
+  void setStateForResources_setsAllAndRecordsHistory() {
+    Negotiation negotiation = Negotiation.builder().build();
+    negotiation.setResources(Set.of(resource("collection:1"), resource("collection:2")));
+    negotiation.setStateForResources(
+        List.of("collection:1", "collection:2"), NegotiationResourceState.REPRESENTATIVE_CONTACTED);
+    assertEquals(
+        2,
+        negotiation.getResourcesInState(NegotiationResourceState.REPRESENTATIVE_CONTACTED).size());
+    assertEquals(2, negotiation.getNegotiationResourceLifecycleRecords().size());
+  }
+
+  @Test
+  void setStateForResources_resourceNotLinked_changesNothing() {
+    Negotiation negotiation = Negotiation.builder().build();
+    negotiation.addResource(resource("collection:1"));
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            negotiation.setStateForResources(
+                List.of("collection:1", "collection:2"), NegotiationResourceState.SUBMITTED));
+    assertNull(negotiation.getCurrentStateForResource("collection:1"));
+  }
+
+  @Test
+  void getResourcesInState_returnsOnlyMatching() {
+    Negotiation negotiation = Negotiation.builder().build();
+    Resource submitted = resource("collection:1");
+    negotiation.setResources(Set.of(submitted, resource("collection:2")));
+    negotiation.setStateForResource("collection:1", NegotiationResourceState.SUBMITTED);
+    assertEquals(
+        Set.of(submitted), negotiation.getResourcesInState(NegotiationResourceState.SUBMITTED));
+  }
+
+  @Test
+  void applyStateChange_setsStateAndAddsRecord() {
+    Negotiation negotiation = Negotiation.builder().build();
+    NegotiationLifecycleRecord record =
+        NegotiationLifecycleRecord.builder()
+            .negotiationId("negotiation-1")
+            .changedTo(NegotiationState.IN_PROGRESS)
+            .build();
+    negotiation.applyStateChange(record);
+    assertEquals(NegotiationState.IN_PROGRESS, negotiation.getCurrentState());
+    assertEquals(2, negotiation.getLifecycleHistory().size());
+    assertTrue(negotiation.getLifecycleHistory().contains(record));
+  }
+
+  @Test
+  void applyResourceStateChange_setsStateAndAddsRecord() {
+    Negotiation negotiation = Negotiation.builder().build();
+    Resource resource = resource("collection:1");
+    negotiation.addResource(resource);
+    NegotiationResourceLifecycleRecord record =
+        NegotiationResourceLifecycleRecord.builder()
+            .negotiationId("negotiation-1")
+            .resource(resource)
+            .changedTo(NegotiationResourceState.RESOURCE_AVAILABLE)
+            .build();
+    negotiation.applyResourceStateChange("collection:1", record);
+    assertEquals(
+        NegotiationResourceState.RESOURCE_AVAILABLE,
+        negotiation.getCurrentStateForResource("collection:1"));
+    assertEquals(Set.of(record), negotiation.getNegotiationResourceLifecycleRecords());
+  }
+
+  @Test
+  void resourceStates_5kResources_benchmark() {
+    int size = 5000;
+    Negotiation negotiation = Negotiation.builder().build();
+    List<String> resourceIds = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      String resourceId = "biobank:1:collection:%d".formatted(i);
+      negotiation.addResource(resource(resourceId));
+      resourceIds.add(resourceId);
+    }
+    long start = System.nanoTime();
+    negotiation.setStateForResources(resourceIds, NegotiationResourceState.SUBMITTED);
+    for (String resourceId : resourceIds) {
+      negotiation.setStateForResource(
+          resourceId, NegotiationResourceState.REPRESENTATIVE_CONTACTED);
+      assertEquals(
+          NegotiationResourceState.REPRESENTATIVE_CONTACTED,
+          negotiation.getCurrentStateForResource(resourceId));
+    }
+    log.info(
+        "Updated and read the state of %d resources in %d ms"
+            .formatted(size, (System.nanoTime() - start) / 1_000_000));
+    assertEquals(
+        size,
+        negotiation.getResourcesInState(NegotiationResourceState.REPRESENTATIVE_CONTACTED).size());
+  }
+
+  private static Resource resource(String sourceId) {
+    Resource resource = new Resource();
+    resource.setSourceId(sourceId);
+    return resource;
+  }
 }
@@ -0,0 +1,59 @@
+package eu.bbmri_eric.negotiator.unit.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import eu.bbmri_eric.negotiator.governance.network.stats.ResponseTimeHistogram;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class ResponseTimeHistogramTest {
+
+  private static ResponseTimeHistogram histogramOf(List<Double> days) {
+    Map<Integer, Long> buckets = new HashMap<>();
+    days.forEach(value -> buckets.merge(ResponseTimeHistogram.bucketOf(value), 1L, Long::sum));
+    return ResponseTimeHistogram.of(buckets);
+  }
+
+  @Test
+  void median_empty_null() {
+    assertNull(ResponseTimeHistogram.of(Map.of()).median());
+  }
+
+  @Test
+  void valueOf_bucketOf_withinRelativeAccuracy() {
+    for (double days : List.of(0.001, 0.5, 1.0, 3.7, 10.0, 42.0, 365.0)) {
+      assertEquals(
+          days,
+          ResponseTimeHistogram.valueOf(ResponseTimeHistogram.bucketOf(days)),
+          days * ResponseTimeHistogram.RELATIVE_ACCURACY);
+    }
+  }
+
+  @Test
+  void median_oddNumberOfTimes_middleTime() {
+    assertEquals(10.0, histogramOf(List.of(1.0, 10.0, 90.0)).median(), 0.1);
+  }
+
+  @Test
+  void median_evenNumberOfTimes_interpolated() {
+    assertEquals(6.0, histogramOf(List.of(1.0, 2.0, 10.0, 90.0)).median(), 0.06);
+  }
+
+  @Test
+  void median_mergedHistograms_sumsBuckets() {
+    Map<Integer, Long> buckets = new HashMap<>();
+    buckets.put(ResponseTimeHistogram.bucketOf(2.0), 3L);
+    buckets.put(ResponseTimeHistogram.bucketOf(20.0), 2L);
+    assertEquals(2.0, ResponseTimeHistogram.of(buckets).median(), 0.02);
+  }
+
+  @Test
+  void bucketOf_immediateResponse_minimumBucket() {
+    assertEquals(
+        ResponseTimeHistogram.bucketOf(ResponseTimeHistogram.MINIMUM_DAYS),
+        ResponseTimeHistogram.bucketOf(0));
+  }
+}
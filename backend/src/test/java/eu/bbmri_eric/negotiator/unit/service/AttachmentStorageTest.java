@@ -0,0 +1,94 @@
+package eu.bbmri_eric.negotiator.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import eu.bbmri_eric.negotiator.attachment.DatabaseAttachmentStorage;
+import eu.bbmri_eric.negotiator.attachment.FileSystemAttachmentStorage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.unit.DataSize;
+
+public class AttachmentStorageTest {
+
+  private static final byte[] CONTENT = "0123456789abcdefghij".getBytes();
+
+  private JdbcTemplate jdbcTemplate;
+  private List<byte[]> chunks;
+
+  @BeforeEach
+  void before() {
+    jdbcTemplate = mock(JdbcTemplate.class);
+    chunks = new ArrayList<>();
+    doAnswer(
+            invocation -> {
+              chunks.add(((byte[]) invocation.getArgument(3)).clone());
+              return 1;
+            })
+        .when(jdbcTemplate)
+        .update(anyString(), any(), any(), any());
+    doAnswer(invocation -> chunks.stream().map(chunk -> chunk.length).toList())
+        .when(jdbcTemplate)
+        .queryForList(anyString(), eq(Integer.class), any());
+    doAnswer(invocation -> chunks.get(invocation.getArgument(3)))
+        .when(jdbcTemplate)
+        .queryForObject(anyString(), eq(byte[].class), any(), any());
+  }
+
+  @Test
+  void database_storeSplitsContentInChunks() throws IOException {
+    DatabaseAttachmentStorage storage =
+        new DatabaseAttachmentStorage(jdbcTemplate, DataSize.ofBytes(8));
+    long size = storage.store("attachment-1", new ByteArrayInputStream(CONTENT));
+    assertEquals(CONTENT.length, size);
+    assertEquals(3, chunks.size());
+    assertEquals(4, chunks.get(2).length);
+    try (InputStream in = storage.open("attachment-1")) {
+      assertArrayEquals(CONTENT, in.readAllBytes());
+    }
+  }
+
+  @Test
+  void database_skipDoesNotLoadSkippedChunks() throws IOException {
+    DatabaseAttachmentStorage storage =
+        new DatabaseAttachmentStorage(jdbcTemplate, DataSize.ofBytes(4));
+    storage.store("attachment-1", new ByteArrayInputStream(CONTENT));
+    try (InputStream in = storage.open("attachment-1")) {
+      assertEquals(13, in.skip(13));
+      assertArrayEquals("defg".getBytes(), in.readNBytes(4));
+    }
+    verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(byte[].class), any(), any());
+  }
+
+  @Test
+  void filesystem_storeAndOpen(@TempDir Path directory) throws IOException {
+    FileSystemAttachmentStorage storage = new FileSystemAttachmentStorage(directory.toString());
+    long size = storage.store("attachment-1", new ByteArrayInputStream(CONTENT));
+    assertEquals(CONTENT.length, size);
+    try (InputStream in = storage.open("attachment-1")) {
+      assertArrayEquals(CONTENT, in.readAllBytes());
+    }
+  }
+
+  @Test
+  void filesystem_rejectsIdsOutsideDirectory(@TempDir Path directory) throws IOException {
+    FileSystemAttachmentStorage storage = new FileSystemAttachmentStorage(directory.toString());
+    assertThrows(IllegalArgumentException.class, () -> storage.open("../attachment-1"));
+  }
+}
@@ -0,0 +1,89 @@
+package eu.bbmri_eric.negotiator.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import eu.bbmri_eric.negotiator.common.configuration.BoundedApplicationEventMulticaster;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+
+public class BoundedApplicationEventMulticasterTest {
+
+  private static class TestEvent extends ApplicationEvent {
+    TestEvent(Object source) {
+      super(source);
+    }
+  }
+
+  @Test
+  void multicast_fullQueue_runsOnPublishingThread() throws InterruptedException {
+    BoundedApplicationEventMulticaster multicaster =
+        new BoundedApplicationEventMulticaster(1, 1, Duration.ofSeconds(5));
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    multicaster.bindTo(registry);
+    String publisher = Thread.currentThread().getName();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<String> threads = new CopyOnWriteArrayList<>();
+    multicaster.addApplicationListener(
+        (ApplicationListener<TestEvent>)
+            event -> {
+              threads.add(Thread.currentThread().getName());
+              if (!Thread.currentThread().getName().equals(publisher)) {
+                started.countDown();
+                try {
+                  release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+              }
+            });
+    multicaster.start();
+    multicaster.multicastEvent(new TestEvent(this));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    multicaster.multicastEvent(new TestEvent(this));
+    multicaster.multicastEvent(new TestEvent(this));
+    assertTrue(threads.contains(publisher));
+    assertEquals(1, multicaster.getPending("TestEvent"));
+    assertEquals(
+        1.0,
+        registry.get("negotiator.events.caller-runs").tag("type", "TestEvent").counter().count());
+    release.countDown();
+    multicaster.stop();
+    assertEquals(3, threads.size());
+    assertEquals(0, multicaster.getPending("TestEvent"));
+  }
+
+  @Test
+  void stop_drainsPendingDeliveries() {
+    BoundedApplicationEventMulticaster multicaster =
+        new BoundedApplicationEventMulticaster(2, 100, Duration.ofSeconds(5));
+    AtomicInteger handled = new AtomicInteger();
+    multicaster.addApplicationListener(
+        (ApplicationListener<TestEvent>)
+            event -> {
+              try {
+                Thread.sleep(10);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              handled.incrementAndGet();
+            });
+    multicaster.start();
+    for (int i = 0; i < 20; i++) {
+      multicaster.multicastEvent(new TestEvent(this));
+    }
+    multicaster.stop();
+    assertEquals(20, handled.get());
+    multicaster.multicastEvent(new TestEvent(this));
+    assertEquals(21, handled.get());
+  }
+}
@@ -0,0 +1,136 @@
+package eu.bbmri_eric.negotiator.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import eu.bbmri_eric.negotiator.common.ConditionalRequests;
+import eu.bbmri_eric.negotiator.common.ContentScope;
+import eu.bbmri_eric.negotiator.common.ContentVersionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+public class ConditionalRequestsTest {
+
+  private ContentVersionRepository contentVersionRepository;
+  private SimpleMeterRegistry registry;
+  private ConditionalRequests conditionalRequests;
+  private final LocalDateTime modified = LocalDateTime.of(2024, 5, 1, 10, 30);
+  private MockHttpServletResponse lastResponse;
+
+  @BeforeEach
+  void before() {
+    contentVersionRepository = mock(ContentVersionRepository.class);
+    registry = new SimpleMeterRegistry();
+    conditionalRequests = new ConditionalRequests(contentVersionRepository, registry);
+  }
+
+  private ServletWebRequest request(String ifNoneMatch) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v3/test");
+    if (ifNoneMatch != null) {
+      request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+    }
+    lastResponse = new MockHttpServletResponse();
+    return new ServletWebRequest(request, lastResponse);
+  }
+
+  private double count(String outcome) {
+    return registry
+        .counter("negotiator.http.conditional-requests", "resource", "test", "outcome", outcome)
+        .count();
+  }
+
+  @Test
+  void isNotModified_unconditional_setsValidators() {
+    assertFalse(conditionalRequests.isNotModified(request(null), "test", modified, "neg-1"));
+    assertTrue(lastResponse.getHeader(HttpHeaders.ETAG).startsWith("W/\""));
+    assertEquals(
+        modified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+        lastResponse.getDateHeader(HttpHeaders.LAST_MODIFIED));
+    assertEquals("no-cache, private", lastResponse.getHeader(HttpHeaders.CACHE_CONTROL));
+    assertEquals(1, count("unconditional"));
+  }
+
+  @Test
+  void isNotModified_matchingEtag_notModified() {
+    conditionalRequests.isNotModified(request(null), "test", modified, "neg-1");
+    String etag = lastResponse.getHeader(HttpHeaders.ETAG);
+
+    assertTrue(conditionalRequests.isNotModified(request(etag), "test", modified, "neg-1"));
+    assertEquals(304, lastResponse.getStatus());
+    assertEquals(1, count("not_modified"));
+  }
+
+  @Test
+  void isNotModified_entityModifiedSince_modified() {
+    conditionalRequests.isNotModified(request(null), "test", modified, "neg-1");
+    String etag = lastResponse.getHeader(HttpHeaders.ETAG);
+
+    assertFalse(
+        conditionalRequests.isNotModified(request(etag), "test", modified.plusSeconds(1), "neg-1"));
+    assertEquals(200, lastResponse.getStatus());
+    assertEquals(1, count("modified"));
+  }
+
+  @Test
+  void isNotModified_differentParts_differentEtag() {
+    conditionalRequests.isNotModified(request(null), "test", modified, "neg-1", "user-1");
+    String etag = lastResponse.getHeader(HttpHeaders.ETAG);
+    conditionalRequests.isNotModified(request(null), "test", modified, "neg-1", "user-2");
+    assertNotEquals(etag, lastResponse.getHeader(HttpHeaders.ETAG));
+  }
+
+  @Test
+  void isNotModified_ifModifiedSince_notModified() {
+    ServletWebRequest request = request(null);
+    ((MockHttpServletRequest) request.getRequest())
+        .addHeader(
+            HttpHeaders.IF_MODIFIED_SINCE,
+            modified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    assertTrue(conditionalRequests.isNotModified(request, "test", modified, "neg-1"));
+    assertEquals(304, lastResponse.getStatus());
+  }
+
+  @Test
+  void isNotModified_scopeVersionIncremented_modified() {
+    when(contentVersionRepository.findVersion(ContentScope.UI_CONFIG))
+        .thenReturn(Optional.of(3L))
+        .thenReturn(Optional.of(3L))
+        .thenReturn(Optional.of(4L));
+    conditionalRequests.isNotModified(request(null), "test", ContentScope.UI_CONFIG);
+    String etag = lastResponse.getHeader(HttpHeaders.ETAG);
+
+    assertTrue(conditionalRequests.isNotModified(request(etag), "test", ContentScope.UI_CONFIG));
+    assertFalse(conditionalRequests.isNotModified(request(etag), "test", ContentScope.UI_CONFIG));
+    assertEquals(1, count("not_modified"));
+    assertEquals(1, count("modified"));
+  }
+
+  @Test
+  void isNotModified_entityWithScopeVersionIncremented_modified() {
+    when(contentVersionRepository.findVersion(ContentScope.INFORMATION_REQUIREMENTS))
+        .thenReturn(Optional.of(1L))
+        .thenReturn(Optional.of(2L));
+    List<ContentScope> scopes = List.of(ContentScope.INFORMATION_REQUIREMENTS);
+    conditionalRequests.isNotModified(request(null), "test", modified, scopes, "neg-1");
+    String etag = lastResponse.getHeader(HttpHeaders.ETAG);
+    assertNull(lastResponse.getHeader(HttpHeaders.LAST_MODIFIED));
+
+    assertFalse(
+        conditionalRequests.isNotModified(request(etag), "test", modified, scopes, "neg-1"));
+    assertEquals(1, count("modified"));
+  }
+}
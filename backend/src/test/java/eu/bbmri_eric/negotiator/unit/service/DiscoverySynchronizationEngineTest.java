@@ -0,0 +1,333 @@
+package eu.bbmri_eric.negotiator.unit.service;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.serverError;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import eu.bbmri_eric.negotiator.discovery.DiscoveryService;
+import eu.bbmri_eric.negotiator.discovery.synchronization.DiscoveryNetwork;
+import eu.bbmri_eric.negotiator.discovery.synchronization.DiscoveryOrganization;
+import eu.bbmri_eric.negotiator.discovery.synchronization.DiscoveryResource;
+import eu.bbmri_eric.negotiator.discovery.synchronization.DiscoveryServiceSynchronizationJob;
+import eu.bbmri_eric.negotiator.discovery.synchronization.DiscoveryServiceSynchronizationJobRepository;
+import eu.bbmri_eric.negotiator.discovery.synchronization.DiscoveryServiceSyncronizationJobStatus;
+import eu.bbmri_eric.negotiator.discovery.synchronization.DiscoverySynchronizationEngine;
+import eu.bbmri_eric.negotiator.discovery.synchronization.DiscoverySynchronizationRepository;
+import eu.bbmri_eric.negotiator.discovery.synchronization.RestDiscoveryServiceClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@WireMockTest
+public class DiscoverySynchronizationEngineTest {
+
+  private static final String JOB_ID = "job";
+
+  private DiscoverySynchronizationRepository synchronizationRepository;
+  private DiscoverySynchronizationEngine engine;
+  private DiscoveryServiceSynchronizationJob job;
+
+  @BeforeEach
+  void before(WireMockRuntimeInfo wireMock) {
+    DiscoveryServiceSynchronizationJobRepository jobRepository =
+        mock(DiscoveryServiceSynchronizationJobRepository.class);
+    synchronizationRepository = mock(DiscoverySynchronizationRepository.class);
+    engine =
+        new DiscoverySynchronizationEngine(
+            jobRepository,
+            synchronizationRepository,
+            new RestDiscoveryServiceClient(new RestTemplateBuilder(), Duration.ofSeconds(5)),
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            0.5,
+            2);
+    DiscoveryService discoveryService =
+        DiscoveryService.builder()
+            .id(1L)
+            .name("Directory")
+            .url(wireMock.getHttpBaseUrl() + "/api")
+            .build();
+    job =
+        DiscoveryServiceSynchronizationJob.builder()
+            .id(JOB_ID)
+            .service(discoveryService)
+            .status(DiscoveryServiceSyncronizationJobStatus.SUBMITTED)
+            .build();
+    when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+  }
+
+  private static void stubDiscoveryService() {
+    stubFor(
+        get("/api/organizations")
+            .willReturn(
+                okJson(
+                    """
+                    [{"id": "org-1", "name": "Biobank 1"},
+                     {"id": "org-2", "name": "Biobank 2", "withdrawn": true}]
+                    """)));
+    stubFor(
+        get("/api/resources")
+            .willReturn(
+                okJson(
+                    """
+                    [{"id": "res-1", "name": "Collection 1 renamed", "organizationId": "org-1"},
+                     {"id": "res-2", "name": "Collection 2", "organizationId": "org-1"},
+                     {"id": "res-3", "name": "Collection 3", "organizationId": "unknown"}]
+                    """)));
+    stubFor(
+        get("/api/networks")
+            .willReturn(
+                okJson(
+                    """
+                    [{"id": "net-1", "name": "Network 1", "uri": "https://network.org",
+                      "resourceIds": ["res-1", "res-2"]}]
+                    """)));
+  }
+
+  @Test
+  void synchronize_changes_onlyDifferencesApplied() {
+    stubDiscoveryService();
+    DiscoveryOrganization organization =
+        new DiscoveryOrganization("org-1", "Biobank 1", null, null, null, false);
+    when(synchronizationRepository.findOrganizations(1L)).thenReturn(Map.of("org-1", organization));
+    when(synchronizationRepository.findOrganizationIds(anyCollection()))
+        .thenReturn(Map.of("org-1", 10L));
+    when(synchronizationRepository.findResources(1L))
+        .thenReturn(
+            Map.of(
+                "res-1",
+                new DiscoveryResource("res-1", "Collection 1", null, null, null, "org-1", false),
+                "res-old",
+                new DiscoveryResource("res-old", "Old", null, null, null, "org-1", false)));
+    when(synchronizationRepository.findNetworkIds(anyCollection()))
+        .thenReturn(Map.of("net-1", 20L));
+    when(synchronizationRepository.findResourceIds(eq(1L), anyCollection()))
+        .thenReturn(Map.of("res-1", 100L, "res-2", 101L));
+
+    engine.synchronize(JOB_ID);
+
+    assertEquals(DiscoveryServiceSyncronizationJobStatus.COMPLETED, job.getStatus());
+    verify(synchronizationRepository)
+        .insertOrganizations(
+            List.of(new DiscoveryOrganization("org-2", "Biobank 2", null, null, null, true)));
+    verify(synchronizationRepository).updateOrganizations(List.of());
+    verify(synchronizationRepository)
+        .insertResources(
+            1L,
+            List.of(
+                new DiscoveryResource("res-2", "Collection 2", null, null, null, "org-1", false)),
+            Map.of("org-1", 10L));
+    verify(synchronizationRepository)
+        .updateResources(
+            1L,
+            List.of(
+                new DiscoveryResource(
+                    "res-1", "Collection 1 renamed", null, null, null, "org-1", false)),
+            Map.of("org-1", 10L));
+    verify(synchronizationRepository).withdrawResources(1L, List.of("res-old"));
+    verify(synchronizationRepository)
+        .insertNetworks(
+            List.of(
+                new DiscoveryNetwork(
+                    "net-1",
+                    "Network 1",
+                    null,
+                    null,
+                    "https://network.org",
+                    Set.of("res-1", "res-2"))));
+    verify(synchronizationRepository).replaceNetworkResources(1L, Map.of(20L, Set.of(100L, 101L)));
+    assertEquals(6, job.getTotal());
+    assertEquals(6, job.getProcessed());
+    assertEquals(3, job.getInserted());
+    assertEquals(1, job.getUpdated());
+    assertEquals(1, job.getWithdrawn());
+    assertEquals(1, job.getSkipped());
+  }
+
+  @Test
+  void synchronize_nothingChanged_nothingWritten() {
+    stubDiscoveryService();
+    when(synchronizationRepository.findOrganizations(1L))
+        .thenReturn(
+            Map.of(
+                "org-1",
+                new DiscoveryOrganization("org-1", "Biobank 1", null, null, null, false),
+                "org-2",
+                new DiscoveryOrganization("org-2", "Biobank 2", null, null, null, true)));
+    when(synchronizationRepository.findOrganizationIds(anyCollection()))
+        .thenReturn(Map.of("org-1", 10L, "org-2", 11L));
+    when(synchronizationRepository.findResources(1L))
+        .thenReturn(
+            Map.of(
+                "res-1",
+                new DiscoveryResource(
+                    "res-1", "Collection 1 renamed", null, null, null, "org-1", false),
+                "res-2",
+                new DiscoveryResource("res-2", "Collection 2", null, null, null, "org-1", false)));
+    when(synchronizationRepository.findNetworks(eq(1L), anyCollection()))
+        .thenReturn(
+            Map.of(
+                "net-1",
+                new DiscoveryNetwork(
+                    "net-1",
+                    "Network 1",
+                    null,
+                    null,
+                    "https://network.org",
+                    Set.of("res-1", "res-2"))));
+
+    engine.synchronize(JOB_ID);
+
+    assertEquals(DiscoveryServiceSyncronizationJobStatus.COMPLETED, job.getStatus());
+    verify(synchronizationRepository)
+        .insertResources(1L, List.of(), Map.of("org-1", 10L, "org-2", 11L));
+    verify(synchronizationRepository).withdrawResources(1L, List.of());
+    verify(synchronizationRepository).replaceNetworkResources(1L, Map.of());
+    assertEquals(0, job.getInserted() + job.getUpdated() + job.getWithdrawn());
+    assertEquals(1, job.getSkipped());
+  }
+
+  @Test
+  void synchronize_discoveryServiceFails_jobFailed() {
+    stubFor(get("/api/organizations").willReturn(serverError()));
+
+    engine.synchronize(JOB_ID);
+
+    assertEquals(DiscoveryServiceSyncronizationJobStatus.FAILED, job.getStatus());
+    assertNotNull(job.getErrorMessage());
+    verify(synchronizationRepository, never()).lockDiscoveryService(anyLong());
+    verify(synchronizationRepository, never()).insertResources(anyLong(), any(), any());
+  }
+
+  @Test
+  void synchronize_emptyPayload_nothingWithdrawn() {
+    stubFor(get("/api/organizations").willReturn(okJson("[]")));
+    stubFor(get("/api/resources").willReturn(okJson("[]")));
+    stubFor(get("/api/networks").willReturn(okJson("[]")));
+    when(synchronizationRepository.findOrganizations(1L))
+        .thenReturn(
+            Map.of(
+                "org-1", new DiscoveryOrganization("org-1", "Biobank 1", null, null, null, false)));
+    when(synchronizationRepository.findResources(1L))
+        .thenReturn(
+            Map.of(
+                "res-1",
+                new DiscoveryResource("res-1", "Collection 1", null, null, null, "org-1", false)));
+
+    engine.synchronize(JOB_ID);
+
+    assertEquals(DiscoveryServiceSyncronizationJobStatus.FAILED, job.getStatus());
+    assertNotNull(job.getErrorMessage());
+    verify(synchronizationRepository, never()).withdrawOrganizations(any());
+    verify(synchronizationRepository, never()).withdrawResources(anyLong(), any());
+    assertEquals(0, job.getWithdrawn());
+  }
+
+  @Test
+  void synchronize_sharedOrganizationNotFetched_notWithdrawn() {
+    stubDiscoveryService();
+    when(synchronizationRepository.findOrganizations(1L))
+        .thenReturn(
+            Map.of(
+                "org-1",
+                new DiscoveryOrganization("org-1", "Biobank 1", null, null, null, false),
+                "org-shared",
+                new DiscoveryOrganization("org-shared", "Shared", null, null, null, false)));
+    when(synchronizationRepository.findSharedOrganizations(1L)).thenReturn(Set.of("org-shared"));
+    when(synchronizationRepository.findOrganizationIds(anyCollection()))
+        .thenReturn(Map.of("org-1", 10L, "org-2", 11L));
+
+    engine.synchronize(JOB_ID);
+
+    assertEquals(DiscoveryServiceSyncronizationJobStatus.COMPLETED, job.getStatus());
+    verify(synchronizationRepository).withdrawOrganizations(List.of());
+  }
+
+  @Test
+  void synchronize_mostResourcesMissing_nothingWithdrawn() {
+    stubDiscoveryService();
+    when(synchronizationRepository.findOrganizationIds(anyCollection()))
+        .thenReturn(Map.of("org-1", 10L));
+    when(synchronizationRepository.findResources(1L))
+        .thenReturn(
+            Map.of(
+                "res-1",
+                new DiscoveryResource("res-1", "Collection 1", null, null, null, "org-1", false),
+                "res-old-1",
+                new DiscoveryResource("res-old-1", "Old", null, null, null, "org-1", false),
+                "res-old-2",
+                new DiscoveryResource("res-old-2", "Old", null, null, null, "org-1", false)));
+
+    engine.synchronize(JOB_ID);
+
+    assertEquals(DiscoveryServiceSyncronizationJobStatus.FAILED, job.getStatus());
+    verify(synchronizationRepository, never()).withdrawResources(anyLong(), any());
+  }
+
+  @Test
+  void synchronize_onlyResourceReplaced_withdrawn() {
+    stubFor(
+        get("/api/organizations")
+            .willReturn(okJson("[{\"id\": \"org-1\", \"name\": \"Biobank 1\"}]")));
+    stubFor(
+        get("/api/resources")
+            .willReturn(
+                okJson(
+                    """
+                    [{"id": "res-new", "name": "Collection", "organizationId": "org-1"}]
+                    """)));
+    stubFor(get("/api/networks").willReturn(okJson("[]")));
+    when(synchronizationRepository.findOrganizationIds(anyCollection()))
+        .thenReturn(Map.of("org-1", 10L));
+    when(synchronizationRepository.findResources(1L))
+        .thenReturn(
+            Map.of(
+                "res-old",
+                new DiscoveryResource("res-old", "Collection", null, null, null, "org-1", false)));
+
+    engine.synchronize(JOB_ID);
+
+    assertEquals(DiscoveryServiceSyncronizationJobStatus.COMPLETED, job.getStatus());
+    verify(synchronizationRepository).withdrawResources(1L, List.of("res-old"));
+  }
+
+  @Test
+  void synchronize_sourceIdOfAnotherService_skipped() {
+    stubDiscoveryService();
+    when(synchronizationRepository.findOrganizationIds(anyCollection()))
+        .thenReturn(Map.of("org-1", 10L, "org-2", 11L));
+    when(synchronizationRepository.findExistingSourceIds(anyCollection()))
+        .thenReturn(Set.of("res-2"));
+
+    engine.synchronize(JOB_ID);
+
+    assertEquals(DiscoveryServiceSyncronizationJobStatus.COMPLETED, job.getStatus());
+    verify(synchronizationRepository)
+        .insertResources(
+            1L,
+            List.of(
+                new DiscoveryResource(
+                    "res-1", "Collection 1 renamed", null, null, null, "org-1", false)),
+            Map.of("org-1", 10L, "org-2", 11L));
+    assertEquals(2, job.getSkipped());
+  }
+}
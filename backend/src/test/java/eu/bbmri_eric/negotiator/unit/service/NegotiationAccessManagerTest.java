@@ -0,0 +1,88 @@
+package eu.bbmri_eric.negotiator.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import eu.bbmri_eric.negotiator.common.exceptions.ForbiddenRequestException;
+import eu.bbmri_eric.negotiator.negotiation.NegotiationAccess;
+import eu.bbmri_eric.negotiator.negotiation.NegotiationAccessManagerImpl;
+import eu.bbmri_eric.negotiator.negotiation.NegotiationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
+
+public class NegotiationAccessManagerTest {
+
+  private NegotiationRepository negotiationRepository;
+  private NegotiationAccessManagerImpl accessManager;
+
+  @BeforeEach
+  void before() {
+    negotiationRepository = mock(NegotiationRepository.class);
+    accessManager = new NegotiationAccessManagerImpl(negotiationRepository);
+  }
+
+  @AfterEach
+  void after() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void getAccess_decodesRoles() {
+    when(negotiationRepository.findAccessRoles("negotiation-1", 1L))
+        .thenReturn(NegotiationAccess.REPRESENTATIVE | NegotiationAccess.NETWORK_MANAGER);
+    NegotiationAccess access = accessManager.getAccessForNegotiation("negotiation-1", 1L);
+    assertFalse(access.isAuthor());
+    assertTrue(access.isRepresentative());
+    assertTrue(access.isNetworkManager());
+    assertTrue(access.isParticipant());
+  }
+
+  @Test
+  void getAccess_isMemoisedWithinRequest() {
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
+    when(negotiationRepository.findAccessRoles("negotiation-1", 1L))
+        .thenReturn(NegotiationAccess.AUTHOR);
+    accessManager.verifyReadAccessForNegotiation("negotiation-1", 1L);
+    accessManager.verifyUpdateAccessForNegotiation("negotiation-1", 1L);
+    assertTrue(accessManager.getAccessForNegotiation("negotiation-1", 1L).isAuthor());
+    verify(negotiationRepository, times(1)).findAccessRoles("negotiation-1", 1L);
+    accessManager.getAccessForNegotiation("negotiation-1", 2L);
+    verify(negotiationRepository, times(1)).findAccessRoles("negotiation-1", 2L);
+  }
+
+  @Test
+  void getAccess_isNotMemoisedOutsideRequest() {
+    accessManager.getAccessForNegotiation("negotiation-1", 1L);
+    accessManager.getAccessForNegotiation("negotiation-1", 1L);
+    verify(negotiationRepository, times(2)).findAccessRoles("negotiation-1", 1L);
+  }
+
+  @Test
+  void verifyAccess_representativeCanReadButNotUpdate() {
+    when(negotiationRepository.findAccessRoles("negotiation-1", 1L))
+        .thenReturn(NegotiationAccess.REPRESENTATIVE);
+    assertDoesNotThrow(() -> accessManager.verifyReadAccessForNegotiation("negotiation-1", 1L));
+    assertThrows(
+        ResponseStatusException.class,
+        () -> accessManager.verifyUpdateAccessForNegotiation("negotiation-1", 1L));
+  }
+
+  @Test
+  void verifyReadAccess_nonParticipant_isForbidden() {
+    assertThrows(
+        ForbiddenRequestException.class,
+        () -> accessManager.verifyReadAccessForNegotiation("negotiation-1", 1L));
+  }
+}
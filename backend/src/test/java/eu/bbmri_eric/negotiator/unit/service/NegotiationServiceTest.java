@@ -9,15 +9,17 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import eu.bbmri_eric.negotiator.attachment.Attachment;
 import eu.bbmri_eric.negotiator.attachment.AttachmentRepository;
 import eu.bbmri_eric.negotiator.attachment.dto.AttachmentMetadataDTO;
 import eu.bbmri_eric.negotiator.common.exceptions.EntityNotStorableException;
+import eu.bbmri_eric.negotiator.common.exceptions.WrongRequestException;
 import eu.bbmri_eric.negotiator.discovery.DiscoveryService;
 import eu.bbmri_eric.negotiator.governance.organization.Organization;
 import eu.bbmri_eric.negotiator.governance.resource.Resource;
 import eu.bbmri_eric.negotiator.integration.api.v3.TestUtils;
 import eu.bbmri_eric.negotiator.negotiation.Negotiation;
+import eu.bbmri_eric.negotiator.negotiation.NegotiationAccess;
+import eu.bbmri_eric.negotiator.negotiation.NegotiationAccessManager;
 import eu.bbmri_eric.negotiator.negotiation.NegotiationRepository;
 import eu.bbmri_eric.negotiator.negotiation.NegotiationServiceImpl;
 import eu.bbmri_eric.negotiator.negotiation.dto.NegotiationCreateDTO;
@@ -53,6 +55,7 @@ public class NegotiationServiceTest {
   @Mock AttachmentRepository attachmentRepository;
   @Mock NegotiationRepository negotiationRepository;
   @Mock PersonRepository personRepository;
+  @Mock NegotiationAccessManager negotiationAccessManager;
   @Mock ApplicationEventPublisher eventPublisher;
 
   @Mock RequestRepository requestRepository;
@@ -108,7 +111,8 @@ public class NegotiationServiceTest {
       authEmail = "researcher@aai.eu",
       authorities = {"ROLE_RESEARCHER"})
   public void test_isNegotiatorCreator_IsFalse_WhenPersonRepositoryIsNegotiatiorCreator_IsFalse() {
-    when(personRepository.isNegotiationCreator(any(), any())).thenReturn(false);
+    when(negotiationAccessManager.getAccessForNegotiation(any(), any()))
+        .thenReturn(NegotiationAccess.NONE);
     assertFalse(negotiationService.isNegotiationCreator("123"));
   }
 
@@ -120,7 +124,8 @@ public class NegotiationServiceTest {
       authEmail = "researcher@aai.eu",
       authorities = {"ROLE_RESEARCHER"})
   public void test_isNegotiatorCreator_IsTrue_WhenPersonRepositoryIsNegotiatiorCreator_IsTrue() {
-    when(personRepository.isNegotiationCreator(any(), any())).thenReturn(true);
+    when(negotiationAccessManager.getAccessForNegotiation(any(), any()))
+        .thenReturn(new NegotiationAccess(NegotiationAccess.AUTHOR));
     assertTrue(negotiationService.isNegotiationCreator("123"));
   }
 
@@ -154,9 +159,9 @@ public class NegotiationServiceTest {
     Request request = new Request();
     request.setResources(Set.of(new Resource()));
     negotiation.setResources(request.getResources());
-    Attachment attachment = Attachment.builder().id("attachment-1").name("Attachment-1").build();
 
-    when(attachmentRepository.findAllById(List.of("attachment-1"))).thenReturn(List.of(attachment));
+    when(attachmentRepository.linkToNegotiation(Set.of("attachment-1"), negotiation, null, null))
+        .thenReturn(1);
     when(requestRepository.findById("requestID")).thenReturn(Optional.of(request));
     when(modelMapper.map(negotiationCreateDTO, Negotiation.class)).thenReturn(negotiation);
 
@@ -169,6 +174,24 @@ public class NegotiationServiceTest {
     verify(userNotificationService, times(1)).notifyAdmins(negotiation);
   }
 
+  @Test
+  void testCreateNegotiation_fails_when_attachmentDoesNotExist() throws IOException {
+    NegotiationCreateDTO negotiationCreateDTO = TestUtils.createNegotiation("requestID");
+    negotiationCreateDTO.setAttachments(
+        Set.of(AttachmentMetadataDTO.builder().id("unknown").build()));
+    Negotiation negotiation = Negotiation.builder().build();
+    Request request = new Request();
+    request.setResources(Set.of(new Resource()));
+    when(requestRepository.findById("requestID")).thenReturn(Optional.of(request));
+    when(modelMapper.map(negotiationCreateDTO, Negotiation.class)).thenReturn(negotiation);
+    when(negotiationRepository.save(any())).thenReturn(negotiation);
+    when(attachmentRepository.linkToNegotiation(Set.of("unknown"), negotiation, null, null))
+        .thenReturn(0);
+    assertThrows(
+        WrongRequestException.class, () -> negotiationService.create(negotiationCreateDTO, 100L));
+    verify(userNotificationService, times(0)).notifyAdmins(negotiation);
+  }
+
   @Test
   void testCreateNegotiation_fails_when_DataException() throws IOException {
     NegotiationCreateDTO negotiationCreateDTO = TestUtils.createNegotiation("requestID");
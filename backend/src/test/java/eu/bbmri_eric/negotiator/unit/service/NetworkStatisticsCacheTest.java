@@ -0,0 +1,112 @@
+package eu.bbmri_eric.negotiator.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import eu.bbmri_eric.negotiator.governance.network.NetworkRepository;
+import eu.bbmri_eric.negotiator.governance.network.stats.NetworkStatistics;
+import eu.bbmri_eric.negotiator.governance.network.stats.NetworkStatisticsCache;
+import eu.bbmri_eric.negotiator.governance.network.stats.NetworkStatisticsServiceImpl;
+import eu.bbmri_eric.negotiator.governance.network.stats.NetworkStatsFilter;
+import eu.bbmri_eric.negotiator.governance.network.stats.NetworkStatsRolledUpEvent;
+import eu.bbmri_eric.negotiator.governance.network.stats.SimpleNetworkStatistics;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class NetworkStatisticsCacheTest {
+
+  private static final LocalDate SINCE = LocalDate.of(2024, 1, 1);
+  private static final LocalDate UNTIL = LocalDate.of(2024, 2, 1);
+
+  private NetworkRepository networkRepository;
+  private NetworkStatisticsCache cache;
+  private NetworkStatisticsServiceImpl service;
+
+  @BeforeEach
+  void before() {
+    networkRepository = mock(NetworkRepository.class);
+    cache = new NetworkStatisticsCache(10, Duration.ofMinutes(1), Duration.ofDays(1));
+    service = new NetworkStatisticsServiceImpl(networkRepository, cache);
+    when(networkRepository.sumNegotiationStats(any(), any(), any()))
+        .thenReturn(List.<Object[]>of(new Object[] {"IN_PROGRESS", 3L, 1L, 0L}));
+  }
+
+  private static NetworkStatsFilter filter(LocalDate since, LocalDate until) {
+    return NetworkStatsFilter.builder().since(since).until(until).build();
+  }
+
+  @Test
+  void getBasicNetworkStats_samePeriod_computedOnce() {
+    for (int i = 0; i < 3; i++) {
+      assertEquals(
+          3, service.getBasicNetworkStats(1L, filter(SINCE, UNTIL)).getTotalNumberOfNegotiations());
+    }
+    service.getBasicNetworkStats(2L, filter(SINCE, UNTIL));
+    service.getBasicNetworkStats(1L, filter(SINCE, UNTIL.plusDays(1)));
+
+    verify(networkRepository, times(1)).sumNegotiationStats(SINCE, UNTIL, 1L);
+    verify(networkRepository, times(1)).sumNegotiationStats(SINCE, UNTIL, 2L);
+    assertEquals(3, cache.size());
+  }
+
+  @Test
+  void onRolledUp_dayOfThePeriod_evicted() {
+    service.getBasicNetworkStats(1L, filter(SINCE, UNTIL));
+
+    cache.onRolledUp(new NetworkStatsRolledUpEvent(this, Set.of(UNTIL), Set.of()));
+    service.getBasicNetworkStats(1L, filter(SINCE, UNTIL));
+
+    verify(networkRepository, times(2)).sumNegotiationStats(eq(SINCE), eq(UNTIL), eq(1L));
+  }
+
+  @Test
+  void onRolledUp_dayOutsideThePeriod_kept() {
+    service.getBasicNetworkStats(1L, filter(SINCE, UNTIL));
+
+    cache.onRolledUp(
+        new NetworkStatsRolledUpEvent(this, Set.of(SINCE, UNTIL.plusDays(1)), Set.of()));
+    service.getBasicNetworkStats(1L, filter(SINCE, UNTIL));
+
+    verify(networkRepository, times(1)).sumNegotiationStats(eq(SINCE), eq(UNTIL), eq(1L));
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  void onRolledUp_network_allPeriodsOfTheNetworkEvicted() {
+    service.getBasicNetworkStats(1L, filter(SINCE, UNTIL));
+    service.getBasicNetworkStats(2L, filter(SINCE, UNTIL));
+
+    cache.onRolledUp(new NetworkStatsRolledUpEvent(this, Set.of(), Set.of(1L)));
+    service.getBasicNetworkStats(1L, filter(SINCE, UNTIL));
+    service.getBasicNetworkStats(2L, filter(SINCE, UNTIL));
+
+    verify(networkRepository, times(2)).sumNegotiationStats(eq(SINCE), eq(UNTIL), eq(1L));
+    verify(networkRepository, times(1)).sumNegotiationStats(eq(SINCE), eq(UNTIL), eq(2L));
+  }
+
+  @Test
+  void get_evictedWhileComputing_notKept() {
+    NetworkStatistics statistics =
+        cache.get(
+            1L,
+            SINCE,
+            UNTIL,
+            () -> {
+              cache.onRolledUp(new NetworkStatsRolledUpEvent(this, Set.of(UNTIL), Set.of()));
+              return SimpleNetworkStatistics.builder().totalNumberOfNegotiations(3).build();
+            });
+
+    assertEquals(3, statistics.getTotalNumberOfNegotiations());
+    service.getBasicNetworkStats(1L, filter(SINCE, UNTIL));
+    verify(networkRepository, times(1)).sumNegotiationStats(eq(SINCE), eq(UNTIL), eq(1L));
+  }
+}
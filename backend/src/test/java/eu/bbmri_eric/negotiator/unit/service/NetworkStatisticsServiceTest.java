@@ -0,0 +1,152 @@
+package eu.bbmri_eric.negotiator.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import eu.bbmri_eric.negotiator.common.exceptions.EntityNotFoundException;
+import eu.bbmri_eric.negotiator.common.exceptions.WrongRequestException;
+import eu.bbmri_eric.negotiator.governance.network.Network;
+import eu.bbmri_eric.negotiator.governance.network.NetworkRepository;
+import eu.bbmri_eric.negotiator.governance.network.stats.NetworkStatisticsCache;
+import eu.bbmri_eric.negotiator.governance.network.stats.NetworkStatisticsSeries;
+import eu.bbmri_eric.negotiator.governance.network.stats.NetworkStatisticsServiceImpl;
+import eu.bbmri_eric.negotiator.governance.network.stats.NetworkStatsSeriesFilter;
+import eu.bbmri_eric.negotiator.governance.network.stats.ResponseTimeHistogram;
+import eu.bbmri_eric.negotiator.governance.network.stats.StatisticsInterval;
+import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationState;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class NetworkStatisticsServiceTest {
+
+  private NetworkRepository networkRepository;
+  private NetworkStatisticsServiceImpl service;
+
+  @BeforeEach
+  void before() {
+    networkRepository = mock(NetworkRepository.class);
+    service =
+        new NetworkStatisticsServiceImpl(
+            networkRepository,
+            new NetworkStatisticsCache(10, Duration.ofMinutes(1), Duration.ofDays(1)));
+    when(networkRepository.findAllById(any()))
+        .thenReturn(List.of(Network.builder().id(1L).build(), Network.builder().id(2L).build()));
+  }
+
+  private static NetworkStatsSeriesFilter filter(
+      List<Long> networkIds, LocalDate since, LocalDate until, StatisticsInterval interval) {
+    return NetworkStatsSeriesFilter.builder()
+        .networkId(networkIds)
+        .since(since)
+        .until(until)
+        .interval(interval)
+        .build();
+  }
+
+  @Test
+  void getNetworkStatsSeries_months_periodsCoverTheWindow() {
+    List<NetworkStatisticsSeries> series =
+        service.getNetworkStatsSeries(
+            filter(
+                List.of(1L),
+                LocalDate.of(2024, 1, 14),
+                LocalDate.of(2024, 3, 10),
+                StatisticsInterval.month));
+
+    List<NetworkStatisticsSeries.Period> periods = series.get(0).getPeriods();
+    assertEquals(3, periods.size());
+    assertEquals(LocalDate.of(2024, 1, 14), periods.get(0).getSince());
+    assertEquals(LocalDate.of(2024, 1, 31), periods.get(0).getUntil());
+    assertEquals(LocalDate.of(2024, 1, 31), periods.get(1).getSince());
+    assertEquals(LocalDate.of(2024, 2, 29), periods.get(1).getUntil());
+    assertEquals(LocalDate.of(2024, 2, 29), periods.get(2).getSince());
+    assertEquals(LocalDate.of(2024, 3, 10), periods.get(2).getUntil());
+    assertEquals(0, periods.get(1).getStatistics().getTotalNumberOfNegotiations());
+    assertNull(periods.get(1).getStatistics().getMedianResponseTime());
+  }
+
+  @Test
+  void getNetworkStatsSeries_twoNetworks_rowsAssignedToTheirPeriods() {
+    LocalDate since = LocalDate.of(2024, 1, 7);
+    LocalDate until = LocalDate.of(2024, 1, 21);
+    LocalDate secondWeek = LocalDate.of(2024, 1, 15);
+    when(networkRepository.sumNegotiationStatsSeries(
+            anyCollection(), eq(since), eq(until), eq(StatisticsInterval.week)))
+        .thenReturn(
+            List.of(
+                new Object[] {2L, secondWeek, "IN_PROGRESS", 3L, 1L, 0L},
+                new Object[] {2L, secondWeek, "ABANDONED", 2L, 0L, 1L}));
+    when(networkRepository.sumResponseTimeHistogramSeries(
+            anyCollection(), eq(since), eq(until), eq(StatisticsInterval.week)))
+        .thenReturn(
+            List.<Object[]>of(
+                new Object[] {2L, secondWeek, ResponseTimeHistogram.bucketOf(4.0), 1L}));
+    when(networkRepository.countNewRequestersSeries(
+            anyCollection(), eq(since), eq(until), eq(StatisticsInterval.week)))
+        .thenReturn(List.<Object[]>of(new Object[] {1L, LocalDate.of(2024, 1, 8), 4L}));
+
+    List<NetworkStatisticsSeries> series =
+        service.getNetworkStatsSeries(
+            filter(List.of(1L, 2L), since, until, StatisticsInterval.week));
+
+    assertEquals(2, series.size());
+    assertEquals(2, series.get(0).getPeriods().size());
+    assertEquals(4, series.get(0).getPeriods().get(0).getStatistics().getNumberOfNewRequesters());
+    NetworkStatisticsSeries.Period period = series.get(1).getPeriods().get(1);
+    assertEquals(LocalDate.of(2024, 1, 14), period.getSince());
+    assertEquals(LocalDate.of(2024, 1, 21), period.getUntil());
+    assertEquals(5, period.getStatistics().getTotalNumberOfNegotiations());
+    assertEquals(1, period.getStatistics().getNumberOfIgnoredNegotiations());
+    assertEquals(1, period.getStatistics().getNumberOfSuccessfulNegotiations());
+    assertEquals(2, period.getStatistics().getStatusDistribution().get(NegotiationState.ABANDONED));
+    assertEquals(4.0, period.getStatistics().getMedianResponseTime(), 0.04);
+  }
+
+  @Test
+  void getNetworkStatsSeries_unknownNetwork_notFound() {
+    assertThrows(
+        EntityNotFoundException.class,
+        () ->
+            service.getNetworkStatsSeries(
+                filter(
+                    List.of(1L, 3L),
+                    LocalDate.of(2024, 1, 1),
+                    LocalDate.of(2024, 2, 1),
+                    StatisticsInterval.day)));
+  }
+
+  @Test
+  void getNetworkStatsSeries_tooManyPeriods_wrongRequest() {
+    assertThrows(
+        WrongRequestException.class,
+        () ->
+            service.getNetworkStatsSeries(
+                filter(
+                    List.of(1L, 2L),
+                    LocalDate.of(2000, 1, 1),
+                    LocalDate.of(2024, 1, 1),
+                    StatisticsInterval.day)));
+  }
+
+  @Test
+  void getNetworkStatsSeries_emptyPeriod_wrongRequest() {
+    assertThrows(
+        WrongRequestException.class,
+        () ->
+            service.getNetworkStatsSeries(
+                filter(
+                    List.of(1L),
+                    LocalDate.of(2024, 1, 1),
+                    LocalDate.of(2024, 1, 1),
+                    StatisticsInterval.day)));
+  }
+}
@@ -0,0 +1,135 @@
+package eu.bbmri_eric.negotiator.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import eu.bbmri_eric.negotiator.notification.NotificationEmailDispatcher;
+import eu.bbmri_eric.negotiator.notification.NotificationEmailRenderer;
+import eu.bbmri_eric.negotiator.notification.NotificationRepository;
+import eu.bbmri_eric.negotiator.notification.NotificationViewDTO;
+import eu.bbmri_eric.negotiator.notification.email.EmailService;
+import eu.bbmri_eric.negotiator.notification.email.NotificationEmailRepository;
+import eu.bbmri_eric.negotiator.notification.email.NotificationEmailStatus;
+import eu.bbmri_eric.negotiator.notification.email.OutgoingEmail;
+import eu.bbmri_eric.negotiator.user.Person;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+public class NotificationEmailDispatcherTest {
+
+  private NotificationRepository notificationRepository;
+  private NotificationEmailRepository notificationEmailRepository;
+  private EmailService emailService;
+  private NotificationEmailDispatcher dispatcher;
+  private final Person alice = Person.builder().id(1L).name("Alice").email("a@x.org").build();
+  private final Person bob = Person.builder().id(2L).name("Bob").email("b@x.org").build();
+
+  @BeforeEach
+  void before() {
+    notificationRepository = mock(NotificationRepository.class);
+    notificationEmailRepository = mock(NotificationEmailRepository.class);
+    emailService = mock(EmailService.class);
+    NotificationEmailRenderer renderer = mock(NotificationEmailRenderer.class);
+    when(renderer.render(any(), anyList())).thenReturn("body");
+    PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    dispatcher =
+        new NotificationEmailDispatcher(
+            notificationRepository,
+            notificationEmailRepository,
+            emailService,
+            renderer,
+            transactionManager,
+            10,
+            2,
+            Duration.ofMinutes(10),
+            3,
+            Duration.ofMinutes(5),
+            Duration.ofHours(1));
+  }
+
+  @AfterEach
+  void after() {
+    dispatcher.destroy();
+  }
+
+  private NotificationViewDTO view(Long id, Person recipient) {
+    return new NotificationViewDTO(
+        id, "message", NotificationEmailStatus.EMAIL_NOT_SENT, "neg-1", "title", recipient, 3L);
+  }
+
+  @Test
+  void dispatch_sendsOneEmailPerRecipientAndBulkUpdates() {
+    when(notificationRepository.lockPendingEmailRecipients(any(), eq(10)))
+        .thenReturn(List.of(alice.getId(), bob.getId()))
+        .thenReturn(List.of());
+    when(notificationRepository.lockPendingEmails(eq(List.of(alice.getId(), bob.getId())), any()))
+        .thenReturn(List.of(1L, 2L, 3L));
+    when(notificationRepository.findViewByIdIn(List.of(1L, 2L, 3L)))
+        .thenReturn(List.of(view(1L, alice), view(2L, alice), view(3L, bob)));
+    when(emailService.sendEmails(anyList())).thenReturn(List.of());
+
+    dispatcher.dispatchPendingEmails();
+
+    verify(notificationRepository).claimEmails(eq(List.of(1L, 2L, 3L)), any());
+    verify(emailService, times(2)).sendEmails(anyList());
+    ArgumentCaptor<Collection<Long>> sent = ArgumentCaptor.captor();
+    verify(notificationRepository)
+        .markEmailsSent(sent.capture(), eq(NotificationEmailStatus.EMAIL_SENT), any());
+    assertEquals(List.of(1L, 2L, 3L), sent.getValue().stream().sorted().toList());
+    verify(notificationRepository, never())
+        .markEmailsFailed(any(), any(), anyLong(), anyLong(), anyInt());
+    verify(notificationEmailRepository).saveAll(anyList());
+  }
+
+  @Test
+  void dispatch_failedDelivery_isScheduledForRetry() {
+    when(notificationRepository.lockPendingEmailRecipients(any(), eq(10)))
+        .thenReturn(List.of(alice.getId(), bob.getId()))
+        .thenReturn(List.of());
+    when(notificationRepository.lockPendingEmails(eq(List.of(alice.getId(), bob.getId())), any()))
+        .thenReturn(List.of(1L, 3L));
+    when(notificationRepository.findViewByIdIn(List.of(1L, 3L)))
+        .thenReturn(List.of(view(1L, alice), view(3L, bob)));
+    when(emailService.sendEmails(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<OutgoingEmail> emails = invocation.getArgument(0);
+              return new ArrayList<>(
+                  emails.stream().filter(e -> e.recipientAddress().equals("b@x.org")).toList());
+            });
+
+    dispatcher.dispatchPendingEmails();
+
+    verify(notificationRepository)
+        .markEmailsSent(eq(List.of(1L)), eq(NotificationEmailStatus.EMAIL_SENT), any());
+    verify(notificationRepository)
+        .markEmailsFailed(eq(List.of(3L)), any(), eq(300L), eq(3600L), eq(3));
+  }
+
+  @Test
+  void dispatch_nothingPending_doesNotSend() {
+    when(notificationRepository.lockPendingEmailRecipients(any(), anyInt())).thenReturn(List.of());
+    dispatcher.dispatchPendingEmails();
+    verify(notificationRepository, never()).lockPendingEmails(any(), any());
+    verify(notificationRepository, never()).claimEmails(any(), any());
+    verify(emailService, never()).sendEmails(anyList());
+  }
+}
@@ -16,6 +16,7 @@ import eu.bbmri_eric.negotiator.governance.organization.OrganizationRepository;
 import eu.bbmri_eric.negotiator.governance.resource.Resource;
 import eu.bbmri_eric.negotiator.integration.api.v3.TestUtils;
 import eu.bbmri_eric.negotiator.negotiation.Negotiation;
+import eu.bbmri_eric.negotiator.negotiation.NegotiationAccess;
 import eu.bbmri_eric.negotiator.negotiation.NegotiationAccessManager;
 import eu.bbmri_eric.negotiator.negotiation.NegotiationRepository;
 import eu.bbmri_eric.negotiator.negotiation.NegotiationService;
@@ -264,6 +265,8 @@ public class PostServiceTest {
   public void
       test_createPrivateForNegotiationId_isForbidden_whenUserIsNotAuthorizedForNegotiation() {
     when(negotiationService.isAuthorizedForNegotiation(negotiation.getId())).thenReturn(false);
+    when(negotiationAccessManager.getAccessForNegotiation(any(), any()))
+        .thenReturn(NegotiationAccess.NONE);
     negotiation.setPrivatePostsEnabled(true);
     when(negotiationRepository.findById(any())).thenReturn(Optional.of(negotiation));
 
@@ -289,6 +292,8 @@ public class PostServiceTest {
     negotiation.setPublicPostsEnabled(true);
     negotiation.setPrivatePostsEnabled(true);
     when(negotiationService.isAuthorizedForNegotiation(negotiation.getId())).thenReturn(false);
+    when(negotiationAccessManager.getAccessForNegotiation(any(), any()))
+        .thenReturn(NegotiationAccess.NONE);
     when(negotiationRepository.findById(any())).thenReturn(Optional.of(negotiation));
 
     PostCreateDTO postCreateDTO =
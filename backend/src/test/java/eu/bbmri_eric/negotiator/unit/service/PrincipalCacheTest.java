@@ -0,0 +1,90 @@
+package eu.bbmri_eric.negotiator.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import eu.bbmri_eric.negotiator.common.NegotiatorPrincipal;
+import eu.bbmri_eric.negotiator.common.PersonSnapshot;
+import eu.bbmri_eric.negotiator.common.configuration.security.oauth2.CustomJWTAuthConverter;
+import eu.bbmri_eric.negotiator.common.configuration.security.oauth2.PrincipalCache;
+import eu.bbmri_eric.negotiator.common.configuration.security.oauth2.TokenCache;
+import eu.bbmri_eric.negotiator.user.Person;
+import eu.bbmri_eric.negotiator.user.PersonRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+public class PrincipalCacheTest {
+
+  private PersonRepository personRepository;
+  private PrincipalCache principalCache;
+  private CustomJWTAuthConverter converter;
+  private Person person;
+
+  @BeforeEach
+  void before() {
+    personRepository = mock(PersonRepository.class);
+    principalCache = new PrincipalCache("test", 10, Duration.ofMinutes(5));
+    converter =
+        new CustomJWTAuthConverter(
+            personRepository,
+            "",
+            "entitlements",
+            "admin",
+            "researcher",
+            "biobanker",
+            new TokenCache<>("test", 10, Duration.ofMinutes(5)),
+            principalCache);
+    person =
+        Person.builder().id(1L).subjectId("subject").name("John").email("john@example.org").build();
+    when(personRepository.findBySubjectId("subject")).thenReturn(Optional.of(person));
+  }
+
+  private static Jwt token(String name) {
+    return Jwt.withTokenValue("token")
+        .header("alg", "none")
+        .subject("subject")
+        .claim("name", name)
+        .claim("email", "john@example.org")
+        .claim("scope", "openid")
+        .issuedAt(Instant.now().minusSeconds(10))
+        .expiresAt(Instant.now().plusSeconds(60))
+        .build();
+  }
+
+  @Test
+  void convert_warmCache_doesNotQueryDatabase() {
+    for (int i = 0; i < 3; i++) {
+      NegotiatorPrincipal principal =
+          (NegotiatorPrincipal) converter.convert(token("John")).getPrincipal();
+      assertEquals(1L, principal.getPerson().getId());
+    }
+    verify(personRepository, times(1)).findBySubjectId("subject");
+    assertEquals("John", principalCache.get("subject", subject -> null).name());
+  }
+
+  @Test
+  void convert_changedClaims_updatesPerson() {
+    converter.convert(token("John"));
+    converter.convert(token("Johnny"));
+    verify(personRepository, times(2)).findBySubjectId("subject");
+    verify(personRepository).save(any());
+    assertEquals("Johnny", principalCache.get("subject", subject -> null).name());
+  }
+
+  @Test
+  void put_doesNotCacheUnsavedPersons() {
+    PersonSnapshot snapshot = PersonSnapshot.of(Person.builder().subjectId("new").build());
+    principalCache.put(snapshot);
+    assertEquals(0, principalCache.size());
+    verify(personRepository, never()).save(any());
+  }
+}
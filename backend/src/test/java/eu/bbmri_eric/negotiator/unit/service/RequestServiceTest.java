@@ -133,4 +133,17 @@ public class RequestServiceTest {
     requestCreateDTO.setResources(Set.of(resourceDTO));
     assertThrows(WrongRequestException.class, () -> requestService.create(requestCreateDTO));
   }
+
+  @Test
+  void create_withdrawnResource_ko() {
+    RequestCreateDTO requestCreateDTO = buildRequestCreateDTO();
+    ResourceDTO resourceDTO = requestCreateDTO.getResources().iterator().next();
+    Resource resource = modelMapper.map(resourceDTO, Resource.class);
+    resource.setWithdrawn(true);
+    when(resourceRepository.findBySourceId(resourceDTO.getId())).thenReturn(Optional.of(resource));
+    when(discoveryServiceRepository.findByUrl(requestCreateDTO.getUrl()))
+        .thenReturn(Optional.of(new DiscoveryService()));
+
+    assertThrows(WrongRequestException.class, () -> requestService.create(requestCreateDTO));
+  }
 }
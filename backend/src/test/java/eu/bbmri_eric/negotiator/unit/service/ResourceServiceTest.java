@@ -0,0 +1,151 @@
+package eu.bbmri_eric.negotiator.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.bbmri_eric.negotiator.discovery.DiscoveryServiceRepository;
+import eu.bbmri_eric.negotiator.form.repository.AccessFormRepository;
+import eu.bbmri_eric.negotiator.governance.network.NetworkRepository;
+import eu.bbmri_eric.negotiator.governance.organization.OrganizationRepository;
+import eu.bbmri_eric.negotiator.governance.resource.ResourceRepository;
+import eu.bbmri_eric.negotiator.governance.resource.ResourceServiceImpl;
+import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceUpsertResultDTO;
+import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceUpsertResultDTO.Status;
+import eu.bbmri_eric.negotiator.governance.resource.dto.ResourceUpsertSummaryDTO;
+import eu.bbmri_eric.negotiator.negotiation.NegotiationAccessManager;
+import eu.bbmri_eric.negotiator.negotiation.NegotiationRepository;
+import eu.bbmri_eric.negotiator.user.PersonRepository;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+
+public class ResourceServiceTest {
+
+  private ResourceRepository repository;
+  private ResourceServiceImpl service;
+
+  @BeforeEach
+  void before() {
+    repository = mock(ResourceRepository.class);
+    service =
+        new ResourceServiceImpl(
+            mock(NetworkRepository.class),
+            repository,
+            mock(PersonRepository.class),
+            mock(NegotiationRepository.class),
+            new ModelMapper(),
+            mock(ApplicationEventPublisher.class),
+            mock(AccessFormRepository.class),
+            mock(DiscoveryServiceRepository.class),
+            mock(OrganizationRepository.class),
+            mock(NegotiationAccessManager.class),
+            new ObjectMapper(),
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            2);
+    when(repository.findExistingOrganizationIds(anyCollection())).thenReturn(Set.of(1L));
+    when(repository.findExistingAccessFormIds(anyCollection())).thenReturn(Set.of(1L));
+    when(repository.findExistingDiscoveryServiceIds(anyCollection())).thenReturn(Set.of(1L));
+    when(repository.allocateIds(anyInt()))
+        .thenAnswer(
+            invocation ->
+                IntStream.range(0, invocation.<Integer>getArgument(0))
+                    .mapToObj(i -> 100L + i)
+                    .toList());
+  }
+
+  private static String line(String sourceId, long organizationId) {
+    return """
+        {"name": "Collection", "sourceId": "%s", "organizationId": %d, "accessFormId": 1,\
+         "discoveryServiceId": 1}
+        """
+        .formatted(sourceId, organizationId);
+  }
+
+  private ResourceUpsertSummaryDTO upsert(String ndjson) throws IOException {
+    return service.upsertResources(
+        new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  void upsertResources_newAndExisting_createdUpdatedAndUnchanged() throws IOException {
+    when(repository.findIdsBySourceId(anyCollection()))
+        .thenReturn(Map.of("updated", 10L, "unchanged", 11L));
+    when(repository.upsert(any())).thenReturn(new int[] {1, 1}, new int[] {0});
+
+    ResourceUpsertSummaryDTO summary =
+        upsert(line("new", 1) + line("updated", 1) + line("unchanged", 1));
+
+    assertEquals(1, summary.getCreated());
+    assertEquals(1, summary.getUpdated());
+    assertEquals(1, summary.getUnchanged());
+    assertEquals(0, summary.getFailed());
+    assertEquals(100L, summary.getResults().get(0).getId());
+    assertEquals(Status.UPDATED, summary.getResults().get(1).getStatus());
+    assertEquals(11L, summary.getResults().get(2).getId());
+    verify(repository, times(2)).upsert(any());
+    verify(repository, times(2)).findIdsBySourceId(anyCollection());
+  }
+
+  @Test
+  void upsertResources_invalidLines_failedWithoutStoppingTheUpload() throws IOException {
+    when(repository.upsert(any()))
+        .thenAnswer(invocation -> new int[invocation.<List<?>>getArgument(0).size()]);
+
+    ResourceUpsertSummaryDTO summary =
+        upsert(
+            "{not json\n"
+                + "\n"
+                + "{\"name\": \"No source id\", \"organizationId\": 1}\n"
+                + line("first", 1)
+                + line("first", 1)
+                + line("unknown-organization", 2)
+                + line("second", 1));
+
+    List<ResourceUpsertResultDTO> results = summary.getResults();
+    assertEquals(4, summary.getFailed());
+    assertEquals(2, summary.getCreated());
+    assertEquals(
+        List.of(1, 3, 4, 5, 6, 7), results.stream().map(ResourceUpsertResultDTO::getLine).toList());
+    assertEquals(Status.FAILED, results.get(0).getStatus());
+    assertNull(results.get(0).getSourceId());
+    assertEquals(
+        "accessFormId must not be null, discoveryServiceId must not be null,"
+            + " sourceId must not be null",
+        results.get(1).getError());
+    assertEquals(Status.CREATED, results.get(2).getStatus());
+    assertEquals("Source id repeated in the upload", results.get(3).getError());
+    assertEquals("Organization with id 2 not found", results.get(4).getError());
+    assertEquals(Status.CREATED, results.get(5).getStatus());
+  }
+
+  @Test
+  void upsertResources_valueTooLong_lineFailed() throws IOException {
+    when(repository.upsert(any()))
+        .thenAnswer(invocation -> new int[invocation.<List<?>>getArgument(0).size()]);
+
+    ResourceUpsertSummaryDTO summary = upsert(line("a".repeat(256), 1) + line("valid", 1));
+
+    assertEquals(1, summary.getFailed());
+    assertEquals(1, summary.getCreated());
+    assertEquals("sourceId size must be between 0 and 255", summary.getResults().get(0).getError());
+    verify(repository).upsert(argThat(rows -> rows.size() == 1));
+  }
+}
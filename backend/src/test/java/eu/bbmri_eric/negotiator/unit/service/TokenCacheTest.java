@@ -0,0 +1,139 @@
+package eu.bbmri_eric.negotiator.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import eu.bbmri_eric.negotiator.common.configuration.security.oauth2.TokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+public class TokenCacheTest {
+
+  private static Jwt token(String value, Instant expiresAt) {
+    return Jwt.withTokenValue(value)
+        .header("alg", "none")
+        .subject("subject")
+        .issuedAt(Instant.now().minusSeconds(10))
+        .expiresAt(expiresAt)
+        .build();
+  }
+
+  @Test
+  void get_loadsOncePerToken() {
+    TokenCache<String> cache = new TokenCache<>("test", 10, Duration.ofMinutes(5));
+    AtomicInteger calls = new AtomicInteger();
+    Jwt jwt = token("token-1", Instant.now().plusSeconds(60));
+    for (int i = 0; i < 5; i++) {
+      assertEquals(
+          "value",
+          cache.get(
+              jwt,
+              t -> {
+                calls.incrementAndGet();
+                return "value";
+              }));
+    }
+    assertEquals(1, calls.get());
+    cache.get(token("token-2", Instant.now().plusSeconds(60)), t -> "other");
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  void get_doesNotCacheNullValues() {
+    TokenCache<String> cache = new TokenCache<>("test", 10, Duration.ofMinutes(5));
+    AtomicInteger calls = new AtomicInteger();
+    Jwt jwt = token("token-1", Instant.now().plusSeconds(60));
+    for (int i = 0; i < 2; i++) {
+      assertNull(
+          cache.get(
+              jwt,
+              t -> {
+                calls.incrementAndGet();
+                return null;
+              }));
+    }
+    assertEquals(2, calls.get());
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void get_doesNotCacheExpiredTokens() {
+    TokenCache<String> cache = new TokenCache<>("test", 10, Duration.ofMinutes(5));
+    Jwt jwt = token("token-1", Instant.now().minusSeconds(1));
+    assertEquals("value", cache.get(jwt, t -> "value"));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void get_coalescesConcurrentLoads() throws Exception {
+    TokenCache<String> cache = new TokenCache<>("test", 10, Duration.ofMinutes(5));
+    Jwt jwt = token("token-1", Instant.now().plusSeconds(60));
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  return cache.get(
+                      jwt,
+                      t -> {
+                        calls.incrementAndGet();
+                        try {
+                          Thread.sleep(100);
+                        } catch (InterruptedException e) {
+                          Thread.currentThread().interrupt();
+                        }
+                        return "value";
+                      });
+                }));
+      }
+      start.countDown();
+      for (Future<String> result : results) {
+        assertEquals("value", result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  void bindTo_publishesHitsAndMisses() {
+    TokenCache<String> cache = new TokenCache<>("test", 10, Duration.ofMinutes(5));
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    cache.bindTo(registry);
+    Jwt jwt = token("token-1", Instant.now().plusSeconds(60));
+    cache.get(jwt, t -> "value");
+    cache.get(jwt, t -> "value");
+    assertEquals(
+        1.0,
+        registry
+            .get("cache.gets")
+            .tag("cache", "test")
+            .tag("result", "hit")
+            .functionCounter()
+            .count());
+    assertEquals(
+        1.0,
+        registry
+            .get("cache.gets")
+            .tag("cache", "test")
+            .tag("result", "miss")
+            .functionCounter()
+            .count());
+  }
+}
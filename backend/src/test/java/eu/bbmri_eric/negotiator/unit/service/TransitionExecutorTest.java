@@ -0,0 +1,84 @@
+package eu.bbmri_eric.negotiator.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import eu.bbmri_eric.negotiator.negotiation.state_machine.TransitionExecutor;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.statemachine.StateMachineException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+public class TransitionExecutorTest {
+
+  private TransitionExecutor executor;
+
+  @BeforeEach
+  void before() {
+    PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    executor = new TransitionExecutor(transactionManager, 3);
+  }
+
+  @Test
+  void execute_succeeds_returnsResult() {
+    AtomicInteger attempts = new AtomicInteger();
+    String result =
+        executor.execute(
+            () -> {
+              attempts.incrementAndGet();
+              return Optional.of("SUBMITTED");
+            });
+    assertEquals("SUBMITTED", result);
+    assertEquals(1, attempts.get());
+  }
+
+  @Test
+  void execute_conflict_isAttemptedAgain() {
+    AtomicInteger attempts = new AtomicInteger();
+    String result =
+        executor.execute(
+            () ->
+                attempts.incrementAndGet() < 3
+                    ? Optional.<String>empty()
+                    : Optional.of("APPROVED"));
+    assertEquals("APPROVED", result);
+    assertEquals(3, attempts.get());
+  }
+
+  @Test
+  void execute_concurrencyFailure_isAttemptedAgain() {
+    AtomicInteger attempts = new AtomicInteger();
+    String result =
+        executor.execute(
+            () -> {
+              if (attempts.incrementAndGet() == 1) {
+                throw new PessimisticLockingFailureException("deadlock");
+              }
+              return Optional.of("APPROVED");
+            });
+    assertEquals("APPROVED", result);
+    assertEquals(2, attempts.get());
+  }
+
+  @Test
+  void execute_conflictOnEveryAttempt_throws() {
+    AtomicInteger attempts = new AtomicInteger();
+    assertThrows(
+        StateMachineException.class,
+        () ->
+            executor.execute(
+                () -> {
+                  attempts.incrementAndGet();
+                  return Optional.empty();
+                }));
+    assertEquals(3, attempts.get());
+  }
+}
@@ -0,0 +1,86 @@
+package eu.bbmri_eric.negotiator.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import eu.bbmri_eric.negotiator.negotiation.state_machine.TransitionTable;
+import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationEvent;
+import eu.bbmri_eric.negotiator.negotiation.state_machine.negotiation.NegotiationState;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.config.StateMachineBuilder;
+import org.springframework.statemachine.security.SecurityRule;
+
+public class TransitionTableTest {
+
+  private TransitionTable<NegotiationState, NegotiationEvent> table;
+
+  @BeforeEach
+  void before() throws Exception {
+    StateMachineBuilder.Builder<String, String> builder = StateMachineBuilder.builder();
+    builder
+        .configureStates()
+        .withStates()
+        .initial(NegotiationState.SUBMITTED.name())
+        .state(NegotiationState.IN_PROGRESS.name())
+        .state(NegotiationState.DECLINED.name())
+        .state(NegotiationState.PAUSED.name())
+        .state(NegotiationState.ABANDONED.name());
+    builder
+        .configureTransitions()
+        .withExternal()
+        .source(NegotiationState.SUBMITTED.name())
+        .target(NegotiationState.IN_PROGRESS.name())
+        .event(NegotiationEvent.APPROVE.name())
+        .secured("ROLE_ADMIN", SecurityRule.ComparisonType.ALL)
+        .and()
+        .withExternal()
+        .source(NegotiationState.SUBMITTED.name())
+        .target(NegotiationState.DECLINED.name())
+        .event(NegotiationEvent.DECLINE.name())
+        .secured("ROLE_ADMIN", SecurityRule.ComparisonType.ALL)
+        .and()
+        .withExternal()
+        .source(NegotiationState.IN_PROGRESS.name())
+        .target(NegotiationState.PAUSED.name())
+        .event(NegotiationEvent.PAUSE.name())
+        .and()
+        .withExternal()
+        .source(NegotiationState.IN_PROGRESS.name())
+        .target(NegotiationState.ABANDONED.name())
+        .event(NegotiationEvent.ABANDON.name());
+    StateMachine<String, String> stateMachine = builder.build();
+    table = TransitionTable.of(stateMachine, NegotiationState.class, NegotiationEvent.class);
+  }
+
+  @Test
+  void getEvents_securedTransitions_requireAttribute() {
+    assertEquals(
+        Set.of(NegotiationEvent.APPROVE, NegotiationEvent.DECLINE),
+        table.getEvents(NegotiationState.SUBMITTED, "ROLE_ADMIN"::equals));
+    assertEquals(Set.of(), table.getEvents(NegotiationState.SUBMITTED, "ROLE_RESEARCHER"::equals));
+  }
+
+  @Test
+  void getEvents_unsecuredTransitions_doNotCheckAttributes() {
+    List<String> checked = new ArrayList<>();
+    assertEquals(
+        Set.of(NegotiationEvent.PAUSE, NegotiationEvent.ABANDON),
+        table.getEvents(NegotiationState.IN_PROGRESS, checked::add));
+    assertEquals(List.of(), checked);
+  }
+
+  @Test
+  void getEvents_stateWithoutTransitions_isEmpty() {
+    assertEquals(Set.of(), table.getEvents(NegotiationState.CONCLUDED, attribute -> true));
+  }
+
+  @Test
+  void getEvents_resultIsACopy() {
+    table.getEvents(NegotiationState.IN_PROGRESS, attribute -> true).clear();
+    assertEquals(2, table.getEvents(NegotiationState.IN_PROGRESS, attribute -> true).size());
+  }
+}
@@ -5,10 +5,13 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import eu.bbmri_eric.negotiator.common.ContentScope;
+import eu.bbmri_eric.negotiator.common.ContentVersionRepository;
 import eu.bbmri_eric.negotiator.common.exceptions.WrongRequestException;
 import eu.bbmri_eric.negotiator.settings.UIConfigServiceImpl;
 import eu.bbmri_eric.negotiator.settings.UIParameter;
@@ -28,13 +31,14 @@ import org.mockito.MockitoAnnotations;
 public class UIConfigServiceTest {
 
   @Mock UIParameterRepository uiParameterRepository;
+  @Mock ContentVersionRepository contentVersionRepository;
 
   @InjectMocks UIConfigServiceImpl uiConfigService;
 
   @BeforeEach
   void before() {
     MockitoAnnotations.openMocks(this);
-    uiConfigService = new UIConfigServiceImpl(uiParameterRepository);
+    uiConfigService = new UIConfigServiceImpl(uiParameterRepository, contentVersionRepository);
   }
 
   @Test
@@ -83,6 +87,7 @@ public class UIConfigServiceTest {
     verify(uiParameterRepository).save(argThat(parameter -> parameter.getValue().equals("false")));
     verify(uiParameterRepository)
         .save(argThat(parameter -> parameter.getValue().equals("newValue")));
+    verify(contentVersionRepository).increment(ContentScope.UI_CONFIG);
   }
 
   @Test
@@ -96,6 +101,7 @@ public class UIConfigServiceTest {
     updates.put("cat1", cat1Update);
 
     assertThrows(WrongRequestException.class, () -> uiConfigService.updateParameters(updates));
+    verify(contentVersionRepository, never()).increment(any());
   }
 
   @Test